@@ -0,0 +1,12 @@
+package com.common_wealth_builders.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs (cache refreshes, flushers, archivers).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,7 +1,10 @@
 package com.common_wealth_builders.controller;
 
 import com.common_wealth_builders.dto.response.GenericResponse;
+import com.common_wealth_builders.enums.Permission;
+import com.common_wealth_builders.security.RequiresPermission;
 import com.common_wealth_builders.service.AuditService;
+import com.common_wealth_builders.service.ExportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,9 +19,10 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 
@@ -31,6 +35,7 @@ import java.time.LocalDateTime;
 public class AuditTrailController {
 
     private final AuditService auditTrailService;
+    private final ExportService exportService;
 
     @Operation(
             summary = "Get all audit logs",
@@ -46,7 +51,7 @@ public class AuditTrailController {
             @ApiResponse(responseCode = "403", description = "Forbidden - Requires administrator role")
     })
     @GetMapping
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_TECH_ADMIN')")
+    @RequiresPermission(Permission.AUDIT_READ)
     public ResponseEntity<GenericResponse> getAllAuditLogs(
             @Parameter(description = "Page number (0-based)", example = "0")
             @RequestParam(defaultValue = "0") int page,
@@ -58,15 +63,23 @@ public class AuditTrailController {
             @RequestParam(defaultValue = "createdDate") String sortBy,
 
             @Parameter(description = "Sort direction (ASC or DESC)", example = "DESC")
-            @RequestParam(defaultValue = "DESC") String sortOrder) {
+            @RequestParam(defaultValue = "DESC") String sortOrder,
+
+            @Parameter(description = "Cursor returned as nextCursor by the previous page; send it empty to start. " +
+                    "Cursor pages run newest-first, cost the same at any depth and carry no totals")
+            @RequestParam(required = false) String cursor) {
 
         log.info("Request received: GET /audit-trail - page={}, size={}, sortBy={}, sortOrder={}",
                 page, size, sortBy, sortOrder);
 
-        Sort.Direction direction = sortOrder.equalsIgnoreCase("DESC") ? Sort.Direction.DESC : Sort.Direction.ASC;
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-
-        GenericResponse response = auditTrailService.getAllAuditTrails(pageable);
+        GenericResponse response;
+        if (cursor != null) {
+            response = auditTrailService.getAllAuditTrails(cursor, size);
+        } else {
+            Sort.Direction direction = sortOrder.equalsIgnoreCase("DESC") ? Sort.Direction.DESC : Sort.Direction.ASC;
+            Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+            response = auditTrailService.getAllAuditTrails(pageable);
+        }
 
         log.info("Response sent: GET /audit-trail - status={}, success={}",
                 response.getHttpStatus(), response.isSuccess());
@@ -127,7 +140,7 @@ public class AuditTrailController {
             @ApiResponse(responseCode = "403", description = "Forbidden")
     })
     @GetMapping("/action/{action}")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_TECH_ADMIN')")
+    @RequiresPermission(Permission.AUDIT_READ)
     public ResponseEntity<GenericResponse> getAuditLogsByAction(
             @Parameter(description = "Action type", example = "LOGIN", required = true)
             @PathVariable String action,
@@ -165,7 +178,7 @@ public class AuditTrailController {
             @ApiResponse(responseCode = "403", description = "Forbidden")
     })
     @GetMapping("/date-range")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_TECH_ADMIN')")
+    @RequiresPermission(Permission.AUDIT_READ)
     public ResponseEntity<GenericResponse> getAuditLogsByDateRange(
             @Parameter(description = "Start date and time", example = "2026-01-01T00:00:00", required = true)
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
@@ -209,7 +222,7 @@ public class AuditTrailController {
             @ApiResponse(responseCode = "403", description = "Forbidden")
     })
     @GetMapping("/{id}")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_TECH_ADMIN')")
+    @RequiresPermission(Permission.AUDIT_READ)
     public ResponseEntity<GenericResponse> getAuditLogById(
             @Parameter(description = "Audit log ID", example = "1", required = true)
             @PathVariable Long id) {
@@ -226,7 +239,8 @@ public class AuditTrailController {
 
     @Operation(
             summary = "Search audit logs",
-            description = "Searches audit logs by matching action, module, description, or user email"
+            description = "Full-text search over action, module, description and creator, plus user email. " +
+                    "Words match as prefixes, \"quoted text\" as a phrase; results are ranked by relevance"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -239,7 +253,7 @@ public class AuditTrailController {
             @ApiResponse(responseCode = "403", description = "Forbidden")
     })
     @GetMapping("/search")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_TECH_ADMIN')")
+    @RequiresPermission(Permission.AUDIT_READ)
     public ResponseEntity<GenericResponse> searchAuditLogs(
             @Parameter(description = "Search query", example = "LOGIN or user@example.com", required = true)
             @RequestParam String query,
@@ -252,7 +266,7 @@ public class AuditTrailController {
 
         log.info("Request received: GET /audit-trail/search - query={}, page={}, size={}", query, page, size);
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdDate"));
+        Pageable pageable = PageRequest.of(page, size);
         GenericResponse response = auditTrailService.searchAuditLogs(query, pageable);
 
         log.info("Response sent: GET /audit-trail/search - status={}, success={}",
@@ -261,4 +275,45 @@ public class AuditTrailController {
         return new ResponseEntity<>(response, response.getHttpStatus());
     }
 
-}
\ No newline at end of file
+    @Operation(
+            summary = "Export audit logs as CSV",
+            description = "Streams the audit logs matching the filters as CSV, oldest first. Months already moved "
+                    + "to the audit archive are not included. Gzip-encoded when the client sends Accept-Encoding: gzip."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "CSV streamed",
+                    content = @Content(mediaType = "text/csv")),
+            @ApiResponse(responseCode = "400", description = "Invalid date range"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @GetMapping("/export")
+    @RequiresPermission(Permission.AUDIT_READ)
+    public ResponseEntity<StreamingResponseBody> exportAuditLogs(
+            @Parameter(description = "User ID filter")
+            @RequestParam(required = false) Long userId,
+
+            @Parameter(description = "Module filter", example = "PAYMENTS")
+            @RequestParam(required = false) String module,
+
+            @Parameter(description = "Action filter", example = "LOGIN")
+            @RequestParam(required = false) String action,
+
+            @Parameter(description = "Start date and time", example = "2026-01-01T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+
+            @Parameter(description = "End date and time", example = "2026-02-05T23:59:59")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        log.info("Request received: GET /audit-trail/export - userId={}, module={}, action={}, startDate={}, endDate={}",
+                userId, module, action, startDate, endDate);
+
+        ExportService.CsvExport export = exportService.exportAuditTrails(userId, module, action, startDate, endDate);
+
+        log.info("Streaming CSV: GET /audit-trail/export");
+
+        return CsvDownloads.csv("Audit_Trail", acceptEncoding, export);
+    }
+}
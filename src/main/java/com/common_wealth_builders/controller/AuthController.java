@@ -5,7 +5,10 @@ import com.common_wealth_builders.dto.request.LoginRequest;
 import com.common_wealth_builders.dto.request.RegisterRequest;
 import com.common_wealth_builders.dto.request.ResetPasswordRequest;
 import com.common_wealth_builders.dto.response.GenericResponse;
+import com.common_wealth_builders.enums.Permission;
+import com.common_wealth_builders.security.RequiresPermission;
 import com.common_wealth_builders.service.AuthService;
+import com.common_wealth_builders.utils.ClientIpResolver;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,8 +17,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -46,7 +51,7 @@ public class AuthController {
     })
     @SecurityRequirement(name = "Bearer Authentication")
     @PostMapping("/register")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_TECH_ADMIN')")
+    @RequiresPermission(Permission.USER_MANAGE)
     public ResponseEntity<GenericResponse> register(
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     description = "User registration details",
@@ -69,7 +74,9 @@ public class AuthController {
                     content = @Content(schema = @Schema(implementation = GenericResponse.class))
             ),
             @ApiResponse(responseCode = "401", description = "Invalid credentials"),
-            @ApiResponse(responseCode = "403", description = "Account disabled or locked")
+            @ApiResponse(responseCode = "403", description = "Account disabled or locked"),
+            @ApiResponse(responseCode = "429", description = "Too many failed attempts from this address"),
+            @ApiResponse(responseCode = "503", description = "Login capacity exhausted - retry shortly")
     })
     @PostMapping("/login")
     public ResponseEntity<GenericResponse> login(
@@ -78,8 +85,9 @@ public class AuthController {
                     required = true,
                     content = @Content(schema = @Schema(implementation = LoginRequest.class))
             )
-            @Valid @RequestBody LoginRequest request) {
-        GenericResponse response = authService.login(request);
+            @Valid @RequestBody LoginRequest request,
+            HttpServletRequest httpRequest) {
+        GenericResponse response = authService.login(request, ClientIpResolver.resolve(httpRequest));
         return new ResponseEntity<>(response, response.getHttpStatus());
     }
     
@@ -102,9 +110,27 @@ public class AuthController {
                     content = @Content(schema = @Schema(implementation = ChangePasswordRequest.class))
             )
             @Valid @RequestBody ChangePasswordRequest request,
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
             Authentication authentication) {
         String userEmail = authentication.getName();
-        GenericResponse response = authService.changePassword(request, userEmail);
+        GenericResponse response = authService.changePassword(request, userEmail, authorization.substring(7));
+        return new ResponseEntity<>(response, response.getHttpStatus());
+    }
+    
+    @Operation(
+            summary = "Logout",
+            description = "Revokes the bearer token used for this request. Other sessions stay valid until they expire."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Logged out successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token")
+    })
+    @SecurityRequirement(name = "Bearer Authentication")
+    @PostMapping("/logout")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<GenericResponse> logout(
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        GenericResponse response = authService.logout(authorization.substring(7));
         return new ResponseEntity<>(response, response.getHttpStatus());
     }
     
@@ -141,7 +167,7 @@ public class AuthController {
     })
     @SecurityRequirement(name = "Bearer Authentication")
     @DeleteMapping("/delete/{userId}")
-    @PreAuthorize("hasRole('ROLE_SUPER_ADMIN')")
+    @RequiresPermission(Permission.USER_DELETE)
     public ResponseEntity<GenericResponse> deleteUser(
             @Parameter(description = "ID of the user to delete", example = "1")
             @PathVariable Long userId) {
@@ -0,0 +1,53 @@
+package com.common_wealth_builders.controller;
+
+import com.common_wealth_builders.service.ExportService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams a CSV export as a download, gzip-encoded when the client
+ * accepts it. The size is unknown up front, so the response is chunked.
+ */
+final class CsvDownloads {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+    private CsvDownloads() {
+    }
+
+    static ResponseEntity<StreamingResponseBody> csv(String baseName, String acceptEncoding,
+                                                     ExportService.CsvExport export) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        String filename = baseName + "_" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".csv";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(TEXT_CSV);
+        headers.setContentDisposition(ContentDisposition.attachment().filename(filename).build());
+        headers.setCacheControl("no-store");
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            headers.add(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        StreamingResponseBody body = out -> {
+            if (!gzip) {
+                export.writeTo(out);
+                return;
+            }
+            GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+            export.writeTo(compressed);
+            // Writes the trailer; the container closes the response stream
+            compressed.finish();
+        };
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+}
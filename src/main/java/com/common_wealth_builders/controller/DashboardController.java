@@ -0,0 +1,59 @@
+package com.common_wealth_builders.controller;
+
+import com.common_wealth_builders.dto.response.GenericResponse;
+import com.common_wealth_builders.enums.Permission;
+import com.common_wealth_builders.security.RequiresPermission;
+import com.common_wealth_builders.service.DashboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/v1/dashboard")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Dashboard", description = "Admin landing page figures")
+@SecurityRequirement(name = "Bearer Authentication")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    @Operation(
+            summary = "Get admin dashboard",
+            description = "Returns the financial summary, first pages of pending payments and expenses, recent "
+                    + "audit entries and the caller's unread counts in one response. Shared sections may be "
+                    + "a few seconds old (see computedAt); sections the caller has no permission for are omitted"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Dashboard retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = GenericResponse.class))
+            ),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "503", description = "Dashboard took too long to compute; retry later")
+    })
+    @GetMapping
+    @RequiresPermission(Permission.REPORT_VIEW)
+    public ResponseEntity<GenericResponse> getDashboard() {
+        log.info("Request received: GET /dashboard");
+
+        GenericResponse response = dashboardService.getDashboard();
+
+        log.info("Response sent: GET /dashboard - status={}, success={}",
+                response.getHttpStatus(), response.isSuccess());
+
+        return new ResponseEntity<>(response, response.getHttpStatus());
+    }
+}
@@ -3,7 +3,10 @@ package com.common_wealth_builders.controller;
 import com.common_wealth_builders.dto.request.ApproveExpenseRequest;
 import com.common_wealth_builders.dto.request.ExpenseRequest;
 import com.common_wealth_builders.dto.response.GenericResponse;
+import com.common_wealth_builders.enums.Permission;
+import com.common_wealth_builders.security.RequiresPermission;
 import com.common_wealth_builders.service.ExpenseService;
+import com.common_wealth_builders.service.ExportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -18,8 +21,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -30,6 +33,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/v1/expenses")
@@ -40,6 +45,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 public class ExpenseController {
     
     private final ExpenseService expenseService;
+    private final ExportService exportService;
     
     @Operation(
             summary = "Create new expense (FIN ADMIN ONLY)",
@@ -55,7 +61,7 @@ public class ExpenseController {
             @ApiResponse(responseCode = "403", description = "Forbidden - Requires FIN_ADMIN role")
     })
     @PostMapping
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_FIN_ADMIN')")
+    @RequiresPermission(Permission.EXPENSE_MANAGE)
     public ResponseEntity<GenericResponse> createExpense(
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     description = "Expense details",
@@ -85,7 +91,7 @@ public class ExpenseController {
             @ApiResponse(responseCode = "403", description = "Forbidden - Requires FIN_ADMIN role")
     })
     @GetMapping
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_FIN_ADMIN')")
+    @RequiresPermission(Permission.EXPENSE_MANAGE)
     public ResponseEntity<GenericResponse> getAllExpenses(
             @Parameter(description = "Page number", example = "0")
             @RequestParam(defaultValue = "0") int page,
@@ -97,14 +103,22 @@ public class ExpenseController {
             @RequestParam(defaultValue = "expenseDate") String sortBy,
             
             @Parameter(description = "Sort direction", example = "DESC")
-            @RequestParam(defaultValue = "DESC") String sortOrder) {
+            @RequestParam(defaultValue = "DESC") String sortOrder,
+            
+            @Parameter(description = "Keyset cursor from the previous page's nextCursor (empty for the first page). " +
+                    "Pages newest-first by expense date and omits totals")
+            @RequestParam(required = false) String cursor) {
         
         log.info("Request received: GET /expenses - page={}, size={}", page, size);
         
-        Sort.Direction direction = sortOrder.equalsIgnoreCase("DESC") ? Sort.Direction.DESC : Sort.Direction.ASC;
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-        
-        GenericResponse response = expenseService.getAllExpenses(pageable);
+        GenericResponse response;
+        if (cursor != null) {
+            response = expenseService.getAllExpenses(cursor, size);
+        } else {
+            Sort.Direction direction = sortOrder.equalsIgnoreCase("DESC") ? Sort.Direction.DESC : Sort.Direction.ASC;
+            Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+            response = expenseService.getAllExpenses(pageable);
+        }
         
         log.info("Response sent: GET /expenses - status={}, success={}", 
                 response.getHttpStatus(), response.isSuccess());
@@ -122,7 +136,7 @@ public class ExpenseController {
             @ApiResponse(responseCode = "403", description = "Forbidden")
     })
     @GetMapping("/{id}")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_FIN_ADMIN')")
+    @RequiresPermission(Permission.EXPENSE_MANAGE)
     public ResponseEntity<GenericResponse> getExpenseById(
             @Parameter(description = "Expense ID", example = "1", required = true)
             @PathVariable Long id) {
@@ -146,7 +160,7 @@ public class ExpenseController {
             @ApiResponse(responseCode = "403", description = "Forbidden")
     })
     @PutMapping("/{id}")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_FIN_ADMIN')")
+    @RequiresPermission(Permission.EXPENSE_MANAGE)
     public ResponseEntity<GenericResponse> updateExpense(
             @Parameter(description = "Expense ID", example = "1", required = true)
             @PathVariable Long id,
@@ -177,7 +191,7 @@ public class ExpenseController {
             @ApiResponse(responseCode = "403", description = "Forbidden - Requires SUPER_ADMIN role")
     })
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasRole('ROLE_SUPER_ADMIN')")
+    @RequiresPermission(Permission.EXPENSE_DELETE)
     public ResponseEntity<GenericResponse> deleteExpense(
             @Parameter(description = "Expense ID", example = "1", required = true)
             @PathVariable Long id,
@@ -201,7 +215,7 @@ public class ExpenseController {
             @ApiResponse(responseCode = "403", description = "Forbidden - Requires FIN_ADMIN role")
     })
     @PostMapping("/{id}/approve")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_FIN_ADMIN')")
+    @RequiresPermission(Permission.EXPENSE_MANAGE)
     public ResponseEntity<GenericResponse> approveExpense(
             @Parameter(description = "Expense ID", example = "1", required = true)
             @PathVariable Long id,
@@ -228,7 +242,7 @@ public class ExpenseController {
             description = "Retrieves expenses pending approval. Only FIN_ADMIN and SUPER_ADMIN."
     )
     @GetMapping("/pending")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_FIN_ADMIN')")
+    @RequiresPermission(Permission.EXPENSE_MANAGE)
     public ResponseEntity<GenericResponse> getPendingExpenses(
             @Parameter(description = "Page number", example = "0")
             @RequestParam(defaultValue = "0") int page,
@@ -251,7 +265,7 @@ public class ExpenseController {
             description = "Search expenses with filters. Only FIN_ADMIN and SUPER_ADMIN."
     )
     @GetMapping("/search")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_FIN_ADMIN')")
+    @RequiresPermission(Permission.EXPENSE_MANAGE)
     public ResponseEntity<GenericResponse> searchExpenses(
             @Parameter(description = "Expense category")
             @RequestParam(required = false) String category,
@@ -277,4 +291,39 @@ public class ExpenseController {
         
         return new ResponseEntity<>(response, response.getHttpStatus());
     }
-}
\ No newline at end of file
+
+    @Operation(
+            summary = "Export expenses as CSV (FIN ADMIN)",
+            description = "Streams every expense matching the search filters as CSV, oldest first, including "
+                    + "soft-deleted rows (see is_deleted). Gzip-encoded when the client sends Accept-Encoding: gzip."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "CSV streamed",
+                    content = @Content(mediaType = "text/csv")),
+            @ApiResponse(responseCode = "400", description = "Invalid filter value"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Requires FIN_ADMIN role")
+    })
+    @GetMapping("/export")
+    @RequiresPermission(Permission.EXPENSE_MANAGE)
+    public ResponseEntity<StreamingResponseBody> exportExpenses(
+            @Parameter(description = "Expense category")
+            @RequestParam(required = false) String category,
+            
+            @Parameter(description = "Approval status")
+            @RequestParam(required = false) Boolean isApproved,
+            
+            @Parameter(description = "Search term")
+            @RequestParam(required = false) String search,
+            
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        
+        log.info("Request received: GET /expenses/export - category={}, isApproved={}", category, isApproved);
+        
+        ExportService.CsvExport export = exportService.exportExpenses(category, isApproved, search);
+        
+        log.info("Streaming CSV: GET /expenses/export");
+        
+        return CsvDownloads.csv("Expenses", acceptEncoding, export);
+    }
+}
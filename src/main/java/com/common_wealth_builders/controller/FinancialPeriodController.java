@@ -0,0 +1,143 @@
+package com.common_wealth_builders.controller;
+
+import com.common_wealth_builders.dto.response.GenericResponse;
+import com.common_wealth_builders.enums.Permission;
+import com.common_wealth_builders.security.RequiresPermission;
+import com.common_wealth_builders.service.FinancialPeriodService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/v1/periods")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Financial Periods", description = "Closing and reopening monthly financial periods")
+@SecurityRequirement(name = "Bearer Authentication")
+public class FinancialPeriodController {
+    
+    private final FinancialPeriodService financialPeriodService;
+    
+    @Operation(
+            summary = "Close a financial period (FIN ADMIN ONLY)",
+            description = "Freezes the month's summary and per-member contribution totals as a snapshot. "
+                    + "Payments and expenses dated in a closed month can no longer be created or changed "
+                    + "until the month is reopened."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Period closed successfully",
+                    content = @Content(schema = @Schema(implementation = GenericResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid period or month not yet ended"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Requires FIN_ADMIN role"),
+            @ApiResponse(responseCode = "409", description = "Period already closed")
+    })
+    @PostMapping("/{year}/{month}/close")
+    @RequiresPermission(Permission.PERIOD_CLOSE)
+    public ResponseEntity<GenericResponse> closePeriod(
+            @Parameter(description = "Year", example = "2026") @PathVariable int year,
+            @Parameter(description = "Month (1-12)", example = "2") @PathVariable int month) {
+        
+        log.info("Request received: POST /periods/{}/{}/close", year, month);
+        
+        GenericResponse response = financialPeriodService.closePeriod(year, month);
+        
+        log.info("Response sent: POST /periods/{}/{}/close - status={}, success={}", 
+                year, month, response.getHttpStatus(), response.isSuccess());
+        
+        return new ResponseEntity<>(response, response.getHttpStatus());
+    }
+    
+    @Operation(
+            summary = "Reopen a closed financial period (FIN ADMIN ONLY)",
+            description = "Allows payments and expenses in the month to change again. The old snapshot is kept; "
+                    + "closing the month again takes a new one."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Period reopened successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid period"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Requires FIN_ADMIN role"),
+            @ApiResponse(responseCode = "404", description = "Period is not closed")
+    })
+    @PostMapping("/{year}/{month}/reopen")
+    @RequiresPermission(Permission.PERIOD_CLOSE)
+    public ResponseEntity<GenericResponse> reopenPeriod(
+            @Parameter(description = "Year", example = "2026") @PathVariable int year,
+            @Parameter(description = "Month (1-12)", example = "2") @PathVariable int month,
+            @Parameter(description = "Why the period is reopened")
+            @RequestParam(required = false) String reason) {
+        
+        log.info("Request received: POST /periods/{}/{}/reopen", year, month);
+        
+        GenericResponse response = financialPeriodService.reopenPeriod(year, month, reason);
+        
+        log.info("Response sent: POST /periods/{}/{}/reopen - status={}, success={}", 
+                year, month, response.getHttpStatus(), response.isSuccess());
+        
+        return new ResponseEntity<>(response, response.getHttpStatus());
+    }
+    
+    @Operation(
+            summary = "List closed financial periods",
+            description = "Returns the currently closed months, newest first"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Closed periods retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @GetMapping
+    @RequiresPermission(Permission.REPORT_VIEW)
+    public ResponseEntity<GenericResponse> getClosedPeriods() {
+        log.info("Request received: GET /periods");
+        
+        GenericResponse response = financialPeriodService.getClosedPeriods();
+        
+        log.info("Response sent: GET /periods - status={}, success={}", 
+                response.getHttpStatus(), response.isSuccess());
+        
+        return new ResponseEntity<>(response, response.getHttpStatus());
+    }
+    
+    @Operation(
+            summary = "Get a closed period snapshot",
+            description = "Returns the frozen summary and per-member contribution totals of a closed month"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Snapshot retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid period"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "404", description = "Period is not closed")
+    })
+    @GetMapping("/{year}/{month}")
+    @RequiresPermission(Permission.REPORT_VIEW)
+    public ResponseEntity<GenericResponse> getPeriodSnapshot(
+            @Parameter(description = "Year", example = "2026") @PathVariable int year,
+            @Parameter(description = "Month (1-12)", example = "2") @PathVariable int month) {
+        
+        log.info("Request received: GET /periods/{}/{}", year, month);
+        
+        GenericResponse response = financialPeriodService.getPeriodSnapshot(year, month);
+        
+        log.info("Response sent: GET /periods/{}/{} - status={}, success={}", 
+                year, month, response.getHttpStatus(), response.isSuccess());
+        
+        return new ResponseEntity<>(response, response.getHttpStatus());
+    }
+}
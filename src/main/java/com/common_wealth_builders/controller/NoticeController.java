@@ -2,12 +2,13 @@ package com.common_wealth_builders.controller;
 
 import com.common_wealth_builders.dto.request.NoticeRequest;
 import com.common_wealth_builders.dto.response.GenericResponse;
+import com.common_wealth_builders.enums.Permission;
+import com.common_wealth_builders.security.RequiresPermission;
 import com.common_wealth_builders.service.NoticeService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
@@ -59,7 +60,7 @@ public class NoticeController {
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN','ROLE_TECH_ADMIN')")
+    @RequiresPermission(Permission.NOTICE_MANAGE)
     public ResponseEntity<GenericResponse> update(
             @PathVariable Long id,
             @Valid @RequestBody NoticeRequest request) {
@@ -68,31 +69,31 @@ public class NoticeController {
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasRole('ROLE_SUPER_ADMIN')")
+    @RequiresPermission(Permission.NOTICE_DELETE)
     public ResponseEntity<GenericResponse> delete(@PathVariable Long id) {
         return ResponseEntity.ok(noticeService.deleteNotice(id));
     }
 
     @PostMapping("/{id}/publish")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN','ROLE_TECH_ADMIN')")
+    @RequiresPermission(Permission.NOTICE_MANAGE)
     public ResponseEntity<GenericResponse> publish(@PathVariable Long id) {
         return ResponseEntity.ok(noticeService.publishNotice(id));
     }
 
     @PostMapping("/{id}/unpublish")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN','ROLE_TECH_ADMIN')")
+    @RequiresPermission(Permission.NOTICE_MANAGE)
     public ResponseEntity<GenericResponse> unpublish(@PathVariable Long id) {
         return ResponseEntity.ok(noticeService.unpublishNotice(id));
     }
 
     @PostMapping("/{id}/pin")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN','ROLE_TECH_ADMIN')")
+    @RequiresPermission(Permission.NOTICE_MANAGE)
     public ResponseEntity<GenericResponse> pin(@PathVariable Long id) {
         return ResponseEntity.ok(noticeService.pinNotice(id));
     }
 
     @PostMapping("/{id}/unpin")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN','ROLE_TECH_ADMIN')")
+    @RequiresPermission(Permission.NOTICE_MANAGE)
     public ResponseEntity<GenericResponse> unpin(@PathVariable Long id) {
         return ResponseEntity.ok(noticeService.unpinNotice(id));
     }
@@ -3,7 +3,10 @@ package com.common_wealth_builders.controller;
 import com.common_wealth_builders.dto.request.PaymentRequest;
 import com.common_wealth_builders.dto.request.VerifyPaymentRequest;
 import com.common_wealth_builders.dto.response.GenericResponse;
+import com.common_wealth_builders.enums.Permission;
+import com.common_wealth_builders.security.RequiresPermission;
 import com.common_wealth_builders.service.PaymentService;
+import com.common_wealth_builders.service.ExportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -18,6 +21,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -29,6 +33,8 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/v1/payments")
@@ -39,6 +45,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 public class PaymentController {
     
     private final PaymentService paymentService;
+    private final ExportService exportService;
     
     @Operation(
             summary = "Create new payment",
@@ -88,7 +95,7 @@ public class PaymentController {
             @ApiResponse(responseCode = "403", description = "Forbidden - Requires FIN_ADMIN role")
     })
     @GetMapping
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_FIN_ADMIN')")
+    @RequiresPermission(Permission.PAYMENT_MANAGE)
     public ResponseEntity<GenericResponse> getAllPayments(
             @Parameter(description = "Page number (0-based)", example = "0")
             @RequestParam(defaultValue = "0") int page,
@@ -100,15 +107,23 @@ public class PaymentController {
             @RequestParam(defaultValue = "paymentDate") String sortBy,
             
             @Parameter(description = "Sort direction (ASC or DESC)", example = "DESC")
-            @RequestParam(defaultValue = "DESC") String sortOrder) {
+            @RequestParam(defaultValue = "DESC") String sortOrder,
+            
+            @Parameter(description = "Keyset cursor from the previous page's nextCursor; pass it empty for the first page. " +
+                    "Switches to newest-first cursor paging without totals")
+            @RequestParam(required = false) String cursor) {
         
         log.info("Request received: GET /payments - page={}, size={}, sortBy={}, sortOrder={}", 
                 page, size, sortBy, sortOrder);
         
-        Sort.Direction direction = sortOrder.equalsIgnoreCase("DESC") ? Sort.Direction.DESC : Sort.Direction.ASC;
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-        
-        GenericResponse response = paymentService.getAllPayments(pageable);
+        GenericResponse response;
+        if (cursor != null) {
+            response = paymentService.getAllPayments(cursor, size);
+        } else {
+            Sort.Direction direction = sortOrder.equalsIgnoreCase("DESC") ? Sort.Direction.DESC : Sort.Direction.ASC;
+            Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+            response = paymentService.getAllPayments(pageable);
+        }
         
         log.info("Response sent: GET /payments - status={}, success={}", 
                 response.getHttpStatus(), response.isSuccess());
@@ -189,18 +204,23 @@ public class PaymentController {
             @ApiResponse(responseCode = "403", description = "Forbidden - Requires FIN_ADMIN role")
     })
     @GetMapping("/pending")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_FIN_ADMIN')")
+    @RequiresPermission(Permission.PAYMENT_MANAGE)
     public ResponseEntity<GenericResponse> getPendingPayments(
             @Parameter(description = "Page number (0-based)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             
             @Parameter(description = "Number of items per page", example = "10")
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            
+            @Parameter(description = "Keyset cursor from the previous page's nextCursor; pass it empty for the first page. " +
+                    "Switches to newest-first cursor paging without totals")
+            @RequestParam(required = false) String cursor) {
         
         log.info("Request received: GET /payments/pending - page={}, size={}", page, size);
         
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "paymentDate"));
-        GenericResponse response = paymentService.getPendingPayments(pageable);
+        GenericResponse response = cursor != null
+                ? paymentService.getPendingPayments(cursor, size)
+                : paymentService.getPendingPayments(PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "paymentDate")));
         
         log.info("Response sent: GET /payments/pending - status={}, success={}", 
                 response.getHttpStatus(), response.isSuccess());
@@ -219,7 +239,7 @@ public class PaymentController {
             @ApiResponse(responseCode = "403", description = "Forbidden - Requires FIN_ADMIN role")
     })
     @PutMapping("/{id}/verify")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_FIN_ADMIN')")
+    @RequiresPermission(Permission.PAYMENT_MANAGE)
     public ResponseEntity<GenericResponse> verifyPayment(
             @Parameter(description = "Payment ID to verify", example = "1", required = true)
             @PathVariable Long id,
@@ -252,7 +272,7 @@ public class PaymentController {
             @ApiResponse(responseCode = "403", description = "Forbidden - Requires FIN_ADMIN role")
     })
     @PutMapping("/{id}/reject")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_FIN_ADMIN')")
+    @RequiresPermission(Permission.PAYMENT_MANAGE)
     public ResponseEntity<GenericResponse> rejectPayment(
             @Parameter(description = "Payment ID to reject", example = "1", required = true)
             @PathVariable Long id,
@@ -314,7 +334,7 @@ public class PaymentController {
             @ApiResponse(responseCode = "403", description = "Forbidden - Requires FIN_ADMIN role")
     })
     @GetMapping("/search")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_FIN_ADMIN')")
+    @RequiresPermission(Permission.PAYMENT_MANAGE)
     public ResponseEntity<GenericResponse> searchPayments(
             @Parameter(description = "User ID filter")
             @RequestParam(required = false) Long userId,
@@ -329,17 +349,59 @@ public class PaymentController {
             @RequestParam(defaultValue = "0") int page,
             
             @Parameter(description = "Items per page", example = "10")
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            
+            @Parameter(description = "Keyset cursor from the previous page's nextCursor; pass it empty for the first page. " +
+                    "Switches to newest-first cursor paging without totals")
+            @RequestParam(required = false) String cursor) {
         
         log.info("Request received: GET /payments/search - userId={}, status={}, isVerified={}", 
                 userId, status, isVerified);
         
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "paymentDate"));
-        GenericResponse response = paymentService.searchPayments(userId, status, isVerified, pageable);
+        GenericResponse response = cursor != null
+                ? paymentService.searchPayments(userId, status, isVerified, cursor, size)
+                : paymentService.searchPayments(userId, status, isVerified,
+                        PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "paymentDate")));
         
         log.info("Response sent: GET /payments/search - status={}, success={}", 
                 response.getHttpStatus(), response.isSuccess());
         
         return new ResponseEntity<>(response, response.getHttpStatus());
     }
-}
\ No newline at end of file
+
+    @Operation(
+            summary = "Export payments as CSV (FIN ADMIN)",
+            description = "Streams every payment matching the search filters as CSV, oldest first, including "
+                    + "soft-deleted rows (see is_deleted). Gzip-encoded when the client sends Accept-Encoding: gzip."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "CSV streamed",
+                    content = @Content(mediaType = "text/csv")),
+            @ApiResponse(responseCode = "400", description = "Invalid filter value"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Requires FIN_ADMIN role")
+    })
+    @GetMapping("/export")
+    @RequiresPermission(Permission.PAYMENT_MANAGE)
+    public ResponseEntity<StreamingResponseBody> exportPayments(
+            @Parameter(description = "User ID filter")
+            @RequestParam(required = false) Long userId,
+            
+            @Parameter(description = "Payment status filter")
+            @RequestParam(required = false) String status,
+            
+            @Parameter(description = "Verification status filter")
+            @RequestParam(required = false) Boolean isVerified,
+            
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        
+        log.info("Request received: GET /payments/export - userId={}, status={}, isVerified={}", 
+                userId, status, isVerified);
+        
+        ExportService.CsvExport export = exportService.exportPayments(userId, status, isVerified);
+        
+        log.info("Streaming CSV: GET /payments/export");
+        
+        return CsvDownloads.csv("Payments", acceptEncoding, export);
+    }
+}
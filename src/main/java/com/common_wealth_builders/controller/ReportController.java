@@ -1,12 +1,16 @@
 package com.common_wealth_builders.controller;
 
 import com.common_wealth_builders.dto.request.ReportFilterRequest;
+import com.common_wealth_builders.dto.request.ReportJobRequest;
 import com.common_wealth_builders.dto.request.SendReportRequest;
 import com.common_wealth_builders.dto.response.GenericResponse;
+import com.common_wealth_builders.dto.response.ReportJobResponse;
+import com.common_wealth_builders.enums.Permission;
+import com.common_wealth_builders.enums.ReportJobType;
+import com.common_wealth_builders.security.RequiresPermission;
+import com.common_wealth_builders.service.ReportJobService;
 import com.common_wealth_builders.service.ReportService;
-import com.common_wealth_builders.service.impl.EmailService;
-import com.common_wealth_builders.service.impl.PdfReportService;
-import com.common_wealth_builders.service.impl.WhatsAppService;
+import com.common_wealth_builders.service.impl.ReportRenderer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -18,15 +22,16 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/v1/reports")
@@ -37,9 +42,8 @@ import java.util.Map;
 public class ReportController {
     
     private final ReportService reportService;
-    private final PdfReportService pdfReportService;
-    private final EmailService emailService;
-    private final WhatsAppService whatsAppService;
+    private final ReportRenderer reportRenderer;
+    private final ReportJobService reportJobService;
     
     @Operation(
             summary = "Generate financial summary report",
@@ -53,7 +57,7 @@ public class ReportController {
             @ApiResponse(responseCode = "403", description = "Forbidden - Insufficient permissions")
     })
     @PostMapping("/financial-summary")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_TECH_ADMIN', 'ROLE_FIN_ADMIN')")
+    @RequiresPermission(Permission.REPORT_VIEW)
     public ResponseEntity<GenericResponse> generateFinancialSummary(
             @Valid @RequestBody ReportFilterRequest request) {
         
@@ -70,7 +74,8 @@ public class ReportController {
 
     @Operation(
             summary = "Download financial summary as PDF",
-            description = "Downloads the financial summary report in PDF format"
+            description = "Downloads the financial summary report in PDF format, streamed as it is rendered. "
+                    + "Use /v1/report-jobs for large periods"
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "PDF generated successfully",
@@ -80,16 +85,15 @@ public class ReportController {
             @ApiResponse(responseCode = "403", description = "Forbidden")
     })
     @PostMapping("/financial-summary/download")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_TECH_ADMIN', 'ROLE_FIN_ADMIN')")
-    public ResponseEntity<byte[]> downloadFinancialSummaryPdf(
+    @RequiresPermission(Permission.REPORT_VIEW)
+    public ResponseEntity<StreamingResponseBody> downloadFinancialSummaryPdf(
             @Valid @RequestBody ReportFilterRequest request) {
         
         log.info("Request received: POST /reports/financial-summary/download");
         
-        GenericResponse reportResponse = reportService.generateFinancialSummary(request);
-        Map<String, Object> reportData = (Map<String, Object>) reportResponse.getData();
-        
-        byte[] pdfBytes = pdfReportService.generateFinancialSummaryPdf(reportData);
+        // Figures are computed here so errors still get a JSON response; the PDF streams afterwards
+        GenericResponse report = reportService.generateFinancialSummary(request);
+        StreamingResponseBody pdf = out -> reportRenderer.render(ReportJobType.FINANCIAL_SUMMARY, report, out);
         
         String filename = "Financial_Summary_" + 
                 LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".pdf";
@@ -99,90 +103,86 @@ public class ReportController {
         headers.setContentDispositionFormData("attachment", filename);
         headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
         
-        log.info("PDF generated successfully: {}", filename);
+        log.info("Streaming PDF: {}", filename);
         
         return ResponseEntity.ok()
                 .headers(headers)
-                .body(pdfBytes);
+                .body(pdf);
     }
 
     @Operation(
             summary = "Send financial summary via email",
-            description = "Generates and sends the financial summary report as PDF via email"
+            description = "Queues a financial summary report job and emails the PDF once it is ready. "
+                    + "Returns the job, which can be polled at /v1/report-jobs/{jobId}"
     )
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Email sent successfully"),
+            @ApiResponse(responseCode = "202", description = "Report job queued; email follows when it succeeds"),
             @ApiResponse(responseCode = "400", description = "Invalid email address"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
-            @ApiResponse(responseCode = "403", description = "Forbidden")
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "503", description = "Too many reports queued; retry later")
     })
     @PostMapping("/financial-summary/send-email")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_TECH_ADMIN', 'ROLE_FIN_ADMIN')")
+    @RequiresPermission(Permission.REPORT_VIEW)
     public ResponseEntity<GenericResponse> sendFinancialSummaryEmail(
-            @Valid @RequestBody ReportFilterRequest reportRequest,
+            @Parameter(description = "Period start; defaults to one month before the end")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "Period end; defaults to now")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
             @Valid @RequestBody SendReportRequest sendRequest) {
         
         log.info("Request received: POST /reports/financial-summary/send-email to {}", 
                 sendRequest.getEmail());
         
-        GenericResponse reportResponse = reportService.generateFinancialSummary(reportRequest);
-        Map<String, Object> reportData = (Map<String, Object>) reportResponse.getData();
-        
-        byte[] pdfBytes = pdfReportService.generateFinancialSummaryPdf(reportData);
+        Long jobId = submitFinancialSummaryJob(startDate, endDate);
+        GenericResponse response = reportJobService.sendByEmail(jobId, sendRequest);
         
-        String subject = sendRequest.getSubject() != null ? 
-                sendRequest.getSubject() : "Financial Summary Report";
+        log.info("Response sent: POST /reports/financial-summary/send-email - jobId={}, status={}", 
+                jobId, response.getHttpStatus());
         
-        emailService.sendReportEmail(
-                sendRequest.getEmail(),
-                subject,
-                "Financial Summary",
-                pdfBytes,
-                sendRequest.getRecipientName()
-        );
-        
-        log.info("Email sent successfully to: {}", sendRequest.getEmail());
-        
-        return ResponseEntity.ok(GenericResponse.builder()
-                .isSuccess(true)
-                .message("Financial summary report sent successfully via email")
-                .build());
+        return new ResponseEntity<>(response, response.getHttpStatus());
     }
 
     @Operation(
             summary = "Send financial summary via WhatsApp",
-            description = "Sends a WhatsApp notification with download link for the financial summary report"
+            description = "Queues a financial summary report job and sends a WhatsApp message with its download "
+                    + "link once it is ready"
     )
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "WhatsApp message sent successfully"),
+            @ApiResponse(responseCode = "202", description = "Report job queued; message follows when it succeeds"),
             @ApiResponse(responseCode = "400", description = "Invalid phone number"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
-            @ApiResponse(responseCode = "403", description = "Forbidden")
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "503", description = "Too many reports queued; retry later")
     })
     @PostMapping("/financial-summary/send-whatsapp")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_TECH_ADMIN', 'ROLE_FIN_ADMIN')")
+    @RequiresPermission(Permission.REPORT_VIEW)
     public ResponseEntity<GenericResponse> sendFinancialSummaryWhatsApp(
+            @Parameter(description = "Period start; defaults to one month before the end")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "Period end; defaults to now")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
             @Valid @RequestBody SendReportRequest sendRequest) {
         
         log.info("Request received: POST /reports/financial-summary/send-whatsapp to {}", 
                 sendRequest.getPhoneNumber());
         
-        // In production, you would generate a secure download link
-        String downloadUrl = "https://app.commonwealthbuilders.com/downloads/report-" + 
-                System.currentTimeMillis();
-        
-        whatsAppService.sendReportNotification(
-                sendRequest.getPhoneNumber(),
-                "Financial Summary Report",
-                downloadUrl
-        );
+        Long jobId = submitFinancialSummaryJob(startDate, endDate);
+        GenericResponse response = reportJobService.sendByWhatsApp(jobId, sendRequest);
         
-        log.info("WhatsApp sent successfully to: {}", sendRequest.getPhoneNumber());
+        log.info("Response sent: POST /reports/financial-summary/send-whatsapp - jobId={}, status={}", 
+                jobId, response.getHttpStatus());
         
-        return ResponseEntity.ok(GenericResponse.builder()
-                .isSuccess(true)
-                .message("Financial summary report link sent successfully via WhatsApp")
+        return new ResponseEntity<>(response, response.getHttpStatus());
+    }
+    
+    private Long submitFinancialSummaryJob(LocalDateTime startDate, LocalDateTime endDate) {
+        GenericResponse submitted = reportJobService.submitJob(ReportJobRequest.builder()
+                .type(ReportJobType.FINANCIAL_SUMMARY)
+                .startDate(startDate)
+                .endDate(endDate)
                 .build());
+        return ((ReportJobResponse) submitted.getData()).getJobId();
     }
     
     @Operation(
@@ -213,20 +213,20 @@ public class ReportController {
 
     @Operation(
             summary = "Download user contribution report as PDF",
-            description = "Downloads the user contribution report in PDF format"
+            description = "Downloads the user contribution report in PDF format, streamed as it is rendered. "
+                    + "Use /v1/report-jobs for large periods"
     )
     @GetMapping("/user-contribution/{userId}/download")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_TECH_ADMIN', 'ROLE_FIN_ADMIN')")
-    public ResponseEntity<byte[]> downloadUserContributionPdf(
+    @RequiresPermission(Permission.REPORT_VIEW)
+    public ResponseEntity<StreamingResponseBody> downloadUserContributionPdf(
             @Parameter(description = "User ID", example = "1")
             @PathVariable Long userId) {
         
         log.info("Request received: GET /reports/user-contribution/{}/download", userId);
         
-        GenericResponse reportResponse = reportService.generateUserContributionReport(userId);
-        Map<String, Object> reportData = (Map<String, Object>) reportResponse.getData();
-        
-        byte[] pdfBytes = pdfReportService.generateUserContributionPdf(reportData);
+        // Figures are computed here so errors still get a JSON response; the PDF streams afterwards
+        GenericResponse report = reportService.generateUserContributionReport(userId);
+        StreamingResponseBody pdf = out -> reportRenderer.render(ReportJobType.USER_CONTRIBUTION, report, out);
         
         String filename = "User_Contribution_" + userId + "_" +
                 LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".pdf";
@@ -237,7 +237,7 @@ public class ReportController {
         
         return ResponseEntity.ok()
                 .headers(headers)
-                .body(pdfBytes);
+                .body(pdf);
     }
     
     @Operation(
@@ -251,7 +251,7 @@ public class ReportController {
             @ApiResponse(responseCode = "403", description = "Forbidden")
     })
     @PostMapping("/expenses")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_TECH_ADMIN', 'ROLE_FIN_ADMIN')")
+    @RequiresPermission(Permission.REPORT_VIEW)
     public ResponseEntity<GenericResponse> generateExpenseReport(
             @Valid @RequestBody ReportFilterRequest request) {
         
@@ -268,19 +268,19 @@ public class ReportController {
 
     @Operation(
             summary = "Download expense report as PDF",
-            description = "Downloads the expense report in PDF format"
+            description = "Downloads the expense report in PDF format, streamed as it is rendered. "
+                    + "Use /v1/report-jobs for large periods"
     )
     @PostMapping("/expenses/download")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_TECH_ADMIN', 'ROLE_FIN_ADMIN')")
-    public ResponseEntity<byte[]> downloadExpenseReportPdf(
+    @RequiresPermission(Permission.REPORT_VIEW)
+    public ResponseEntity<StreamingResponseBody> downloadExpenseReportPdf(
             @Valid @RequestBody ReportFilterRequest request) {
         
         log.info("Request received: POST /reports/expenses/download");
         
-        GenericResponse reportResponse = reportService.generateExpenseReport(request);
-        Map<String, Object> reportData = (Map<String, Object>) reportResponse.getData();
-        
-        byte[] pdfBytes = pdfReportService.generateExpenseReportPdf(reportData);
+        // Figures are computed here so errors still get a JSON response; the PDF streams afterwards
+        GenericResponse report = reportService.generateExpenseReport(request);
+        StreamingResponseBody pdf = out -> reportRenderer.render(ReportJobType.EXPENSE, report, out);
         
         String filename = "Expense_Report_" +
                 LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".pdf";
@@ -291,7 +291,7 @@ public class ReportController {
         
         return ResponseEntity.ok()
                 .headers(headers)
-                .body(pdfBytes);
+                .body(pdf);
     }
     
     @Operation(
@@ -305,7 +305,7 @@ public class ReportController {
             @ApiResponse(responseCode = "403", description = "Forbidden")
     })
     @PostMapping("/payments")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_TECH_ADMIN', 'ROLE_FIN_ADMIN')")
+    @RequiresPermission(Permission.REPORT_VIEW)
     public ResponseEntity<GenericResponse> generatePaymentReport(
             @Valid @RequestBody ReportFilterRequest request) {
         
@@ -322,19 +322,21 @@ public class ReportController {
 
     @Operation(
             summary = "Download payment report as PDF",
-            description = "Downloads the payment report in PDF format"
+            description = "Downloads the payment report with every payment of the period in PDF format, "
+                    + "rendered to a temporary file and then sent. "
+                    + "Use /v1/report-jobs for large periods"
     )
     @PostMapping("/payments/download")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_TECH_ADMIN', 'ROLE_FIN_ADMIN')")
-    public ResponseEntity<byte[]> downloadPaymentReportPdf(
+    @RequiresPermission(Permission.REPORT_VIEW)
+    public ResponseEntity<StreamingResponseBody> downloadPaymentReportPdf(
             @Valid @RequestBody ReportFilterRequest request) {
         
         log.info("Request received: POST /reports/payments/download");
         
-        GenericResponse reportResponse = reportService.generatePaymentReport(request);
-        Map<String, Object> reportData = (Map<String, Object>) reportResponse.getData();
-        
-        byte[] pdfBytes = pdfReportService.generatePaymentReportPdf(reportData);
+        // Figures are computed here so errors still get a JSON response; the PDF streams afterwards
+        GenericResponse report = reportService.generatePaymentReport(request);
+        // Spooled to a temp file so the payment cursor is not held open while the client downloads
+        StreamingResponseBody pdf = out -> reportRenderer.renderSpooled(ReportJobType.PAYMENT, report, out);
         
         String filename = "Payment_Report_" +
                 LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".pdf";
@@ -345,12 +347,12 @@ public class ReportController {
         
         return ResponseEntity.ok()
                 .headers(headers)
-                .body(pdfBytes);
+                .body(pdf);
     }
     
     @Operation(
             summary = "Generate monthly report",
-            description = "Generates a comprehensive monthly summary report"
+            description = "Generates a comprehensive monthly summary report. Closed months are served from their snapshot"
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Report generated successfully"),
@@ -359,7 +361,7 @@ public class ReportController {
             @ApiResponse(responseCode = "403", description = "Forbidden")
     })
     @GetMapping("/monthly")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_TECH_ADMIN', 'ROLE_FIN_ADMIN')")
+    @RequiresPermission(Permission.REPORT_VIEW)
     public ResponseEntity<GenericResponse> generateMonthlyReport(
             @Parameter(description = "Year", example = "2026")
             @RequestParam int year,
@@ -375,4 +377,63 @@ public class ReportController {
         
         return new ResponseEntity<>(response, response.getHttpStatus());
     }
-}
\ No newline at end of file
+    
+    @Operation(
+            summary = "Generate annual report",
+            description = "Generates the financial summary of a year. Closed months are read from their snapshots"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Report generated successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid year"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @GetMapping("/annual")
+    @RequiresPermission(Permission.REPORT_VIEW)
+    public ResponseEntity<GenericResponse> generateAnnualReport(
+            @Parameter(description = "Year", example = "2026")
+            @RequestParam int year) {
+        
+        log.info("Request received: GET /reports/annual - year={}", year);
+        
+        GenericResponse response = reportService.generateAnnualReport(year);
+        
+        log.info("Response sent: GET /reports/annual - status={}, success={}", 
+                response.getHttpStatus(), response.isSuccess());
+        
+        return new ResponseEntity<>(response, response.getHttpStatus());
+    }
+    
+    @Operation(
+            summary = "Generate income and expense trend series",
+            description = "Returns daily, weekly or monthly series of verified income, pending income, approved "
+                    + "and pending expenses and approved expenses per category, as parallel arrays indexed "
+                    + "like the buckets. The whole range is computed in one query"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Trend series generated successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid range or granularity, or too many buckets"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @GetMapping("/trend")
+    @RequiresPermission(Permission.REPORT_VIEW)
+    public ResponseEntity<GenericResponse> generateTrendSeries(
+            @Parameter(description = "First day; defaults to the start of the month 23 months before the end", example = "2025-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "Last day, inclusive; defaults to today", example = "2026-12-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "Bucket size: DAY, WEEK (starting Monday) or MONTH", example = "MONTH")
+            @RequestParam(defaultValue = "MONTH") String granularity) {
+        
+        log.info("Request received: GET /reports/trend - startDate={}, endDate={}, granularity={}", 
+                startDate, endDate, granularity);
+        
+        GenericResponse response = reportService.generateTrendSeries(startDate, endDate, granularity);
+        
+        log.info("Response sent: GET /reports/trend - status={}, success={}", 
+                response.getHttpStatus(), response.isSuccess());
+        
+        return new ResponseEntity<>(response, response.getHttpStatus());
+    }
+}
@@ -0,0 +1,85 @@
+package com.common_wealth_builders.controller;
+
+import com.common_wealth_builders.enums.ReportJobType;
+import com.common_wealth_builders.exception.InvalidDownloadLinkException;
+import com.common_wealth_builders.exception.ResourceNotFoundException;
+import com.common_wealth_builders.service.impl.ReportArtifactStore;
+import com.common_wealth_builders.service.impl.ReportLinkSigner;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@RestController
+@RequestMapping("/v1/report-files")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Report Files", description = "Report downloads through signed, expiring links")
+public class ReportFileController {
+
+    private final ReportLinkSigner linkSigner;
+    private final ReportArtifactStore artifactStore;
+
+    @Operation(
+            summary = "Download a report through a signed link",
+            description = "Serves the report file a signed link points to; no login is needed. "
+                    + "Supports Range requests and ETag revalidation."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "File streamed", content = {
+                    @Content(mediaType = "application/pdf"),
+                    @Content(mediaType = "application/zip")}),
+            @ApiResponse(responseCode = "206", description = "Requested range streamed"),
+            @ApiResponse(responseCode = "304", description = "Client copy is current"),
+            @ApiResponse(responseCode = "403", description = "Link is invalid or has expired"),
+            @ApiResponse(responseCode = "404", description = "File no longer exists"),
+            @ApiResponse(responseCode = "416", description = "Range not satisfiable")
+    })
+    @GetMapping("/{key}")
+    public void downloadFile(
+            @Parameter(description = "Content key from the link") @PathVariable String key,
+            @Parameter(description = "File name offered to the client") @RequestParam String name,
+            @Parameter(description = "Expiry, epoch seconds") @RequestParam long expires,
+            @Parameter(description = "Link signature") @RequestParam String sig,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        log.info("Request received: GET /report-files/{}", key);
+
+        if (!linkSigner.verify(key, name, expires, sig)) {
+            throw new InvalidDownloadLinkException("Download link is invalid or has expired");
+        }
+        Path file = artifactStore.resolveBlob(key);
+        if (file == null) {
+            throw new ResourceNotFoundException("Report file no longer exists");
+        }
+
+        ArtifactDownloads.send(file, name, contentTypeOf(key), "private, max-age=3600", request, response);
+
+        log.info("Response sent: GET /report-files/{} - status={}", key, response.getStatus());
+    }
+
+    private static String contentTypeOf(String key) {
+        String extension = key.substring(key.lastIndexOf('.') + 1);
+        for (ReportJobType type : ReportJobType.values()) {
+            if (type.getExtension().equals(extension)) {
+                return type.getContentType();
+            }
+        }
+        return "application/octet-stream";
+    }
+}
@@ -0,0 +1,235 @@
+package com.common_wealth_builders.controller;
+
+import com.common_wealth_builders.dto.request.ReportJobRequest;
+import com.common_wealth_builders.dto.request.SendReportRequest;
+import com.common_wealth_builders.dto.response.GenericResponse;
+import com.common_wealth_builders.enums.Permission;
+import com.common_wealth_builders.security.RequiresPermission;
+import com.common_wealth_builders.service.ReportJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/v1/report-jobs")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Report Jobs", description = "Generating report files in the background")
+@SecurityRequirement(name = "Bearer Authentication")
+public class ReportJobController {
+
+    private final ReportJobService reportJobService;
+
+    @Operation(
+            summary = "Submit a report job",
+            description = "Queues a report for generation and returns its job ID at once. "
+                    + "Poll the job for progress and download the file when it has succeeded. "
+                    + "MEMBER_STATEMENTS builds a ZIP with one statement per member for the given year."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Job queued",
+                    content = @Content(schema = @Schema(implementation = GenericResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Missing or invalid report parameters"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "503", description = "Too many reports queued; retry later")
+    })
+    @PostMapping
+    @RequiresPermission(Permission.REPORT_VIEW)
+    public ResponseEntity<GenericResponse> submitJob(@Valid @RequestBody ReportJobRequest request) {
+
+        log.info("Request received: POST /report-jobs - type={}", request.getType());
+
+        GenericResponse response = reportJobService.submitJob(request);
+
+        log.info("Response sent: POST /report-jobs - status={}, success={}",
+                response.getHttpStatus(), response.isSuccess());
+
+        return new ResponseEntity<>(response, response.getHttpStatus());
+    }
+
+    @Operation(
+            summary = "Get a report job",
+            description = "Returns the status and progress of one of your report jobs"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "404", description = "Job not found")
+    })
+    @GetMapping("/{jobId}")
+    @RequiresPermission(Permission.REPORT_VIEW)
+    public ResponseEntity<GenericResponse> getJob(
+            @Parameter(description = "Job ID", example = "1") @PathVariable Long jobId) {
+
+        log.info("Request received: GET /report-jobs/{}", jobId);
+
+        GenericResponse response = reportJobService.getJob(jobId);
+
+        log.info("Response sent: GET /report-jobs/{} - status={}, success={}",
+                jobId, response.getHttpStatus(), response.isSuccess());
+
+        return new ResponseEntity<>(response, response.getHttpStatus());
+    }
+
+    @Operation(
+            summary = "Download a report",
+            description = "Streams the file of a succeeded report job: a PDF, or a ZIP for member statements. "
+                    + "Supports Range requests and ETag revalidation."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "File streamed", content = {
+                    @Content(mediaType = "application/pdf"),
+                    @Content(mediaType = "application/zip")}),
+            @ApiResponse(responseCode = "206", description = "Requested range streamed"),
+            @ApiResponse(responseCode = "304", description = "Client copy is current"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "404", description = "Job not found"),
+            @ApiResponse(responseCode = "409", description = "Job has not succeeded or its file has expired")
+    })
+    @GetMapping("/{jobId}/download")
+    @RequiresPermission(Permission.REPORT_VIEW)
+    public void downloadReport(
+            @Parameter(description = "Job ID", example = "1") @PathVariable Long jobId,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        log.info("Request received: GET /report-jobs/{}/download", jobId);
+
+        ReportJobService.Artifact artifact = reportJobService.getArtifact(jobId);
+        ArtifactDownloads.send(artifact.path(), artifact.fileName(), artifact.contentType(),
+                "private, no-cache", request, response);
+
+        log.info("Response sent: GET /report-jobs/{}/download - status={}", jobId, response.getStatus());
+    }
+
+    @Operation(
+            summary = "Create a share link",
+            description = "Returns a signed link to the job's file that works without logging in, "
+                    + "e.g. for sharing with members. The link expires with the file at the latest."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Link created"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "404", description = "Job not found"),
+            @ApiResponse(responseCode = "409", description = "Job has not succeeded or its file has expired")
+    })
+    @PostMapping("/{jobId}/link")
+    @RequiresPermission(Permission.REPORT_VIEW)
+    public ResponseEntity<GenericResponse> createLink(
+            @Parameter(description = "Job ID", example = "1") @PathVariable Long jobId) {
+
+        log.info("Request received: POST /report-jobs/{}/link", jobId);
+
+        GenericResponse response = reportJobService.createLink(jobId);
+
+        log.info("Response sent: POST /report-jobs/{}/link - status={}, success={}",
+                jobId, response.getHttpStatus(), response.isSuccess());
+
+        return new ResponseEntity<>(response, response.getHttpStatus());
+    }
+
+    @Operation(
+            summary = "Cancel a report job",
+            description = "Cancels a queued or running report job. A running job stops at its next step."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job cancelled"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "404", description = "Job not found"),
+            @ApiResponse(responseCode = "409", description = "Job has already finished")
+    })
+    @PostMapping("/{jobId}/cancel")
+    @RequiresPermission(Permission.REPORT_VIEW)
+    public ResponseEntity<GenericResponse> cancelJob(
+            @Parameter(description = "Job ID", example = "1") @PathVariable Long jobId) {
+
+        log.info("Request received: POST /report-jobs/{}/cancel", jobId);
+
+        GenericResponse response = reportJobService.cancelJob(jobId);
+
+        log.info("Response sent: POST /report-jobs/{}/cancel - status={}, success={}",
+                jobId, response.getHttpStatus(), response.isSuccess());
+
+        return new ResponseEntity<>(response, response.getHttpStatus());
+    }
+
+    @Operation(
+            summary = "Email a report",
+            description = "Emails the report PDF as an attachment as soon as the job has succeeded"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Email scheduled"),
+            @ApiResponse(responseCode = "400", description = "Missing or invalid email address, or a report that cannot be emailed"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "404", description = "Job not found"),
+            @ApiResponse(responseCode = "409", description = "Job failed, was cancelled or has expired")
+    })
+    @PostMapping("/{jobId}/send-email")
+    @RequiresPermission(Permission.REPORT_VIEW)
+    public ResponseEntity<GenericResponse> sendByEmail(
+            @Parameter(description = "Job ID", example = "1") @PathVariable Long jobId,
+            @Valid @RequestBody SendReportRequest request) {
+
+        log.info("Request received: POST /report-jobs/{}/send-email to {}", jobId, request.getEmail());
+
+        GenericResponse response = reportJobService.sendByEmail(jobId, request);
+
+        log.info("Response sent: POST /report-jobs/{}/send-email - status={}, success={}",
+                jobId, response.getHttpStatus(), response.isSuccess());
+
+        return new ResponseEntity<>(response, response.getHttpStatus());
+    }
+
+    @Operation(
+            summary = "Send a report link via WhatsApp",
+            description = "Sends a WhatsApp message with the download link as soon as the job has succeeded"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Message scheduled"),
+            @ApiResponse(responseCode = "400", description = "Missing or invalid phone number"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "404", description = "Job not found"),
+            @ApiResponse(responseCode = "409", description = "Job failed, was cancelled or has expired")
+    })
+    @PostMapping("/{jobId}/send-whatsapp")
+    @RequiresPermission(Permission.REPORT_VIEW)
+    public ResponseEntity<GenericResponse> sendByWhatsApp(
+            @Parameter(description = "Job ID", example = "1") @PathVariable Long jobId,
+            @Valid @RequestBody SendReportRequest request) {
+
+        log.info("Request received: POST /report-jobs/{}/send-whatsapp to {}", jobId, request.getPhoneNumber());
+
+        GenericResponse response = reportJobService.sendByWhatsApp(jobId, request);
+
+        log.info("Response sent: POST /report-jobs/{}/send-whatsapp - status={}, success={}",
+                jobId, response.getHttpStatus(), response.isSuccess());
+
+        return new ResponseEntity<>(response, response.getHttpStatus());
+    }
+}
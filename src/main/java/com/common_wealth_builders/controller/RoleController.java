@@ -3,6 +3,8 @@ package com.common_wealth_builders.controller;
 import com.common_wealth_builders.dto.request.AssignRoleRequest;
 import com.common_wealth_builders.dto.request.CreateRoleRequest;
 import com.common_wealth_builders.dto.response.GenericResponse;
+import com.common_wealth_builders.enums.Permission;
+import com.common_wealth_builders.security.RequiresPermission;
 import com.common_wealth_builders.service.RoleService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -12,7 +14,6 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -26,7 +27,7 @@ public class RoleController {
 
     // 1️⃣ GET ALL (Paginated)
     @GetMapping
-    @PreAuthorize("hasRole('ROLE_SUPER_ADMIN')")
+    @RequiresPermission(Permission.ROLE_MANAGE)
     public ResponseEntity<GenericResponse> getAllRoles(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
@@ -38,7 +39,7 @@ public class RoleController {
 
     // 2️⃣ GET ACTIVE ROLES
     @GetMapping("/active")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN','ROLE_ADMIN')")
+    @RequiresPermission(Permission.ROLE_MANAGE)
     public ResponseEntity<GenericResponse> getActiveRoles() {
 
         log.info("Request received: GET /roles/active");
@@ -48,7 +49,7 @@ public class RoleController {
 
     // 3️⃣ GET BY ID
     @GetMapping("/{id}")
-    @PreAuthorize("hasRole('ROLE_SUPER_ADMIN')")
+    @RequiresPermission(Permission.ROLE_MANAGE)
     public ResponseEntity<GenericResponse> getRoleById(@PathVariable Long id) {
 
         log.info("Request received: GET /roles/{}", id);
@@ -58,7 +59,7 @@ public class RoleController {
 
     // 4️⃣ CREATE
     @PostMapping
-    @PreAuthorize("hasRole('ROLE_SUPER_ADMIN')")
+    @RequiresPermission(Permission.ROLE_MANAGE)
     public ResponseEntity<GenericResponse> createRole(
             @Valid @RequestBody CreateRoleRequest request) {
 
@@ -69,7 +70,7 @@ public class RoleController {
 
     // 5️⃣ UPDATE
     @PutMapping("/{id}")
-    @PreAuthorize("hasRole('ROLE_SUPER_ADMIN')")
+    @RequiresPermission(Permission.ROLE_MANAGE)
     public ResponseEntity<GenericResponse> updateRole(
             @PathVariable Long id,
             @Valid @RequestBody CreateRoleRequest request) {
@@ -81,7 +82,7 @@ public class RoleController {
 
     // 6️⃣ DELETE (Soft Delete)
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasRole('ROLE_SUPER_ADMIN')")
+    @RequiresPermission(Permission.ROLE_MANAGE)
     public ResponseEntity<GenericResponse> deleteRole(@PathVariable Long id) {
 
         log.info("Request received: DELETE /roles/{}", id);
@@ -91,7 +92,7 @@ public class RoleController {
 
     // 7️⃣ ACTIVATE
     @PostMapping("/{id}/activate")
-    @PreAuthorize("hasRole('ROLE_SUPER_ADMIN')")
+    @RequiresPermission(Permission.ROLE_MANAGE)
     public ResponseEntity<GenericResponse> activateRole(@PathVariable Long id) {
 
         log.info("Request received: POST /roles/{}/activate", id);
@@ -101,7 +102,7 @@ public class RoleController {
 
     // 8️⃣ DEACTIVATE
     @PostMapping("/{id}/deactivate")
-    @PreAuthorize("hasRole('ROLE_SUPER_ADMIN')")
+    @RequiresPermission(Permission.ROLE_MANAGE)
     public ResponseEntity<GenericResponse> deactivateRole(@PathVariable Long id) {
 
         log.info("Request received: POST /roles/{}/deactivate", id);
@@ -110,7 +111,7 @@ public class RoleController {
     }
 
     @GetMapping("/search")
-    @PreAuthorize("hasRole('ROLE_SUPER_ADMIN')")
+    @RequiresPermission(Permission.ROLE_MANAGE)
     public ResponseEntity<GenericResponse> searchRole(
             @RequestParam String q,
             @RequestParam(defaultValue = "0") int page,
@@ -143,7 +144,7 @@ public class RoleController {
 
     // 1️⃣1️⃣ REVOKE ROLE
     @DeleteMapping("/revoke/user/{userId}/role/{roleId}")
-    @PreAuthorize("hasRole('ROLE_SUPER_ADMIN')")
+    @RequiresPermission(Permission.ROLE_MANAGE)
     public ResponseEntity<GenericResponse> revokeRole(
             @PathVariable Long userId,
             @PathVariable Long roleId) {
@@ -158,7 +159,7 @@ public class RoleController {
 
     // 1️⃣2️⃣ GET USER ROLES
     @GetMapping("/user/{userId}")
-    @PreAuthorize("hasRole('ROLE_SUPER_ADMIN')")
+    @RequiresPermission(Permission.ROLE_MANAGE)
     public ResponseEntity<GenericResponse> getUserRoles(@PathVariable Long userId) {
 
         log.info("Request received: GET /roles/user/{}", userId);
@@ -171,7 +172,7 @@ public class RoleController {
 
     // 1️⃣3️⃣ GET ROLE USERS
     @GetMapping("/{roleId}/users")
-    @PreAuthorize("hasRole('ROLE_SUPER_ADMIN')")
+    @RequiresPermission(Permission.ROLE_MANAGE)
     public ResponseEntity<GenericResponse> getRoleUsers(
             @PathVariable Long roleId,
             @RequestParam(defaultValue = "0") int page,
@@ -0,0 +1,70 @@
+package com.common_wealth_builders.controller;
+
+import com.common_wealth_builders.dto.response.GenericResponse;
+import com.common_wealth_builders.enums.Permission;
+import com.common_wealth_builders.security.RequiresPermission;
+import com.common_wealth_builders.utils.MetricsSource;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@RestController
+@RequestMapping("/v1/system")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "System", description = "Operational endpoints for administrators")
+@SecurityRequirement(name = "Bearer Authentication")
+public class SystemMetricsController {
+
+    private final List<MetricsSource> metricsSources;
+
+    @Operation(
+            summary = "Get in-process metrics",
+            description = "Returns counters published by in-process caches, queues and limiters"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Metrics retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = GenericResponse.class))
+            ),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Requires administrator role")
+    })
+    @GetMapping("/metrics")
+    @RequiresPermission(Permission.SYSTEM_METRICS)
+    public ResponseEntity<GenericResponse> getMetrics() {
+        log.info("Request received: GET /system/metrics");
+
+        Map<String, Object> metrics = new TreeMap<>();
+        for (MetricsSource source : metricsSources) {
+            metrics.put(source.metricsName(), source.metricsSnapshot());
+        }
+
+        GenericResponse response = GenericResponse.builder()
+                .isSuccess(true)
+                .message("Metrics retrieved successfully")
+                .data(metrics)
+                .httpStatus(HttpStatus.OK)
+                .build();
+
+        log.info("Response sent: GET /system/metrics - sources={}", metrics.size());
+
+        return new ResponseEntity<>(response, response.getHttpStatus());
+    }
+}
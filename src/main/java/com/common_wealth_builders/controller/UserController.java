@@ -2,6 +2,8 @@ package com.common_wealth_builders.controller;
 
 import com.common_wealth_builders.dto.request.CreateUserRequest;
 import com.common_wealth_builders.dto.response.GenericResponse;
+import com.common_wealth_builders.enums.Permission;
+import com.common_wealth_builders.security.RequiresPermission;
 import com.common_wealth_builders.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -46,7 +48,7 @@ public class UserController {
     })
     @SecurityRequirement(name = "Bearer Authentication")
     @PostMapping
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_TECH_ADMIN')")
+    @RequiresPermission(Permission.USER_MANAGE)
     public ResponseEntity<GenericResponse> createUser(
             @Valid @RequestBody CreateUserRequest request,
             Authentication authentication) {
@@ -69,7 +71,7 @@ public class UserController {
             @ApiResponse(responseCode = "403", description = "Forbidden - Requires TECH_ADMIN role")
     })
     @GetMapping
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_TECH_ADMIN')")
+    @RequiresPermission(Permission.USER_MANAGE)
     public ResponseEntity<GenericResponse> getAllUsers(
             @Parameter(description = "Page number (0-based)", example = "0")
             @RequestParam(defaultValue = "0") int page,
@@ -81,15 +83,23 @@ public class UserController {
             @RequestParam(defaultValue = "createdDate") String sortBy,
             
             @Parameter(description = "Sort direction (ASC or DESC)", example = "DESC")
-            @RequestParam(defaultValue = "DESC") String sortOrder) {
+            @RequestParam(defaultValue = "DESC") String sortOrder,
+            
+            @Parameter(description = "nextCursor from the previous page, or empty for the first page. " +
+                    "Enables cursor paging (newest users first, no totals)")
+            @RequestParam(required = false) String cursor) {
         
         log.info("Request received: GET /users - page={}, size={}, sortBy={}, sortOrder={}", 
                 page, size, sortBy, sortOrder);
         
-        Sort.Direction direction = sortOrder.equalsIgnoreCase("DESC") ? Sort.Direction.DESC : Sort.Direction.ASC;
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-        
-        GenericResponse response = userService.getAllUsers(pageable);
+        GenericResponse response;
+        if (cursor != null) {
+            response = userService.getAllUsers(cursor, size);
+        } else {
+            Sort.Direction direction = sortOrder.equalsIgnoreCase("DESC") ? Sort.Direction.DESC : Sort.Direction.ASC;
+            Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+            response = userService.getAllUsers(pageable);
+        }
         
         log.info("Response sent: GET /users - status={}, success={}", 
                 response.getHttpStatus(), response.isSuccess());
@@ -112,7 +122,7 @@ public class UserController {
             @ApiResponse(responseCode = "403", description = "Forbidden")
     })
     @GetMapping("/{id}")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_TECH_ADMIN')")
+    @RequiresPermission(Permission.USER_MANAGE)
     public ResponseEntity<GenericResponse> getUserById(
             @Parameter(description = "User ID", example = "1", required = true)
             @PathVariable Long id) {
@@ -167,7 +177,7 @@ public class UserController {
             @ApiResponse(responseCode = "403", description = "Forbidden")
     })
     @GetMapping("/search")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_TECH_ADMIN')")
+    @RequiresPermission(Permission.USER_MANAGE)
     public ResponseEntity<GenericResponse> searchUsers(
             @Parameter(description = "Search term (name, email, etc.)", example = "john", required = true)
             @RequestParam String search,
@@ -206,7 +216,7 @@ public class UserController {
             @ApiResponse(responseCode = "403", description = "Forbidden")
     })
     @PostMapping("/{id}/enable")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_TECH_ADMIN')")
+    @RequiresPermission(Permission.USER_MANAGE)
     public ResponseEntity<GenericResponse> enableUser(
             @Parameter(description = "User ID to enable", example = "1", required = true)
             @PathVariable Long id) {
@@ -237,7 +247,7 @@ public class UserController {
             @ApiResponse(responseCode = "403", description = "Forbidden")
     })
     @PostMapping("/{id}/disable")
-    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_TECH_ADMIN')")
+    @RequiresPermission(Permission.USER_MANAGE)
     public ResponseEntity<GenericResponse> disableUser(
             @Parameter(description = "User ID to disable", example = "1", required = true)
             @PathVariable Long id) {
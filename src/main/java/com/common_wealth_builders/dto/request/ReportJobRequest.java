@@ -0,0 +1,44 @@
+package com.common_wealth_builders.dto.request;
+
+import com.common_wealth_builders.enums.ReportJobType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Report to generate in the background. Which fields apply depends on
+ * the type: a date range for summary, expense and payment reports,
+ * {@code userId} for a user contribution, {@code year} and {@code month}
+ * for monthly and {@code year} for annual reports.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request to generate a report in the background")
+public class ReportJobRequest {
+
+    @Schema(description = "Report type", example = "ANNUAL")
+    @NotNull(message = "Report type is required")
+    private ReportJobType type;
+
+    @Schema(description = "Period start; defaults to one month before the end")
+    private LocalDateTime startDate;
+
+    @Schema(description = "Period end; defaults to now")
+    private LocalDateTime endDate;
+
+    @Schema(description = "Member for a user contribution report", example = "1")
+    private Long userId;
+
+    @Schema(description = "Year for monthly and annual reports", example = "2026")
+    private Integer year;
+
+    @Schema(description = "Month (1-12) for monthly reports", example = "2")
+    private Integer month;
+}
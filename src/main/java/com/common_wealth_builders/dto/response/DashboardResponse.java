@@ -0,0 +1,30 @@
+package com.common_wealth_builders.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Admin landing page figures. Sections the caller has no permission for
+ * are left out. {@code computedAt} is when the shared sections were read;
+ * the unread counts are the caller's own and always current.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DashboardResponse {
+
+    private FinancialSummaryResponse financialSummary;
+    private PageResponse<?> pendingPayments;
+    private PageResponse<?> pendingExpenses;
+    private PageResponse<?> recentAuditTrails;
+    private Long unreadNotifications;
+    private Integer unreadNotices;
+    private LocalDateTime computedAt;
+}
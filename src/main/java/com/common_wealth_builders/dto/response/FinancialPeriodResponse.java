@@ -0,0 +1,27 @@
+package com.common_wealth_builders.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FinancialPeriodResponse {
+    
+    private Integer year;
+    private Integer month;
+    private Boolean closed;
+    private String closedBy;
+    private LocalDateTime closedAt;
+    private String reopenedBy;
+    private LocalDateTime reopenedAt;
+    private String reopenReason;
+    private FinancialSummaryResponse summary;
+    private List<MemberContributionTotal> memberTotals;
+}
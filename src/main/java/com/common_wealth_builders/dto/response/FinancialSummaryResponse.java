@@ -28,4 +28,5 @@ public class FinancialSummaryResponse {
     private LocalDateTime reportGeneratedAt;
     private LocalDateTime periodStart;
     private LocalDateTime periodEnd;
+    private Boolean periodClosed;
 }
\ No newline at end of file
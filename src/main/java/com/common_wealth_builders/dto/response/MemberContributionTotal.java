@@ -0,0 +1,21 @@
+package com.common_wealth_builders.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemberContributionTotal {
+    
+    private Long userId;
+    private BigDecimal totalContributions;
+    private BigDecimal verifiedContributions;
+    private BigDecimal pendingContributions;
+    private Integer paymentCount;
+}
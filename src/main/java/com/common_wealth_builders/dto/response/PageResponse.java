@@ -1,5 +1,6 @@
 package com.common_wealth_builders.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -7,6 +8,13 @@ import lombok.NoArgsConstructor;
 
 import java.util.List;
 
+/**
+ * One page of a list endpoint. The offset fields are always present.
+ * Cursor pages are not counted, so they leave page number and totals at
+ * zero and carry {@code nextCursor} instead (absent on the last page).
+ * {@code totalExact} is only sent by endpoints that may estimate the total,
+ * and is false when {@code totalElements} is a planner estimate.
+ */
 @Data
 @Builder
 @NoArgsConstructor
@@ -23,4 +31,10 @@ public class PageResponse<T> {
 
     private boolean first;
     private boolean last;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean totalExact;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
 }
@@ -0,0 +1,42 @@
+package com.common_wealth_builders.dto.response;
+
+import com.common_wealth_builders.enums.FollowUpStatus;
+import com.common_wealth_builders.enums.ReportJobStatus;
+import com.common_wealth_builders.enums.ReportJobType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobResponse {
+    
+    private Long jobId;
+    private ReportJobType type;
+    private ReportJobStatus status;
+    private Integer progress;
+    private Integer itemsDone;
+    private Integer itemsTotal;
+    private LocalDateTime periodStart;
+    private LocalDateTime periodEnd;
+    private Integer year;
+    private Integer month;
+    private Long userId;
+    private String requestedBy;
+    private String fileName;
+    private Long fileSize;
+    private String downloadPath;
+    private String errorMessage;
+    private String emailTo;
+    private FollowUpStatus emailStatus;
+    private String whatsappTo;
+    private FollowUpStatus whatsappStatus;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
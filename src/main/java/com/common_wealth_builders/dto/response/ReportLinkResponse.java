@@ -0,0 +1,20 @@
+package com.common_wealth_builders.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportLinkResponse {
+
+    private Long jobId;
+    private String url;
+    private String fileName;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,35 @@
+package com.common_wealth_builders.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columnar trend series: {@code buckets[i]} is the first day of the i-th
+ * bucket and every series holds its value at index i. Buckets without
+ * activity are zero.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendSeriesResponse {
+
+    private String granularity;
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private List<LocalDate> buckets;
+    private List<BigDecimal> verifiedIncome;
+    private List<BigDecimal> pendingIncome;
+    private List<BigDecimal> approvedExpenses;
+    private List<BigDecimal> pendingExpenses;
+    private Map<String, List<BigDecimal>> expensesByCategory;
+    private LocalDateTime reportGeneratedAt;
+}
@@ -6,6 +6,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -17,7 +18,12 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "audit_trails")
+@Table(name = "audit_trails", indexes = {
+        @Index(name = "idx_audit_user_created", columnList = "user_id, createdDate"),
+        @Index(name = "idx_audit_module", columnList = "module"),
+        @Index(name = "idx_audit_action", columnList = "action"),
+        @Index(name = "idx_audit_created_date", columnList = "createdDate")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,57 @@
+package com.common_wealth_builders.entity;
+
+import com.common_wealth_builders.enums.ExpenseCategory;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Sum and count of non-deleted expenses per expense day, category and
+ * approval state. Maintained in the same transaction as the expense change.
+ */
+@Entity
+@Table(name = "daily_expense_rollups")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyExpenseRollup {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(nullable = false)
+    private long expenseCount;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        @Column(nullable = false)
+        private LocalDate rollupDate;
+
+        @Enumerated(EnumType.STRING)
+        @Column(nullable = false, length = 50)
+        private ExpenseCategory category;
+
+        @Column(nullable = false)
+        private boolean approved;
+    }
+}
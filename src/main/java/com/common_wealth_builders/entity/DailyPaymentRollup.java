@@ -0,0 +1,54 @@
+package com.common_wealth_builders.entity;
+
+import com.common_wealth_builders.enums.PaymentStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Sum and count of payments per payment day and status. Maintained in the
+ * same transaction as the payment change (see {@code DailyRollupStore}).
+ */
+@Entity
+@Table(name = "daily_payment_rollups")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyPaymentRollup {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(nullable = false)
+    private long paymentCount;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        @Column(nullable = false)
+        private LocalDate rollupDate;
+
+        @Enumerated(EnumType.STRING)
+        @Column(nullable = false, length = 20)
+        private PaymentStatus status;
+    }
+}
@@ -106,7 +106,15 @@ public class Expense extends BaseEntity {
     }
     
     public void approve(User approver, String remarks) {
-        log.info("Approving expense: id={}, approvedBy={}", getId(), approver.getEmail());
+        approve(approver, approver.getEmail(), remarks);
+    }
+    
+    /**
+     * Variant for callers that already know the approver's email, so an
+     * uninitialized reference to the approver is not loaded.
+     */
+    public void approve(User approver, String approverEmail, String remarks) {
+        log.info("Approving expense: id={}, approvedBy={}", getId(), approverEmail);
         
         if (this.isApproved) {
             log.warn("Expense already approved: id={}", getId());
@@ -115,7 +123,7 @@ public class Expense extends BaseEntity {
         
         this.isApproved = true;
         this.approvalDate = LocalDateTime.now();
-        this.approvedBy = approver.getEmail();
+        this.approvedBy = approverEmail;
         this.approvedByUser = approver;
         this.approvalRemarks = remarks;
         
@@ -0,0 +1,70 @@
+package com.common_wealth_builders.entity;
+
+import com.common_wealth_builders.entity.base.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Frozen figures of a closed month. The summary and member totals are
+ * written once and never updated; reopening the month only stamps the
+ * row, and closing it again writes a new snapshot. At most one row per
+ * month has {@code reopenedAt == null}.
+ */
+@Entity
+@Table(name = "financial_period_snapshots", indexes = {
+        @Index(name = "idx_period_snapshot_month", columnList = "periodYear, periodMonth")
+})
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class FinancialPeriodSnapshot extends BaseEntity {
+
+    @Column(nullable = false, updatable = false)
+    private int periodYear;
+
+    @Column(nullable = false, updatable = false)
+    private int periodMonth;
+
+    /** {@code FinancialSummaryResponse} as JSON. */
+    @Column(nullable = false, updatable = false, columnDefinition = "text")
+    private String summaryJson;
+
+    /** List of {@code MemberContributionTotal} as JSON. */
+    @Column(nullable = false, updatable = false, columnDefinition = "text")
+    private String memberTotalsJson;
+
+    @Column(nullable = false, updatable = false, length = 100)
+    private String closedBy;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime closedAt;
+
+    @Column(length = 100)
+    private String reopenedBy;
+
+    private LocalDateTime reopenedAt;
+
+    @Column(length = 500)
+    private String reopenReason;
+
+    public boolean isClosed() {
+        return reopenedAt == null;
+    }
+
+    public void reopen(String reopenedBy, String reason) {
+        this.reopenedBy = reopenedBy;
+        this.reopenedAt = LocalDateTime.now();
+        this.reopenReason = reason;
+    }
+}
@@ -0,0 +1,117 @@
+package com.common_wealth_builders.entity;
+
+import com.common_wealth_builders.entity.base.BaseEntity;
+import com.common_wealth_builders.enums.FollowUpStatus;
+import com.common_wealth_builders.enums.ReportJobStatus;
+import com.common_wealth_builders.enums.ReportJobType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * A report generated off the request thread. The row is inserted once;
+ * every later change goes through the conditional updates on
+ * {@code ReportJobRepository}, so the worker and a concurrent cancel or
+ * follow-up request never overwrite each other's columns.
+ */
+@Entity
+@Table(name = "report_jobs", indexes = {
+        @Index(name = "idx_report_job_status", columnList = "status"),
+        @Index(name = "idx_report_job_requested_by", columnList = "requestedById")
+})
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class ReportJob extends BaseEntity {
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false, length = 30)
+    private ReportJobType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ReportJobStatus status;
+
+    /** Percent complete, 0 to 100. */
+    @Column(nullable = false)
+    private int progress;
+
+    @Column(updatable = false)
+    private LocalDateTime periodStart;
+
+    @Column(updatable = false)
+    private LocalDateTime periodEnd;
+
+    @Column(updatable = false)
+    private Integer periodYear;
+
+    @Column(updatable = false)
+    private Integer periodMonth;
+
+    /** Member whose contributions are reported, for user contribution jobs. */
+    @Column(updatable = false)
+    private Long subjectUserId;
+
+    @Column(nullable = false, updatable = false)
+    private Long requestedById;
+
+    @Column(nullable = false, updatable = false, length = 100)
+    private String requestedByEmail;
+
+    /** Artifact file name, relative to the job directory. */
+    @Column(length = 255)
+    private String artifactName;
+
+    private Long artifactSize;
+
+    @Column(length = 1000)
+    private String errorMessage;
+
+    /** Checkpoint of a resumable job: the last item written, in the job's item order. */
+    private Long resumeAfterId;
+
+    private Integer itemsDone;
+
+    private Integer itemsTotal;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    @Column(length = 255)
+    private String emailTo;
+
+    @Column(length = 255)
+    private String emailSubject;
+
+    @Column(length = 255)
+    private String recipientName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private FollowUpStatus emailStatus;
+
+    @Column(length = 20)
+    private String whatsappTo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private FollowUpStatus whatsappStatus;
+
+    /** File name offered to the client on download. */
+    public String downloadFileName() {
+        return type.getLabel().replace(' ', '_') + "_" + getId() + "." + type.getExtension();
+    }
+}
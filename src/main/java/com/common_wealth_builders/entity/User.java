@@ -1,7 +1,9 @@
 package com.common_wealth_builders.entity;
 
 import com.common_wealth_builders.entity.base.BaseEntity;
+import com.common_wealth_builders.enums.RoleType;
 import com.common_wealth_builders.enums.UserType;
+import com.common_wealth_builders.security.PermissionHolder;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
@@ -13,6 +15,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -24,16 +27,17 @@ import java.util.stream.Collectors;
         @Index(name = "idx_user_username", columnList = "userName"),
         @Index(name = "idx_user_phone", columnList = "phoneNumber"),
         @Index(name = "idx_user_created_date", columnList = "createdDate"),
-        @Index(name = "idx_user_enabled", columnList = "isEnabled")
+        @Index(name = "idx_user_enabled", columnList = "isEnabled"),
+        @Index(name = "idx_user_authz_updated_at", columnList = "authzUpdatedAt")
 })
 @Data
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
-@EqualsAndHashCode(callSuper = true, exclude = {"userRoles"})
-@ToString(callSuper = true, exclude = {"userRoles"}) // <-- exclude userRoles from toString
+@EqualsAndHashCode(callSuper = true, exclude = {"userRoles", "grants"})
+@ToString(callSuper = true, exclude = {"userRoles", "grants"}) // <-- exclude userRoles from toString
 @Slf4j
-public class User extends BaseEntity implements UserDetails {
+public class User extends BaseEntity implements UserDetails, PermissionHolder {
     
     @Column(nullable = false, length = 100)
     private String firstname;
@@ -98,6 +102,28 @@ public class User extends BaseEntity implements UserDetails {
     
     @Column
     private LocalDateTime accountLockedUntil;
+
+    /**
+     * Incremented whenever the user's authorities change or the account is
+     * disabled; tokens carrying an older version are rejected.
+     */
+    @Column(columnDefinition = "bigint default 0")
+    @Builder.Default
+    private Long authzVersion = 0L;
+
+    /** When {@link #authzVersion} last changed; drives incremental registry refreshes. */
+    @Column
+    private LocalDateTime authzUpdatedAt;
+
+    /**
+     * Authorities, role bits and permission mask derived from the active
+     * roles on first use. Reset when roles change through this entity;
+     * other changes are picked up when the principal is reloaded.
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient volatile Grants grants;
     
     @PrePersist
     protected void onCreate() {
@@ -127,18 +153,44 @@ public class User extends BaseEntity implements UserDetails {
     
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        List<SimpleGrantedAuthority> authorities = new ArrayList<>();
-        
-        if (userRoles != null) {
-            authorities = userRoles.stream()
-                    .filter(UserRole::isActive)
-                    .filter(ur -> ur.getRole() != null && ur.getRole().isActive())
-                    .map(ur -> new SimpleGrantedAuthority(ur.getRole().getCode()))
-                    .collect(Collectors.toList());
+        return grants().authorities();
+    }
+    
+    @Override
+    public long permissionMask() {
+        return grants().permissionMask();
+    }
+    
+    public void setUserRoles(Set<UserRole> userRoles) {
+        this.userRoles = userRoles;
+        this.grants = null;
+    }
+    
+    /**
+     * Adds a role link built outside the entity, keeping the memoised
+     * grants in step.
+     */
+    public void addUserRole(UserRole userRole) {
+        userRoles.add(userRole);
+        grants = null;
+    }
+    
+    /**
+     * Drops the memoised grants after a role link in {@link #userRoles}
+     * was changed in place, e.g. reactivated.
+     */
+    public void refreshGrants() {
+        grants = null;
+    }
+    
+    private Grants grants() {
+        Grants current = grants;
+        if (current == null) {
+            current = Grants.of(userRoles);
+            grants = current;
+            log.trace("User {} has {} authorities", email, current.authorities().size());
         }
-        
-        log.trace("User {} has {} authorities", email, authorities.size());
-        return authorities;
+        return current;
     }
     
     @Override
@@ -223,6 +275,7 @@ public class User extends BaseEntity implements UserDetails {
                     .build();
 
             userRoles.add(userRole);
+            grants = null;
 
             log.info(
                     "Role {} assigned to user {} by {}",
@@ -242,18 +295,34 @@ public class User extends BaseEntity implements UserDetails {
                 .ifPresentOrElse(
                         ur -> {
                             ur.revoke(revokedBy);
+                            grants = null;
                             log.info("Role {} successfully revoked from user: {}", role.getName(), email);
                         },
                         () -> log.warn("Active role {} not found for user: {}", role.getName(), email)
                 );
     }
     
+    public long nextAuthzVersion() {
+        this.authzVersion = (authzVersion != null ? authzVersion : 0L) + 1;
+        this.authzUpdatedAt = LocalDateTime.now();
+        log.debug("Authorization version for user {} is now {}", email, authzVersion);
+        return authzVersion;
+    }
+    
     public boolean hasRole(String roleName) {
-        boolean hasRole = userRoles.stream()
-                .filter(UserRole::isActive)
-                .anyMatch(ur -> ur.getRole().getName().name().equals(roleName));
-        
-        log.trace("User {} has role {}: {}", email, roleName, hasRole);
+        if (roleName == null) {
+            return false;
+        }
+        try {
+            return hasRole(RoleType.valueOf(roleName));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+    
+    public boolean hasRole(RoleType roleType) {
+        boolean hasRole = (grants().roleMask() & roleType.bit()) != 0;
+        log.trace("User {} has role {}: {}", email, roleType, hasRole);
         return hasRole;
     }
     
@@ -266,4 +335,28 @@ public class User extends BaseEntity implements UserDetails {
         log.debug("User {} has {} active roles", email, roles.size());
         return roles;
     }
-}
\ No newline at end of file
+
+    private record Grants(List<GrantedAuthority> authorities, long roleMask, long permissionMask) {
+        
+        static Grants of(Set<UserRole> userRoles) {
+            if (userRoles == null || userRoles.isEmpty()) {
+                return new Grants(Collections.emptyList(), 0L, 0L);
+            }
+            List<GrantedAuthority> authorities = new ArrayList<>(userRoles.size());
+            long roleMask = 0L;
+            long permissionMask = 0L;
+            for (UserRole userRole : userRoles) {
+                Role role = userRole.getRole();
+                if (!userRole.isActive() || role == null || !role.isActive()) {
+                    continue;
+                }
+                authorities.add(new SimpleGrantedAuthority(role.getCode()));
+                if (role.getName() != null) {
+                    roleMask |= role.getName().bit();
+                    permissionMask |= role.getName().permissionMask();
+                }
+            }
+            return new Grants(Collections.unmodifiableList(authorities), roleMask, permissionMask);
+        }
+    }
+}
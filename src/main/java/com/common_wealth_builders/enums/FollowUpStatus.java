@@ -0,0 +1,8 @@
+package com.common_wealth_builders.enums;
+
+public enum FollowUpStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,34 @@
+package com.common_wealth_builders.enums;
+
+/**
+ * Operations guarded on the API. Each constant owns one bit, so the
+ * permissions of a principal fit in a single {@code long}.
+ */
+public enum Permission {
+    USER_MANAGE,
+    USER_DELETE,
+    ROLE_MANAGE,
+    AUDIT_READ,
+    EXPENSE_MANAGE,
+    EXPENSE_DELETE,
+    PAYMENT_MANAGE,
+    NOTICE_MANAGE,
+    NOTICE_DELETE,
+    REPORT_VIEW,
+    SYSTEM_METRICS,
+    PERIOD_CLOSE;
+
+    private final long bit = 1L << ordinal();
+
+    public long bit() {
+        return bit;
+    }
+
+    public static long maskOf(Permission... permissions) {
+        long mask = 0L;
+        for (Permission permission : permissions) {
+            mask |= permission.bit;
+        }
+        return mask;
+    }
+}
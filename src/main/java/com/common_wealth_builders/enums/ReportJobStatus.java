@@ -0,0 +1,14 @@
+package com.common_wealth_builders.enums;
+
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED,
+    CANCELLED,
+    EXPIRED;
+
+    public boolean isFinished() {
+        return this != QUEUED && this != RUNNING;
+    }
+}
@@ -0,0 +1,33 @@
+package com.common_wealth_builders.enums;
+
+public enum ReportJobType {
+    FINANCIAL_SUMMARY("Financial Summary", "pdf", "application/pdf"),
+    USER_CONTRIBUTION("User Contribution", "pdf", "application/pdf"),
+    EXPENSE("Expense Report", "pdf", "application/pdf"),
+    PAYMENT("Payment Report", "pdf", "application/pdf"),
+    MONTHLY("Monthly Report", "pdf", "application/pdf"),
+    ANNUAL("Annual Report", "pdf", "application/pdf"),
+    MEMBER_STATEMENTS("Member Statements", "zip", "application/zip");
+
+    private final String label;
+    private final String extension;
+    private final String contentType;
+
+    ReportJobType(String label, String extension, String contentType) {
+        this.label = label;
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+}
@@ -1,8 +1,41 @@
 package com.common_wealth_builders.enums;
 
+import static com.common_wealth_builders.enums.Permission.*;
+
 public enum RoleType {
-    SUPER_ADMIN,
-    TECH_ADMIN,
-    FIN_ADMIN,
-    USER
-}
\ No newline at end of file
+    SUPER_ADMIN(maskOf(Permission.values())),
+    TECH_ADMIN(maskOf(USER_MANAGE, AUDIT_READ, NOTICE_MANAGE, REPORT_VIEW, SYSTEM_METRICS)),
+    FIN_ADMIN(maskOf(EXPENSE_MANAGE, PAYMENT_MANAGE, REPORT_VIEW, PERIOD_CLOSE)),
+    USER(0L);
+
+    private static final String AUTHORITY_PREFIX = "ROLE_";
+
+    private final long permissionMask;
+
+    RoleType(long permissionMask) {
+        this.permissionMask = permissionMask;
+    }
+
+    public long permissionMask() {
+        return permissionMask;
+    }
+
+    public long bit() {
+        return 1L << ordinal();
+    }
+
+    /**
+     * Maps a granted authority such as {@code ROLE_FIN_ADMIN} back to its
+     * role type, or {@code null} when it is not a role authority.
+     */
+    public static RoleType fromAuthority(String authority) {
+        if (authority == null || !authority.startsWith(AUTHORITY_PREFIX)) {
+            return null;
+        }
+        try {
+            return valueOf(authority.substring(AUTHORITY_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.common_wealth_builders.enums;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+public enum TrendGranularity {
+    DAY("day", ChronoUnit.DAYS),
+    WEEK("week", ChronoUnit.WEEKS),
+    MONTH("month", ChronoUnit.MONTHS);
+
+    private final String sqlUnit;
+    private final ChronoUnit step;
+
+    TrendGranularity(String sqlUnit, ChronoUnit step) {
+        this.sqlUnit = sqlUnit;
+        this.step = step;
+    }
+
+    /** The {@code date_trunc} field name. */
+    public String getSqlUnit() {
+        return sqlUnit;
+    }
+
+    public ChronoUnit getStep() {
+        return step;
+    }
+
+    /** First day of the bucket holding {@code day}; weeks start on Monday, as in {@code date_trunc}. */
+    public LocalDate truncate(LocalDate day) {
+        return switch (this) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+}
@@ -2,6 +2,7 @@ package com.common_wealth_builders.exception;
 
 import com.common_wealth_builders.dto.response.GenericResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -144,6 +145,96 @@ public class GlobalExceptionHandler {
                         .build());
     }
     
+    @ExceptionHandler(value = InvalidCursorException.class)
+    public ResponseEntity<GenericResponse> handleInvalidCursorException(
+            InvalidCursorException exception) {
+        
+        log.warn("Invalid cursor: {}", exception.getMessage());
+        
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(GenericResponse.builder()
+                        .isSuccess(false)
+                        .message(exception.getMessage())
+                        .httpStatus(HttpStatus.BAD_REQUEST)
+                        .build());
+    }
+    
+    @ExceptionHandler(value = InvalidReportRequestException.class)
+    public ResponseEntity<GenericResponse> handleInvalidReportRequestException(
+            InvalidReportRequestException exception) {
+        
+        log.warn("Invalid report request: {}", exception.getMessage());
+        
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(GenericResponse.builder()
+                        .isSuccess(false)
+                        .message(exception.getMessage())
+                        .httpStatus(HttpStatus.BAD_REQUEST)
+                        .build());
+    }
+    
+    @ExceptionHandler(value = ReportJobStateException.class)
+    public ResponseEntity<GenericResponse> handleReportJobStateException(
+            ReportJobStateException exception) {
+        
+        log.warn("Report job state conflict: {}", exception.getMessage());
+        
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(GenericResponse.builder()
+                        .isSuccess(false)
+                        .message(exception.getMessage())
+                        .httpStatus(HttpStatus.CONFLICT)
+                        .build());
+    }
+    
+    @ExceptionHandler(value = InvalidDownloadLinkException.class)
+    public ResponseEntity<GenericResponse> handleInvalidDownloadLinkException(
+            InvalidDownloadLinkException exception) {
+        
+        log.warn("Download link rejected: {}", exception.getMessage());
+        
+        return ResponseEntity
+                .status(HttpStatus.FORBIDDEN)
+                .body(GenericResponse.builder()
+                        .isSuccess(false)
+                        .message(exception.getMessage())
+                        .httpStatus(HttpStatus.FORBIDDEN)
+                        .build());
+    }
+    
+    @ExceptionHandler(value = PeriodClosedException.class)
+    public ResponseEntity<GenericResponse> handlePeriodClosedException(
+            PeriodClosedException exception) {
+        
+        log.warn("Closed financial period: {}", exception.getMessage());
+        
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(GenericResponse.builder()
+                        .isSuccess(false)
+                        .message(exception.getMessage())
+                        .httpStatus(HttpStatus.CONFLICT)
+                        .build());
+    }
+    
+    @ExceptionHandler(value = InvalidPeriodException.class)
+    public ResponseEntity<GenericResponse> handleInvalidPeriodException(
+            InvalidPeriodException exception) {
+        
+        log.warn("Invalid financial period: {}", exception.getMessage());
+        
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(GenericResponse.builder()
+                        .isSuccess(false)
+                        .message(exception.getMessage())
+                        .httpStatus(HttpStatus.BAD_REQUEST)
+                        .build());
+    }
+    
     @ExceptionHandler(value = InsufficientPermissionException.class)
     public ResponseEntity<GenericResponse> handleInsufficientPermissionException(
             InsufficientPermissionException exception) {
@@ -159,6 +250,38 @@ public class GlobalExceptionHandler {
                         .build());
     }
     
+    @ExceptionHandler(value = TooManyRequestsException.class)
+    public ResponseEntity<GenericResponse> handleTooManyRequestsException(
+            TooManyRequestsException exception) {
+        
+        log.warn("Too many requests: {}", exception.getMessage());
+        
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+                .body(GenericResponse.builder()
+                        .isSuccess(false)
+                        .message(exception.getMessage())
+                        .httpStatus(HttpStatus.TOO_MANY_REQUESTS)
+                        .build());
+    }
+    
+    @ExceptionHandler(value = ServiceUnavailableException.class)
+    public ResponseEntity<GenericResponse> handleServiceUnavailableException(
+            ServiceUnavailableException exception) {
+        
+        log.warn("Service unavailable: {}", exception.getMessage());
+        
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+                .body(GenericResponse.builder()
+                        .isSuccess(false)
+                        .message(exception.getMessage())
+                        .httpStatus(HttpStatus.SERVICE_UNAVAILABLE)
+                        .build());
+    }
+    
     @ExceptionHandler(value = Exception.class)
     public ResponseEntity<GenericResponse> handleGenericException(Exception exception) {
         
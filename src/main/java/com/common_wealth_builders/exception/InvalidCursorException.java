@@ -0,0 +1,7 @@
+package com.common_wealth_builders.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
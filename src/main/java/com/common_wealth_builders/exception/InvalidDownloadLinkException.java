@@ -0,0 +1,7 @@
+package com.common_wealth_builders.exception;
+
+public class InvalidDownloadLinkException extends RuntimeException {
+    public InvalidDownloadLinkException(String message) {
+        super(message);
+    }
+}
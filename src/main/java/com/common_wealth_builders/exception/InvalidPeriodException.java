@@ -0,0 +1,7 @@
+package com.common_wealth_builders.exception;
+
+public class InvalidPeriodException extends RuntimeException {
+    public InvalidPeriodException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.common_wealth_builders.exception;
+
+public class InvalidReportRequestException extends RuntimeException {
+    public InvalidReportRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.common_wealth_builders.exception;
+
+public class PeriodClosedException extends RuntimeException {
+    public PeriodClosedException(String message) {
+        super(message);
+    }
+}
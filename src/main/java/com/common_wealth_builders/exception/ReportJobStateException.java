@@ -0,0 +1,7 @@
+package com.common_wealth_builders.exception;
+
+public class ReportJobStateException extends RuntimeException {
+    public ReportJobStateException(String message) {
+        super(message);
+    }
+}
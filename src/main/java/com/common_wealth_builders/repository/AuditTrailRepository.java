@@ -3,6 +3,7 @@ package com.common_wealth_builders.repository;
 import com.common_wealth_builders.entity.AuditTrail;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -29,12 +30,64 @@ public interface AuditTrailRepository extends JpaRepository<AuditTrail, Long> {
 
     Page<AuditTrail> findAllByCreatedDateBetween(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
 
+    // Keyset pages: sort by (createdDate DESC, id DESC); the "After" variant seeks past a cursor;
+    // the leading "<=" keeps the seek on the date index
+
+    Slice<AuditTrail> findSliceBy(Pageable pageable);
+
+    @Query("SELECT a FROM AuditTrail a WHERE " +
+           "a.createdDate <= :createdDate AND (a.createdDate < :createdDate OR a.id < :id)")
+    Slice<AuditTrail> findSliceAfter(
+        @Param("createdDate") LocalDateTime createdDate,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+
+    /**
+     * Substring search over the text columns and the user's email, for
+     * databases without the {@code search_vector} column. Cannot use an
+     * index; {@link #searchByQuery} replaces it once the column exists.
+     */
     @Query("""
-           SELECT a FROM AuditTrail a 
+           SELECT a FROM AuditTrail a
            LEFT JOIN a.user u
-           WHERE LOWER(a.action) LIKE LOWER(CONCAT('%', :query, '%'))
-              OR LOWER(a.module) LIKE LOWER(CONCAT('%', :query, '%'))
-              OR LOWER(a.description) LIKE LOWER(CONCAT('%', :query, '%'))
-              OR LOWER(u.email) LIKE LOWER(CONCAT('%', :query, '%'))
+           WHERE LOWER(a.action) LIKE :pattern ESCAPE '\\'
+              OR LOWER(a.module) LIKE :pattern ESCAPE '\\'
+              OR LOWER(a.description) LIKE :pattern ESCAPE '\\'
+              OR LOWER(u.email) LIKE :pattern ESCAPE '\\'
            """)
-    Page<AuditTrail> searchByQuery(@Param("query") String query, Pageable pageable);}
\ No newline at end of file
+    Page<AuditTrail> searchByPattern(@Param("pattern") String pattern, Pageable pageable);
+
+    /**
+     * Ranked full-text search over the generated {@code search_vector}
+     * column (GIN), plus entries of users whose email matches the pattern
+     * (trigram GIN). The two matches are a UNION of separately indexed
+     * branches joined back on the key, since an OR across them cannot use
+     * either index. Pass an unsorted pageable: rows come back by rank,
+     * then newest first.
+     */
+    @Query(value = """
+           SELECT a.* FROM audit_trails a
+           JOIN (SELECT t.id, t.created_date FROM audit_trails t
+                 WHERE t.search_vector @@ to_tsquery('simple', :tsQuery)
+                 UNION
+                 SELECT t.id, t.created_date FROM audit_trails t
+                 JOIN users u ON u.id = t.user_id
+                 WHERE u.email ILIKE :emailPattern ESCAPE '\\') m
+             ON m.id = a.id AND m.created_date = a.created_date
+           ORDER BY ts_rank_cd(a.search_vector, to_tsquery('simple', :tsQuery)) DESC,
+                    a.created_date DESC, a.id DESC
+           """,
+           countQuery = """
+           SELECT COUNT(*) FROM (SELECT t.id, t.created_date FROM audit_trails t
+                                 WHERE t.search_vector @@ to_tsquery('simple', :tsQuery)
+                                 UNION
+                                 SELECT t.id, t.created_date FROM audit_trails t
+                                 JOIN users u ON u.id = t.user_id
+                                 WHERE u.email ILIKE :emailPattern ESCAPE '\\') m
+           """,
+           nativeQuery = true)
+    Page<AuditTrail> searchByQuery(@Param("tsQuery") String tsQuery,
+                                   @Param("emailPattern") String emailPattern,
+                                   Pageable pageable);
+}
\ No newline at end of file
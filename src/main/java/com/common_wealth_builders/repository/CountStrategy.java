@@ -0,0 +1,152 @@
+package com.common_wealth_builders.repository;
+
+import com.common_wealth_builders.utils.MetricsSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides how the total of an offset page is obtained. The page itself is
+ * read as a {@link Slice} (no count query); the total then comes from, in
+ * order of preference:
+ * <ol>
+ *   <li>the page itself, when it is the last one;</li>
+ *   <li>the planner's {@code reltuples} estimate, for unfiltered reads of a
+ *       table above the exact-count threshold;</li>
+ *   <li>an exact {@code COUNT(*)}, cached briefly per table and filter
+ *       signature.</li>
+ * </ol>
+ */
+@Component
+@Slf4j
+public class CountStrategy implements MetricsSource {
+
+    // Leaf tables only: a partitioned parent has no reltuples of its own
+    private static final String RELTUPLES_SQL = """
+            SELECT c.reltuples::bigint FROM pg_class c
+            WHERE c.relkind = 'r'
+              AND (c.oid = to_regclass(?)
+                   OR c.oid IN (SELECT i.inhrelid FROM pg_inherits i WHERE i.inhparent = to_regclass(?)))
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long exactThreshold;
+    private final long ttlNanos;
+    private final int maxCached;
+
+    private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+
+    private final LongAdder fromPage = new LongAdder();
+    private final LongAdder estimated = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder exactQueries = new LongAdder();
+
+    public CountStrategy(JdbcTemplate jdbcTemplate,
+                         @Value("${pagination.count.exact-threshold:50000}") long exactThreshold,
+                         @Value("${pagination.count.cache-ttl-ms:30000}") long ttlMillis,
+                         @Value("${pagination.count.max-cached:1000}") int maxCached) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.exactThreshold = exactThreshold;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.maxCached = maxCached;
+    }
+
+    /**
+     * @param table      physical table the read targets, for the estimate
+     * @param filter     signature of the filter values, or {@code null} for an unfiltered read
+     * @param sliceQuery reads the page without counting
+     * @param exactCount runs the exact count for this filter
+     */
+    public <T> CountedPage<T> page(String table, String filter, Pageable pageable,
+                                   Function<Pageable, Slice<T>> sliceQuery, LongSupplier exactCount) {
+        Slice<T> slice = sliceQuery.apply(pageable);
+        List<T> content = slice.getContent();
+        long seen = pageable.getOffset() + content.size();
+
+        if (!slice.hasNext() && (!content.isEmpty() || pageable.getOffset() == 0)) {
+            fromPage.increment();
+            return new CountedPage<>(new PageImpl<>(content, pageable, seen), true);
+        }
+
+        // Estimates and cached counts can lag; never report fewer rows than the reader can see
+        long floor = seen + (slice.hasNext() ? 1 : 0);
+
+        if (filter == null) {
+            long estimate = estimate(table);
+            if (estimate >= exactThreshold) {
+                estimated.increment();
+                return new CountedPage<>(new PageImpl<>(content, pageable, Math.max(estimate, floor)), false);
+            }
+        }
+
+        long total = cachedExact(table + '?' + (filter == null ? "" : filter), exactCount);
+        return new CountedPage<>(new PageImpl<>(content, pageable, Math.max(total, floor)), true);
+    }
+
+    /**
+     * @return the planner's row estimate, or -1 when the table has not been analyzed
+     */
+    long estimate(String table) {
+        try {
+            List<Long> tuples = jdbcTemplate.queryForList(RELTUPLES_SQL, Long.class, table, table);
+            if (tuples.isEmpty() || tuples.stream().anyMatch(n -> n < 0)) {
+                return -1;
+            }
+            return tuples.stream().mapToLong(Long::longValue).sum();
+        } catch (Exception e) {
+            log.warn("Row estimate unavailable for {}: {}", table, e.getMessage());
+            return -1;
+        }
+    }
+
+    private long cachedExact(String key, LongSupplier exactCount) {
+        long now = System.nanoTime();
+        CachedCount cached = counts.get(key);
+        if (cached != null && now - cached.countedAt() < ttlNanos) {
+            cacheHits.increment();
+            return cached.value();
+        }
+        long value = exactCount.getAsLong();
+        exactQueries.increment();
+        if (counts.size() >= maxCached) {
+            counts.values().removeIf(entry -> now - entry.countedAt() >= ttlNanos);
+            if (counts.size() >= maxCached) {
+                counts.clear();
+            }
+        }
+        counts.put(key, new CachedCount(value, now));
+        return value;
+    }
+
+    @Override
+    public String metricsName() {
+        return "pageCounts";
+    }
+
+    @Override
+    public Map<String, Object> metricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("fromPage", fromPage.sum());
+        snapshot.put("estimated", estimated.sum());
+        snapshot.put("cacheHits", cacheHits.sum());
+        snapshot.put("exactQueries", exactQueries.sum());
+        snapshot.put("cachedCounts", counts.size());
+        return snapshot;
+    }
+
+    private record CachedCount(long value, long countedAt) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.common_wealth_builders.repository;
+
+import org.springframework.data.domain.Page;
+
+/**
+ * A page whose total is either exact or a planner estimate.
+ */
+public record CountedPage<T>(Page<T> page, boolean exact) {
+}
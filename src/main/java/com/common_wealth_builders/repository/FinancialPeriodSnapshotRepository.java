@@ -0,0 +1,26 @@
+package com.common_wealth_builders.repository;
+
+import com.common_wealth_builders.entity.FinancialPeriodSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface FinancialPeriodSnapshotRepository extends JpaRepository<FinancialPeriodSnapshot, Long> {
+
+    Optional<FinancialPeriodSnapshot> findByPeriodYearAndPeriodMonthAndReopenedAtIsNull(int periodYear, int periodMonth);
+
+    boolean existsByPeriodYearAndPeriodMonthAndReopenedAtIsNull(int periodYear, int periodMonth);
+
+    List<FinancialPeriodSnapshot> findByReopenedAtIsNullOrderByPeriodYearDescPeriodMonthDesc();
+
+    /** Closed months from {@code fromKey} to {@code toKey} inclusive, keyed as {@code year * 100 + month}. */
+    @Query("SELECT s FROM FinancialPeriodSnapshot s WHERE s.reopenedAt IS NULL AND " +
+           "s.periodYear * 100 + s.periodMonth BETWEEN :fromKey AND :toKey " +
+           "ORDER BY s.periodYear, s.periodMonth")
+    List<FinancialPeriodSnapshot> findClosedBetween(@Param("fromKey") int fromKey, @Param("toKey") int toKey);
+}
@@ -0,0 +1,12 @@
+package com.common_wealth_builders.repository;
+
+import com.common_wealth_builders.enums.PaymentStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * Sum and count of one member's payments in one status, read with a JPQL
+ * constructor expression.
+ */
+public record MemberPaymentTotal(Long userId, PaymentStatus status, BigDecimal amount, Long count) {
+}
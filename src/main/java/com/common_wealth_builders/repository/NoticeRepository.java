@@ -26,8 +26,8 @@ public interface NoticeRepository extends JpaRepository<Notice, Long> {
     @Query("""
     SELECT n FROM Notice n 
     WHERE n.isDeleted = false
-    AND (LOWER(n.title) LIKE LOWER(CONCAT('%', :query, '%'))
-    OR LOWER(n.content) LIKE LOWER(CONCAT('%', :query, '%')))
+    AND (LOWER(n.title) LIKE :query ESCAPE '\\'
+    OR LOWER(n.content) LIKE :query ESCAPE '\\')
 """)
     List<Notice> search(@Param("query") String query);
 
@@ -51,8 +51,8 @@ public interface NoticeRepository extends JpaRepository<Notice, Long> {
     @Query("SELECT n FROM Notice n WHERE " +
            "(:type IS NULL OR n.type = :type) AND " +
            "(:isPublished IS NULL OR n.isPublished = :isPublished) AND " +
-           "(LOWER(n.title) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(n.content) LIKE LOWER(CONCAT('%', :search, '%')))")
+           "(LOWER(n.title) LIKE :search ESCAPE '\\' OR " +
+           "LOWER(n.content) LIKE :search ESCAPE '\\')")
     Page<Notice> searchNotices(
         @Param("type") NoticeType type,
         @Param("isPublished") Boolean isPublished,
@@ -4,12 +4,12 @@ import com.common_wealth_builders.entity.Payment;
 import com.common_wealth_builders.enums.PaymentStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -19,8 +19,6 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     
     Page<Payment> findByUserId(Long userId, Pageable pageable);
 
-    List<Payment> findByUserId(Long userId);
-    
     Page<Payment> findByStatus(PaymentStatus status, Pageable pageable);
     
     Page<Payment> findByIsVerified(boolean isVerified, Pageable pageable);
@@ -29,24 +27,21 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     
     Optional<Payment> findByPaymentReference(String paymentReference);
     
-    @Query("SELECT p FROM Payment p WHERE " +
-           "p.paymentDate BETWEEN :startDate AND :endDate")
-    List<Payment> findByPaymentDateBetween(
-        @Param("startDate") LocalDateTime startDate,
-        @Param("endDate") LocalDateTime endDate
-    );
+    /** One row per status with the user's totals and first/last payment dates. */
+    @Query("SELECT new com.common_wealth_builders.repository.PaymentStatusSummary(" +
+           "p.status, SUM(p.amount), COUNT(p), MIN(p.paymentDate), MAX(p.paymentDate)) " +
+           "FROM Payment p WHERE p.user.id = :userId GROUP BY p.status")
+    List<PaymentStatusSummary> summarizeByStatusForUser(@Param("userId") Long userId);
     
-    @Query("SELECT SUM(p.amount) FROM Payment p WHERE " +
-           "p.isVerified = true AND p.paymentDate BETWEEN :startDate AND :endDate")
-    BigDecimal sumVerifiedPaymentsBetween(
-        @Param("startDate") LocalDateTime startDate,
-        @Param("endDate") LocalDateTime endDate
+    /** Per-member, per-status totals for a half-open range. */
+    @Query("SELECT new com.common_wealth_builders.repository.MemberPaymentTotal(" +
+           "p.user.id, p.status, SUM(p.amount), COUNT(p)) FROM Payment p " +
+           "WHERE p.paymentDate >= :fromDate AND p.paymentDate < :toDate GROUP BY p.user.id, p.status")
+    List<MemberPaymentTotal> totalsByMemberBetween(
+        @Param("fromDate") LocalDateTime fromDate,
+        @Param("toDate") LocalDateTime toDate
     );
     
-    @Query("SELECT SUM(p.amount) FROM Payment p WHERE " +
-           "p.user.id = :userId AND p.isVerified = true")
-    BigDecimal sumVerifiedPaymentsByUserId(@Param("userId") Long userId);
-    
     @Query("SELECT p FROM Payment p WHERE " +
            "(:userId IS NULL OR p.user.id = :userId) AND " +
            "(:status IS NULL OR p.status = :status) AND " +
@@ -58,7 +53,64 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
         Pageable pageable
     );
 
-    @Query("SELECT SUM(p.amount) FROM Payment p WHERE " +
-            "p.user.id = :userId AND p.status = :status")
-    BigDecimal sumPendingPaymentsByUserId(Long userId, PaymentStatus status);
+    // Keyset pages: sort by (paymentDate DESC, id DESC); the "After" variants seek past a cursor;
+    // the leading "<=" keeps the seek on the date index
+
+    Slice<Payment> findSliceBy(Pageable pageable);
+
+    @Query("SELECT p FROM Payment p WHERE " +
+           "p.paymentDate <= :paymentDate AND (p.paymentDate < :paymentDate OR p.id < :id)")
+    Slice<Payment> findSliceAfter(
+        @Param("paymentDate") LocalDateTime paymentDate,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+
+    Slice<Payment> findSliceByStatus(PaymentStatus status, Pageable pageable);
+
+    long countByStatus(PaymentStatus status);
+
+    @Query("SELECT p FROM Payment p WHERE p.status = :status AND " +
+           "(p.paymentDate <= :paymentDate AND (p.paymentDate < :paymentDate OR p.id < :id))")
+    Slice<Payment> findSliceByStatusAfter(
+        @Param("status") PaymentStatus status,
+        @Param("paymentDate") LocalDateTime paymentDate,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+
+    @Query("SELECT p FROM Payment p WHERE " +
+           "(:userId IS NULL OR p.user.id = :userId) AND " +
+           "(:status IS NULL OR p.status = :status) AND " +
+           "(:isVerified IS NULL OR p.isVerified = :isVerified)")
+    Slice<Payment> searchPaymentsSlice(
+        @Param("userId") Long userId,
+        @Param("status") PaymentStatus status,
+        @Param("isVerified") Boolean isVerified,
+        Pageable pageable
+    );
+
+    @Query("SELECT COUNT(p) FROM Payment p WHERE " +
+           "(:userId IS NULL OR p.user.id = :userId) AND " +
+           "(:status IS NULL OR p.status = :status) AND " +
+           "(:isVerified IS NULL OR p.isVerified = :isVerified)")
+    long countSearchPayments(
+        @Param("userId") Long userId,
+        @Param("status") PaymentStatus status,
+        @Param("isVerified") Boolean isVerified
+    );
+
+    @Query("SELECT p FROM Payment p WHERE " +
+           "(:userId IS NULL OR p.user.id = :userId) AND " +
+           "(:status IS NULL OR p.status = :status) AND " +
+           "(:isVerified IS NULL OR p.isVerified = :isVerified) AND " +
+           "(p.paymentDate <= :paymentDate AND (p.paymentDate < :paymentDate OR p.id < :id))")
+    Slice<Payment> searchPaymentsSliceAfter(
+        @Param("userId") Long userId,
+        @Param("status") PaymentStatus status,
+        @Param("isVerified") Boolean isVerified,
+        @Param("paymentDate") LocalDateTime paymentDate,
+        @Param("id") Long id,
+        Pageable pageable
+    );
 }
\ No newline at end of file
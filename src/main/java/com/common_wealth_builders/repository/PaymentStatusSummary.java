@@ -0,0 +1,17 @@
+package com.common_wealth_builders.repository;
+
+import com.common_wealth_builders.enums.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Aggregate of one status group of payments, read with a JPQL constructor
+ * expression so no {@code Payment} entities are loaded.
+ */
+public record PaymentStatusSummary(PaymentStatus status,
+                                   BigDecimal amount,
+                                   Long count,
+                                   LocalDateTime firstPaymentDate,
+                                   LocalDateTime lastPaymentDate) {
+}
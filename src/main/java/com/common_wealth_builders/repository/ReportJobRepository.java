@@ -0,0 +1,129 @@
+package com.common_wealth_builders.repository;
+
+import com.common_wealth_builders.entity.ReportJob;
+import com.common_wealth_builders.enums.FollowUpStatus;
+import com.common_wealth_builders.enums.ReportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * State changes are conditional updates that bypass the optimistic
+ * version: each one only applies from the states it is valid in, and the
+ * returned row count tells the caller whether it won.
+ */
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, Long> {
+
+    String JOB = "com.common_wealth_builders.enums.ReportJobStatus.";
+    String FOLLOW_UP = "com.common_wealth_builders.enums.FollowUpStatus.";
+
+    List<ReportJob> findByStatusOrderByIdAsc(ReportJobStatus status);
+
+    List<ReportJob> findByStatusAndFinishedAtBefore(ReportJobStatus status, LocalDateTime cutoff);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE ReportJob j SET j.status = " + JOB + "RUNNING, j.progress = :progress, " +
+           "j.startedAt = :now, j.updatedDate = :now WHERE j.id = :id AND j.status = " + JOB + "QUEUED")
+    int markRunning(@Param("id") Long id, @Param("progress") int progress, @Param("now") LocalDateTime now);
+
+    /** Puts jobs a previous run left half done back in the queue. */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE ReportJob j SET j.status = " + JOB + "QUEUED, j.progress = 0, j.startedAt = NULL, " +
+           "j.updatedDate = :now WHERE j.status = " + JOB + "RUNNING")
+    int requeueRunning(@Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE ReportJob j SET j.progress = :progress, j.updatedDate = :now " +
+           "WHERE j.id = :id AND j.status = " + JOB + "RUNNING")
+    int updateProgress(@Param("id") Long id, @Param("progress") int progress, @Param("now") LocalDateTime now);
+
+    /** Records how far a resumable job got; also its cancellation check. */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE ReportJob j SET j.resumeAfterId = :resumeAfterId, j.itemsDone = :itemsDone, " +
+           "j.itemsTotal = :itemsTotal, j.progress = :progress, j.updatedDate = :now " +
+           "WHERE j.id = :id AND j.status = " + JOB + "RUNNING")
+    int saveCheckpoint(@Param("id") Long id, @Param("resumeAfterId") long resumeAfterId,
+                       @Param("itemsDone") int itemsDone, @Param("itemsTotal") int itemsTotal,
+                       @Param("progress") int progress, @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE ReportJob j SET j.status = " + JOB + "SUCCEEDED, j.progress = 100, " +
+           "j.artifactName = :artifactName, j.artifactSize = :artifactSize, j.finishedAt = :now, j.updatedDate = :now " +
+           "WHERE j.id = :id AND j.status = " + JOB + "RUNNING")
+    int markSucceeded(@Param("id") Long id, @Param("artifactName") String artifactName,
+                      @Param("artifactSize") long artifactSize, @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE ReportJob j SET j.status = " + JOB + "FAILED, j.errorMessage = :error, " +
+           "j.finishedAt = :now, j.updatedDate = :now " +
+           "WHERE j.id = :id AND j.status IN (" + JOB + "QUEUED, " + JOB + "RUNNING)")
+    int markFailed(@Param("id") Long id, @Param("error") String error, @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE ReportJob j SET j.status = " + JOB + "CANCELLED, j.finishedAt = :now, j.updatedDate = :now " +
+           "WHERE j.id = :id AND j.status IN (" + JOB + "QUEUED, " + JOB + "RUNNING)")
+    int markCancelled(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE ReportJob j SET j.status = " + JOB + "EXPIRED, j.artifactName = NULL, j.updatedDate = :now " +
+           "WHERE j.id = :id AND j.status = " + JOB + "SUCCEEDED")
+    int markExpired(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Follow-ups: a request sets PENDING, whoever claims PENDING -> SENDING once the artifact exists sends it
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE ReportJob j SET j.emailTo = :emailTo, j.emailSubject = :subject, j.recipientName = :recipientName, " +
+           "j.emailStatus = " + FOLLOW_UP + "PENDING, j.updatedDate = :now " +
+           "WHERE j.id = :id AND j.status IN (" + JOB + "QUEUED, " + JOB + "RUNNING, " + JOB + "SUCCEEDED) " +
+           "AND (j.emailStatus IS NULL OR j.emailStatus <> " + FOLLOW_UP + "SENDING)")
+    int requestEmail(@Param("id") Long id, @Param("emailTo") String emailTo, @Param("subject") String subject,
+                     @Param("recipientName") String recipientName, @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE ReportJob j SET j.whatsappTo = :whatsappTo, " +
+           "j.whatsappStatus = " + FOLLOW_UP + "PENDING, j.updatedDate = :now " +
+           "WHERE j.id = :id AND j.status IN (" + JOB + "QUEUED, " + JOB + "RUNNING, " + JOB + "SUCCEEDED) " +
+           "AND (j.whatsappStatus IS NULL OR j.whatsappStatus <> " + FOLLOW_UP + "SENDING)")
+    int requestWhatsApp(@Param("id") Long id, @Param("whatsappTo") String whatsappTo, @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE ReportJob j SET j.emailStatus = " + FOLLOW_UP + "SENDING, j.updatedDate = :now " +
+           "WHERE j.id = :id AND j.status = " + JOB + "SUCCEEDED AND j.emailStatus = " + FOLLOW_UP + "PENDING")
+    int claimEmail(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE ReportJob j SET j.whatsappStatus = " + FOLLOW_UP + "SENDING, j.updatedDate = :now " +
+           "WHERE j.id = :id AND j.status = " + JOB + "SUCCEEDED AND j.whatsappStatus = " + FOLLOW_UP + "PENDING")
+    int claimWhatsApp(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE ReportJob j SET j.emailStatus = :status, j.updatedDate = :now WHERE j.id = :id")
+    int finishEmail(@Param("id") Long id, @Param("status") FollowUpStatus status,
+                    @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE ReportJob j SET j.whatsappStatus = :status, j.updatedDate = :now WHERE j.id = :id")
+    int finishWhatsApp(@Param("id") Long id, @Param("status") FollowUpStatus status,
+                       @Param("now") LocalDateTime now);
+}
@@ -30,7 +30,7 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
     List<Role> findSystemRoles();
     
     @Query("SELECT r FROM Role r WHERE " +
-           "LOWER(r.displayName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(r.description) LIKE LOWER(CONCAT('%', :search, '%'))")
+           "LOWER(r.displayName) LIKE :search ESCAPE '\\' OR " +
+           "LOWER(r.description) LIKE :search ESCAPE '\\'")
     Page<Role> searchRoles(@Param("search") String search, Pageable pageable);
 }
\ No newline at end of file
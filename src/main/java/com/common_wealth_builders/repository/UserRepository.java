@@ -3,24 +3,62 @@ package com.common_wealth_builders.repository;
 import com.common_wealth_builders.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    /** Loads the user together with its roles in one query. */
+    @EntityGraph(attributePaths = {"userRoles", "userRoles.role"})
+    Optional<User> findWithRolesByEmail(String email);
+
     Optional<User> findByUserName(String userName);
     boolean existsByEmail(String email);
     boolean existsByUserName(String userName);
     
     @Query("SELECT u FROM User u WHERE " +
-           "LOWER(u.firstname) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(u.lastname) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(u.email) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(u.userName) LIKE LOWER(CONCAT('%', :search, '%'))")
+           "LOWER(u.firstname) LIKE :search ESCAPE '\\' OR " +
+           "LOWER(u.lastname) LIKE :search ESCAPE '\\' OR " +
+           "LOWER(u.email) LIKE :search ESCAPE '\\' OR " +
+           "LOWER(u.userName) LIKE :search ESCAPE '\\'")
     Page<User> searchUsers(@Param("search") String search, Pageable pageable);
+
+    /** Sets only the lock column; deliberately bypasses the optimistic version. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.accountLockedUntil = :lockedUntil WHERE u.email = :email")
+    int lockAccountUntil(@Param("email") String email, @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    @Query("SELECT u.id, COALESCE(u.authzVersion, 0), u.authzUpdatedAt FROM User u " +
+           "WHERE u.authzUpdatedAt > :since")
+    List<Object[]> findAuthzVersionsChangedSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Keyset pages: sort by (createdDate DESC, id DESC); the "After" variant seeks past a cursor;
+    // the leading "<=" keeps the seek on the date index
+
+    Slice<User> findSliceBy(Pageable pageable);
+
+    @Query("SELECT u FROM User u WHERE " +
+           "u.createdDate <= :createdDate AND (u.createdDate < :createdDate OR u.id < :id)")
+    Slice<User> findSliceAfter(
+        @Param("createdDate") LocalDateTime createdDate,
+        @Param("id") Long id,
+        Pageable pageable
+    );
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.common_wealth_builders.security;
+
+import com.common_wealth_builders.entity.User;
+import com.common_wealth_builders.exception.UnauthorizedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The authenticated caller of the current request, taken from the
+ * principal the JWT filter already put in the security context. Resolved
+ * once per request and kept as a request attribute, so services can use
+ * the caller's id without looking the user up by email again.
+ */
+public record ActorContext(Long userId, String email, String displayName, long permissionMask)
+        implements PermissionHolder {
+
+    private static final String REQUEST_ATTRIBUTE = ActorContext.class.getName();
+
+    public static Optional<ActorContext> current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof ActorContext cached) {
+            return Optional.of(cached);
+        }
+
+        ActorContext actor = from(SecurityContextHolder.getContext().getAuthentication());
+        if (actor != null && attributes != null) {
+            attributes.setAttribute(REQUEST_ATTRIBUTE, actor, RequestAttributes.SCOPE_REQUEST);
+        }
+        return Optional.ofNullable(actor);
+    }
+
+    public static ActorContext require() {
+        return current().orElseThrow(() -> new UnauthorizedException("No authenticated user for this request"));
+    }
+
+    private static ActorContext from(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return null;
+        }
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof User user) {
+            return new ActorContext(user.getId(), user.getEmail(),
+                    displayName(user.getFirstname(), user.getLastname(), user.getEmail()),
+                    user.permissionMask());
+        }
+        if (principal instanceof UserPrincipal snapshot) {
+            return new ActorContext(snapshot.userId(), snapshot.email(),
+                    snapshot.fullName() != null ? snapshot.fullName() : snapshot.email(),
+                    snapshot.permissionMask());
+        }
+        if (principal instanceof TokenPrincipal token) {
+            return new ActorContext(token.userId(), token.email(),
+                    token.fullName() != null ? token.fullName() : token.email(),
+                    token.permissionMask());
+        }
+        return null;
+    }
+
+    private static String displayName(String firstname, String lastname, String fallback) {
+        String fullName = Stream.of(firstname, lastname)
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.joining(" "));
+        return fullName.isEmpty() ? fallback : fullName;
+    }
+}
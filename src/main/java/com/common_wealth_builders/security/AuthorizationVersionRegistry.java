@@ -0,0 +1,164 @@
+package com.common_wealth_builders.security;
+
+import com.common_wealth_builders.entity.User;
+import com.common_wealth_builders.repository.UserRepository;
+import com.common_wealth_builders.utils.MetricsSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory {@code userId -> authzVersion} table used to reject tokens
+ * issued before a user's roles changed or the account was disabled.
+ * Refreshed periodically from the users whose {@code authzUpdatedAt} moved
+ * since the last refresh, so other nodes' changes are picked up without
+ * scanning the whole table; users missing from the table are resolved from
+ * the database by the JWT filter. A slower reconcile drops ids of users
+ * that were hard-deleted on another node.
+ */
+@Component
+@Slf4j
+public class AuthorizationVersionRegistry implements MetricsSource {
+
+    private static final LocalDateTime NEVER = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final int RECONCILE_BATCH_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final Duration refreshOverlap;
+
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+    private final LongAdder staleRejections = new LongAdder();
+    private final LongAdder refreshedRows = new LongAdder();
+    private volatile LocalDateTime lastSeen = NEVER;
+
+    public AuthorizationVersionRegistry(UserRepository userRepository,
+                                        @Value("${jwt.authz-version.refresh-overlap-ms:60000}") long refreshOverlapMillis) {
+        this.userRepository = userRepository;
+        this.refreshOverlap = Duration.ofMillis(refreshOverlapMillis);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+        log.info("Loaded authorization versions for {} users", versions.size());
+    }
+
+    /**
+     * Reads only rows changed since the newest timestamp already seen. The
+     * window is widened by the configured overlap so a change committed after
+     * a later-stamped one is not skipped; re-reading a row is harmless.
+     */
+    @Scheduled(fixedDelayString = "${jwt.authz-version.refresh-ms:30000}",
+            initialDelayString = "${jwt.authz-version.refresh-ms:30000}")
+    public void refresh() {
+        LocalDateTime since = lastSeen == NEVER ? NEVER : lastSeen.minus(refreshOverlap);
+        List<Object[]> rows = userRepository.findAuthzVersionsChangedSince(since);
+        LocalDateTime newest = lastSeen;
+        for (Object[] row : rows) {
+            record((Long) row[0], ((Number) row[1]).longValue());
+            LocalDateTime updatedAt = (LocalDateTime) row[2];
+            if (updatedAt != null && updatedAt.isAfter(newest)) {
+                newest = updatedAt;
+            }
+        }
+        refreshedRows.add(rows.size());
+        lastSeen = newest;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.authz-version.reconcile-ms:300000}",
+            initialDelayString = "${jwt.authz-version.reconcile-ms:300000}")
+    public void reconcile() {
+        List<Long> known = new ArrayList<>(versions.keySet());
+        int dropped = 0;
+        for (int from = 0; from < known.size(); from += RECONCILE_BATCH_SIZE) {
+            List<Long> batch = known.subList(from, Math.min(from + RECONCILE_BATCH_SIZE, known.size()));
+            Set<Long> existing = new HashSet<>(userRepository.findExistingIds(batch));
+            for (Long userId : batch) {
+                if (!existing.contains(userId) && versions.remove(userId) != null) {
+                    dropped++;
+                }
+            }
+        }
+        if (dropped > 0) {
+            log.info("Dropped authorization versions for {} deleted users", dropped);
+        }
+    }
+
+    /**
+     * @return the current version, or null when the user is not in the table
+     */
+    public Long versionOf(Long userId) {
+        return userId != null ? versions.get(userId) : null;
+    }
+
+    public void record(Long userId, Long version) {
+        if (userId != null) {
+            versions.merge(userId, version != null ? version : 0L, Math::max);
+        }
+    }
+
+    public boolean isStale(long tokenVersion, long currentVersion) {
+        if (tokenVersion < currentVersion) {
+            staleRejections.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Increments the user's version on the managed entity; the table is
+     * updated once the surrounding transaction commits.
+     */
+    public void bump(User user) {
+        long version = user.nextAuthzVersion();
+        afterCommit(() -> record(user.getId(), version));
+    }
+
+    public void remove(Long userId) {
+        afterCommit(() -> versions.remove(userId));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "authorizationVersions";
+    }
+
+    @Override
+    public Map<String, Object> metricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("users", versions.size());
+        snapshot.put("staleTokenRejections", staleRejections.sum());
+        snapshot.put("refreshedRows", refreshedRows.sum());
+        snapshot.put("lastSeen", lastSeen == NEVER ? null : lastSeen.toString());
+        return snapshot;
+    }
+}
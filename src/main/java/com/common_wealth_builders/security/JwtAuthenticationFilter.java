@@ -1,59 +1,139 @@
 package com.common_wealth_builders.security;
 
+import com.common_wealth_builders.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
+@Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
-    
+
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
-    
+    private final PrincipalCache principalCache;
+    private final AuthorizationVersionRegistry authorizationVersions;
+    private final TokenRevocationService tokenRevocation;
+
+    @Value("${jwt.stateless-authorization:false}")
+    private boolean statelessAuthorization;
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request,
             HttpServletResponse response,
             FilterChain filterChain
     ) throws ServletException, IOException {
-        
+
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
-        
+        final Claims claims;
+
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
-        
+
         jwt = authHeader.substring(7);
-        userEmail = jwtUtil.extractUsername(jwt);
-        
+        try {
+            claims = jwtUtil.parseVerifiedClaims(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected bearer token: {}", e.getMessage());
+            filterChain.doFilter(request, response);
+            return;
+        }
+        final String userEmail = claims.getSubject();
+
         if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-            
-            if (jwtUtil.validateToken(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
+            UsernamePasswordAuthenticationToken authToken = authenticate(claims, userEmail);
+            if (authToken != null) {
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private UsernamePasswordAuthenticationToken authenticate(Claims claims, String userEmail) {
+        if (tokenRevocation.isRevoked(claims.getId())) {
+            log.debug("Rejected revoked token for user {}", userEmail);
+            return null;
+        }
+
+        Long userId = jwtUtil.getUserId(claims);
+        long tokenVersion = jwtUtil.getAuthzVersion(claims);
+        Long currentVersion = authorizationVersions.versionOf(userId);
+
+        if (currentVersion != null && authorizationVersions.isStale(tokenVersion, currentVersion)) {
+            log.debug("Rejected stale token for user {}: version {} < {}", userEmail, tokenVersion, currentVersion);
+            return null;
+        }
+
+        // Stateless mode: the verified claims are authoritative while the version is current
+        if (statelessAuthorization && currentVersion != null && claims.get(JwtUtil.CLAIM_ROLES) != null) {
+            return fromClaims(claims, userId, userEmail);
+        }
+
+        UserPrincipal userDetails;
+        try {
+            userDetails = principalCache.get(userEmail, this::loadPrincipal);
+        } catch (UsernameNotFoundException e) {
+            log.debug("Bearer token subject no longer exists: {}", userEmail);
+            return null;
+        }
+
+        authorizationVersions.record(userDetails.userId(), userDetails.authzVersion());
+        if (userId != null && authorizationVersions.isStale(tokenVersion, userDetails.authzVersion())) {
+            return null;
+        }
+
+        if (jwtUtil.validateClaims(claims, userDetails)
+                && userDetails.isEnabled()
+                && userDetails.isAccountNonLocked()) {
+            return new UsernamePasswordAuthenticationToken(
+                    userDetails,
+                    null,
+                    userDetails.getAuthorities()
+            );
+        }
+        return null;
+    }
+
+    private UserPrincipal loadPrincipal(String email) {
+        UserDetails loaded = userDetailsService.loadUserByUsername(email);
+        if (loaded instanceof User user) {
+            return UserPrincipal.of(user);
+        }
+        throw new UsernameNotFoundException("Unsupported principal type for: " + email);
+    }
+
+    private UsernamePasswordAuthenticationToken fromClaims(Claims claims, Long userId, String userEmail) {
+        List<?> roles = claims.get(JwtUtil.CLAIM_ROLES, List.class);
+        List<SimpleGrantedAuthority> authorities = roles.stream()
+                .map(role -> new SimpleGrantedAuthority(role.toString()))
+                .toList();
+
+        TokenPrincipal principal = new TokenPrincipal(userId, userEmail,
+                claims.get(JwtUtil.CLAIM_NAME, String.class), PermissionHolder.maskOfAuthorities(roles));
+        return new UsernamePasswordAuthenticationToken(principal, null, authorities);
+    }
+}
@@ -1,29 +1,76 @@
 package com.common_wealth_builders.security;
 
+import com.common_wealth_builders.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
     
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_NAME = "name";
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_AUTHZ_VERSION = "av";
+    
     @Value("${jwt.secret}")
     private String secret;
     
     @Value("${jwt.expiration}")
     private Long expiration;
     
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private int verifiedCacheMaxSize;
+    
+    private Key signKey;
+    private JwtParser parser;
+    private VerifiedTokenCache verifiedTokens;
+    
+    @PostConstruct
+    void init() {
+        byte[] keyBytes = Decoders.BASE64.decode(secret);
+        this.signKey = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signKey)
+                .build();
+        this.verifiedTokens = new VerifiedTokenCache(verifiedCacheMaxSize);
+    }
+    
+    /**
+     * Verifies the token once and returns its claims. Tokens that were
+     * already verified are served from the cache until they expire; the
+     * claims are read-only because every caller shares the cached instance.
+     *
+     * @throws JwtException if the signature is invalid or the token has expired
+     */
+    public Claims parseVerifiedClaims(String token) {
+        String digest = VerifiedTokenCache.digest(token);
+        Claims claims = verifiedTokens.get(digest);
+        if (claims != null) {
+            return claims;
+        }
+        claims = new ReadOnlyClaims(parser.parseClaimsJws(token).getBody());
+        verifiedTokens.put(digest, claims);
+        return claims;
+    }
+    
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -33,26 +80,20 @@ public class JwtUtil {
     }
     
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseVerifiedClaims(token);
         return claimsResolver.apply(claims);
     }
     
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
     
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public Boolean validateToken(String token, UserDetails userDetails) {
+        return validateClaims(parseVerifiedClaims(token), userDetails);
     }
     
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    public boolean validateClaims(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims);
     }
     
     public String generateToken(String username) {
@@ -60,18 +101,41 @@ public class JwtUtil {
         return createToken(claims, username);
     }
     
+    /**
+     * Issues a token that also carries the user's id, active role codes and
+     * authorization version, enough for the filter to authorize the request
+     * without loading the user in stateless mode.
+     */
+    public String generateToken(User user) {
+        List<String> roles = user.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_NAME, user.getFirstname() + " " + user.getLastname());
+        claims.put(CLAIM_ROLES, roles);
+        claims.put(CLAIM_AUTHZ_VERSION, user.getAuthzVersion() != null ? user.getAuthzVersion() : 0L);
+        return createToken(claims, user.getEmail());
+    }
+    
+    public Long getUserId(Claims claims) {
+        return claims.get(CLAIM_USER_ID, Long.class);
+    }
+    
+    public long getAuthzVersion(Claims claims) {
+        Long version = claims.get(CLAIM_AUTHZ_VERSION, Long.class);
+        return version != null ? version : 0L;
+    }
+    
     private String createToken(Map<String, Object> claims, String username) {
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(username)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignKey(), SignatureAlgorithm.HS256)
+                .signWith(signKey, SignatureAlgorithm.HS256)
                 .compact();
     }
-    
-    private Key getSignKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secret);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
 }
\ No newline at end of file
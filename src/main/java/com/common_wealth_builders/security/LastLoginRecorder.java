@@ -0,0 +1,86 @@
+package com.common_wealth_builders.security;
+
+import com.common_wealth_builders.utils.MetricsSource;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coalesces successful-login stamps per user and writes them in one JDBC
+ * batch on a schedule, outside the login request and without bumping the
+ * entity version.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LastLoginRecorder implements MetricsSource {
+
+    private static final String UPDATE_SQL =
+            "UPDATE users SET last_login_date = ?, last_login_ip = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, LoginStamp> pending = new ConcurrentHashMap<>();
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder written = new LongAdder();
+
+    public void record(Long userId, String clientIp) {
+        pending.put(userId, new LoginStamp(LocalDateTime.now(), clientIp));
+        recorded.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${security.last-login.flush-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>(pending.size());
+        for (Long userId : pending.keySet()) {
+            LoginStamp stamp = pending.remove(userId);
+            if (stamp != null) {
+                batch.add(new Object[]{Timestamp.valueOf(stamp.loginDate()), stamp.clientIp(), userId});
+            }
+        }
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch);
+            written.add(batch.size());
+            log.debug("Flushed {} last-login updates", batch.size());
+        } catch (Exception e) {
+            log.error("Failed to flush {} last-login updates: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void drain() {
+        flush();
+    }
+
+    @Override
+    public String metricsName() {
+        return "lastLogin";
+    }
+
+    @Override
+    public Map<String, Object> metricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("pending", pending.size());
+        snapshot.put("recorded", recorded.sum());
+        snapshot.put("written", written.sum());
+        return snapshot;
+    }
+
+    private record LoginStamp(LocalDateTime loginDate, String clientIp) {
+    }
+}
@@ -0,0 +1,201 @@
+package com.common_wealth_builders.security;
+
+import com.common_wealth_builders.exception.InsufficientPermissionException;
+import com.common_wealth_builders.exception.TooManyRequestsException;
+import com.common_wealth_builders.repository.UserRepository;
+import com.common_wealth_builders.utils.MetricsSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory login failure tracking keyed by email and by client IP.
+ * Counts live in lock-free sliding windows held in concurrent (striped)
+ * maps; the users row is only written when an email lock actually trips.
+ * <p>
+ * Idle counters and expired locks are swept on a schedule, and each map
+ * holds at most {@code max-entries} keys. When a map is still full after an
+ * early sweep, new IPs share one overflow counter and new emails are not
+ * tracked, so a spray of fresh keys cannot exhaust the heap. Those emails
+ * remain covered by the IP limit.
+ */
+@Component
+@Slf4j
+public class LoginAttemptTracker implements MetricsSource {
+
+    private static final int BUCKETS = 15;
+    private static final long MIN_SWEEP_INTERVAL_MILLIS = 1000;
+
+    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+
+    private final Map<String, SlidingWindowCounter> emailFailures = new ConcurrentHashMap<>();
+    private final Map<String, SlidingWindowCounter> ipFailures = new ConcurrentHashMap<>();
+    private final Map<String, Long> lockedUntil = new ConcurrentHashMap<>();
+    private final SlidingWindowCounter ipOverflow;
+    private final AtomicLong nextSweepMillis = new AtomicLong();
+
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder locksTripped = new LongAdder();
+    private final LongAdder blockedAttempts = new LongAdder();
+    private final LongAdder untrackedEmails = new LongAdder();
+    private final LongAdder overflowedIps = new LongAdder();
+
+    private final long bucketMillis;
+    private final int maxEmailFailures;
+    private final int maxIpFailures;
+    private final long lockMillis;
+    private final int maxEntries;
+
+    public LoginAttemptTracker(UserRepository userRepository,
+                               PrincipalCache principalCache,
+                               @Value("${security.login-throttle.window-ms:900000}") long windowMillis,
+                               @Value("${security.login-throttle.max-email-failures:5}") int maxEmailFailures,
+                               @Value("${security.login-throttle.max-ip-failures:50}") int maxIpFailures,
+                               @Value("${security.login-throttle.lock-ms:3600000}") long lockMillis,
+                               @Value("${security.login-throttle.max-entries:100000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.bucketMillis = Math.max(1, windowMillis / BUCKETS);
+        this.maxEmailFailures = maxEmailFailures;
+        this.maxIpFailures = maxIpFailures;
+        this.lockMillis = lockMillis;
+        this.maxEntries = maxEntries;
+        this.ipOverflow = newCounter();
+    }
+
+    /**
+     * Rejects the attempt before any password work when the IP is over its
+     * budget or the email is locked.
+     */
+    public void checkAllowed(String email, String clientIp) {
+        long now = System.currentTimeMillis();
+
+        SlidingWindowCounter ipCounter = clientIp != null ? ipCounter(clientIp) : null;
+        if (ipCounter != null && ipCounter.sum(now) >= maxIpFailures) {
+            blockedAttempts.increment();
+            throw new TooManyRequestsException("Too many failed login attempts. Please try again later.",
+                    bucketMillis / 1000);
+        }
+
+        Long until = lockedUntil.get(normalize(email));
+        if (until != null) {
+            if (until > now) {
+                blockedAttempts.increment();
+                throw new InsufficientPermissionException("Account is disabled or locked");
+            }
+            lockedUntil.remove(normalize(email), until);
+        }
+    }
+
+    /**
+     * Counts a failure for the email and IP; persists the lock on the users
+     * row only when this failure trips it.
+     */
+    public void recordFailure(String email, String clientIp, boolean knownUser) {
+        long now = System.currentTimeMillis();
+        failures.increment();
+
+        if (clientIp != null) {
+            SlidingWindowCounter ipCounter = ipCounter(clientIp);
+            if (ipCounter == null) {
+                if (hasRoom(ipFailures, now)) {
+                    ipCounter = ipFailures.computeIfAbsent(clientIp, key -> newCounter());
+                } else {
+                    overflowedIps.increment();
+                    ipCounter = ipOverflow;
+                }
+            }
+            ipCounter.increment(now);
+        }
+
+        String key = normalize(email);
+        SlidingWindowCounter emailCounter = emailFailures.get(key);
+        if (emailCounter == null) {
+            if (!hasRoom(emailFailures, now)) {
+                untrackedEmails.increment();
+                return;
+            }
+            emailCounter = emailFailures.computeIfAbsent(key, k -> newCounter());
+        }
+        int count = emailCounter.increment(now);
+        if (count >= maxEmailFailures && lockedUntil.putIfAbsent(key, now + lockMillis) == null) {
+            locksTripped.increment();
+            emailFailures.remove(key);
+            log.error("Account locked after {} failed attempts: {}", count, email);
+            if (knownUser) {
+                userRepository.lockAccountUntil(email, LocalDateTime.now().plus(Duration.ofMillis(lockMillis)));
+                principalCache.invalidate(email);
+            }
+        }
+    }
+
+    public void recordSuccess(String email) {
+        emailFailures.remove(normalize(email));
+    }
+
+    @Scheduled(fixedDelayString = "${security.login-throttle.sweep-ms:60000}")
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        emailFailures.values().removeIf(counter -> counter.isIdle(now));
+        ipFailures.values().removeIf(counter -> counter.isIdle(now));
+        lockedUntil.values().removeIf(until -> until <= now);
+    }
+
+    /** The IP's counter, the shared overflow counter once the map is full, or null. */
+    private SlidingWindowCounter ipCounter(String clientIp) {
+        SlidingWindowCounter counter = ipFailures.get(clientIp);
+        if (counter == null && ipFailures.size() >= maxEntries) {
+            return ipOverflow;
+        }
+        return counter;
+    }
+
+    private boolean hasRoom(Map<String, ?> map, long now) {
+        if (map.size() < maxEntries) {
+            return true;
+        }
+        long due = nextSweepMillis.get();
+        if (now >= due && nextSweepMillis.compareAndSet(due, now + MIN_SWEEP_INTERVAL_MILLIS)) {
+            evictIdle();
+        }
+        return map.size() < maxEntries;
+    }
+
+    private SlidingWindowCounter newCounter() {
+        return new SlidingWindowCounter(BUCKETS, bucketMillis);
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public String metricsName() {
+        return "loginThrottle";
+    }
+
+    @Override
+    public Map<String, Object> metricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("trackedEmails", emailFailures.size());
+        snapshot.put("trackedIps", ipFailures.size());
+        snapshot.put("lockedEmails", lockedUntil.size());
+        snapshot.put("untrackedEmails", untrackedEmails.sum());
+        snapshot.put("overflowedIps", overflowedIps.sum());
+        snapshot.put("failures", failures.sum());
+        snapshot.put("locksTripped", locksTripped.sum());
+        snapshot.put("blockedAttempts", blockedAttempts.sum());
+        return snapshot;
+    }
+}
@@ -0,0 +1,47 @@
+package com.common_wealth_builders.security;
+
+import com.common_wealth_builders.utils.MetricsSource;
+import com.common_wealth_builders.utils.PhaseTimer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-phase timings of the login path.
+ */
+@Component
+public class LoginMetrics implements MetricsSource {
+
+    public enum Phase {
+        USER_LOAD,
+        PASSWORD_CHECK,
+        TOKEN_ISSUE,
+        TOTAL
+    }
+
+    private final Map<Phase, PhaseTimer> timers = new EnumMap<>(Phase.class);
+
+    public LoginMetrics() {
+        for (Phase phase : Phase.values()) {
+            timers.put(phase, new PhaseTimer());
+        }
+    }
+
+    public void record(Phase phase, long nanos) {
+        timers.get(phase).record(nanos);
+    }
+
+    @Override
+    public String metricsName() {
+        return "login";
+    }
+
+    @Override
+    public Map<String, Object> metricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        timers.forEach((phase, timer) -> snapshot.put(phase.name(), timer.snapshot()));
+        return snapshot;
+    }
+}
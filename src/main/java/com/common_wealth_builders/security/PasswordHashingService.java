@@ -0,0 +1,147 @@
+package com.common_wealth_builders.security;
+
+import com.common_wealth_builders.exception.ServiceUnavailableException;
+import com.common_wealth_builders.utils.MetricsSource;
+import com.common_wealth_builders.utils.PhaseTimer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs BCrypt work on a dedicated, bounded pool so login bursts cannot
+ * pin every CPU on hashing. The calling request thread still waits for the
+ * result; the pool bounds concurrency rather than freeing request threads.
+ * When the queue is full callers get a fast
+ * {@link ServiceUnavailableException} (503) instead of waiting. Callers
+ * must not invoke it while holding a transaction.
+ */
+@Component
+@Slf4j
+public class PasswordHashingService implements MetricsSource {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final String dummyHash;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final PhaseTimer queueWait = new PhaseTimer();
+    private final PhaseTimer hashing = new PhaseTimer();
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  @Value("${security.password-hashing.threads:0}") int threads,
+                                  @Value("${security.password-hashing.queue-capacity:200}") int queueCapacity,
+                                  @Value("${security.password-hashing.timeout-ms:5000}") long timeoutMillis) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMillis = timeoutMillis;
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        // Same cost factor as real hashes so unknown emails take as long as known ones
+        this.dummyHash = passwordEncoder.encode(UUID.randomUUID().toString());
+        log.info("Password hashing pool started: threads={}, queueCapacity={}", poolSize, queueCapacity);
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Spends the same BCrypt cost as a real check; always returns false.
+     */
+    public boolean matchesDummy(String rawPassword) {
+        submit(() -> passwordEncoder.matches(rawPassword, dummyHash));
+        return false;
+    }
+
+    public String encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    private <T> T submit(Callable<T> work) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                queueWait.record(started - submitted);
+                try {
+                    return work.call();
+                } finally {
+                    hashing.record(System.nanoTime() - started);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Password hashing queue is full, rejecting request");
+            throw new ServiceUnavailableException("Authentication service is busy. Please retry shortly.");
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.increment();
+            throw new ServiceUnavailableException("Authentication service is busy. Please retry shortly.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Authentication was interrupted. Please retry.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public String metricsName() {
+        return "passwordHashing";
+    }
+
+    @Override
+    public Map<String, Object> metricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("activeThreads", executor.getActiveCount());
+        snapshot.put("queued", executor.getQueue().size());
+        snapshot.put("completed", executor.getCompletedTaskCount());
+        snapshot.put("rejected", rejected.sum());
+        snapshot.put("timedOut", timedOut.sum());
+        snapshot.put("queueWait", queueWait.snapshot());
+        snapshot.put("hashing", hashing.snapshot());
+        return snapshot;
+    }
+}
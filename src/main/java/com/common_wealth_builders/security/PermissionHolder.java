@@ -0,0 +1,32 @@
+package com.common_wealth_builders.security;
+
+import com.common_wealth_builders.enums.Permission;
+import com.common_wealth_builders.enums.RoleType;
+
+/**
+ * A principal whose effective permissions are precomputed into a bitmask
+ * (see {@link Permission#bit()}), so an authorization check is one AND.
+ */
+public interface PermissionHolder {
+
+    long permissionMask();
+
+    default boolean hasPermission(Permission permission) {
+        return (permissionMask() & permission.bit()) != 0;
+    }
+
+    /**
+     * Folds role authorities such as {@code ROLE_TECH_ADMIN} into a mask;
+     * unknown authorities grant nothing.
+     */
+    static long maskOfAuthorities(Iterable<?> authorities) {
+        long mask = 0L;
+        for (Object authority : authorities) {
+            RoleType roleType = RoleType.fromAuthority(String.valueOf(authority));
+            if (roleType != null) {
+                mask |= roleType.permissionMask();
+            }
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,141 @@
+package com.common_wealth_builders.security;
+
+import com.common_wealth_builders.utils.MetricsSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Short-lived cache of authenticated principals used by the JWT filter so
+ * steady-state requests do not reload the user and role graph. Entries are
+ * immutable {@link UserPrincipal} snapshots, never the entity itself. Code
+ * that changes a user's authority state must call {@link #invalidate(String)}.
+ */
+@Component
+@Slf4j
+public class PrincipalCache implements MetricsSource {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final AtomicLong generation = new AtomicLong();
+
+    private final long ttlMillis;
+    private final int maxSize;
+
+    public PrincipalCache(@Value("${security.principal-cache.ttl-ms:30000}") long ttlMillis,
+                          @Value("${security.principal-cache.max-size:5000}") int maxSize) {
+        this.ttlMillis = ttlMillis;
+        this.maxSize = maxSize;
+    }
+
+    public UserPrincipal get(String email, Function<String, UserPrincipal> loader) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(email);
+        if (entry != null && entry.expiresAt > now) {
+            hits.increment();
+            return entry.principal;
+        }
+        if (entry != null && entries.remove(email, entry)) {
+            evictions.increment();
+        }
+
+        misses.increment();
+        long loadedAt = generation.get();
+        UserPrincipal principal = loader.apply(email);
+        if (generation.get() != loadedAt) {
+            return principal;
+        }
+        if (entries.size() >= maxSize) {
+            evict(now);
+        }
+        Entry loaded = new Entry(principal, now + ttlMillis);
+        entries.put(email, loaded);
+        // An invalidation that raced the put above must not leave this load cached
+        if (generation.get() != loadedAt) {
+            entries.remove(email, loaded);
+        }
+        return principal;
+    }
+
+    /**
+     * Drops the cached principal now and, when called inside a transaction,
+     * again after it completes. Loads that started before either removal are
+     * not cached, so a concurrent reload cannot re-insert pre-commit state.
+     */
+    public void invalidate(String email) {
+        if (email == null) {
+            return;
+        }
+        remove(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove(email);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+        invalidations.increment();
+    }
+
+    private void remove(String email) {
+        generation.incrementAndGet();
+        if (entries.remove(email) != null) {
+            invalidations.increment();
+            log.debug("Principal cache entry invalidated for: {}", email);
+        }
+    }
+
+    private void evict(long now) {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().expiresAt <= now) {
+                it.remove();
+                evictions.increment();
+            }
+        }
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() >= maxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+            evictions.increment();
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "principalCache";
+    }
+
+    @Override
+    public Map<String, Object> metricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("size", entries.size());
+        snapshot.put("hits", hits.sum());
+        snapshot.put("misses", misses.sum());
+        snapshot.put("evictions", evictions.sum());
+        snapshot.put("invalidations", invalidations.sum());
+        return snapshot;
+    }
+
+    private record Entry(UserPrincipal principal, long expiresAt) {
+    }
+}
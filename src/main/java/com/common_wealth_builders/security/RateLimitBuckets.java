@@ -0,0 +1,139 @@
+package com.common_wealth_builders.security;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One class of token buckets (per user, per IP, ...) implemented with the
+ * generic cell rate algorithm: each key holds only its theoretical arrival
+ * time in an {@link AtomicLong}, so a take is a single CAS loop inside a
+ * striped concurrent map. A key whose arrival time has passed is
+ * indistinguishable from a full bucket, which makes eviction lossless.
+ * <p>
+ * When the map is full, unseen keys share one overflow bucket rather than
+ * being let through, so a flood of fresh keys cannot switch the limiter
+ * off. At most one request thread per interval sweeps idle keys to make
+ * room; the rest go straight to the overflow bucket.
+ */
+class RateLimitBuckets<K> {
+
+    private static final long MIN_SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<K, AtomicLong> arrivals = new ConcurrentHashMap<>();
+    private final AtomicLong overflow;
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final AtomicLong nextSweepNanos;
+    private final long emissionNanos;
+    private final long burstNanos;
+    private final int maxEntries;
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder limited = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+
+    RateLimitBuckets(double permitsPerSecond, int burst, int maxEntries) {
+        long now = System.nanoTime();
+        this.emissionNanos = Math.max(1L, (long) (1_000_000_000L / permitsPerSecond));
+        this.burstNanos = emissionNanos * Math.max(1, burst);
+        this.maxEntries = maxEntries;
+        this.overflow = new AtomicLong(now);
+        this.nextSweepNanos = new AtomicLong(now);
+    }
+
+    /**
+     * Takes {@code cost} permits for the key.
+     *
+     * @return 0 when allowed, otherwise the nanoseconds until the request
+     *         would fit
+     */
+    long tryTake(K key, int cost, long nowNanos) {
+        AtomicLong arrival = arrivals.get(key);
+        if (arrival == null) {
+            if (arrivals.size() >= maxEntries) {
+                sweepIfDue(nowNanos);
+                if (arrivals.size() >= maxEntries) {
+                    overflowed.increment();
+                    return take(overflow, cost, nowNanos);
+                }
+            }
+            arrival = arrivals.computeIfAbsent(key, k -> new AtomicLong(nowNanos));
+        }
+        return take(arrival, cost, nowNanos);
+    }
+
+    /**
+     * Checks whether {@code cost} permits would be granted for the key
+     * without taking them, so a request charged to several classes is only
+     * charged once every class has room.
+     *
+     * @return 0 when there is room, otherwise the nanoseconds until the
+     *         request would fit
+     */
+    long waitNanos(K key, int cost, long nowNanos) {
+        AtomicLong arrival = arrivals.get(key);
+        if (arrival == null && arrivals.size() >= maxEntries) {
+            arrival = overflow;
+        }
+        long current = arrival != null ? arrival.get() : nowNanos;
+        long excess = Math.max(current, nowNanos) + emissionNanos * cost - nowNanos - burstNanos;
+        if (excess > 0) {
+            limited.increment();
+            return excess;
+        }
+        return 0L;
+    }
+
+    private long take(AtomicLong arrival, int cost, long nowNanos) {
+        long increment = emissionNanos * cost;
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, nowNanos) + increment;
+            long excess = next - nowNanos - burstNanos;
+            if (excess > 0) {
+                limited.increment();
+                return excess;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                allowed.increment();
+                return 0L;
+            }
+        }
+    }
+
+    private void sweepIfDue(long nowNanos) {
+        long due = nextSweepNanos.get();
+        if (nowNanos - due < 0 || !nextSweepNanos.compareAndSet(due, nowNanos + MIN_SWEEP_INTERVAL_NANOS)) {
+            return;
+        }
+        evictIdle(nowNanos);
+    }
+
+    void evictIdle(long nowNanos) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int before = arrivals.size();
+            arrivals.values().removeIf(arrival -> arrival.get() <= nowNanos);
+            evicted.add(Math.max(0, before - arrivals.size()));
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("trackedKeys", arrivals.size());
+        snapshot.put("allowed", allowed.sum());
+        snapshot.put("limited", limited.sum());
+        snapshot.put("overflowed", overflowed.sum());
+        snapshot.put("evicted", evicted.sum());
+        return snapshot;
+    }
+}
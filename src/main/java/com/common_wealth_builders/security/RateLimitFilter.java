@@ -0,0 +1,172 @@
+package com.common_wealth_builders.security;
+
+import com.common_wealth_builders.dto.response.GenericResponse;
+import com.common_wealth_builders.entity.User;
+import com.common_wealth_builders.utils.ClientIpResolver;
+import com.common_wealth_builders.utils.MetricsSource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process request rate limiting, run right after
+ * {@link JwtAuthenticationFilter}. Every request is charged to its client
+ * IP; authenticated requests are also charged to the user. Both buckets
+ * are checked before either is charged, so a request the user bucket
+ * rejects does not use up the IP's permits. Expensive routes cost more
+ * permits than plain reads.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter implements MetricsSource {
+
+    private static final int DEFAULT_COST = 1;
+
+    // First match wins
+    private static final List<RouteCost> ROUTE_COSTS = List.of(
+            new RouteCost("/v1/reports/**", 10),
+            new RouteCost("/v1/*/search", 5),
+            new RouteCost("/v1/audit-trail/**", 3),
+            new RouteCost("/v1/payments", 2),
+            new RouteCost("/v1/expenses", 2)
+    );
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final RateLimitBuckets<Long> userBuckets;
+    private final RateLimitBuckets<String> ipBuckets;
+
+    public RateLimitFilter(ObjectMapper objectMapper,
+                           @Value("${security.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${security.rate-limit.user.permits-per-second:10}") double userRate,
+                           @Value("${security.rate-limit.user.burst:40}") int userBurst,
+                           @Value("${security.rate-limit.ip.permits-per-second:20}") double ipRate,
+                           @Value("${security.rate-limit.ip.burst:80}") int ipBurst,
+                           @Value("${security.rate-limit.max-entries:100000}") int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.userBuckets = new RateLimitBuckets<>(userRate, userBurst, maxEntries);
+        this.ipBuckets = new RateLimitBuckets<>(ipRate, ipBurst, maxEntries);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || "OPTIONS".equalsIgnoreCase(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        long now = System.nanoTime();
+        int cost = costOf(request.getServletPath());
+
+        String clientIp = ClientIpResolver.resolve(request);
+        Long userId = currentUserId();
+        long waitNanos = Math.max(
+                clientIp != null ? ipBuckets.waitNanos(clientIp, cost, now) : 0L,
+                userId != null ? userBuckets.waitNanos(userId, cost, now) : 0L);
+
+        // A concurrent request can still take the last permits between the check and the take
+        if (waitNanos == 0L && clientIp != null) {
+            waitNanos = ipBuckets.tryTake(clientIp, cost, now);
+        }
+        if (waitNanos == 0L && userId != null) {
+            waitNanos = userBuckets.tryTake(userId, cost, now);
+        }
+
+        if (waitNanos > 0L) {
+            reject(request, response, waitNanos);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private int costOf(String path) {
+        for (RouteCost routeCost : ROUTE_COSTS) {
+            if (pathMatcher.match(routeCost.pattern(), path)) {
+                return routeCost.cost();
+            }
+        }
+        return DEFAULT_COST;
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return null;
+        }
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof User user) {
+            return user.getId();
+        }
+        if (principal instanceof UserPrincipal snapshot) {
+            return snapshot.userId();
+        }
+        if (principal instanceof TokenPrincipal token) {
+            return token.userId();
+        }
+        return null;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos)
+            throws IOException {
+        long retryAfterSeconds = Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        log.debug("Rate limited {} {} from {}", request.getMethod(), request.getRequestURI(),
+                ClientIpResolver.resolve(request));
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), GenericResponse.builder()
+                .isSuccess(false)
+                .message("Too many requests. Please slow down.")
+                .httpStatus(HttpStatus.TOO_MANY_REQUESTS)
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${security.rate-limit.sweep-ms:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        userBuckets.evictIdle(now);
+        ipBuckets.evictIdle(now);
+    }
+
+    @Override
+    public String metricsName() {
+        return "rateLimit";
+    }
+
+    @Override
+    public Map<String, Object> metricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("user", userBuckets.snapshot());
+        snapshot.put("ip", ipBuckets.snapshot());
+        return snapshot;
+    }
+
+    private record RouteCost(String pattern, int cost) {
+    }
+}
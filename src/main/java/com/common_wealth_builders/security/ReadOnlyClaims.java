@@ -0,0 +1,141 @@
+package com.common_wealth_builders.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only view of verified claims. {@link VerifiedTokenCache} hands the
+ * same instance to every request carrying the token, so setters and map
+ * writes throw, and dates, lists and maps are returned as copies or
+ * unmodifiable views.
+ */
+final class ReadOnlyClaims extends AbstractMap<String, Object> implements Claims {
+
+    private final Claims claims;
+
+    ReadOnlyClaims(Claims claims) {
+        this.claims = claims;
+    }
+
+    @Override
+    public String getIssuer() {
+        return claims.getIssuer();
+    }
+
+    @Override
+    public String getSubject() {
+        return claims.getSubject();
+    }
+
+    @Override
+    public String getAudience() {
+        return claims.getAudience();
+    }
+
+    @Override
+    public Date getExpiration() {
+        return copy(claims.getExpiration());
+    }
+
+    @Override
+    public Date getNotBefore() {
+        return copy(claims.getNotBefore());
+    }
+
+    @Override
+    public Date getIssuedAt() {
+        return copy(claims.getIssuedAt());
+    }
+
+    @Override
+    public String getId() {
+        return claims.getId();
+    }
+
+    @Override
+    public <T> T get(String claimName, Class<T> requiredType) {
+        return requiredType.cast(readOnly(claims.get(claimName, requiredType)));
+    }
+
+    @Override
+    public Object get(Object key) {
+        return readOnly(claims.get(key));
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return claims.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return claims.size();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return Collections.unmodifiableMap(claims).entrySet();
+    }
+
+    @Override
+    public Claims setIssuer(String iss) {
+        throw readOnlyError();
+    }
+
+    @Override
+    public Claims setSubject(String sub) {
+        throw readOnlyError();
+    }
+
+    @Override
+    public Claims setAudience(String aud) {
+        throw readOnlyError();
+    }
+
+    @Override
+    public Claims setExpiration(Date exp) {
+        throw readOnlyError();
+    }
+
+    @Override
+    public Claims setNotBefore(Date nbf) {
+        throw readOnlyError();
+    }
+
+    @Override
+    public Claims setIssuedAt(Date iat) {
+        throw readOnlyError();
+    }
+
+    @Override
+    public Claims setId(String jti) {
+        throw readOnlyError();
+    }
+
+    private static Object readOnly(Object value) {
+        if (value instanceof Date date) {
+            return copy(date);
+        }
+        if (value instanceof List<?> list) {
+            return Collections.unmodifiableList(list);
+        }
+        if (value instanceof Map<?, ?> map) {
+            return Collections.unmodifiableMap(map);
+        }
+        return value;
+    }
+
+    private static Date copy(Date date) {
+        return date != null ? new Date(date.getTime()) : null;
+    }
+
+    private static UnsupportedOperationException readOnlyError() {
+        return new UnsupportedOperationException("Verified claims are shared and read-only");
+    }
+}
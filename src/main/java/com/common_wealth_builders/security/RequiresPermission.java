@@ -0,0 +1,22 @@
+package com.common_wealth_builders.security;
+
+import com.common_wealth_builders.enums.Permission;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Requires the caller to hold the given permission. Enforced by
+ * {@link PermissionInterceptor}; a method-level annotation overrides one
+ * on the controller class.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequiresPermission {
+
+    Permission value();
+}
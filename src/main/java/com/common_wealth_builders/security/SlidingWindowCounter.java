@@ -0,0 +1,58 @@
+package com.common_wealth_builders.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free sliding-window event counter. The window is split into
+ * fixed buckets; each slot packs the bucket epoch (high 40 bits) and
+ * its count (low 24 bits) into one long so updates are a single CAS.
+ */
+class SlidingWindowCounter {
+
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final AtomicLongArray slots;
+    private final long bucketMillis;
+
+    SlidingWindowCounter(int buckets, long bucketMillis) {
+        this.slots = new AtomicLongArray(buckets);
+        this.bucketMillis = bucketMillis;
+    }
+
+    /**
+     * Records one event and returns the total within the window.
+     */
+    int increment(long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        int index = (int) (epoch % slots.length());
+        while (true) {
+            long current = slots.get(index);
+            long next = (current >>> COUNT_BITS) == epoch
+                    ? Math.min(current + 1, (epoch << COUNT_BITS) | COUNT_MASK)
+                    : (epoch << COUNT_BITS) | 1;
+            if (slots.compareAndSet(index, current, next)) {
+                break;
+            }
+        }
+        return sum(nowMillis);
+    }
+
+    int sum(long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        long oldest = epoch - slots.length() + 1;
+        int total = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            long slot = slots.get(i);
+            long slotEpoch = slot >>> COUNT_BITS;
+            if (slotEpoch >= oldest && slotEpoch <= epoch) {
+                total += (int) (slot & COUNT_MASK);
+            }
+        }
+        return total;
+    }
+
+    boolean isIdle(long nowMillis) {
+        return sum(nowMillis) == 0;
+    }
+}
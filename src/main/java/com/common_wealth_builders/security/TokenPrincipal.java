@@ -0,0 +1,25 @@
+package com.common_wealth_builders.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+import java.io.Serializable;
+
+/**
+ * Principal built straight from verified token claims in stateless
+ * authorization mode. {@link #getName()} returns the email, so
+ * {@code Authentication.getName()} behaves as with a loaded {@code User}.
+ * The permission mask is folded from the token's role claim once.
+ */
+public record TokenPrincipal(Long userId, String email, String fullName, long permissionMask)
+        implements AuthenticatedPrincipal, PermissionHolder, Serializable {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return email;
+    }
+}
@@ -0,0 +1,178 @@
+package com.common_wealth_builders.security;
+
+import com.common_wealth_builders.entity.RevokedToken;
+import com.common_wealth_builders.repository.RevokedTokenRepository;
+import com.common_wealth_builders.utils.MetricsSource;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Revocation of individual tokens by {@code jti}. Revoked ids are stored
+ * in {@code revoked_tokens} and mirrored into an in-memory Bloom filter;
+ * the request path only touches the table when the filter says "maybe".
+ * The filter is rebuilt at startup, synced with other nodes' revocations
+ * and rotated so ids of expired tokens fall out. Ids confirmed against
+ * the table are remembered until the next rotation, up to
+ * {@code max-confirmed} of them; past that, hits go to the table.
+ */
+@Component
+@Slf4j
+public class TokenRevocationService implements MetricsSource {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+    private final long syncOverlapMillis;
+    private final int maxConfirmed;
+
+    private volatile BloomFilter filter;
+    private volatile BloomFilter nextFilter;
+    private volatile LocalDateTime lastSync = LocalDateTime.now();
+
+    private final Map<String, Boolean> confirmed = new ConcurrentHashMap<>();
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder filterPositives = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final LongAdder revocations = new LongAdder();
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  @Value("${jwt.revocation.expected-insertions:100000}") int expectedInsertions,
+                                  @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                                  @Value("${jwt.revocation.sync-ms:15000}") long syncMillis,
+                                  @Value("${jwt.revocation.max-confirmed:10000}") int maxConfirmed) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.syncOverlapMillis = syncMillis * 2;
+        this.maxConfirmed = maxConfirmed;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    /**
+     * Hot-path check: O(k) bit probes, no allocation unless the filter hits.
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        checks.increment();
+        if (!filter.mightContain(jti)) {
+            return false;
+        }
+        filterPositives.increment();
+        if (confirmed.containsKey(jti)) {
+            return true;
+        }
+        boolean revoked = revokedTokenRepository.existsByJti(jti);
+        if (revoked) {
+            if (confirmed.size() < maxConfirmed) {
+                confirmed.put(jti, Boolean.TRUE);
+            }
+        } else {
+            falsePositives.increment();
+        }
+        return revoked;
+    }
+
+    public void revoke(Claims claims, Long userId, String reason) {
+        String jti = claims.getId();
+        if (jti == null) {
+            log.warn("Token for {} has no jti and cannot be revoked individually", claims.getSubject());
+            return;
+        }
+        if (!revokedTokenRepository.existsByJti(jti)) {
+            revokedTokenRepository.save(RevokedToken.builder()
+                    .jti(jti)
+                    .userId(userId)
+                    .expiresAt(LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault()))
+                    .revokedDate(LocalDateTime.now())
+                    .reason(reason)
+                    .build());
+        }
+        add(jti);
+        revocations.increment();
+        log.info("Token revoked: jti={}, user={}, reason={}", jti, claims.getSubject(), reason);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rotate();
+    }
+
+    /**
+     * Picks up revocations written by other nodes since the last sync.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-ms:15000}",
+            initialDelayString = "${jwt.revocation.sync-ms:15000}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastSync.minus(Duration.ofMillis(syncOverlapMillis));
+        List<String> jtis = revokedTokenRepository.findJtisRevokedSince(since, now);
+        jtis.forEach(this::add);
+        lastSync = now;
+    }
+
+    /**
+     * Rebuilds the filter from unexpired revocations so expired ids drop
+     * out, then purges expired rows. Revocations made during the rebuild
+     * go into both filters.
+     */
+    @Scheduled(cron = "${jwt.revocation.rotate-cron:0 0 * * * *}")
+    public void rotate() {
+        LocalDateTime now = LocalDateTime.now();
+        BloomFilter next = new BloomFilter(expectedInsertions, falsePositiveRate);
+        nextFilter = next;
+
+        List<String> active = revokedTokenRepository.findActiveJtis(now);
+        active.forEach(next::put);
+
+        filter = next;
+        nextFilter = null;
+        confirmed.clear();
+        lastSync = now;
+        sync();
+
+        int purged = revokedTokenRepository.deleteExpired(now);
+        log.info("Revocation filter rebuilt: activeRevocations={}, purged={}, sizeBytes={}",
+                active.size(), purged, next.sizeInBytes());
+    }
+
+    private void add(String jti) {
+        filter.put(jti);
+        BloomFilter next = nextFilter;
+        if (next != null) {
+            next.put(jti);
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "tokenRevocation";
+    }
+
+    @Override
+    public Map<String, Object> metricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("checks", checks.sum());
+        snapshot.put("filterPositives", filterPositives.sum());
+        snapshot.put("falsePositives", falsePositives.sum());
+        snapshot.put("revocations", revocations.sum());
+        snapshot.put("confirmedCached", confirmed.size());
+        snapshot.put("filterSizeBytes", filter.sizeInBytes());
+        return snapshot;
+    }
+}
@@ -0,0 +1,92 @@
+package com.common_wealth_builders.security;
+
+import com.common_wealth_builders.entity.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Immutable snapshot of a loaded {@link User}, safe to share between
+ * concurrent requests through {@link PrincipalCache}. Carries only what
+ * the filter and {@link ActorContext} read; it holds no credentials.
+ * Lock state is taken when the snapshot is built and expires with it.
+ */
+public record UserPrincipal(Long userId,
+                            String email,
+                            String fullName,
+                            long authzVersion,
+                            List<GrantedAuthority> authorities,
+                            long permissionMask,
+                            boolean enabled,
+                            boolean accountNonExpired,
+                            boolean accountNonLocked,
+                            boolean credentialsNonExpired)
+        implements UserDetails, PermissionHolder {
+
+    public UserPrincipal {
+        authorities = List.copyOf(authorities);
+    }
+
+    public static UserPrincipal of(User user) {
+        String fullName = Stream.of(user.getFirstname(), user.getLastname())
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.joining(" "));
+        return new UserPrincipal(
+                user.getId(),
+                user.getEmail(),
+                fullName.isEmpty() ? null : fullName,
+                user.getAuthzVersion() != null ? user.getAuthzVersion() : 0L,
+                List.copyOf(user.getAuthorities()),
+                user.permissionMask(),
+                user.isEnabled(),
+                user.isAccountNonExpired(),
+                user.isAccountNonLocked(),
+                user.isCredentialsNonExpired());
+    }
+
+    @Override
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return accountNonExpired;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return accountNonLocked;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return credentialsNonExpired;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public String toString() {
+        return email;
+    }
+}
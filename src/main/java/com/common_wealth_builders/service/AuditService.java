@@ -9,6 +9,7 @@ public interface AuditService {
     void logAction(Long userId, String action, String module, String description);
     void logAction(Long userId, String action, String module, String description, String ipAddress, String userAgent);
     GenericResponse getAllAuditTrails(Pageable pageable);
+    GenericResponse getAllAuditTrails(String cursor, int size);
     GenericResponse getAuditTrailsByUserId(Long userId, Pageable pageable);
     GenericResponse getAuditTrailsByModule(String module, Pageable pageable);
     GenericResponse searchAuditTrails(Long userId, String module, String action, Pageable pageable);
@@ -8,8 +8,9 @@ import com.common_wealth_builders.dto.response.GenericResponse;
 
 public interface AuthService {
     GenericResponse register(RegisterRequest request);
-    GenericResponse login(LoginRequest request);
-    GenericResponse changePassword(ChangePasswordRequest request, String userEmail);
+    GenericResponse login(LoginRequest request, String clientIp);
+    GenericResponse logout(String token);
+    GenericResponse changePassword(ChangePasswordRequest request, String userEmail, String currentToken);
     GenericResponse deleteAccount(Long userId);
     GenericResponse resetPassword(String email);
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.common_wealth_builders.service;
+
+import com.common_wealth_builders.dto.response.GenericResponse;
+
+public interface DashboardService {
+    GenericResponse getDashboard();
+}
@@ -8,6 +8,7 @@ import org.springframework.data.domain.Pageable;
 public interface ExpenseService {
     GenericResponse createExpense(ExpenseRequest request, String createdBy);
     GenericResponse getAllExpenses(Pageable pageable);
+    GenericResponse getAllExpenses(String cursor, int size);
     GenericResponse getExpenseById(Long id);
     GenericResponse updateExpense(Long id, ExpenseRequest request, String updatedBy);
     GenericResponse deleteExpense(Long id, String deletedBy);
@@ -0,0 +1,18 @@
+package com.common_wealth_builders.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+public interface ExportService {
+    CsvExport exportPayments(Long userId, String status, Boolean isVerified);
+    CsvExport exportExpenses(String category, Boolean isApproved, String search);
+    CsvExport exportAuditTrails(Long userId, String module, String action,
+                                LocalDateTime startDate, LocalDateTime endDate);
+
+    /** A validated export; rows are only read once it is written. */
+    @FunctionalInterface
+    interface CsvExport {
+        void writeTo(OutputStream out) throws IOException;
+    }
+}
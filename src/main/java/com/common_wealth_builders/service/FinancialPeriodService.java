@@ -0,0 +1,10 @@
+package com.common_wealth_builders.service;
+
+import com.common_wealth_builders.dto.response.GenericResponse;
+
+public interface FinancialPeriodService {
+    GenericResponse closePeriod(int year, int month);
+    GenericResponse reopenPeriod(int year, int month, String reason);
+    GenericResponse getClosedPeriods();
+    GenericResponse getPeriodSnapshot(int year, int month);
+}
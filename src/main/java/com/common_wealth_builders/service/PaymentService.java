@@ -8,11 +8,14 @@ import org.springframework.data.domain.Pageable;
 public interface PaymentService {
     GenericResponse createPayment(PaymentRequest request, String name);
     GenericResponse getAllPayments(Pageable pageable);
+    GenericResponse getAllPayments(String cursor, int size);
     GenericResponse getPaymentById(Long id);
     GenericResponse getUserPayments(Long userId, Pageable pageable);
     GenericResponse getPendingPayments(Pageable pageable);
+    GenericResponse getPendingPayments(String cursor, int size);
     GenericResponse verifyPayment(Long id, VerifyPaymentRequest request, String verifiedBy);
     GenericResponse rejectPayment(Long id, VerifyPaymentRequest request, String rejectedBy);
     GenericResponse cancelPayment(Long id, String remarks, String userEmail);
     GenericResponse searchPayments(Long userId, String status, Boolean isVerified, Pageable pageable);
+    GenericResponse searchPayments(Long userId, String status, Boolean isVerified, String cursor, int size);
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.common_wealth_builders.service;
+
+import com.common_wealth_builders.dto.request.ReportJobRequest;
+import com.common_wealth_builders.dto.request.SendReportRequest;
+import com.common_wealth_builders.dto.response.GenericResponse;
+
+import java.nio.file.Path;
+
+public interface ReportJobService {
+    GenericResponse submitJob(ReportJobRequest request);
+    GenericResponse getJob(Long jobId);
+    GenericResponse cancelJob(Long jobId);
+    GenericResponse sendByEmail(Long jobId, SendReportRequest request);
+    GenericResponse sendByWhatsApp(Long jobId, SendReportRequest request);
+    Artifact getArtifact(Long jobId);
+    GenericResponse createLink(Long jobId);
+
+    /** The finished file of a job. */
+    record Artifact(Path path, String fileName, String contentType, long size) {
+    }
+}
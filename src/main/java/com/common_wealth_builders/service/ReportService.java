@@ -3,10 +3,14 @@ package com.common_wealth_builders.service;
 import com.common_wealth_builders.dto.request.ReportFilterRequest;
 import com.common_wealth_builders.dto.response.GenericResponse;
 
+import java.time.LocalDate;
+
 public interface ReportService {
     GenericResponse generateFinancialSummary(ReportFilterRequest request);
     GenericResponse generateUserContributionReport(Long userId);
     GenericResponse generateExpenseReport(ReportFilterRequest request);
     GenericResponse generatePaymentReport(ReportFilterRequest request);
     GenericResponse generateMonthlyReport(int year, int month);
+    GenericResponse generateAnnualReport(int year);
+    GenericResponse generateTrendSeries(LocalDate startDate, LocalDate endDate, String granularity);
 }
\ No newline at end of file
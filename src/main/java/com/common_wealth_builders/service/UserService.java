@@ -6,6 +6,7 @@ import org.springframework.data.domain.Pageable;
 
 public interface UserService {
     GenericResponse getAllUsers(Pageable pageable);
+    GenericResponse getAllUsers(String cursor, int size);
     GenericResponse getUserById(Long id);
     GenericResponse searchUsers(String search, Pageable pageable);
     GenericResponse enableUser(Long id);
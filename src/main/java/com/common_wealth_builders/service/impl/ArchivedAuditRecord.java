@@ -0,0 +1,19 @@
+package com.common_wealth_builders.service.impl;
+
+import java.time.LocalDateTime;
+
+/**
+ * An audit trail row read back from an archive segment.
+ */
+record ArchivedAuditRecord(long id,
+                           long userId,
+                           String action,
+                           String module,
+                           String description,
+                           String ipAddress,
+                           String userAgent,
+                           LocalDateTime createdDate,
+                           LocalDateTime updatedDate,
+                           String createdBy,
+                           String updatedBy) {
+}
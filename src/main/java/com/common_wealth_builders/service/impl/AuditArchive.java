@@ -0,0 +1,245 @@
+package com.common_wealth_builders.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Directory of archived audit months. Each month is one or more immutable
+ * segment files named {@code audit-YYYY-MM-NNN.seg}; a later sequence
+ * number holds rows that were still in the table when the previous
+ * segment was written, usually ones newer than its highest id.
+ * The segment list is read from disk once and refreshed whenever the
+ * archiver commits a segment. Readers are opened (memory-mapped) on first
+ * use and kept in a bounded LRU; a reader that falls out is dropped and its
+ * mapping released once no scan still holds it.
+ */
+@Component
+@Slf4j
+public class AuditArchive {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("audit-(\\d{4})-(\\d{2})-(\\d{3})\\.seg");
+
+    private final Path directory;
+    private final Map<Path, AuditSegmentReader> readers;
+    private volatile List<SegmentFile> segments;
+
+    public AuditArchive(@Value("${audit.archive.dir:data/audit-archive}") String directory,
+                        @Value("${audit.archive.max-open-segments:32}") int maxOpenSegments) {
+        this.directory = Paths.get(directory);
+        this.readers = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, AuditSegmentReader> eldest) {
+                return size() > maxOpenSegments;
+            }
+        };
+    }
+
+    /**
+     * True when any archived month intersects {@code [from, to]}.
+     */
+    public boolean overlaps(LocalDateTime from, LocalDateTime to) {
+        return segments().stream().anyMatch(segment -> segment.overlaps(from, to));
+    }
+
+    public long count(LocalDateTime from, LocalDateTime to) {
+        long count = 0;
+        for (SegmentFile segment : segments()) {
+            if (segment.overlaps(from, to)) {
+                count += reader(segment).count(from, to);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Archived rows created within {@code [from, to]}, newest first,
+     * skipping {@code offset} rows.
+     */
+    List<ArchivedAuditRecord> findNewestFirst(LocalDateTime from, LocalDateTime to, long offset, int limit) {
+        List<ArchivedAuditRecord> result = new ArrayList<>(Math.max(0, limit));
+        if (limit <= 0) {
+            return result;
+        }
+        long[] toSkip = {offset};
+        List<SegmentFile> segments = new ArrayList<>(segments());
+        segments.sort(Comparator.comparing(SegmentFile::month).thenComparing(SegmentFile::sequence).reversed());
+        for (SegmentFile segment : segments) {
+            if (!segment.overlaps(from, to)) {
+                continue;
+            }
+            AuditSegmentReader reader = reader(segment);
+            if (toSkip[0] > 0 && segment.containedIn(from, to) && toSkip[0] >= reader.rowCount()) {
+                toSkip[0] -= reader.rowCount();
+                continue;
+            }
+            boolean more = reader.scanNewestFirst(from, to, record -> {
+                if (toSkip[0] > 0) {
+                    toSkip[0]--;
+                    return true;
+                }
+                result.add(record);
+                return result.size() < limit;
+            });
+            if (!more) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Every archived row created within {@code [from, to]}, oldest month
+     * first; within a month in segment order.
+     */
+    void forEachOldestFirst(LocalDateTime from, LocalDateTime to, Consumer<ArchivedAuditRecord> action) {
+        List<SegmentFile> segments = new ArrayList<>(segments());
+        segments.sort(Comparator.comparing(SegmentFile::month).thenComparing(SegmentFile::sequence));
+        for (SegmentFile segment : segments) {
+            if (segment.overlaps(from, to)) {
+                reader(segment).scanOldestFirst(from, to, record -> {
+                    action.accept(record);
+                    return true;
+                });
+            }
+        }
+    }
+
+    long maxArchivedId(YearMonth month) {
+        long max = -1;
+        for (SegmentFile segment : segments()) {
+            if (segment.month().equals(month)) {
+                max = Math.max(max, reader(segment).maxId());
+            }
+        }
+        return max;
+    }
+
+    /** Ids of every archived row of {@code month}. */
+    void forEachArchivedId(YearMonth month, LongConsumer action) {
+        for (SegmentFile segment : segments()) {
+            if (segment.month().equals(month)) {
+                reader(segment).scanNewestFirst(segment.start(), segment.end(), record -> {
+                    action.accept(record.id());
+                    return true;
+                });
+            }
+        }
+    }
+
+    Path nextSegmentPath(YearMonth month) {
+        int sequence = segments().stream()
+                .filter(segment -> segment.month().equals(month))
+                .mapToInt(SegmentFile::sequence)
+                .max()
+                .orElse(-1) + 1;
+        return directory.resolve(String.format("audit-%04d-%02d-%03d.seg",
+                month.getYear(), month.getMonthValue(), sequence));
+    }
+
+    int segmentCount() {
+        return segments().size();
+    }
+
+    long sizeInBytes() {
+        long total = 0;
+        for (SegmentFile segment : segments()) {
+            try {
+                total += Files.size(segment.path());
+            } catch (IOException e) {
+                log.debug("Could not size audit segment {}", segment.path());
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Re-reads the segment list; called by the archiver after it commits a
+     * segment so readers see the new file without listing the directory on
+     * every query.
+     */
+    void refresh() {
+        segments = listSegments();
+    }
+
+    private List<SegmentFile> segments() {
+        List<SegmentFile> current = segments;
+        if (current == null) {
+            current = listSegments();
+            segments = current;
+        }
+        return current;
+    }
+
+    private List<SegmentFile> listSegments() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        List<SegmentFile> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(path -> {
+                Matcher matcher = SEGMENT_NAME.matcher(path.getFileName().toString());
+                if (matcher.matches()) {
+                    segments.add(new SegmentFile(path,
+                            YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))),
+                            Integer.parseInt(matcher.group(3))));
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list audit archive " + directory, e);
+        }
+        return List.copyOf(segments);
+    }
+
+    private AuditSegmentReader reader(SegmentFile segment) {
+        synchronized (readers) {
+            AuditSegmentReader reader = readers.get(segment.path());
+            if (reader == null) {
+                try {
+                    reader = AuditSegmentReader.open(segment.path());
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not open audit segment " + segment.path(), e);
+                }
+                readers.put(segment.path(), reader);
+            }
+            return reader;
+        }
+    }
+
+    private record SegmentFile(Path path, YearMonth month, int sequence) {
+
+        LocalDateTime start() {
+            return month.atDay(1).atStartOfDay();
+        }
+
+        LocalDateTime end() {
+            return month.plusMonths(1).atDay(1).atStartOfDay();
+        }
+
+        boolean overlaps(LocalDateTime from, LocalDateTime to) {
+            return !to.isBefore(start()) && from.isBefore(end());
+        }
+
+        boolean containedIn(LocalDateTime from, LocalDateTime to) {
+            return !from.isAfter(start()) && !to.isBefore(end());
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.common_wealth_builders.service.impl;
+
+import com.common_wealth_builders.utils.MetricsSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Moves audit months older than the retention window out of the database
+ * into compressed segment files ({@link AuditArchive}). A month's rows are
+ * streamed into a new segment, the segment is synced into place, and only
+ * then are exactly the rows written to it deleted. A partitioned month's
+ * partition is dropped once nothing is left in it. Rows still in the
+ * table that an earlier segment already holds (the run stopped between
+ * writing the segment and deleting) are deleted before the month is read,
+ * so every row left is one the archive does not have.
+ */
+@Component
+@Slf4j
+public class AuditArchiver implements MetricsSource {
+
+    private static final String SELECT_MONTH_SQL =
+            "SELECT id, user_id, action, module, description, ip_address, user_agent, created_date, updated_date, "
+                    + "created_by, updated_by FROM audit_trails "
+                    + "WHERE created_date >= ? AND created_date < ? ORDER BY created_date, id";
+
+    private static final String DELETE_IDS_SQL =
+            "DELETE FROM audit_trails WHERE created_date >= ? AND created_date < ? AND id = ANY(?)";
+
+    private static final String COUNT_MONTH_SQL =
+            "SELECT COUNT(*) FROM audit_trails WHERE created_date >= ? AND created_date < ?";
+
+    private static final String COUNT_UP_TO_SQL =
+            "SELECT COUNT(*) FROM audit_trails WHERE created_date >= ? AND created_date < ? AND id <= ?";
+
+    private static final int DELETE_BATCH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditArchive auditArchive;
+    private final AuditPartitionManager partitionManager;
+    private final boolean enabled;
+    private final int retentionMonths;
+
+    private final LongAdder monthsArchived = new LongAdder();
+    private final LongAdder rowsArchived = new LongAdder();
+    private volatile String lastError;
+
+    public AuditArchiver(JdbcTemplate jdbcTemplate,
+                         PlatformTransactionManager transactionManager,
+                         AuditArchive auditArchive,
+                         AuditPartitionManager partitionManager,
+                         @Value("${audit.archive.enabled:true}") boolean enabled,
+                         @Value("${audit.archive.retention-months:12}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.auditArchive = auditArchive;
+        this.partitionManager = partitionManager;
+        this.enabled = enabled;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @Scheduled(cron = "${audit.archive.cron:0 30 2 * * *}")
+    public void archiveExpiredMonths() {
+        if (!enabled) {
+            return;
+        }
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(created_date) FROM audit_trails", Timestamp.class);
+        if (oldest == null) {
+            return;
+        }
+        YearMonth cutoff = YearMonth.now().minusMonths(retentionMonths);
+        for (YearMonth month = YearMonth.from(oldest.toLocalDateTime()); month.isBefore(cutoff); month = month.plusMonths(1)) {
+            try {
+                archiveMonth(month);
+            } catch (Exception e) {
+                lastError = month + ": " + e.getMessage();
+                log.error("Failed to archive audit month {}: {}", month, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    void archiveMonth(YearMonth month) throws IOException {
+        Timestamp from = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+        Timestamp to = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+        removeAlreadyArchived(month, from, to);
+
+        Path target = auditArchive.nextSegmentPath(month);
+        IdBatch archivedIds = new IdBatch();
+        int rows;
+        try (AuditSegmentWriter writer = AuditSegmentWriter.create(target)) {
+            // PostgreSQL only honours the fetch size inside a transaction
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(SELECT_MONTH_SQL);
+                statement.setFetchSize(1000);
+                statement.setTimestamp(1, from);
+                statement.setTimestamp(2, to);
+                return statement;
+            }, (RowCallbackHandler) resultSet -> {
+                long id = resultSet.getLong("id");
+                try {
+                    writer.append(id,
+                            resultSet.getLong("user_id"),
+                            resultSet.getString("action"),
+                            resultSet.getString("module"),
+                            resultSet.getString("description"),
+                            resultSet.getString("ip_address"),
+                            resultSet.getString("user_agent"),
+                            toLocalDateTime(resultSet.getTimestamp("created_date")),
+                            toLocalDateTime(resultSet.getTimestamp("updated_date")),
+                            resultSet.getString("created_by"),
+                            resultSet.getString("updated_by"));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                archivedIds.add(id);
+            }));
+            rows = writer.rowCount();
+            if (rows > 0) {
+                writer.commit();
+            }
+        }
+        if (rows > 0) {
+            auditArchive.refresh();
+        }
+
+        // Only the ids in the segment: a row committed after the read stays for the next run
+        int deleted = deleteIds(from, to, archivedIds);
+        log.debug("Deleted {} archived audit rows for {}", deleted, month);
+        dropPartitionIfEmpty(month, from, to);
+
+        if (rows > 0) {
+            monthsArchived.increment();
+            rowsArchived.add(rows);
+            log.info("Archived audit month {}: {} rows into {}", month, rows, target.getFileName());
+        }
+    }
+
+    // A previous run may have committed its segment and stopped before deleting
+    private void removeAlreadyArchived(YearMonth month, Timestamp from, Timestamp to) {
+        long previouslyArchived = auditArchive.maxArchivedId(month);
+        if (previouslyArchived < 0) {
+            return;
+        }
+        Long candidates = jdbcTemplate.queryForObject(COUNT_UP_TO_SQL, Long.class, from, to, previouslyArchived);
+        if (candidates == null || candidates == 0) {
+            return;
+        }
+        IdBatch archivedIds = new IdBatch();
+        auditArchive.forEachArchivedId(month, archivedIds::add);
+        int deleted = deleteIds(from, to, archivedIds);
+        if (deleted > 0) {
+            log.info("Deleted {} audit rows of {} left behind by an interrupted archive run", deleted, month);
+        }
+    }
+
+    private int deleteIds(Timestamp from, Timestamp to, IdBatch ids) {
+        int deleted = 0;
+        for (int start = 0; start < ids.size; start += DELETE_BATCH) {
+            Long[] batch = ids.slice(start, Math.min(ids.size, start + DELETE_BATCH));
+            deleted += jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(DELETE_IDS_SQL);
+                statement.setTimestamp(1, from);
+                statement.setTimestamp(2, to);
+                statement.setArray(3, connection.createArrayOf("bigint", batch));
+                return statement;
+            });
+        }
+        return deleted;
+    }
+
+    // Also drops an empty partition left behind for a month with no rows
+    private void dropPartitionIfEmpty(YearMonth month, Timestamp from, Timestamp to) {
+        if (!partitionManager.isPartitioned() || !partitionManager.partitionExists(month)) {
+            return;
+        }
+        Long remaining = jdbcTemplate.queryForObject(COUNT_MONTH_SQL, Long.class, from, to);
+        if (remaining != null && remaining == 0) {
+            partitionManager.dropPartition(month);
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    /** Growable list of row ids; about 8 bytes per archived row. */
+    private static final class IdBatch {
+
+        private long[] ids = new long[1024];
+        private int size;
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        Long[] slice(int from, int to) {
+            Long[] slice = new Long[to - from];
+            for (int i = from; i < to; i++) {
+                slice[i - from] = ids[i];
+            }
+            return slice;
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "auditArchive";
+    }
+
+    @Override
+    public Map<String, Object> metricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("segments", auditArchive.segmentCount());
+        snapshot.put("archiveBytes", auditArchive.sizeInBytes());
+        snapshot.put("monthsArchived", monthsArchived.sum());
+        snapshot.put("rowsArchived", rowsArchived.sum());
+        snapshot.put("lastError", lastError);
+        return snapshot;
+    }
+}
@@ -0,0 +1,79 @@
+package com.common_wealth_builders.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+/**
+ * Keeps monthly partitions of {@code audit_trails} ahead of time once the
+ * table has been converted with {@code db/audit_trails_partitioning.sql}.
+ * On an unpartitioned table every operation here is a no-op.
+ */
+@Component
+@Slf4j
+public class AuditPartitionManager {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+
+    public AuditPartitionManager(JdbcTemplate jdbcTemplate,
+                                 @Value("${audit.partitions.months-ahead:3}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+    }
+
+    public boolean isPartitioned() {
+        String kind = jdbcTemplate.queryForObject(
+                "SELECT CAST(c.relkind AS varchar) FROM pg_class c WHERE c.oid = to_regclass('audit_trails')",
+                String.class);
+        return "p".equals(kind);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${audit.partitions.cron:0 0 1 * * *}")
+    public void ensureUpcomingPartitions() {
+        try {
+            if (!isPartitioned()) {
+                return;
+            }
+            YearMonth month = YearMonth.now();
+            for (int i = 0; i <= monthsAhead; i++, month = month.plusMonths(1)) {
+                createPartition(month);
+            }
+        } catch (Exception e) {
+            log.error("Failed to ensure audit_trails partitions: {}", e.getMessage());
+        }
+    }
+
+    public boolean partitionExists(YearMonth month) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL", Boolean.class, partitionName(month)));
+    }
+
+    /**
+     * Detaches and drops the month's partition; its rows must already be archived.
+     */
+    public void dropPartition(YearMonth month) {
+        String name = partitionName(month);
+        jdbcTemplate.execute("ALTER TABLE audit_trails DETACH PARTITION " + name);
+        jdbcTemplate.execute("DROP TABLE " + name);
+        log.info("Dropped audit partition {}", name);
+    }
+
+    private void createPartition(YearMonth month) {
+        // Indexes defined on the parent are created on the new partition automatically
+        jdbcTemplate.execute(String.format(
+                "CREATE TABLE IF NOT EXISTS %s PARTITION OF audit_trails FOR VALUES FROM ('%s') TO ('%s')",
+                partitionName(month), month.atDay(1), month.plusMonths(1).atDay(1)));
+    }
+
+    static String partitionName(YearMonth month) {
+        return String.format("audit_trails_%04d_%02d", month.getYear(), month.getMonthValue());
+    }
+}
@@ -0,0 +1,87 @@
+package com.common_wealth_builders.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks whether the audit search structures from
+ * {@code db/audit_search_indexes.sql} are in place. Only reads the catalog:
+ * the column and indexes are created out of band, because adding the
+ * generated column rewrites {@code audit_trails} under an exclusive lock.
+ * Until the {@code search_vector} column exists, audit search falls back
+ * to the plain {@code LIKE} query; the catalog is looked at again at most
+ * once a minute, so running the script needs no restart.
+ */
+@Component
+@Slf4j
+public class AuditSearchIndexCheck {
+
+    private static final String SEARCH_VECTOR_SQL = """
+            SELECT COUNT(*) > 0 FROM information_schema.columns
+            WHERE table_name = 'audit_trails' AND column_name = 'search_vector'
+            """;
+
+    private static final String MISSING_INDEXES_SQL = """
+            SELECT to_regclass('idx_audit_search_vector') IS NULL
+                OR to_regclass('idx_user_email_trgm') IS NULL
+            """;
+
+    private static final long RECHECK_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile boolean fullTextReady;
+    private volatile long nextCheckNanos = System.nanoTime();
+
+    public AuditSearchIndexCheck(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifySearchIndexes() {
+        try {
+            fullTextReady = check();
+            if (!fullTextReady) {
+                log.warn("audit_trails.search_vector is missing; run db/audit_search_indexes.sql. "
+                        + "Audit log search uses the unindexed LIKE query until then.");
+            } else if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(MISSING_INDEXES_SQL, Boolean.class))) {
+                log.warn("Audit search indexes are missing; run db/audit_search_indexes.sql. "
+                        + "Audit log search scans until then.");
+            }
+        } catch (Exception e) {
+            log.warn("Could not verify audit search indexes: {}", e.getMessage());
+        }
+        nextCheckNanos = System.nanoTime() + RECHECK_NANOS;
+    }
+
+    /** Whether the full-text query can run; false until the column has been added. */
+    public boolean isFullTextReady() {
+        if (fullTextReady) {
+            return true;
+        }
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (!fullTextReady && now - nextCheckNanos >= 0) {
+                nextCheckNanos = now + RECHECK_NANOS;
+                try {
+                    fullTextReady = check();
+                    if (fullTextReady) {
+                        log.info("audit_trails.search_vector found; audit log search now uses full-text search");
+                    }
+                } catch (Exception e) {
+                    log.debug("Could not check for audit_trails.search_vector: {}", e.getMessage());
+                }
+            }
+        }
+        return fullTextReady;
+    }
+
+    private boolean check() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(SEARCH_VECTOR_SQL, Boolean.class));
+    }
+}
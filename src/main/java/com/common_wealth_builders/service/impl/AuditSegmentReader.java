@@ -0,0 +1,228 @@
+package com.common_wealth_builders.service.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Read-only view of a segment written by {@link AuditSegmentWriter}. The
+ * file is memory-mapped once; the dictionary and block index are decoded
+ * up front and row blocks are inflated on demand. Blocks whose time range
+ * misses the query are skipped without inflating them.
+ */
+final class AuditSegmentReader {
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final String[] dictionary;
+    private final Block[] blocks;
+    private final int rowCount;
+
+    private AuditSegmentReader(Path path, MappedByteBuffer buffer, String[] dictionary, Block[] blocks, int rowCount) {
+        this.path = path;
+        this.buffer = buffer;
+        this.dictionary = dictionary;
+        this.blocks = blocks;
+        this.rowCount = rowCount;
+    }
+
+    static AuditSegmentReader open(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < AuditSegmentWriter.FOOTER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a valid audit segment: " + path);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        ByteBuffer view = buffer.duplicate();
+        view.position(view.limit() - AuditSegmentWriter.FOOTER_BYTES);
+        long dictionaryOffset = view.getLong();
+        long indexOffset = view.getLong();
+        int rowCount = view.getInt();
+        int blockCount = view.getInt();
+        if (view.getLong() != AuditSegmentWriter.MAGIC) {
+            throw new IOException("Bad audit segment footer: " + path);
+        }
+
+        view.position((int) dictionaryOffset);
+        String[] dictionary = new String[view.getInt()];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = readString(view);
+        }
+
+        view.position((int) indexOffset);
+        Block[] blocks = new Block[blockCount];
+        for (int i = 0; i < blockCount; i++) {
+            blocks[i] = new Block(view.getLong(), (int) view.getLong(), view.getLong(), view.getLong(),
+                    view.getLong(), view.getLong());
+        }
+        return new AuditSegmentReader(path, buffer, dictionary, blocks, rowCount);
+    }
+
+    Path path() {
+        return path;
+    }
+
+    int rowCount() {
+        return rowCount;
+    }
+
+    long maxId() {
+        long max = -1;
+        for (Block block : blocks) {
+            max = Math.max(max, block.maxId());
+        }
+        return max;
+    }
+
+    long sizeInBytes() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Counts rows created within {@code [from, to]}; blocks entirely inside
+     * the range are counted from the index alone.
+     */
+    long count(LocalDateTime from, LocalDateTime to) {
+        long fromSecond = from.toEpochSecond(ZoneOffset.UTC);
+        long toSecond = to.toEpochSecond(ZoneOffset.UTC);
+        long count = 0;
+        for (Block block : blocks) {
+            if (block.maxCreated() < fromSecond || block.minCreated() > toSecond) {
+                continue;
+            }
+            if (block.minCreated() > fromSecond && block.maxCreated() < toSecond) {
+                count += block.rows();
+                continue;
+            }
+            for (ArchivedAuditRecord record : decode(block)) {
+                if (within(record.createdDate(), from, to)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Feeds rows created within {@code [from, to]} to the visitor, newest
+     * first, until it returns {@code false}. Returns false if stopped early.
+     */
+    boolean scanNewestFirst(LocalDateTime from, LocalDateTime to, Predicate<ArchivedAuditRecord> visitor) {
+        long fromSecond = from.toEpochSecond(ZoneOffset.UTC);
+        long toSecond = to.toEpochSecond(ZoneOffset.UTC);
+        for (int i = blocks.length - 1; i >= 0; i--) {
+            Block block = blocks[i];
+            if (block.maxCreated() < fromSecond || block.minCreated() > toSecond) {
+                continue;
+            }
+            List<ArchivedAuditRecord> records = decode(block);
+            for (int j = records.size() - 1; j >= 0; j--) {
+                ArchivedAuditRecord record = records.get(j);
+                if (within(record.createdDate(), from, to) && !visitor.test(record)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Feeds rows created within {@code [from, to]} to the visitor, oldest
+     * first, until it returns {@code false}. Returns false if stopped early.
+     */
+    boolean scanOldestFirst(LocalDateTime from, LocalDateTime to, Predicate<ArchivedAuditRecord> visitor) {
+        long fromSecond = from.toEpochSecond(ZoneOffset.UTC);
+        long toSecond = to.toEpochSecond(ZoneOffset.UTC);
+        for (Block block : blocks) {
+            if (block.maxCreated() < fromSecond || block.minCreated() > toSecond) {
+                continue;
+            }
+            for (ArchivedAuditRecord record : decode(block)) {
+                if (within(record.createdDate(), from, to) && !visitor.test(record)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private List<ArchivedAuditRecord> decode(Block block) {
+        ByteBuffer view = buffer.duplicate();
+        view.position((int) block.offset());
+        int rawLength = view.getInt();
+        int compressedLength = view.getInt();
+        byte[] compressed = new byte[compressedLength];
+        view.get(compressed);
+
+        byte[] raw = new byte[rawLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int inflated = 0;
+            while (inflated < rawLength && !inflater.finished()) {
+                inflated += inflater.inflate(raw, inflated, rawLength - inflated);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt block in audit segment " + path, e);
+        } finally {
+            inflater.end();
+        }
+
+        ByteBuffer rows = ByteBuffer.wrap(raw);
+        List<ArchivedAuditRecord> records = new ArrayList<>(block.rows());
+        for (int i = 0; i < block.rows(); i++) {
+            long id = rows.getLong();
+            long userId = rows.getLong();
+            LocalDateTime createdDate = readTime(rows);
+            LocalDateTime updatedDate = readTime(rows);
+            String action = dictionary[rows.getChar()];
+            String module = dictionary[rows.getChar()];
+            String description = readString(rows);
+            String ipAddress = readString(rows);
+            String userAgent = readString(rows);
+            String createdBy = readString(rows);
+            String updatedBy = readString(rows);
+            records.add(new ArchivedAuditRecord(id, userId, action, module, description, ipAddress, userAgent,
+                    createdDate, updatedDate, createdBy, updatedBy));
+        }
+        return Collections.unmodifiableList(records);
+    }
+
+    private static boolean within(LocalDateTime time, LocalDateTime from, LocalDateTime to) {
+        return !time.isBefore(from) && !time.isAfter(to);
+    }
+
+    private static LocalDateTime readTime(ByteBuffer buffer) {
+        long seconds = buffer.getLong();
+        int nanos = buffer.getInt();
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == AuditSegmentWriter.NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private record Block(long offset, int rows, long minCreated, long maxCreated, long minId, long maxId) {
+    }
+}
@@ -0,0 +1,222 @@
+package com.common_wealth_builders.service.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes one immutable audit archive segment.
+ * <p>
+ * Layout: deflated row blocks, then the action/module dictionary, then the
+ * block index, then a fixed footer
+ * {@code [dictionaryOffset][indexOffset][rowCount][blockCount][magic]}.
+ * Rows must be appended in {@code (createdDate, id)} order. The file is
+ * written under a temporary name and only renamed into place by
+ * {@link #commit()}, so a crash never leaves a partial segment behind.
+ */
+final class AuditSegmentWriter implements Closeable {
+
+    static final long MAGIC = 0x4357424155444954L; // "CWBAUDIT"
+    static final int FOOTER_BYTES = 8 + 8 + 4 + 4 + 8;
+    static final int ROWS_PER_BLOCK = 1024;
+    static final int NULL_LENGTH = -1;
+
+    private final Path target;
+    private final Path temp;
+    private final FileChannel channel;
+
+    private final Map<String, Integer> dictionary = new LinkedHashMap<>();
+    private final List<long[]> index = new ArrayList<>();
+
+    private final ByteArrayOutputStream blockBytes = new ByteArrayOutputStream(64 * 1024);
+    private DataOutputStream block = new DataOutputStream(blockBytes);
+    private int blockRows;
+    private long blockMinCreated;
+    private long blockMaxCreated;
+    private long blockMinId;
+    private long blockMaxId;
+
+    private long position;
+    private int rowCount;
+    private long maxId = -1;
+    private boolean committed;
+
+    private AuditSegmentWriter(Path target) throws IOException {
+        this.target = target;
+        this.temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.createDirectories(target.getParent());
+        this.channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+    }
+
+    static AuditSegmentWriter create(Path target) throws IOException {
+        return new AuditSegmentWriter(target);
+    }
+
+    void append(long id, long userId, String action, String module, String description, String ipAddress,
+                String userAgent, LocalDateTime createdDate, LocalDateTime updatedDate, String createdBy,
+                String updatedBy) throws IOException {
+        long created = createdDate.toEpochSecond(ZoneOffset.UTC);
+        if (blockRows == 0) {
+            blockMinCreated = created;
+            blockMaxCreated = created;
+            blockMinId = id;
+            blockMaxId = id;
+        }
+        blockMinCreated = Math.min(blockMinCreated, created);
+        blockMaxCreated = Math.max(blockMaxCreated, created);
+        blockMinId = Math.min(blockMinId, id);
+        blockMaxId = Math.max(blockMaxId, id);
+
+        block.writeLong(id);
+        block.writeLong(userId);
+        writeTime(createdDate);
+        writeTime(updatedDate != null ? updatedDate : createdDate);
+        block.writeChar(code(action));
+        block.writeChar(code(module));
+        writeString(description);
+        writeString(ipAddress);
+        writeString(userAgent);
+        writeString(createdBy);
+        writeString(updatedBy);
+
+        rowCount++;
+        maxId = Math.max(maxId, id);
+        if (++blockRows == ROWS_PER_BLOCK) {
+            flushBlock();
+        }
+    }
+
+    int rowCount() {
+        return rowCount;
+    }
+
+    long maxId() {
+        return maxId;
+    }
+
+    /**
+     * Writes dictionary, index and footer, syncs and moves the segment into place.
+     */
+    void commit() throws IOException {
+        flushBlock();
+
+        long dictionaryOffset = position;
+        ByteArrayOutputStream tail = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(tail);
+        out.writeInt(dictionary.size());
+        for (String value : dictionary.keySet()) {
+            writeString(out, value);
+        }
+        long indexOffset = dictionaryOffset + tail.size();
+        for (long[] entry : index) {
+            for (long value : entry) {
+                out.writeLong(value);
+            }
+        }
+        out.writeLong(dictionaryOffset);
+        out.writeLong(indexOffset);
+        out.writeInt(rowCount);
+        out.writeInt(index.size());
+        out.writeLong(MAGIC);
+        write(tail.toByteArray());
+
+        channel.force(true);
+        channel.close();
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        committed = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!committed) {
+            channel.close();
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        if (blockRows == 0) {
+            return;
+        }
+        block.flush();
+        byte[] raw = blockBytes.toByteArray();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 4 + 64);
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try (DeflaterOutputStream deflate = new DeflaterOutputStream(compressed, deflater)) {
+            deflate.write(raw);
+        } finally {
+            deflater.end();
+        }
+
+        // offset, rows, minCreated, maxCreated, minId, maxId
+        index.add(new long[]{position, blockRows, blockMinCreated, blockMaxCreated, blockMinId, blockMaxId});
+
+        ByteBuffer header = ByteBuffer.allocate(8);
+        header.putInt(raw.length).putInt(compressed.size()).flip();
+        write(header);
+        write(compressed.toByteArray());
+
+        blockBytes.reset();
+        block = new DataOutputStream(blockBytes);
+        blockRows = 0;
+    }
+
+    private int code(String value) {
+        Integer existing = dictionary.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (dictionary.size() > Character.MAX_VALUE) {
+            throw new IllegalStateException("Too many distinct action/module values for one segment");
+        }
+        int code = dictionary.size();
+        dictionary.put(value, code);
+        return code;
+    }
+
+    private void writeTime(LocalDateTime time) throws IOException {
+        block.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+        block.writeInt(time.getNano());
+    }
+
+    private void writeString(String value) throws IOException {
+        writeString(block, value);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        write(ByteBuffer.wrap(bytes));
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer);
+        }
+    }
+}
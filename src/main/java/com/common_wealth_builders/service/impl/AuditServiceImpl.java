@@ -7,20 +7,31 @@ import com.common_wealth_builders.entity.AuditTrail;
 import com.common_wealth_builders.entity.User;
 import com.common_wealth_builders.exception.ResourceNotFoundException;
 import com.common_wealth_builders.repository.AuditTrailRepository;
+import com.common_wealth_builders.repository.CountStrategy;
+import com.common_wealth_builders.repository.CountedPage;
 import com.common_wealth_builders.repository.UserRepository;
+import com.common_wealth_builders.security.ActorContext;
 import com.common_wealth_builders.service.AuditService;
+import com.common_wealth_builders.utils.CursorCodec;
+import com.common_wealth_builders.utils.LikePatterns;
+import com.common_wealth_builders.utils.TsQueryBuilder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,39 +41,40 @@ public class AuditServiceImpl implements AuditService {
     
     private final AuditTrailRepository auditTrailRepository;
     private final UserRepository userRepository;
+    private final AuditTrailWriter auditTrailWriter;
+    private final AuditArchive auditArchive;
+    private final CountStrategy countStrategy;
+    private final AuditSearchIndexCheck searchIndexCheck;
+    
+    private static final String CURSOR_SCOPE = "audit";
+    private static final Sort CURSOR_SORT = Sort.by(Sort.Direction.DESC, "createdDate", "id");
     
     @Override
-    @Transactional
     public void logAction(Long userId, String action, String module, String description) {
         logAction(userId, action, module, description, null, null);
     }
     
     @Override
-    @Transactional
     public void logAction(Long userId, String action, String module, String description, 
                          String ipAddress, String userAgent) {
         try {
             log.debug("Logging audit action: userId={}, action={}, module={}", userId, action, module);
             
-            User user = userRepository.findById(userId)
-                    .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
+            if (userId == null) {
+                log.warn("Skipping audit action without a user: action={}, module={}", action, module);
+                return;
+            }
             
-            AuditTrail auditTrail = AuditTrail.builder()
-                    .user(user)
-                    .action(action)
-                    .module(module)
-                    .description(description)
-                    .ipAddress(ipAddress)
-                    .userAgent(userAgent)
-                    .createdDate(LocalDateTime.now())
-                    .updatedDate(LocalDateTime.now())
-                    .createdBy(user.getEmail())
-                    .updatedBy(user.getEmail())
-                    .build();
+            // Pass the actor's email when it is the caller; otherwise the writer takes it from users
+            String actorEmail = ActorContext.current()
+                    .filter(actor -> actor.userId().equals(userId))
+                    .map(ActorContext::email)
+                    .orElse(null);
             
-            auditTrailRepository.save(auditTrail);
+            auditTrailWriter.publish(new AuditTrailWriter.AuditEvent(
+                    userId, action, module, description, ipAddress, userAgent, actorEmail, LocalDateTime.now()));
             
-            log.trace("Audit trail logged successfully: action={}, module={}", action, module);
+            log.trace("Audit trail queued: action={}, module={}", action, module);
             
         } catch (Exception e) {
             log.error("Failed to log audit trail: userId={}, action={}, module={}", 
@@ -74,7 +86,9 @@ public class AuditServiceImpl implements AuditService {
     public GenericResponse getAllAuditTrails(Pageable pageable) {
         log.info("Fetching all audit trails with pagination");
         
-        Page<AuditTrail> auditTrailsPage = auditTrailRepository.findAll(pageable);
+        CountedPage<AuditTrail> counted = countStrategy.page("audit_trails", null, pageable,
+                auditTrailRepository::findSliceBy, auditTrailRepository::count);
+        Page<AuditTrail> auditTrailsPage = counted.page();
         
         List<AuditTrailResponse> auditTrailResponses = auditTrailsPage.getContent().stream()
                 .map(this::mapToAuditTrailResponse)
@@ -86,6 +100,7 @@ public class AuditServiceImpl implements AuditService {
                 .pageSize(auditTrailsPage.getSize())
                 .totalElements(auditTrailsPage.getTotalElements())
                 .totalPages(auditTrailsPage.getTotalPages())
+                .totalExact(counted.exact())
                 .last(auditTrailsPage.isLast())
                 .first(auditTrailsPage.isFirst())
                 .build();
@@ -100,6 +115,42 @@ public class AuditServiceImpl implements AuditService {
                 .build();
     }
     
+    @Override
+    public GenericResponse getAllAuditTrails(String cursor, int size) {
+        log.info("Fetching audit trails after cursor, size={}", size);
+        
+        Pageable pageable = PageRequest.of(0, size, CURSOR_SORT);
+        Slice<AuditTrail> slice;
+        if (cursor.isEmpty()) {
+            slice = auditTrailRepository.findSliceBy(pageable);
+        } else {
+            CursorCodec.Position after = CursorCodec.decode(CURSOR_SCOPE, cursor);
+            slice = auditTrailRepository.findSliceAfter(after.sortKey(), after.id(), pageable);
+        }
+        
+        List<AuditTrail> rows = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            AuditTrail lastRow = rows.get(rows.size() - 1);
+            nextCursor = CursorCodec.encode(CURSOR_SCOPE, lastRow.getCreatedDate(), lastRow.getId());
+        }
+        
+        PageResponse<AuditTrailResponse> pageResponse = PageResponse.<AuditTrailResponse>builder()
+                .content(rows.stream().map(this::mapToAuditTrailResponse).collect(Collectors.toList()))
+                .pageSize(slice.getSize())
+                .first(cursor.isEmpty())
+                .last(!slice.hasNext())
+                .nextCursor(nextCursor)
+                .build();
+        
+        return GenericResponse.builder()
+                .isSuccess(true)
+                .message("Audit trails retrieved successfully")
+                .data(pageResponse)
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+    
     @Override
     public GenericResponse getAuditTrailsByUserId(Long userId, Pageable pageable) {
         log.info("Fetching audit trails for user: {}", userId);
@@ -196,6 +247,10 @@ public class AuditServiceImpl implements AuditService {
 
     @Override
     public GenericResponse getAuditLogsByDateRange(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
+        if (auditArchive.overlaps(startDate, endDate)) {
+            return getAuditLogsByDateRangeWithArchive(startDate, endDate, pageable);
+        }
+        
         Page<AuditTrail> auditPage = auditTrailRepository.findAllByCreatedDateBetween(startDate, endDate, pageable);
 
         List<AuditTrailResponse> auditResponses = auditPage.getContent().stream()
@@ -216,6 +271,68 @@ public class AuditServiceImpl implements AuditService {
                 .build();
     }
 
+    /**
+     * Archived months are always older than live ones, so newest-first the
+     * live rows come first and the archive continues where they end.
+     */
+    private GenericResponse getAuditLogsByDateRangeWithArchive(LocalDateTime startDate, LocalDateTime endDate,
+                                                               Pageable pageable) {
+        Pageable newestFirst = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                Sort.by(Sort.Direction.DESC, "createdDate", "id"));
+        Page<AuditTrail> livePage = auditTrailRepository.findAllByCreatedDateBetween(startDate, endDate, newestFirst);
+        long archivedTotal = auditArchive.count(startDate, endDate);
+        
+        List<AuditTrailResponse> auditResponses = new ArrayList<>(livePage.getContent().stream()
+                .map(this::mapToAuditTrailResponse)
+                .toList());
+        
+        int missing = pageable.getPageSize() - auditResponses.size();
+        if (missing > 0 && archivedTotal > 0) {
+            long archiveOffset = Math.max(0, pageable.getOffset() - livePage.getTotalElements());
+            List<ArchivedAuditRecord> archived = auditArchive.findNewestFirst(startDate, endDate, archiveOffset, missing);
+            auditResponses.addAll(mapArchivedRecords(archived));
+        }
+        
+        long totalItems = livePage.getTotalElements() + archivedTotal;
+        Map<String, Object> data = new HashMap<>();
+        data.put("content", auditResponses);
+        data.put("currentPage", pageable.getPageNumber());
+        data.put("totalItems", totalItems);
+        data.put("totalPages", (int) ((totalItems + pageable.getPageSize() - 1) / pageable.getPageSize()));
+        
+        return GenericResponse.builder()
+                .isSuccess(true)
+                .message("Audit logs retrieved successfully")
+                .data(data)
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+    
+    private List<AuditTrailResponse> mapArchivedRecords(List<ArchivedAuditRecord> records) {
+        Set<Long> userIds = records.stream().map(ArchivedAuditRecord::userId).collect(Collectors.toSet());
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        
+        return records.stream()
+                .map(record -> {
+                    User user = users.get(record.userId());
+                    return AuditTrailResponse.builder()
+                            .id(record.id())
+                            .userId(record.userId())
+                            .userEmail(user != null ? user.getEmail() : null)
+                            .userFullName(user != null ? user.getFirstname() + " " + user.getLastname() : null)
+                            .action(record.action())
+                            .module(record.module())
+                            .description(record.description())
+                            .ipAddress(record.ipAddress())
+                            .userAgent(record.userAgent())
+                            .createdDate(record.createdDate())
+                            .createdBy(record.createdBy())
+                            .build();
+                })
+                .toList();
+    }
+    
     @Override
     public GenericResponse getAuditLogById(Long id) {
         AuditTrail audit = auditTrailRepository.findById(id)
@@ -231,8 +348,20 @@ public class AuditServiceImpl implements AuditService {
 
     @Override
     public GenericResponse searchAuditLogs(String query, Pageable pageable) {
-        Page<AuditTrail> pageResult = auditTrailRepository.searchByQuery(query, pageable);
+        if (!searchIndexCheck.isFullTextReady()) {
+            return searchResponse(auditTrailRepository.searchByPattern(
+                    LikePatterns.contains(query != null ? query.trim() : null), pageable));
+        }
+        String tsQuery = TsQueryBuilder.build(query);
+        // Ordering comes from the rank, so any client sort is dropped
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        Page<AuditTrail> pageResult = tsQuery == null
+                ? Page.empty(unsorted)
+                : auditTrailRepository.searchByQuery(tsQuery, LikePatterns.contains(query.trim()), unsorted);
+        return searchResponse(pageResult);
+    }
 
+    private GenericResponse searchResponse(Page<AuditTrail> pageResult) {
         List<AuditTrailResponse> responses = pageResult.stream()
                 .map(this::mapToAuditTrailResponse)
                 .toList();
@@ -240,7 +369,7 @@ public class AuditServiceImpl implements AuditService {
         PageResponse<AuditTrailResponse> pageResponse = new PageResponse<>();
         pageResponse.setContent(responses);
         pageResponse.setPageNumber(pageResult.getNumber());
-        pageResponse.setPageNumber(pageResult.getSize());
+        pageResponse.setPageSize(pageResult.getSize());
         pageResponse.setTotalElements(pageResult.getTotalElements());
         pageResponse.setTotalPages(pageResult.getTotalPages());
 
@@ -0,0 +1,276 @@
+package com.common_wealth_builders.service.impl;
+
+import com.common_wealth_builders.utils.MetricsSource;
+import com.common_wealth_builders.utils.PhaseTimer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes audit trail rows off the request path. Events are queued after
+ * the business transaction commits and a single writer thread inserts them
+ * in JDBC batches, referencing users by id. When the queue is full the
+ * publisher either waits briefly for space ({@code BLOCK}) or drops the
+ * event ({@code DROP}). A batch that fails is retried one row at a time so
+ * a single bad row costs only itself. Once the writer has stopped, events
+ * are written on the publishing thread.
+ */
+@Component
+@Slf4j
+public class AuditTrailWriter implements MetricsSource {
+
+    // Resolves created_by from the users row when the actor email is not known,
+    // and inserts nothing for an unknown user id
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_trails (user_id, action, module, description, ip_address, user_agent, "
+                    + "created_date, updated_date, created_by, updated_by) "
+                    + "SELECT u.id, ?, ?, ?, ?, ?, ?, ?, COALESCE(?, u.email), COALESCE(?, u.email) "
+                    + "FROM users u WHERE u.id = ?";
+
+    public enum OverflowPolicy { BLOCK, DROP }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockNanos;
+    private final long shutdownMillis;
+
+    private final Queue<AuditEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final PhaseTimer flushTimer = new PhaseTimer();
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public AuditTrailWriter(JdbcTemplate jdbcTemplate,
+                            @Value("${audit.writer.capacity:10000}") int capacity,
+                            @Value("${audit.writer.batch-size:200}") int batchSize,
+                            @Value("${audit.writer.flush-ms:500}") long flushMillis,
+                            @Value("${audit.writer.overflow-policy:BLOCK}") OverflowPolicy overflowPolicy,
+                            @Value("${audit.writer.block-ms:100}") long blockMillis,
+                            @Value("${audit.writer.shutdown-ms:10000}") long shutdownMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.capacity = capacity;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushNanos = TimeUnit.MILLISECONDS.toNanos(flushMillis);
+        this.overflowPolicy = overflowPolicy;
+        this.blockNanos = TimeUnit.MILLISECONDS.toNanos(blockMillis);
+        this.shutdownMillis = shutdownMillis;
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        writer = new Thread(this::run, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues the event once the current transaction commits, or right away
+     * outside a transaction. Rolled-back work leaves no audit row.
+     */
+    public void publish(AuditEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(event);
+                }
+            });
+        } else {
+            enqueue(event);
+        }
+    }
+
+    private void enqueue(AuditEvent event) {
+        if (!running) {
+            // Shutting down: the writer thread may already be gone
+            write(List.of(event));
+            return;
+        }
+        if (!reserve()) {
+            dropped.increment();
+            log.warn("Audit queue full, dropping event: action={}, module={}", event.action(), event.module());
+            return;
+        }
+        queue.offer(event);
+        enqueued.increment();
+        if (!running) {
+            // Stopped after the check above; the final drain may have run already
+            flushQueued();
+        } else if (depth.get() >= batchSize) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private boolean reserve() {
+        if (tryReserve()) {
+            return true;
+        }
+        if (overflowPolicy == OverflowPolicy.DROP || !running) {
+            return false;
+        }
+        blocked.increment();
+        long deadline = System.nanoTime() + blockNanos;
+        LockSupport.unpark(writer);
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            if (tryReserve()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean tryReserve() {
+        while (true) {
+            int current = depth.get();
+            if (current >= capacity) {
+                return false;
+            }
+            if (depth.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void run() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            // Sleep for the flush interval unless a full batch is already waiting
+            if (depth.get() < batchSize) {
+                LockSupport.parkNanos(this, flushNanos);
+            }
+            while (drainTo(batch) > 0) {
+                write(batch);
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private int drainTo(List<AuditEvent> batch) {
+        batch.clear();
+        AuditEvent event;
+        while (batch.size() < batchSize && (event = queue.poll()) != null) {
+            batch.add(event);
+        }
+        depth.addAndGet(-batch.size());
+        return batch.size();
+    }
+
+    private int flushQueued() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        int flushed = 0;
+        while (drainTo(batch) > 0) {
+            flushed += batch.size();
+            write(batch);
+        }
+        return flushed;
+    }
+
+    private void write(List<AuditEvent> batch) {
+        long start = System.nanoTime();
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), AuditTrailWriter::bind);
+            written.add(batch.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to write {} audit trail rows as a batch, retrying one at a time", batch.size(), e);
+            batch.forEach(this::writeOne);
+        } finally {
+            flushTimer.record(System.nanoTime() - start);
+        }
+    }
+
+    private void writeOne(AuditEvent event) {
+        try {
+            jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, event));
+            written.increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.error("Failed to write audit trail row: userId={}, action={}, module={}",
+                    event.userId(), event.action(), event.module(), e);
+        }
+    }
+
+    private static void bind(PreparedStatement ps, AuditEvent event) throws SQLException {
+        Timestamp occurredAt = Timestamp.valueOf(event.occurredAt());
+        ps.setString(1, event.action());
+        ps.setString(2, event.module());
+        ps.setString(3, event.description());
+        ps.setString(4, event.ipAddress());
+        ps.setString(5, event.userAgent());
+        ps.setTimestamp(6, occurredAt);
+        ps.setTimestamp(7, occurredAt);
+        ps.setString(8, event.actorEmail());
+        ps.setString(9, event.actorEmail());
+        ps.setLong(10, event.userId());
+    }
+
+    @PreDestroy
+    void drain() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(shutdownMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int remaining = flushQueued();
+        log.info("Audit writer stopped; flushed {} queued events on shutdown", remaining);
+    }
+
+    @Override
+    public String metricsName() {
+        return "auditWriter";
+    }
+
+    @Override
+    public Map<String, Object> metricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("queueDepth", depth.get());
+        snapshot.put("capacity", capacity);
+        snapshot.put("overflowPolicy", overflowPolicy.name());
+        snapshot.put("enqueued", enqueued.sum());
+        snapshot.put("written", written.sum());
+        snapshot.put("dropped", dropped.sum());
+        snapshot.put("blocked", blocked.sum());
+        snapshot.put("failed", failed.sum());
+        snapshot.put("flush", flushTimer.snapshot());
+        return snapshot;
+    }
+
+    public record AuditEvent(Long userId, String action, String module, String description,
+                             String ipAddress, String userAgent, String actorEmail,
+                             LocalDateTime occurredAt) {
+    }
+}
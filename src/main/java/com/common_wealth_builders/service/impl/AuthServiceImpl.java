@@ -6,25 +6,33 @@ import com.common_wealth_builders.dto.request.RegisterRequest;
 import com.common_wealth_builders.dto.response.AuthResponse;
 import com.common_wealth_builders.dto.response.GenericResponse;
 import com.common_wealth_builders.entity.User;
+import com.common_wealth_builders.entity.UserRole;
 import com.common_wealth_builders.enums.RoleType;
+import com.common_wealth_builders.exception.InsufficientPermissionException;
 import com.common_wealth_builders.exception.InvalidCredentialsException;
 import com.common_wealth_builders.exception.ResourceNotFoundException;
 import com.common_wealth_builders.exception.UserAlreadyExistsException;
 import com.common_wealth_builders.repository.UserRepository;
+import com.common_wealth_builders.security.AuthorizationVersionRegistry;
 import com.common_wealth_builders.security.JwtUtil;
+import com.common_wealth_builders.security.LastLoginRecorder;
+import com.common_wealth_builders.security.LoginAttemptTracker;
+import com.common_wealth_builders.security.LoginMetrics;
+import com.common_wealth_builders.security.PasswordHashingService;
+import com.common_wealth_builders.security.PrincipalCache;
+import com.common_wealth_builders.security.TokenRevocationService;
 import com.common_wealth_builders.service.AuthService;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -32,13 +40,23 @@ import java.util.stream.Collectors;
 public class AuthServiceImpl implements AuthService {
     
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
-    private final AuthenticationManager authenticationManager;
+    private final PasswordHashingService passwordHashing;
+    private final LoginMetrics loginMetrics;
+    private final LoginAttemptTracker loginAttempts;
+    private final LastLoginRecorder lastLoginRecorder;
+    private final TokenRevocationService tokenRevocation;
+    private final PrincipalCache principalCache;
+    private final AuthorizationVersionRegistry authorizationVersions;
+    private final TransactionTemplate transactionTemplate;
 //    private final AuditService auditService;
     
+    /**
+     * Not transactional: the duplicate checks and the insert each run in the
+     * repository's own short transaction, so no pooled connection is held
+     * while BCrypt runs. The checks come first so a duplicate costs no hash.
+     */
     @Override
-    @Transactional
     public GenericResponse register(RegisterRequest request) {
         log.info("Registering new user with email: {}", request.getEmail());
         
@@ -50,6 +68,8 @@ public class AuthServiceImpl implements AuthService {
             throw new UserAlreadyExistsException("Username already exists: " + request.getUserName());
         }
         
+        String passwordHash = passwordHashing.encode(request.getPassword());
+        
         Set<RoleType> roles = request.getRoles() != null && !request.getRoles().isEmpty()
                 ? request.getRoles() 
                 : Set.of(RoleType.USER);
@@ -63,7 +83,7 @@ public class AuthServiceImpl implements AuthService {
                 .remittanceBankName(request.getRemitanceBankName())
                 .remittanceAccNumber(request.getRemitanceAccNumber())
                 .userName(request.getUserName())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHash)
 //                .roles(roles)
                 .createdDate(LocalDateTime.now())
                 .updatedDate(LocalDateTime.now())
@@ -81,7 +101,7 @@ public class AuthServiceImpl implements AuthService {
 //                "User registered successfully: " + savedUser.getEmail()
 //        );
         
-        String token = jwtUtil.generateToken(savedUser.getEmail());
+        String token = jwtUtil.generateToken(savedUser);
         
         AuthResponse authResponse = AuthResponse.builder()
                 .token(token)
@@ -102,27 +122,41 @@ public class AuthServiceImpl implements AuthService {
                 .build();
     }
     
+    /**
+     * Loads the user once (with roles) and verifies the password on the
+     * bounded hashing pool. Not transactional so no connection is held
+     * while BCrypt runs.
+     */
     @Override
-    @Transactional
-    public GenericResponse login(LoginRequest request) {
-        log.info("Login attempt for email: {}", request.getEmail());
-        
-        try {
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            request.getEmail(),
-                            request.getPassword()
-                    )
-            );
-        } catch (Exception e) {
+    public GenericResponse login(LoginRequest request, String clientIp) {
+        log.info("Login attempt for email: {} from IP: {}", request.getEmail(), clientIp);
+        long started = System.nanoTime();
+        loginAttempts.checkAllowed(request.getEmail(), clientIp);
+        
+        User user = userRepository.findWithRolesByEmail(request.getEmail()).orElse(null);
+        long loaded = System.nanoTime();
+        loginMetrics.record(LoginMetrics.Phase.USER_LOAD, loaded - started);
+        
+        boolean passwordMatches = user != null
+                ? passwordHashing.matches(request.getPassword(), user.getPassword())
+                : passwordHashing.matchesDummy(request.getPassword());
+        long checked = System.nanoTime();
+        loginMetrics.record(LoginMetrics.Phase.PASSWORD_CHECK, checked - loaded);
+        
+        if (!passwordMatches) {
+            loginAttempts.recordFailure(request.getEmail(), clientIp, user != null);
             log.error("Login failed for email: {}", request.getEmail());
             throw new InvalidCredentialsException("Invalid email or password");
         }
+        if (!user.isEnabled() || !user.isAccountNonLocked()) {
+            log.error("Login refused for disabled or locked account: {}", request.getEmail());
+            throw new InsufficientPermissionException("Account is disabled or locked");
+        }
         
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        loginAttempts.recordSuccess(request.getEmail());
+        lastLoginRecorder.record(user.getId(), clientIp);
         
-        String token = jwtUtil.generateToken(user.getEmail());
+        String token = jwtUtil.generateToken(user);
         
 //        auditService.logAction(
 //                user.getId(),
@@ -131,16 +165,22 @@ public class AuthServiceImpl implements AuthService {
 //                "User logged in successfully"
 //        );
         
+        List<String> roles = user.getUserRoles().stream()
+                .filter(UserRole::isActive)
+                .map(userRole -> userRole.getRole().getName().name())
+                .toList();
+        
         AuthResponse authResponse = AuthResponse.builder()
                 .token(token)
                 .userId(user.getId())
                 .email(user.getEmail())
                 .firstname(user.getFirstname())
                 .lastname(user.getLastname())
-                .roles(user.getUserRoles().stream()
-                        .map(userRole -> userRole.getRole().getName())
-                        .collect(Collectors.toSet()))
+                .roles(roles)
                 .build();
+        long issued = System.nanoTime();
+        loginMetrics.record(LoginMetrics.Phase.TOKEN_ISSUE, issued - checked);
+        loginMetrics.record(LoginMetrics.Phase.TOTAL, issued - started);
         
         log.info("User logged in successfully: {}", user.getEmail());
         
@@ -153,22 +193,47 @@ public class AuthServiceImpl implements AuthService {
     }
     
     @Override
-    @Transactional
-    public GenericResponse changePassword(ChangePasswordRequest request, String userEmail) {
+    public GenericResponse logout(String token) {
+        Claims claims = jwtUtil.parseVerifiedClaims(token);
+        log.info("Logout request for user: {}", claims.getSubject());
+        
+        tokenRevocation.revoke(claims, jwtUtil.getUserId(claims), "LOGOUT");
+        
+        return GenericResponse.builder()
+                .isSuccess(true)
+                .message("Logged out successfully")
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+    
+    /**
+     * Verifies and hashes outside any transaction; only the update runs in
+     * one, so a connection is not held while BCrypt runs.
+     */
+    @Override
+    public GenericResponse changePassword(ChangePasswordRequest request, String userEmail, String currentToken) {
         log.info("Password change request for user: {}", userEmail);
         
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         
-        if (!passwordEncoder.matches(request.getOldPassword(), user.getPassword())) {
+        if (!passwordHashing.matches(request.getOldPassword(), user.getPassword())) {
             throw new InvalidCredentialsException("Old password is incorrect");
         }
         
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
-        user.setUpdatedDate(LocalDateTime.now());
-        user.setUpdatedBy(userEmail);
+        String passwordHash = passwordHashing.encode(request.getNewPassword());
         
-        userRepository.save(user);
+        transactionTemplate.executeWithoutResult(status -> {
+            user.setPassword(passwordHash);
+            user.setUpdatedDate(LocalDateTime.now());
+            user.setUpdatedBy(userEmail);
+            
+            // Other sessions go stale through the version; the current token is revoked by id
+            authorizationVersions.bump(user);
+            userRepository.save(user);
+            principalCache.invalidate(userEmail);
+            tokenRevocation.revoke(jwtUtil.parseVerifiedClaims(currentToken), user.getId(), "PASSWORD_CHANGED");
+        });
         
 //        auditService.logAction(
 //                user.getId(),
@@ -202,6 +267,8 @@ public class AuthServiceImpl implements AuthService {
 //        );
         
         userRepository.delete(user);
+        principalCache.invalidate(user.getEmail());
+        authorizationVersions.remove(userId);
         
         log.info("User account deleted successfully: {}", user.getEmail());
         
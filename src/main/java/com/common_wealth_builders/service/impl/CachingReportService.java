@@ -0,0 +1,98 @@
+package com.common_wealth_builders.service.impl;
+
+import com.common_wealth_builders.dto.request.ReportFilterRequest;
+import com.common_wealth_builders.dto.response.GenericResponse;
+import com.common_wealth_builders.enums.TrendGranularity;
+import com.common_wealth_builders.service.ReportService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * {@link ReportService} in front of {@link ReportServiceImpl} that serves
+ * repeated requests for the same report and period from {@link ReportCache}.
+ * Requests without dates get the implementation's defaults (the last month
+ * up to now), rounded to the minute so that repeated calls share an entry.
+ */
+@Service
+@Primary
+public class CachingReportService implements ReportService {
+
+    private final ReportService delegate;
+    private final ReportCache reportCache;
+
+    public CachingReportService(@Qualifier("reportServiceImpl") ReportService delegate, ReportCache reportCache) {
+        this.delegate = delegate;
+        this.reportCache = reportCache;
+    }
+
+    @Override
+    public GenericResponse generateFinancialSummary(ReportFilterRequest request) {
+        ReportFilterRequest period = normalize(request);
+        return reportCache.get(key("FINANCIAL_SUMMARY", period), () -> delegate.generateFinancialSummary(period));
+    }
+
+    @Override
+    public GenericResponse generateUserContributionReport(Long userId) {
+        return reportCache.get(ReportCache.Key.member("USER_CONTRIBUTION", userId),
+                () -> delegate.generateUserContributionReport(userId));
+    }
+
+    @Override
+    public GenericResponse generateExpenseReport(ReportFilterRequest request) {
+        ReportFilterRequest period = normalize(request);
+        return reportCache.get(key("EXPENSE", period), () -> delegate.generateExpenseReport(period));
+    }
+
+    @Override
+    public GenericResponse generatePaymentReport(ReportFilterRequest request) {
+        ReportFilterRequest period = normalize(request);
+        return reportCache.get(key("PAYMENT", period), () -> delegate.generatePaymentReport(period));
+    }
+
+    @Override
+    public GenericResponse generateMonthlyReport(int year, int month) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        ReportCache.Key key = ReportCache.Key.period("MONTHLY",
+                yearMonth.atDay(1).atStartOfDay(), yearMonth.atEndOfMonth().atTime(23, 59, 59));
+        return reportCache.get(key, () -> delegate.generateMonthlyReport(year, month));
+    }
+
+    @Override
+    public GenericResponse generateAnnualReport(int year) {
+        ReportCache.Key key = ReportCache.Key.period("ANNUAL",
+                LocalDateTime.of(year, 1, 1, 0, 0), LocalDateTime.of(year, 12, 31, 23, 59, 59));
+        return reportCache.get(key, () -> delegate.generateAnnualReport(year));
+    }
+
+    @Override
+    public GenericResponse generateTrendSeries(LocalDate startDate, LocalDate endDate, String granularity) {
+        if (startDate == null || endDate == null) {
+            // Open-ended trends default relative to today; not worth an entry
+            return delegate.generateTrendSeries(startDate, endDate, granularity);
+        }
+        TrendGranularity unit = ReportServiceImpl.granularityOf(granularity);
+        ReportCache.Key key = ReportCache.Key.period("TREND_" + unit.name(),
+                startDate.atStartOfDay(), endDate.atTime(23, 59, 59));
+        return reportCache.get(key, () -> delegate.generateTrendSeries(startDate, endDate, unit.name()));
+    }
+
+    private static ReportCache.Key key(String type, ReportFilterRequest period) {
+        return ReportCache.Key.period(type, period.getStartDate(), period.getEndDate());
+    }
+
+    private static ReportFilterRequest normalize(ReportFilterRequest request) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        return ReportFilterRequest.builder()
+                .startDate(request.getStartDate() != null ? request.getStartDate() : now.minusMonths(1))
+                .endDate(request.getEndDate() != null ? request.getEndDate() : now)
+                .userId(request.getUserId())
+                .reportType(request.getReportType())
+                .build();
+    }
+}
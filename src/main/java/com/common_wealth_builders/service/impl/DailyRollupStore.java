@@ -0,0 +1,331 @@
+package com.common_wealth_builders.service.impl;
+
+import com.common_wealth_builders.enums.ExpenseCategory;
+import com.common_wealth_builders.enums.PaymentStatus;
+import com.common_wealth_builders.enums.TrendGranularity;
+import com.common_wealth_builders.utils.MetricsSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Daily payment and expense rollups. Writes are delta upserts that must
+ * run inside the transaction changing the underlying row, so a rollup
+ * never disagrees with committed data. Each delta holds a shared
+ * transaction-scoped advisory lock on its day, which the verifier takes
+ * exclusively before repairing that day, so a repair never overwrites a
+ * concurrent delta. Reads combine whole days from the
+ * rollups with raw rows for the partial days at either end of a range,
+ * aggregated in the database in a single statement.
+ * Until {@link DailyRollupVerifier} has completed a first pass, reads go
+ * to the raw tables.
+ */
+@Component
+@Slf4j
+public class DailyRollupStore implements MetricsSource {
+
+    private static final LocalTime LAST_SECOND = LocalTime.of(23, 59, 59);
+
+    static final String PAYMENT_DELTA_SQL = """
+            INSERT INTO daily_payment_rollups (rollup_date, status, total_amount, payment_count)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (rollup_date, status) DO UPDATE
+            SET total_amount = daily_payment_rollups.total_amount + EXCLUDED.total_amount,
+                payment_count = daily_payment_rollups.payment_count + EXCLUDED.payment_count
+            """;
+
+    static final String EXPENSE_DELTA_SQL = """
+            INSERT INTO daily_expense_rollups (rollup_date, category, approved, total_amount, expense_count)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (rollup_date, category, approved) DO UPDATE
+            SET total_amount = daily_expense_rollups.total_amount + EXCLUDED.total_amount,
+                expense_count = daily_expense_rollups.expense_count + EXCLUDED.expense_count
+            """;
+
+    // Advisory lock spaces; the second key is the day's epoch day
+    static final int PAYMENT_LOCK_SPACE = 1;
+    static final int EXPENSE_LOCK_SPACE = 2;
+
+    private static final String SHARED_DAY_LOCK_SQL = "SELECT pg_advisory_xact_lock_shared(?, ?)";
+    static final String EXCLUSIVE_DAY_LOCK_SQL = "SELECT pg_advisory_xact_lock(?, ?)";
+
+    private static final String PAYMENT_KIND = "P";
+
+    // Each part yields (kind, grp, approved, amount, cnt); totals() unions the ones a report needs
+
+    private static final String PAYMENT_ROLLUP_PART = """
+            SELECT 'P' AS kind, status AS grp, FALSE AS approved, SUM(total_amount) AS amount, SUM(payment_count) AS cnt
+            FROM daily_payment_rollups WHERE rollup_date >= ? AND rollup_date < ? GROUP BY status
+            """;
+
+    private static final String PAYMENT_RAW_PART = """
+            SELECT 'P' AS kind, status AS grp, FALSE AS approved, SUM(amount) AS amount, COUNT(*) AS cnt FROM payments
+            WHERE (payment_date >= ? AND payment_date < ?) OR (payment_date >= ? AND payment_date < ?)
+            GROUP BY status
+            """;
+
+    private static final String EXPENSE_ROLLUP_PART = """
+            SELECT 'E' AS kind, category AS grp, approved, SUM(total_amount) AS amount, SUM(expense_count) AS cnt
+            FROM daily_expense_rollups WHERE rollup_date >= ? AND rollup_date < ? GROUP BY category, approved
+            """;
+
+    private static final String EXPENSE_RAW_PART = """
+            SELECT 'E' AS kind, category AS grp, is_approved AS approved, SUM(amount) AS amount, COUNT(*) AS cnt
+            FROM expenses
+            WHERE is_deleted = false
+              AND ((expense_date >= ? AND expense_date < ?) OR (expense_date >= ? AND expense_date < ?))
+            GROUP BY category, is_approved
+            """;
+
+    // Series parts yield (bucket, kind, grp, approved, amount, cnt); GROUP BY 1 because the
+    // date_trunc field is a parameter, which the database cannot match to the select list
+
+    private static final String PAYMENT_ROLLUP_SERIES = """
+            SELECT CAST(date_trunc(?, CAST(rollup_date AS timestamp)) AS date) AS bucket, 'P' AS kind,
+                   status AS grp, FALSE AS approved, SUM(total_amount) AS amount, SUM(payment_count) AS cnt
+            FROM daily_payment_rollups WHERE rollup_date >= ? AND rollup_date < ? GROUP BY 1, status
+            """;
+
+    private static final String PAYMENT_RAW_SERIES = """
+            SELECT CAST(date_trunc(?, payment_date) AS date) AS bucket, 'P' AS kind,
+                   status AS grp, FALSE AS approved, SUM(amount) AS amount, COUNT(*) AS cnt
+            FROM payments WHERE payment_date >= ? AND payment_date < ? GROUP BY 1, status
+            """;
+
+    private static final String EXPENSE_ROLLUP_SERIES = """
+            SELECT CAST(date_trunc(?, CAST(rollup_date AS timestamp)) AS date) AS bucket, 'E' AS kind,
+                   category AS grp, approved, SUM(total_amount) AS amount, SUM(expense_count) AS cnt
+            FROM daily_expense_rollups WHERE rollup_date >= ? AND rollup_date < ? GROUP BY 1, category, approved
+            """;
+
+    private static final String EXPENSE_RAW_SERIES = """
+            SELECT CAST(date_trunc(?, expense_date) AS date) AS bucket, 'E' AS kind,
+                   category AS grp, is_approved AS approved, SUM(amount) AS amount, COUNT(*) AS cnt
+            FROM expenses
+            WHERE is_deleted = false AND expense_date >= ? AND expense_date < ?
+            GROUP BY 1, category, is_approved
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean readEnabled;
+
+    private volatile boolean ready;
+
+    private final LongAdder deltas = new LongAdder();
+    private final LongAdder rollupReads = new LongAdder();
+    private final LongAdder rawReads = new LongAdder();
+
+    public DailyRollupStore(JdbcTemplate jdbcTemplate,
+                            @Value("${reports.rollups.read-enabled:true}") boolean readEnabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readEnabled = readEnabled;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void paymentAdded(LocalDateTime paymentDate, PaymentStatus status, BigDecimal amount) {
+        paymentDelta(paymentDate.toLocalDate(), status, amount, 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void paymentMoved(LocalDateTime paymentDate, PaymentStatus from, PaymentStatus to, BigDecimal amount) {
+        if (from == to) {
+            return;
+        }
+        LocalDate day = paymentDate.toLocalDate();
+        // Touch the two rows in a fixed order so concurrent moves cannot deadlock
+        if (from.ordinal() < to.ordinal()) {
+            paymentDelta(day, from, amount.negate(), -1);
+            paymentDelta(day, to, amount, 1);
+        } else {
+            paymentDelta(day, to, amount, 1);
+            paymentDelta(day, from, amount.negate(), -1);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void expenseAdded(LocalDateTime expenseDate, ExpenseCategory category, boolean approved, BigDecimal amount) {
+        expenseDelta(expenseDate.toLocalDate(), category, approved, amount, 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void expenseRemoved(LocalDateTime expenseDate, ExpenseCategory category, boolean approved, BigDecimal amount) {
+        expenseDelta(expenseDate.toLocalDate(), category, approved, amount.negate(), -1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void expenseApproved(LocalDateTime expenseDate, ExpenseCategory category, BigDecimal amount) {
+        LocalDate day = expenseDate.toLocalDate();
+        expenseDelta(day, category, false, amount.negate(), -1);
+        expenseDelta(day, category, true, amount, 1);
+    }
+
+    private void paymentDelta(LocalDate day, PaymentStatus status, BigDecimal amount, long count) {
+        lockDay(jdbcTemplate, SHARED_DAY_LOCK_SQL, PAYMENT_LOCK_SPACE, day);
+        jdbcTemplate.update(PAYMENT_DELTA_SQL, Date.valueOf(day), status.name(), amount, count);
+        deltas.increment();
+    }
+
+    private void expenseDelta(LocalDate day, ExpenseCategory category, boolean approved, BigDecimal amount, long count) {
+        lockDay(jdbcTemplate, SHARED_DAY_LOCK_SQL, EXPENSE_LOCK_SPACE, day);
+        jdbcTemplate.update(EXPENSE_DELTA_SQL, Date.valueOf(day), category.name(), approved, amount, count);
+        deltas.increment();
+    }
+
+    // Released when the surrounding transaction ends
+    static void lockDay(JdbcTemplate jdbcTemplate, String lockSql, int space, LocalDate day) {
+        jdbcTemplate.query(lockSql, (RowCallbackHandler) rs -> { }, space, (int) day.toEpochDay());
+    }
+
+    /**
+     * Payment and expense totals for {@code [start, end]}. A day is read
+     * from the rollups when the range covers it from midnight through
+     * 23:59:59. Either way the whole report is one statement.
+     */
+    public PeriodTotals totals(LocalDateTime start, LocalDateTime end) {
+        return totals(start, end, true, true);
+    }
+
+    public PeriodTotals paymentTotals(LocalDateTime start, LocalDateTime end) {
+        return totals(start, end, true, false);
+    }
+
+    public PeriodTotals expenseTotals(LocalDateTime start, LocalDateTime end) {
+        return totals(start, end, false, true);
+    }
+
+    private PeriodTotals totals(LocalDateTime start, LocalDateTime end, boolean payments, boolean expenses) {
+        LocalDateTime endExclusive = end.plus(1, ChronoUnit.MICROS);
+
+        LocalDate firstFullDay = start.toLocalTime().equals(LocalTime.MIDNIGHT)
+                ? start.toLocalDate() : start.toLocalDate().plusDays(1);
+        LocalDate lastFullDay = end.toLocalTime().isBefore(LAST_SECOND)
+                ? end.toLocalDate().minusDays(1) : end.toLocalDate();
+        boolean useRollups = readEnabled && ready && !firstFullDay.isAfter(lastFullDay);
+
+        // Raw rows are read for up to two ranges: the partial days before and
+        // after the rolled-up days, or the whole period when rollups are not used
+        Timestamp[] rawRanges;
+        Date[] rollupRange = null;
+        if (useRollups) {
+            LocalDateTime headEnd = firstFullDay.atStartOfDay();
+            LocalDateTime tailStart = lastFullDay.plusDays(1).atStartOfDay();
+            rawRanges = new Timestamp[] {
+                    Timestamp.valueOf(start), Timestamp.valueOf(headEnd),
+                    Timestamp.valueOf(tailStart), Timestamp.valueOf(endExclusive)};
+            rollupRange = new Date[] {Date.valueOf(firstFullDay), Date.valueOf(lastFullDay.plusDays(1))};
+            rollupReads.increment();
+        } else {
+            Timestamp from = Timestamp.valueOf(start);
+            rawRanges = new Timestamp[] {from, Timestamp.valueOf(endExclusive), from, from};
+            rawReads.increment();
+        }
+
+        List<String> parts = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (payments) {
+            if (rollupRange != null) {
+                parts.add(PAYMENT_ROLLUP_PART);
+                args.addAll(List.of(rollupRange));
+            }
+            parts.add(PAYMENT_RAW_PART);
+            args.addAll(List.of(rawRanges));
+        }
+        if (expenses) {
+            if (rollupRange != null) {
+                parts.add(EXPENSE_ROLLUP_PART);
+                args.addAll(List.of(rollupRange));
+            }
+            parts.add(EXPENSE_RAW_PART);
+            args.addAll(List.of(rawRanges));
+        }
+
+        PeriodTotals totals = PeriodTotals.empty();
+        String sql = "SELECT kind, grp, approved, SUM(amount), SUM(cnt) FROM ("
+                + String.join(" UNION ALL ", parts) + ") parts GROUP BY kind, grp, approved";
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            if (PAYMENT_KIND.equals(rs.getString(1))) {
+                totals.addPayments(PaymentStatus.valueOf(rs.getString(2)), rs.getBigDecimal(4), rs.getLong(5));
+            } else {
+                totals.addExpenses(ExpenseCategory.valueOf(rs.getString(2)), rs.getBoolean(3),
+                        rs.getBigDecimal(4), rs.getLong(5));
+            }
+        }, args.toArray());
+        return totals;
+    }
+
+    /**
+     * Totals per bucket of {@code granularity} for the days
+     * {@code [firstDay, lastDay]}, keyed by the bucket's first day. Only
+     * buckets with activity are present. The ranges are whole days, so once
+     * the rollups are ready the series is read from them alone; either way
+     * it is one grouped statement.
+     */
+    public SortedMap<LocalDate, PeriodTotals> series(LocalDate firstDay, LocalDate lastDay,
+                                                     TrendGranularity granularity) {
+        boolean useRollups = readEnabled && ready;
+        Object from = useRollups ? Date.valueOf(firstDay) : Timestamp.valueOf(firstDay.atStartOfDay());
+        Object to = useRollups
+                ? Date.valueOf(lastDay.plusDays(1)) : Timestamp.valueOf(lastDay.plusDays(1).atStartOfDay());
+        String unit = granularity.getSqlUnit();
+        String sql = (useRollups ? PAYMENT_ROLLUP_SERIES : PAYMENT_RAW_SERIES)
+                + " UNION ALL " + (useRollups ? EXPENSE_ROLLUP_SERIES : EXPENSE_RAW_SERIES);
+        (useRollups ? rollupReads : rawReads).increment();
+
+        SortedMap<LocalDate, PeriodTotals> series = new TreeMap<>();
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            PeriodTotals totals = series.computeIfAbsent(rs.getDate(1).toLocalDate(), day -> PeriodTotals.empty());
+            if (PAYMENT_KIND.equals(rs.getString(2))) {
+                totals.addPayments(PaymentStatus.valueOf(rs.getString(3)), rs.getBigDecimal(5), rs.getLong(6));
+            } else {
+                totals.addExpenses(ExpenseCategory.valueOf(rs.getString(3)), rs.getBoolean(4),
+                        rs.getBigDecimal(5), rs.getLong(6));
+            }
+        }, unit, from, to, unit, from, to);
+        return series;
+    }
+
+    void markReady() {
+        if (!ready) {
+            ready = true;
+            log.info("Daily rollups verified; reports now read from rollups");
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public String metricsName() {
+        return "dailyRollups";
+    }
+
+    @Override
+    public Map<String, Object> metricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("ready", ready);
+        snapshot.put("deltas", deltas.sum());
+        snapshot.put("rollupReads", rollupReads.sum());
+        snapshot.put("rawRangeReads", rawReads.sum());
+        return snapshot;
+    }
+}
@@ -0,0 +1,296 @@
+package com.common_wealth_builders.service.impl;
+
+import com.common_wealth_builders.utils.MetricsSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Recomputes the daily rollups from the raw payment and expense rows in
+ * date chunks, in parallel, and diffs them against the stored values.
+ * With repair on, each mismatched key is recomputed from the raw rows and
+ * overwritten in its own transaction, after taking the day's advisory
+ * lock exclusively; the delta writers hold it shared, so the recomputed
+ * sum cannot miss a delta committed alongside it. The first full pass (at startup) doubles as the
+ * backfill, after which reports switch to the rollups.
+ */
+@Component
+@Slf4j
+public class DailyRollupVerifier implements MetricsSource {
+
+    private static final String RAW_PAYMENTS_SQL = """
+            SELECT CAST(payment_date AS DATE), status, SUM(amount), COUNT(*) FROM payments
+            WHERE payment_date >= ? AND payment_date < ? GROUP BY 1, 2
+            """;
+
+    private static final String ROLLUP_PAYMENTS_SQL = """
+            SELECT rollup_date, status, total_amount, payment_count FROM daily_payment_rollups
+            WHERE rollup_date >= ? AND rollup_date < ?
+            """;
+
+    private static final String REPAIR_PAYMENT_SQL = """
+            INSERT INTO daily_payment_rollups (rollup_date, status, total_amount, payment_count)
+            SELECT ?, ?, COALESCE(SUM(amount), 0), COUNT(*) FROM payments
+            WHERE payment_date >= ? AND payment_date < ? AND status = ?
+            ON CONFLICT (rollup_date, status) DO UPDATE
+            SET total_amount = EXCLUDED.total_amount, payment_count = EXCLUDED.payment_count
+            """;
+
+    private static final String RAW_EXPENSES_SQL = """
+            SELECT CAST(expense_date AS DATE), category, is_approved, SUM(amount), COUNT(*) FROM expenses
+            WHERE is_deleted = false AND expense_date >= ? AND expense_date < ? GROUP BY 1, 2, 3
+            """;
+
+    private static final String ROLLUP_EXPENSES_SQL = """
+            SELECT rollup_date, category, approved, total_amount, expense_count FROM daily_expense_rollups
+            WHERE rollup_date >= ? AND rollup_date < ?
+            """;
+
+    private static final String REPAIR_EXPENSE_SQL = """
+            INSERT INTO daily_expense_rollups (rollup_date, category, approved, total_amount, expense_count)
+            SELECT ?, ?, ?, COALESCE(SUM(amount), 0), COUNT(*) FROM expenses
+            WHERE is_deleted = false AND expense_date >= ? AND expense_date < ? AND category = ? AND is_approved = ?
+            ON CONFLICT (rollup_date, category, approved) DO UPDATE
+            SET total_amount = EXCLUDED.total_amount, expense_count = EXCLUDED.expense_count
+            """;
+
+    private static final String DATE_BOUNDS_SQL = """
+            SELECT MIN(d), MAX(d) FROM (
+                SELECT MIN(CAST(payment_date AS DATE)) AS d FROM payments
+                UNION ALL SELECT MAX(CAST(payment_date AS DATE)) FROM payments
+                UNION ALL SELECT MIN(CAST(expense_date AS DATE)) FROM expenses
+                UNION ALL SELECT MAX(CAST(expense_date AS DATE)) FROM expenses
+                UNION ALL SELECT MIN(rollup_date) FROM daily_payment_rollups
+                UNION ALL SELECT MAX(rollup_date) FROM daily_payment_rollups
+                UNION ALL SELECT MIN(rollup_date) FROM daily_expense_rollups
+                UNION ALL SELECT MAX(rollup_date) FROM daily_expense_rollups
+            ) bounds
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DailyRollupStore rollupStore;
+    private final int chunkDays;
+    private final boolean repair;
+    private final ExecutorService executor;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final LongAdder passes = new LongAdder();
+    private final LongAdder chunksVerified = new LongAdder();
+    private final LongAdder mismatches = new LongAdder();
+    private final LongAdder repaired = new LongAdder();
+    private volatile long lastPassMillis;
+    private volatile String lastError;
+
+    public DailyRollupVerifier(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               DailyRollupStore rollupStore,
+                               @Value("${reports.rollups.verify-threads:4}") int threads,
+                               @Value("${reports.rollups.chunk-days:31}") int chunkDays,
+                               @Value("${reports.rollups.repair:true}") boolean repair) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rollupStore = rollupStore;
+        this.chunkDays = Math.max(1, chunkDays);
+        this.repair = repair;
+        AtomicInteger threadIds = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "rollup-verify-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Not on the pool: the pass blocks on its chunks, which need the pool's threads
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyOnStartup() {
+        Thread startupPass = new Thread(this::verifyAll, "rollup-verify-startup");
+        startupPass.setDaemon(true);
+        startupPass.start();
+    }
+
+    @Scheduled(cron = "${reports.rollups.verify-cron:0 15 3 * * *}")
+    public void verifyAll() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Rollup verification already running; skipping");
+            return;
+        }
+        long started = System.currentTimeMillis();
+        try {
+            int found = verifyRange();
+            passes.increment();
+            lastPassMillis = System.currentTimeMillis() - started;
+            lastError = null;
+            if (found == 0 || repair) {
+                rollupStore.markReady();
+            }
+            log.info("Rollup verification finished in {} ms: mismatches={}, repaired={}",
+                    lastPassMillis, found, repair);
+        } catch (Exception e) {
+            lastError = e.getMessage();
+            log.error("Rollup verification failed: {}", e.getMessage(), e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private int verifyRange() throws InterruptedException, ExecutionException {
+        Map<String, Object> bounds = jdbcTemplate.queryForMap(DATE_BOUNDS_SQL);
+        Date first = (Date) bounds.get("min");
+        Date last = (Date) bounds.get("max");
+        if (first == null || last == null) {
+            return 0;
+        }
+
+        List<Future<Integer>> chunks = new ArrayList<>();
+        for (LocalDate from = first.toLocalDate(); !from.isAfter(last.toLocalDate()); from = from.plusDays(chunkDays)) {
+            LocalDate chunkFrom = from;
+            LocalDate chunkTo = from.plusDays(chunkDays);
+            chunks.add(executor.submit(() -> verifyChunk(chunkFrom, chunkTo)));
+        }
+        int found = 0;
+        for (Future<Integer> chunk : chunks) {
+            found += chunk.get();
+        }
+        return found;
+    }
+
+    /**
+     * Verifies {@code [from, to)} and returns the number of mismatched keys.
+     */
+    int verifyChunk(LocalDate from, LocalDate to) {
+        Timestamp fromTs = Timestamp.valueOf(from.atStartOfDay());
+        Timestamp toTs = Timestamp.valueOf(to.atStartOfDay());
+
+        Map<List<Object>, Totals> rawPayments = new HashMap<>();
+        jdbcTemplate.query(RAW_PAYMENTS_SQL, (RowCallbackHandler) rs -> {
+            rawPayments.put(List.of(rs.getDate(1).toLocalDate(), rs.getString(2)),
+                    new Totals(rs.getBigDecimal(3), rs.getLong(4)));
+        }, fromTs, toTs);
+        Map<List<Object>, Totals> storedPayments = new HashMap<>();
+        jdbcTemplate.query(ROLLUP_PAYMENTS_SQL, (RowCallbackHandler) rs -> {
+            storedPayments.put(List.of(rs.getDate(1).toLocalDate(), rs.getString(2)),
+                    new Totals(rs.getBigDecimal(3), rs.getLong(4)));
+        }, Date.valueOf(from), Date.valueOf(to));
+
+        Map<List<Object>, Totals> rawExpenses = new HashMap<>();
+        jdbcTemplate.query(RAW_EXPENSES_SQL, (RowCallbackHandler) rs -> {
+            rawExpenses.put(List.of(rs.getDate(1).toLocalDate(), rs.getString(2), rs.getBoolean(3)),
+                    new Totals(rs.getBigDecimal(4), rs.getLong(5)));
+        }, fromTs, toTs);
+        Map<List<Object>, Totals> storedExpenses = new HashMap<>();
+        jdbcTemplate.query(ROLLUP_EXPENSES_SQL, (RowCallbackHandler) rs -> {
+            storedExpenses.put(List.of(rs.getDate(1).toLocalDate(), rs.getString(2), rs.getBoolean(3)),
+                    new Totals(rs.getBigDecimal(4), rs.getLong(5)));
+        }, Date.valueOf(from), Date.valueOf(to));
+
+        Set<List<Object>> badPayments = diff(rawPayments, storedPayments);
+        Set<List<Object>> badExpenses = diff(rawExpenses, storedExpenses);
+        chunksVerified.increment();
+
+        int found = badPayments.size() + badExpenses.size();
+        if (found == 0) {
+            return 0;
+        }
+        mismatches.add(found);
+        log.warn("Rollup mismatches between {} and {}: payments={}, expenses={}",
+                from, to, badPayments.size(), badExpenses.size());
+        if (repair) {
+            for (List<Object> key : badPayments) {
+                LocalDate day = (LocalDate) key.get(0);
+                String status = (String) key.get(1);
+                repairDay(DailyRollupStore.PAYMENT_LOCK_SPACE, day, REPAIR_PAYMENT_SQL, Date.valueOf(day), status,
+                        Timestamp.valueOf(day.atStartOfDay()), Timestamp.valueOf(day.plusDays(1).atStartOfDay()), status);
+            }
+            for (List<Object> key : badExpenses) {
+                LocalDate day = (LocalDate) key.get(0);
+                String category = (String) key.get(1);
+                boolean approved = (Boolean) key.get(2);
+                repairDay(DailyRollupStore.EXPENSE_LOCK_SPACE, day, REPAIR_EXPENSE_SQL, Date.valueOf(day), category, approved,
+                        Timestamp.valueOf(day.atStartOfDay()), Timestamp.valueOf(day.plusDays(1).atStartOfDay()),
+                        category, approved);
+            }
+            repaired.add(found);
+        }
+        return found;
+    }
+
+    /**
+     * Waits for in-flight deltas on the day to commit, then recomputes and
+     * writes the key in one statement, whose snapshot is taken after the
+     * lock and so includes them. New deltas wait until the repair commits.
+     */
+    private void repairDay(int lockSpace, LocalDate day, String repairSql, Object... args) {
+        transactionTemplate.executeWithoutResult(status -> {
+            DailyRollupStore.lockDay(jdbcTemplate, DailyRollupStore.EXCLUSIVE_DAY_LOCK_SQL, lockSpace, day);
+            jdbcTemplate.update(repairSql, args);
+        });
+    }
+
+    // A stored zero row and a missing raw group are the same thing
+    private static Set<List<Object>> diff(Map<List<Object>, Totals> raw, Map<List<Object>, Totals> stored) {
+        Set<List<Object>> keys = new HashSet<>(raw.keySet());
+        keys.addAll(stored.keySet());
+        keys.removeIf(key -> raw.getOrDefault(key, Totals.NONE).sameAs(stored.getOrDefault(key, Totals.NONE)));
+        return keys;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String metricsName() {
+        return "rollupVerifier";
+    }
+
+    @Override
+    public Map<String, Object> metricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("running", running.get());
+        snapshot.put("passes", passes.sum());
+        snapshot.put("chunksVerified", chunksVerified.sum());
+        snapshot.put("mismatches", mismatches.sum());
+        snapshot.put("repaired", repaired.sum());
+        snapshot.put("lastPassMillis", lastPassMillis);
+        snapshot.put("lastError", lastError);
+        return snapshot;
+    }
+
+    private record Totals(BigDecimal amount, long count) {
+
+        static final Totals NONE = new Totals(BigDecimal.ZERO, 0);
+
+        boolean sameAs(Totals other) {
+            return count == other.count && amount.compareTo(other.amount) == 0;
+        }
+    }
+}
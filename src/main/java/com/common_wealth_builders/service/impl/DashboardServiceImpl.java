@@ -0,0 +1,314 @@
+package com.common_wealth_builders.service.impl;
+
+import com.common_wealth_builders.dto.request.ReportFilterRequest;
+import com.common_wealth_builders.dto.response.DashboardResponse;
+import com.common_wealth_builders.dto.response.FinancialSummaryResponse;
+import com.common_wealth_builders.dto.response.GenericResponse;
+import com.common_wealth_builders.dto.response.PageResponse;
+import com.common_wealth_builders.enums.Permission;
+import com.common_wealth_builders.exception.ServiceUnavailableException;
+import com.common_wealth_builders.security.ActorContext;
+import com.common_wealth_builders.service.AuditService;
+import com.common_wealth_builders.service.DashboardService;
+import com.common_wealth_builders.service.ExpenseService;
+import com.common_wealth_builders.service.NoticeService;
+import com.common_wealth_builders.service.PaymentService;
+import com.common_wealth_builders.service.ReportService;
+import com.common_wealth_builders.service.UserNotificationService;
+import com.common_wealth_builders.utils.MetricsSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * The admin landing page in one call. The sections every admin sees alike
+ * (financial summary, pending payments and expenses, recent audit entries)
+ * are read in parallel on a small pool and shared for {@code ttl-ms}.
+ * Requests arriving while they are being read wait for that computation
+ * instead of starting their own, so a burst of admins costs one set of
+ * queries. Unread counts belong to the caller and are read per request.
+ * A computation that times out cancels its sections that have not
+ * started; the ones already running end at the transaction timeout, and
+ * until they do, requests get a 503 instead of starting more work.
+ */
+@Service
+@Slf4j
+public class DashboardServiceImpl implements DashboardService, MetricsSource {
+
+    private final ReportService reportService;
+    private final PaymentService paymentService;
+    private final ExpenseService expenseService;
+    private final AuditService auditService;
+    private final UserNotificationService userNotificationService;
+    private final NoticeService noticeService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor workers;
+    private final long ttlMillis;
+    private final long timeoutMillis;
+    private final int pageSize;
+
+    // The last computation, finished or still running
+    private Computation current;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder computations = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder stalled = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder computeNanos = new LongAdder();
+
+    public DashboardServiceImpl(ReportService reportService,
+                                PaymentService paymentService,
+                                ExpenseService expenseService,
+                                AuditService auditService,
+                                UserNotificationService userNotificationService,
+                                NoticeService noticeService,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${dashboard.threads:4}") int threads,
+                                @Value("${dashboard.queue-capacity:16}") int queueCapacity,
+                                @Value("${dashboard.ttl-ms:5000}") long ttlMillis,
+                                @Value("${dashboard.timeout-ms:10000}") long timeoutMillis,
+                                @Value("${dashboard.page-size:10}") int pageSize) {
+        this.reportService = reportService;
+        this.paymentService = paymentService;
+        this.expenseService = expenseService;
+        this.auditService = auditService;
+        this.userNotificationService = userNotificationService;
+        this.noticeService = noticeService;
+        // Sections are read off the request thread, so each needs its own session for lazy associations
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        // Bounds a section's queries, so one that outlives the request still ends
+        this.transactionTemplate.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMillis + 999)));
+        this.ttlMillis = ttlMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.pageSize = pageSize;
+
+        AtomicInteger threadIds = new AtomicInteger();
+        int poolSize = Math.max(1, threads);
+        this.workers = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public GenericResponse getDashboard() {
+        ActorContext actor = ActorContext.require();
+        log.info("Fetching dashboard: userId={}", actor.userId());
+
+        CompletableFuture<Shared> shared = shared();
+
+        // The caller's own counts are read while the shared sections are in flight
+        Map<?, ?> unread = (Map<?, ?>) userNotificationService.getUnreadCount(actor.userId()).getData();
+        Integer unreadNotices = (Integer) noticeService.getUnreadCount(actor.email()).getData();
+
+        Shared sections = await(shared);
+        DashboardResponse dashboard = DashboardResponse.builder()
+                .financialSummary(sections.financialSummary())
+                .pendingPayments(actor.hasPermission(Permission.PAYMENT_MANAGE) ? sections.pendingPayments() : null)
+                .pendingExpenses(actor.hasPermission(Permission.EXPENSE_MANAGE) ? sections.pendingExpenses() : null)
+                .recentAuditTrails(actor.hasPermission(Permission.AUDIT_READ) ? sections.recentAuditTrails() : null)
+                .unreadNotifications((Long) unread.get("unread"))
+                .unreadNotices(unreadNotices)
+                .computedAt(sections.computedAt())
+                .build();
+
+        return GenericResponse.builder()
+                .isSuccess(true)
+                .message("Dashboard retrieved successfully")
+                .data(dashboard)
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    /**
+     * The shared sections: the cached ones while fresh, the running
+     * computation if there is one, otherwise a new computation. A failed
+     * computation whose sections are still running is not replaced yet.
+     */
+    private synchronized CompletableFuture<Shared> shared() {
+        if (current != null) {
+            CompletableFuture<Shared> result = current.result();
+            if (!result.isDone()) {
+                coalesced.increment();
+                return result;
+            }
+            if (!result.isCompletedExceptionally() && result.join().expiresAt() > System.currentTimeMillis()) {
+                hits.increment();
+                return result;
+            }
+            if (!current.settled().isDone()) {
+                stalled.increment();
+                throw new ServiceUnavailableException("Dashboard is taking too long to load. Please retry shortly.", 5);
+            }
+        }
+        computations.increment();
+        current = compute();
+        return current.result();
+    }
+
+    private Computation compute() {
+        long started = System.nanoTime();
+        LocalDateTime computedAt = LocalDateTime.now();
+
+        CompletableFuture<Void> settled = new CompletableFuture<>();
+        AtomicInteger outstanding = new AtomicInteger(4);
+        Runnable ended = () -> {
+            if (outstanding.decrementAndGet() == 0) {
+                settled.complete(null);
+            }
+        };
+
+        Section<FinancialSummaryResponse> summary = new Section<>(ended, () ->
+                (FinancialSummaryResponse) reportService.generateFinancialSummary(ReportFilterRequest.builder().build()).getData());
+        Section<PageResponse<?>> payments = new Section<>(ended, () -> (PageResponse<?>) paymentService
+                .getPendingPayments(PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "paymentDate")))
+                .getData());
+        Section<PageResponse<?>> expenses = new Section<>(ended, () -> (PageResponse<?>) expenseService
+                .getPendingExpenses(PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "expenseDate")))
+                .getData());
+        Section<PageResponse<?>> audits = new Section<>(ended, () ->
+                (PageResponse<?>) auditService.getAllAuditTrails("", pageSize).getData());
+        List<Section<?>> sections = List.of(summary, payments, expenses, audits);
+
+        try {
+            sections.forEach(workers::execute);
+        } catch (RejectedExecutionException e) {
+            sections.forEach(Section::cancel);
+            rejected.increment();
+            throw new ServiceUnavailableException("Dashboard is busy. Please retry shortly.", 5);
+        }
+
+        CompletableFuture<Shared> result = CompletableFuture.allOf(summary.result, payments.result, expenses.result, audits.result)
+                .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .thenApply(done -> new Shared(summary.result.join(), payments.result.join(), expenses.result.join(),
+                        audits.result.join(), computedAt, System.currentTimeMillis() + ttlMillis))
+                .whenComplete((shared, failure) -> {
+                    computeNanos.add(System.nanoTime() - started);
+                    if (failure != null) {
+                        sections.forEach(Section::cancel);
+                        failures.increment();
+                        log.warn("Dashboard computation failed: {}", failure.toString());
+                    }
+                });
+        return new Computation(result, settled);
+    }
+
+    private static Shared await(CompletableFuture<Shared> shared) {
+        try {
+            return shared.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TimeoutException) {
+                throw new ServiceUnavailableException("Dashboard is taking too long to load. Please retry shortly.", 5);
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    @Override
+    public String metricsName() {
+        return "dashboard";
+    }
+
+    @Override
+    public Map<String, Object> metricsSnapshot() {
+        long computed = computations.sum();
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("hits", hits.sum());
+        snapshot.put("coalesced", coalesced.sum());
+        snapshot.put("computations", computed);
+        snapshot.put("failures", failures.sum());
+        snapshot.put("stalled", stalled.sum());
+        snapshot.put("rejected", rejected.sum());
+        snapshot.put("queued", workers.getQueue().size());
+        snapshot.put("avgComputeMs", computed > 0 ? computeNanos.sum() / computed / 1_000_000.0 : 0.0);
+        return snapshot;
+    }
+
+    /**
+     * One section query, run on the pool in its own read-only transaction.
+     * Cancelling it before a worker picks it up means it never runs.
+     */
+    private final class Section<T> implements Runnable {
+
+        private final Runnable ended;
+        private final Supplier<T> query;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        Section(Runnable ended, Supplier<T> query) {
+            this.ended = ended;
+            this.query = query;
+        }
+
+        @Override
+        public void run() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                result.complete(transactionTemplate.execute(status -> query.get()));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            } finally {
+                ended.run();
+            }
+        }
+
+        // A section already running is left to its transaction timeout
+        void cancel() {
+            if (claimed.compareAndSet(false, true)) {
+                workers.remove(this);
+                result.cancel(false);
+                ended.run();
+            }
+        }
+    }
+
+    /** The shared result, and when every section query has actually ended. */
+    private record Computation(CompletableFuture<Shared> result, CompletableFuture<Void> settled) {
+    }
+
+    private record Shared(FinancialSummaryResponse financialSummary,
+                          PageResponse<?> pendingPayments,
+                          PageResponse<?> pendingExpenses,
+                          PageResponse<?> recentAuditTrails,
+                          LocalDateTime computedAt,
+                          long expiresAt) {
+    }
+}
@@ -9,18 +9,28 @@ import com.common_wealth_builders.entity.Expense;
 import com.common_wealth_builders.entity.User;
 import com.common_wealth_builders.enums.ExpenseCategory;
 import com.common_wealth_builders.exception.ResourceNotFoundException;
+import com.common_wealth_builders.repository.CountStrategy;
+import com.common_wealth_builders.repository.CountedPage;
 import com.common_wealth_builders.repository.ExpenseRepository;
 import com.common_wealth_builders.repository.UserRepository;
+import com.common_wealth_builders.security.ActorContext;
 import com.common_wealth_builders.service.AuditService;
 import com.common_wealth_builders.service.ExpenseService;
+import com.common_wealth_builders.utils.CursorCodec;
+import com.common_wealth_builders.utils.LikePatterns;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -28,14 +38,25 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ExpenseServiceImpl implements ExpenseService {
     
+    private static final String CURSOR_SCOPE = "expenses";
+    private static final Sort CURSOR_SORT = Sort.by(Sort.Direction.DESC, "expenseDate", "id");
+    
     private final ExpenseRepository expenseRepository;
     private final UserRepository userRepository;
     private final AuditService auditService;
+    private final CountStrategy countStrategy;
+    private final DailyRollupStore dailyRollupStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PeriodSnapshotStore periodSnapshotStore;
 
-    public ExpenseServiceImpl(ExpenseRepository expenseRepository, UserRepository userRepository, AuditService auditService) {
+    public ExpenseServiceImpl(ExpenseRepository expenseRepository, UserRepository userRepository, AuditService auditService, CountStrategy countStrategy, DailyRollupStore dailyRollupStore, ApplicationEventPublisher eventPublisher, PeriodSnapshotStore periodSnapshotStore) {
         this.expenseRepository = expenseRepository;
         this.userRepository = userRepository;
         this.auditService = auditService;
+        this.countStrategy = countStrategy;
+        this.dailyRollupStore = dailyRollupStore;
+        this.eventPublisher = eventPublisher;
+        this.periodSnapshotStore = periodSnapshotStore;
     }
 
     @Override
@@ -44,6 +65,7 @@ public class ExpenseServiceImpl implements ExpenseService {
         log.info("Creating expense: title={}, amount={}, category={}", 
                 request.getTitle(), request.getAmount(), request.getCategory());
         
+        periodSnapshotStore.assertOpen(request.getExpenseDate());
         Expense expense = Expense.builder()
                 .title(request.getTitle())
                 .description(request.getDescription())
@@ -57,6 +79,8 @@ public class ExpenseServiceImpl implements ExpenseService {
                 .build();
         
         Expense savedExpense = expenseRepository.save(expense);
+        dailyRollupStore.expenseAdded(savedExpense.getExpenseDate(), savedExpense.getCategory(), false, savedExpense.getAmount());
+        publishChange(savedExpense.getExpenseDate());
         
         auditService.logAction(
                 getCurrentUserId(createdBy),
@@ -80,7 +104,9 @@ public class ExpenseServiceImpl implements ExpenseService {
     public GenericResponse getAllExpenses(Pageable pageable) {
         log.info("Fetching all expenses with pagination");
         
-        Page<Expense> expensesPage = expenseRepository.findAll(pageable);
+        CountedPage<Expense> counted = countStrategy.page("expenses", null, pageable,
+                expenseRepository::findSliceBy, expenseRepository::count);
+        Page<Expense> expensesPage = counted.page();
         
         List<ExpenseResponse> expenseResponses = expensesPage.getContent().stream()
                 .map(this::mapToExpenseResponse)
@@ -92,6 +118,7 @@ public class ExpenseServiceImpl implements ExpenseService {
                 .pageSize(expensesPage.getSize())
                 .totalElements(expensesPage.getTotalElements())
                 .totalPages(expensesPage.getTotalPages())
+                .totalExact(counted.exact())
                 .last(expensesPage.isLast())
                 .first(expensesPage.isFirst())
                 .build();
@@ -106,6 +133,42 @@ public class ExpenseServiceImpl implements ExpenseService {
                 .build();
     }
     
+    @Override
+    public GenericResponse getAllExpenses(String cursor, int size) {
+        log.info("Fetching expenses after cursor, size={}", size);
+        
+        Pageable pageable = PageRequest.of(0, size, CURSOR_SORT);
+        Slice<Expense> slice;
+        if (cursor.isEmpty()) {
+            slice = expenseRepository.findSliceBy(pageable);
+        } else {
+            CursorCodec.Position after = CursorCodec.decode(CURSOR_SCOPE, cursor);
+            slice = expenseRepository.findSliceAfter(after.sortKey(), after.id(), pageable);
+        }
+        
+        List<Expense> expenses = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            Expense lastExpense = expenses.get(expenses.size() - 1);
+            nextCursor = CursorCodec.encode(CURSOR_SCOPE, lastExpense.getExpenseDate(), lastExpense.getId());
+        }
+        
+        PageResponse<ExpenseResponse> pageResponse = PageResponse.<ExpenseResponse>builder()
+                .content(expenses.stream().map(this::mapToExpenseResponse).collect(Collectors.toList()))
+                .pageSize(slice.getSize())
+                .first(cursor.isEmpty())
+                .last(!slice.hasNext())
+                .nextCursor(nextCursor)
+                .build();
+        
+        return GenericResponse.builder()
+                .isSuccess(true)
+                .message("Expenses retrieved successfully")
+                .data(pageResponse)
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+    
     @Override
     public GenericResponse getExpenseById(Long id) {
         log.info("Fetching expense by ID: {}", id);
@@ -134,7 +197,13 @@ public class ExpenseServiceImpl implements ExpenseService {
         if (expense.isApproved()) {
             throw new IllegalStateException("Cannot update approved expense");
         }
+        periodSnapshotStore.assertOpen(expense.getExpenseDate());
+        periodSnapshotStore.assertOpen(request.getExpenseDate());
         
+        if (expense.isActive()) {
+            dailyRollupStore.expenseRemoved(expense.getExpenseDate(), expense.getCategory(), false, expense.getAmount());
+        }
+        publishChange(expense.getExpenseDate());
         expense.setTitle(request.getTitle());
         expense.setDescription(request.getDescription());
         expense.setAmount(request.getAmount());
@@ -145,6 +214,10 @@ public class ExpenseServiceImpl implements ExpenseService {
         expense.setReceiptUrl(request.getReceiptUrl());
         
         Expense updatedExpense = expenseRepository.save(expense);
+        if (updatedExpense.isActive()) {
+            dailyRollupStore.expenseAdded(updatedExpense.getExpenseDate(), updatedExpense.getCategory(), false, updatedExpense.getAmount());
+        }
+        publishChange(updatedExpense.getExpenseDate());
         
         auditService.logAction(
                 getCurrentUserId(updatedBy),
@@ -174,9 +247,15 @@ public class ExpenseServiceImpl implements ExpenseService {
         if (expense.isApproved()) {
             throw new IllegalStateException("Cannot delete approved expense");
         }
+        periodSnapshotStore.assertOpen(expense.getExpenseDate());
         
+        boolean wasActive = expense.isActive();
         expense.softDelete(deletedBy);
         expenseRepository.save(expense);
+        if (wasActive) {
+            dailyRollupStore.expenseRemoved(expense.getExpenseDate(), expense.getCategory(), false, expense.getAmount());
+        }
+        publishChange(expense.getExpenseDate());
         
         auditService.logAction(
                 getCurrentUserId(deletedBy),
@@ -202,11 +281,16 @@ public class ExpenseServiceImpl implements ExpenseService {
         Expense expense = expenseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Expense not found with ID: " + id));
         
-        User approver = userRepository.findByEmail(approvedBy)
-                .orElseThrow(() -> new ResourceNotFoundException("Approver not found"));
+        periodSnapshotStore.assertOpen(expense.getExpenseDate());
+        ActorContext actor = ActorContext.require();
+        User approver = userRepository.getReferenceById(actor.userId());
         
-        expense.approve(approver, request.getRemarks());
+        expense.approve(approver, actor.email(), request.getRemarks());
         Expense approvedExpense = expenseRepository.save(expense);
+        if (approvedExpense.isActive()) {
+            dailyRollupStore.expenseApproved(approvedExpense.getExpenseDate(), approvedExpense.getCategory(), approvedExpense.getAmount());
+        }
+        publishChange(approvedExpense.getExpenseDate());
         
         auditService.logAction(
                 approver.getId(),
@@ -262,7 +346,7 @@ public class ExpenseServiceImpl implements ExpenseService {
         ExpenseCategory expenseCategory = category != null ? ExpenseCategory.valueOf(category.toUpperCase()) : null;
         
         Page<Expense> expensesPage = expenseRepository.searchExpenses(
-                expenseCategory, isApproved, search != null ? search : "", pageable);
+                expenseCategory, isApproved, LikePatterns.contains(search), pageable);
         
         List<ExpenseResponse> expenseResponses = expensesPage.getContent().stream()
                 .map(this::mapToExpenseResponse)
@@ -312,12 +396,18 @@ public class ExpenseServiceImpl implements ExpenseService {
     
     private Long getCurrentUserId(String email) {
         try {
-            return userRepository.findByEmail(email)
-                    .map(User::getId)
-                    .orElse(1L);
+            return ActorContext.current()
+                    .map(ActorContext::userId)
+                    .orElseGet(() -> userRepository.findByEmail(email)
+                            .map(User::getId)
+                            .orElse(1L));
         } catch (Exception e) {
             log.warn("Could not get current user ID, using 1", e);
             return 1L;
         }
     }
-}
\ No newline at end of file
+
+    private void publishChange(LocalDateTime expenseDate) {
+        eventPublisher.publishEvent(FinancialDataChangedEvent.expense(expenseDate.toLocalDate()));
+    }
+}
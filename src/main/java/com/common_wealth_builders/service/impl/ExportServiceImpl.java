@@ -0,0 +1,324 @@
+package com.common_wealth_builders.service.impl;
+
+import com.common_wealth_builders.enums.ExpenseCategory;
+import com.common_wealth_builders.enums.PaymentStatus;
+import com.common_wealth_builders.exception.InvalidPeriodException;
+import com.common_wealth_builders.exception.InvalidReportRequestException;
+import com.common_wealth_builders.security.ActorContext;
+import com.common_wealth_builders.service.AuditService;
+import com.common_wealth_builders.service.ExportService;
+import com.common_wealth_builders.utils.LikePatterns;
+import com.common_wealth_builders.utils.MetricsSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Raw CSV extracts for auditors. Each export is one query read through a
+ * server-side cursor and written row by row, so memory use does not grow
+ * with the number of rows. Filters match the search endpoints and are
+ * applied as SQL conditions only when given. Audit exports also include
+ * rows already moved to the {@link AuditArchive}, ahead of the live ones
+ * since archived months are always the oldest.
+ */
+@Service
+@Slf4j
+public class ExportServiceImpl implements ExportService, MetricsSource {
+
+    private static final String[] PAYMENT_HEADER = {
+            "id", "user_id", "member_name", "member_email", "amount", "payment_date", "payment_reference",
+            "bank_name", "status", "is_verified", "verification_date", "verified_by", "description",
+            "is_deleted", "created_date"};
+
+    private static final String PAYMENTS_SQL = """
+            SELECT p.id, p.user_id, TRIM(CONCAT(u.firstname, ' ', u.lastname)), u.email, p.amount, p.payment_date,
+                   p.payment_reference, p.bank_name, p.status, p.is_verified, p.verification_date, p.verified_by,
+                   p.description, p.is_deleted, p.created_date
+            FROM payments p JOIN users u ON u.id = p.user_id
+            """;
+
+    private static final String[] EXPENSE_HEADER = {
+            "id", "title", "description", "amount", "category", "expense_date", "vendor", "receipt_number",
+            "is_approved", "approval_date", "approved_by", "approval_remarks", "is_deleted", "created_date",
+            "created_by"};
+
+    private static final String EXPENSES_SQL = """
+            SELECT e.id, e.title, e.description, e.amount, e.category, e.expense_date, e.vendor, e.receipt_number,
+                   e.is_approved, e.approval_date, e.approved_by, e.approval_remarks, e.is_deleted, e.created_date,
+                   e.created_by
+            FROM expenses e
+            """;
+
+    private static final String[] AUDIT_HEADER = {
+            "id", "created_date", "user_id", "user_email", "action", "module", "description", "ip_address",
+            "user_agent"};
+
+    private static final String AUDIT_SQL = """
+            SELECT a.id, a.created_date, a.user_id, u.email, a.action, a.module, a.description, a.ip_address,
+                   a.user_agent
+            FROM audit_trails a LEFT JOIN users u ON u.id = a.user_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditService auditService;
+    private final AuditArchive auditArchive;
+    private final long maxDurationNanos;
+
+    private final LongAdder exports = new LongAdder();
+    private final LongAdder rowsExported = new LongAdder();
+    private final LongAdder failedExports = new LongAdder();
+
+    public ExportServiceImpl(DataSource dataSource,
+                             PlatformTransactionManager transactionManager,
+                             AuditService auditService,
+                             AuditArchive auditArchive,
+                             @Value("${exports.fetch-size:1000}") int fetchSize,
+                             @Value("${exports.max-duration-ms:600000}") long maxDurationMillis) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        // Cursors only fetch in batches inside a transaction
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        // Bounds the query itself; the deadline below bounds a cursor kept open by a slow download
+        this.transactionTemplate.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(maxDurationMillis)));
+        this.maxDurationNanos = TimeUnit.MILLISECONDS.toNanos(maxDurationMillis);
+        this.auditService = auditService;
+        this.auditArchive = auditArchive;
+    }
+
+    @Override
+    public CsvExport exportPayments(Long userId, String status, Boolean isVerified) {
+        log.info("Exporting payments: userId={}, status={}, isVerified={}", userId, status, isVerified);
+
+        PaymentStatus paymentStatus = parse(PaymentStatus.class, status, "status");
+        Query query = new Query(PAYMENTS_SQL)
+                .filter("p.user_id = ?", userId)
+                .filter("p.status = ?", paymentStatus != null ? paymentStatus.name() : null)
+                .filter("p.is_verified = ?", isVerified)
+                .orderBy("p.payment_date, p.id");
+
+        return export(null, query, PAYMENT_HEADER, "PAYMENTS_EXPORTED", "PAYMENTS",
+                "Payments exported: userId=" + userId + ", status=" + paymentStatus + ", isVerified=" + isVerified);
+    }
+
+    @Override
+    public CsvExport exportExpenses(String category, Boolean isApproved, String search) {
+        log.info("Exporting expenses: category={}, isApproved={}, search={}", category, isApproved, search);
+
+        ExpenseCategory expenseCategory = parse(ExpenseCategory.class, category, "category");
+        Query query = new Query(EXPENSES_SQL)
+                .filter("e.category = ?", expenseCategory != null ? expenseCategory.name() : null)
+                .filter("e.is_approved = ?", isApproved);
+        if (StringUtils.hasText(search)) {
+            String pattern = LikePatterns.contains(search);
+            query.where("(LOWER(e.title) LIKE ? ESCAPE '\\' OR LOWER(e.description) LIKE ? ESCAPE '\\')",
+                    pattern, pattern);
+        }
+        query.orderBy("e.expense_date, e.id");
+
+        return export(null, query, EXPENSE_HEADER, "EXPENSES_EXPORTED", "EXPENSES",
+                "Expenses exported: category=" + expenseCategory + ", isApproved=" + isApproved + ", search=" + search);
+    }
+
+    @Override
+    public CsvExport exportAuditTrails(Long userId, String module, String action,
+                                       LocalDateTime startDate, LocalDateTime endDate) {
+        log.info("Exporting audit trails: userId={}, module={}, action={}, startDate={}, endDate={}",
+                userId, module, action, startDate, endDate);
+
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new InvalidPeriodException("Start date must not be after end date");
+        }
+        Query query = new Query(AUDIT_SQL)
+                .filter("a.user_id = ?", userId)
+                .filter("a.module = ?", module)
+                .filter("a.action = ?", action)
+                .filter("a.created_date >= ?", startDate != null ? Timestamp.valueOf(startDate) : null)
+                .filter("a.created_date <= ?", endDate != null ? Timestamp.valueOf(endDate) : null)
+                .orderBy("a.created_date, a.id");
+
+        LocalDateTime from = startDate != null ? startDate : LocalDateTime.MIN;
+        LocalDateTime to = endDate != null ? endDate : LocalDateTime.MAX;
+        RowSource<Object[]> archived = auditArchive.overlaps(from, to)
+                ? archivedAuditRows(userId, module, action, from, to) : null;
+        return export(archived, query, AUDIT_HEADER, "AUDIT_EXPORTED", "AUDIT",
+                "Audit trail exported: userId=" + userId + ", module=" + module + ", action=" + action
+                        + ", startDate=" + startDate + ", endDate=" + endDate);
+    }
+
+    /**
+     * The export's writer. The audit event is only recorded once every row
+     * was written; the actor is taken now, while the request is current.
+     */
+    private CsvExport export(RowSource<Object[]> leading, Query query, String[] header,
+                             String action, String module, String description) {
+        Optional<ActorContext> actor = ActorContext.current();
+        return out -> {
+            long rows = write(leading, query, header, out);
+            actor.ifPresent(a -> auditService.logAction(a.userId(), action, module, description + ", rows=" + rows));
+        };
+    }
+
+    // Same columns as AUDIT_SQL; emails are looked up once per user
+    private RowSource<Object[]> archivedAuditRows(Long userId, String module, String action,
+                                                  LocalDateTime from, LocalDateTime to) {
+        return consumer -> {
+            Map<Long, String> emails = new HashMap<>();
+            auditArchive.forEachOldestFirst(from, to, record -> {
+                if ((userId == null || userId == record.userId())
+                        && (module == null || module.equals(record.module()))
+                        && (action == null || action.equals(record.action()))) {
+                    if (!emails.containsKey(record.userId())) {
+                        emails.put(record.userId(), emailOf(record.userId()));
+                    }
+                    consumer.accept(new Object[]{
+                            record.id(), Timestamp.valueOf(record.createdDate()), record.userId(),
+                            emails.get(record.userId()), record.action(), record.module(), record.description(),
+                            record.ipAddress(), record.userAgent()});
+                }
+            });
+        };
+    }
+
+    private String emailOf(long userId) {
+        List<String> emails = jdbcTemplate.queryForList("SELECT email FROM users WHERE id = ?", String.class, userId);
+        return emails.isEmpty() ? null : emails.get(0);
+    }
+
+    /** Writes the header, then {@code leading} rows if given, then the query's rows. */
+    private long write(RowSource<Object[]> leading, Query query, String[] header, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        long deadline = started + maxDurationNanos;
+        CsvWriter csv = new CsvWriter(out);
+        Object[] cells = new Object[header.length];
+        long[] rows = {0};
+        try {
+            csv.row((Object[]) header);
+            if (leading != null) {
+                leading.forEachRow(row -> {
+                    checkDeadline(deadline);
+                    try {
+                        csv.row(row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    rows[0]++;
+                });
+            }
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.query(query.sql(), (RowCallbackHandler) rs -> {
+                        checkDeadline(deadline);
+                        for (int i = 0; i < cells.length; i++) {
+                            cells[i] = rs.getObject(i + 1);
+                        }
+                        try {
+                            csv.row(cells);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        rows[0]++;
+                    }, query.params()));
+            csv.flush();
+        } catch (UncheckedIOException e) {
+            failedExports.increment();
+            // Usually the client went away mid-download
+            log.warn("CSV export aborted after {} rows: {}", rows[0], e.getCause().getMessage());
+            throw e.getCause();
+        } finally {
+            rowsExported.add(rows[0]);
+        }
+        exports.increment();
+        log.info("CSV export finished: rows={}, tookMs={}", rows[0], (System.nanoTime() - started) / 1_000_000);
+        return rows[0];
+    }
+
+    // Ends the transaction, and frees its connection, of an export a slow client keeps going too long
+    private void checkDeadline(long deadline) {
+        if (System.nanoTime() - deadline > 0) {
+            throw new UncheckedIOException(new IOException("Export exceeded exports.max-duration-ms"));
+        }
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value, String filter) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidReportRequestException("Unknown " + filter + ": " + value);
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "exports";
+    }
+
+    @Override
+    public Map<String, Object> metricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("exports", exports.sum());
+        snapshot.put("failedExports", failedExports.sum());
+        snapshot.put("rowsExported", rowsExported.sum());
+        return snapshot;
+    }
+
+    /** A base query with the conditions of the filters that were given. */
+    private static final class Query {
+
+        private final StringBuilder sql;
+        private final List<Object> params = new ArrayList<>();
+        private boolean hasWhere;
+
+        private Query(String select) {
+            this.sql = new StringBuilder(select);
+        }
+
+        /** Adds the condition only when the filter value was given. */
+        private Query filter(String condition, Object value) {
+            return value != null ? where(condition, value) : this;
+        }
+
+        private Query where(String condition, Object... values) {
+            sql.append(hasWhere ? " AND " : "WHERE ").append(condition);
+            hasWhere = true;
+            params.addAll(List.of(values));
+            return this;
+        }
+
+        private Query orderBy(String order) {
+            sql.append(" ORDER BY ").append(order);
+            return this;
+        }
+
+        private String sql() {
+            return sql.toString();
+        }
+
+        private Object[] params() {
+            return params.toArray();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.common_wealth_builders.service.impl;
+
+import java.time.LocalDate;
+
+/**
+ * Published inside the transaction that creates or changes a payment or
+ * expense, or closes or reopens the month of {@code day}, so cached
+ * reports covering that day can be dropped.
+ *
+ * @param day     the payment or expense date that changed
+ * @param payerId the paying member for payment changes, otherwise {@code null}
+ */
+public record FinancialDataChangedEvent(LocalDate day, Long payerId) {
+
+    public static FinancialDataChangedEvent payment(LocalDate day, Long payerId) {
+        return new FinancialDataChangedEvent(day, payerId);
+    }
+
+    public static FinancialDataChangedEvent expense(LocalDate day) {
+        return new FinancialDataChangedEvent(day, null);
+    }
+
+    public static FinancialDataChangedEvent period(LocalDate day) {
+        return new FinancialDataChangedEvent(day, null);
+    }
+}
@@ -0,0 +1,191 @@
+package com.common_wealth_builders.service.impl;
+
+import com.common_wealth_builders.dto.response.FinancialPeriodResponse;
+import com.common_wealth_builders.dto.response.FinancialSummaryResponse;
+import com.common_wealth_builders.dto.response.GenericResponse;
+import com.common_wealth_builders.dto.response.MemberContributionTotal;
+import com.common_wealth_builders.entity.FinancialPeriodSnapshot;
+import com.common_wealth_builders.enums.PaymentStatus;
+import com.common_wealth_builders.exception.InvalidPeriodException;
+import com.common_wealth_builders.exception.PeriodClosedException;
+import com.common_wealth_builders.exception.ResourceNotFoundException;
+import com.common_wealth_builders.repository.FinancialPeriodSnapshotRepository;
+import com.common_wealth_builders.repository.MemberPaymentTotal;
+import com.common_wealth_builders.repository.PaymentRepository;
+import com.common_wealth_builders.security.ActorContext;
+import com.common_wealth_builders.service.AuditService;
+import com.common_wealth_builders.service.FinancialPeriodService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FinancialPeriodServiceImpl implements FinancialPeriodService {
+    
+    private final FinancialPeriodSnapshotRepository snapshotRepository;
+    private final PaymentRepository paymentRepository;
+    private final DailyRollupStore dailyRollupStore;
+    private final PeriodSnapshotStore periodSnapshotStore;
+    private final AuditService auditService;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Override
+    @Transactional
+    public GenericResponse closePeriod(int year, int month) {
+        YearMonth period = ReportServiceImpl.monthOf(year, month);
+        ActorContext actor = ActorContext.require();
+        log.info("Closing financial period: period={}, closedBy={}", period, actor.email());
+        
+        if (!period.isBefore(YearMonth.now())) {
+            throw new InvalidPeriodException("Financial period " + period + " has not ended yet");
+        }
+        
+        // Holds off writes into the month until the snapshot is committed
+        periodSnapshotStore.lockForClose(period);
+        if (snapshotRepository.existsByPeriodYearAndPeriodMonthAndReopenedAtIsNull(year, month)) {
+            throw new PeriodClosedException("Financial period " + period + " is already closed");
+        }
+        
+        LocalDateTime startDate = ReportServiceImpl.startOf(period);
+        LocalDateTime endDate = ReportServiceImpl.endOf(period);
+        FinancialSummaryResponse summary = ReportServiceImpl.summaryOf(
+                dailyRollupStore.totals(startDate, endDate), startDate, endDate);
+        List<MemberContributionTotal> memberTotals = memberTotals(
+                paymentRepository.totalsByMemberBetween(startDate, period.plusMonths(1).atDay(1).atStartOfDay()));
+        
+        FinancialPeriodSnapshot snapshot = snapshotRepository.save(FinancialPeriodSnapshot.builder()
+                .periodYear(year)
+                .periodMonth(month)
+                .summaryJson(periodSnapshotStore.write(summary))
+                .memberTotalsJson(periodSnapshotStore.write(memberTotals))
+                .closedBy(actor.email())
+                .closedAt(LocalDateTime.now())
+                .build());
+        eventPublisher.publishEvent(FinancialDataChangedEvent.period(period.atDay(1)));
+        
+        auditService.logAction(actor.userId(), "PERIOD_CLOSED", "REPORTS",
+                "Financial period closed: " + period + ", income=" + summary.getTotalIncome()
+                        + ", expenses=" + summary.getTotalExpenses());
+        
+        log.info("Financial period closed: period={}, members={}", period, memberTotals.size());
+        
+        return GenericResponse.builder()
+                .isSuccess(true)
+                .message("Financial period closed successfully")
+                .data(toResponse(snapshot, true))
+                .httpStatus(HttpStatus.CREATED)
+                .build();
+    }
+    
+    @Override
+    @Transactional
+    public GenericResponse reopenPeriod(int year, int month, String reason) {
+        YearMonth period = ReportServiceImpl.monthOf(year, month);
+        ActorContext actor = ActorContext.require();
+        log.info("Reopening financial period: period={}, reopenedBy={}", period, actor.email());
+        
+        periodSnapshotStore.lockForClose(period);
+        FinancialPeriodSnapshot snapshot = periodSnapshotStore.closedSnapshot(period)
+                .orElseThrow(() -> new ResourceNotFoundException("Financial period " + period + " is not closed"));
+        
+        snapshot.reopen(actor.email(), reason);
+        FinancialPeriodSnapshot reopened = snapshotRepository.save(snapshot);
+        eventPublisher.publishEvent(FinancialDataChangedEvent.period(period.atDay(1)));
+        
+        auditService.logAction(actor.userId(), "PERIOD_REOPENED", "REPORTS",
+                "Financial period reopened: " + period + (reason != null ? ", reason: " + reason : ""));
+        
+        log.info("Financial period reopened: period={}", period);
+        
+        return GenericResponse.builder()
+                .isSuccess(true)
+                .message("Financial period reopened successfully")
+                .data(toResponse(reopened, false))
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public GenericResponse getClosedPeriods() {
+        log.info("Fetching closed financial periods");
+        
+        List<FinancialPeriodResponse> periods = snapshotRepository.findByReopenedAtIsNullOrderByPeriodYearDescPeriodMonthDesc()
+                .stream()
+                .map(snapshot -> toResponse(snapshot, false))
+                .toList();
+        
+        return GenericResponse.builder()
+                .isSuccess(true)
+                .message("Closed financial periods retrieved successfully")
+                .data(periods)
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public GenericResponse getPeriodSnapshot(int year, int month) {
+        YearMonth period = ReportServiceImpl.monthOf(year, month);
+        log.info("Fetching financial period snapshot: period={}", period);
+        
+        FinancialPeriodSnapshot snapshot = periodSnapshotStore.closedSnapshot(period)
+                .orElseThrow(() -> new ResourceNotFoundException("Financial period " + period + " is not closed"));
+        
+        return GenericResponse.builder()
+                .isSuccess(true)
+                .message("Financial period snapshot retrieved successfully")
+                .data(toResponse(snapshot, true))
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+    
+    private static List<MemberContributionTotal> memberTotals(List<MemberPaymentTotal> rows) {
+        Map<Long, MemberContributionTotal> byMember = new TreeMap<>();
+        for (MemberPaymentTotal row : rows) {
+            MemberContributionTotal total = byMember.computeIfAbsent(row.userId(), userId -> MemberContributionTotal.builder()
+                    .userId(userId)
+                    .totalContributions(BigDecimal.ZERO)
+                    .verifiedContributions(BigDecimal.ZERO)
+                    .pendingContributions(BigDecimal.ZERO)
+                    .paymentCount(0)
+                    .build());
+            total.setTotalContributions(total.getTotalContributions().add(row.amount()));
+            total.setPaymentCount(total.getPaymentCount() + row.count().intValue());
+            if (row.status() == PaymentStatus.VERIFIED) {
+                total.setVerifiedContributions(row.amount());
+            } else if (row.status() == PaymentStatus.PENDING) {
+                total.setPendingContributions(row.amount());
+            }
+        }
+        return new ArrayList<>(byMember.values());
+    }
+    
+    private FinancialPeriodResponse toResponse(FinancialPeriodSnapshot snapshot, boolean withFigures) {
+        return FinancialPeriodResponse.builder()
+                .year(snapshot.getPeriodYear())
+                .month(snapshot.getPeriodMonth())
+                .closed(snapshot.isClosed())
+                .closedBy(snapshot.getClosedBy())
+                .closedAt(snapshot.getClosedAt())
+                .reopenedBy(snapshot.getReopenedBy())
+                .reopenedAt(snapshot.getReopenedAt())
+                .reopenReason(snapshot.getReopenReason())
+                .summary(withFigures ? periodSnapshotStore.summaryOf(snapshot) : null)
+                .memberTotals(withFigures ? periodSnapshotStore.memberTotalsOf(snapshot) : null)
+                .build();
+    }
+}
@@ -0,0 +1,313 @@
+package com.common_wealth_builders.service.impl;
+
+import com.common_wealth_builders.dto.response.UserContributionResponse;
+import com.common_wealth_builders.entity.ReportJob;
+import com.common_wealth_builders.enums.PaymentStatus;
+import com.common_wealth_builders.enums.ReportJobType;
+import com.common_wealth_builders.utils.MetricsSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes one contribution statement per member into a ZIP archive. Members
+ * and their payments are read a page at a time; statements are
+ * rendered on a small pool while the job thread appends them to the
+ * archive in member order, so at most a window of rendered PDFs is held.
+ * <p>
+ * Every {@code checkpoint-every} entries the archive is synced to disk and
+ * the last member id saved on the job. A job picked up again after a
+ * restart copies the entries written before that checkpoint out of the
+ * old partial archive and continues with the next member.
+ */
+@Component
+@Slf4j
+public class MemberStatementWriter implements MetricsSource {
+
+    private static final DateTimeFormatter PERIOD_FORMATTER = DateTimeFormatter.ofPattern("MMM dd, yyyy");
+
+    private final PaymentReportRows paymentReportRows;
+    private final PdfReportService pdfReportService;
+    private final ReportDataMapper reportDataMapper;
+    private final ReportArtifactStore artifactStore;
+    private final ExecutorService renderers;
+    private final int window;
+    private final int checkpointEvery;
+
+    private final LongAdder archivesWritten = new LongAdder();
+    private final LongAdder statementsRendered = new LongAdder();
+    private final LongAdder statementsCarriedOver = new LongAdder();
+    private final LongAdder resumed = new LongAdder();
+    private final LongAdder renderNanos = new LongAdder();
+
+    public MemberStatementWriter(PaymentReportRows paymentReportRows,
+                                 PdfReportService pdfReportService,
+                                 ReportDataMapper reportDataMapper,
+                                 ReportArtifactStore artifactStore,
+                                 @Value("${reports.statements.threads:0}") int threads,
+                                 @Value("${reports.statements.checkpoint-every:500}") int checkpointEvery) {
+        this.paymentReportRows = paymentReportRows;
+        this.pdfReportService = pdfReportService;
+        this.reportDataMapper = reportDataMapper;
+        this.artifactStore = artifactStore;
+        this.checkpointEvery = Math.max(1, checkpointEvery);
+
+        // 0 means one thread per core
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.window = poolSize * 2;
+        AtomicInteger threadIds = new AtomicInteger();
+        this.renderers = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "member-statement-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** Called after each synced batch; throwing stops the archive. */
+    @FunctionalInterface
+    public interface Checkpoint {
+        void save(long resumeAfterId, int done, int total);
+    }
+
+    /** Writes the statements of a job's period and returns the archive's artifact name. */
+    public String write(ReportJob job, Checkpoint checkpoint) throws IOException {
+        String name = artifactStore.nameFor(job.getId(), ReportJobType.MEMBER_STATEMENTS.getExtension());
+        Path part = artifactStore.partPath(name);
+        Path previous = artifactStore.resolve(name + ".resume");
+        int keep = job.getItemsDone() != null ? job.getItemsDone() : 0;
+
+        if (keep == 0) {
+            Files.deleteIfExists(previous);
+        } else if (!Files.exists(previous) && Files.exists(part)) {
+            // When both exist a carry-over was interrupted; the older file is still complete
+            Files.move(part, previous, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        int total = job.getItemsTotal() != null
+                ? job.getItemsTotal() : paymentReportRows.countMembers(job.getPeriodStart(), job.getPeriodEnd());
+        String period = job.getPeriodStart().format(PERIOD_FORMATTER) + " - " + job.getPeriodEnd().format(PERIOD_FORMATTER);
+        Deque<Future<Statement>> inFlight = new ArrayDeque<>();
+
+        try (FileOutputStream file = new FileOutputStream(part.toFile());
+             ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(file, 64 * 1024))) {
+            // The entries are PDFs, which are compressed already
+            zip.setLevel(Deflater.BEST_SPEED);
+            Progress progress = new Progress(zip, file, checkpoint, total);
+
+            if (keep > 0 && Files.exists(previous)) {
+                carryOver(previous, keep, job.getResumeAfterId(), progress);
+                resumed.increment();
+                log.info("Member statements job {} resumes after member {} ({} of {} statements kept)",
+                        job.getId(), progress.lastUserId, progress.done, total);
+            }
+            checkpoint.save(progress.lastUserId, progress.done, total);
+
+            paymentReportRows.byMember(job.getPeriodStart(), job.getPeriodEnd(), progress.lastUserId)
+                    .forEachRow(member -> {
+                        inFlight.add(renderers.submit(() -> render(member, period)));
+                        if (inFlight.size() >= window) {
+                            progress.append(await(inFlight.poll()));
+                        }
+                    });
+            while (!inFlight.isEmpty()) {
+                progress.append(await(inFlight.poll()));
+            }
+            zip.finish();
+            // Members joining mid-run change the count; the archive is what was written
+            checkpoint.save(progress.lastUserId, progress.done, progress.done);
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+
+        Files.deleteIfExists(previous);
+        artifactStore.publish(name);
+        archivesWritten.increment();
+        return name;
+    }
+
+    /**
+     * Copies the first {@code keep} entries of the previous partial archive.
+     * If fewer are readable, the statements continue after the last one
+     * that was, read from its entry name.
+     */
+    private void carryOver(Path previous, int keep, Long resumeAfterId, Progress progress) throws IOException {
+        long lastCopied = 0;
+        int copied = 0;
+        try (ZipInputStream in = new ZipInputStream(new BufferedInputStream(Files.newInputStream(previous)))) {
+            while (copied < keep) {
+                ZipEntry entry = in.getNextEntry();
+                if (entry == null) {
+                    break;
+                }
+                byte[] content = in.readAllBytes();
+                progress.zip.putNextEntry(new ZipEntry(entry.getName()));
+                progress.zip.write(content);
+                progress.zip.closeEntry();
+                lastCopied = Long.parseLong(entry.getName().substring(0, entry.getName().indexOf('_')));
+                copied++;
+            }
+        } catch (IOException e) {
+            log.warn("Partial member statements archive {} is damaged after {} entries", previous, copied, e);
+        }
+
+        if (copied < keep || resumeAfterId == null) {
+            log.warn("Partial member statements archive {} holds {} of {} checkpointed entries", previous, copied, keep);
+            progress.lastUserId = lastCopied;
+        } else {
+            progress.lastUserId = resumeAfterId;
+        }
+        progress.done = copied;
+        statementsCarriedOver.add(copied);
+    }
+
+    private Statement render(PaymentReportRows.MemberPayments member, String period) {
+        long started = System.nanoTime();
+        BigDecimal total = BigDecimal.ZERO;
+        BigDecimal verified = BigDecimal.ZERO;
+        BigDecimal pending = BigDecimal.ZERO;
+        LocalDateTime first = null;
+        LocalDateTime last = null;
+        for (PaymentReportRow payment : member.payments()) {
+            total = total.add(payment.amount());
+            if (payment.status() == PaymentStatus.VERIFIED) {
+                verified = verified.add(payment.amount());
+            } else if (payment.status() == PaymentStatus.PENDING) {
+                pending = pending.add(payment.amount());
+            }
+            if (first == null) {
+                first = payment.paymentDate();
+            }
+            last = payment.paymentDate();
+        }
+
+        UserContributionResponse contribution = UserContributionResponse.builder()
+                .userId(member.userId())
+                .userEmail(member.email())
+                .userFullName(member.name())
+                .totalContributions(total)
+                .verifiedContributions(verified)
+                .pendingContributions(pending)
+                .paymentCount(member.payments().size())
+                .firstPaymentDate(first)
+                .lastPaymentDate(last)
+                .build();
+        Map<String, Object> pdfData = reportDataMapper.userContribution(contribution);
+        pdfData.put("period", period);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+        pdfReportService.writeUserContributionPdf(pdfData, member.payments()::forEach, out);
+
+        statementsRendered.increment();
+        renderNanos.add(System.nanoTime() - started);
+        return new Statement(member.userId(), entryName(member), out.toByteArray());
+    }
+
+    private static Statement await(Future<Statement> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rendering member statements", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Rendering a member statement failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    // Entry names start with the member id, so a partial archive shows where it stopped
+    private static String entryName(PaymentReportRows.MemberPayments member) {
+        String name = member.name() != null ? member.name().replaceAll("[^A-Za-z0-9]+", "_") : "";
+        name = name.replaceAll("^_+|_+$", "");
+        return String.format("%06d_%s.pdf", member.userId(), name.isEmpty() ? "member" : name);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        renderers.shutdownNow();
+    }
+
+    @Override
+    public String metricsName() {
+        return "memberStatements";
+    }
+
+    @Override
+    public Map<String, Object> metricsSnapshot() {
+        long rendered = statementsRendered.sum();
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("window", window);
+        snapshot.put("checkpointEvery", checkpointEvery);
+        snapshot.put("archivesWritten", archivesWritten.sum());
+        snapshot.put("statementsRendered", rendered);
+        snapshot.put("statementsCarriedOver", statementsCarriedOver.sum());
+        snapshot.put("resumed", resumed.sum());
+        snapshot.put("avgRenderMs", rendered > 0 ? renderNanos.sum() / rendered / 1_000_000.0 : 0.0);
+        return snapshot;
+    }
+
+    private record Statement(long userId, String entryName, byte[] pdf) {
+    }
+
+    /** Archive position; only touched by the job thread. */
+    private final class Progress {
+
+        private final ZipOutputStream zip;
+        private final FileOutputStream file;
+        private final Checkpoint checkpoint;
+        private final int total;
+        private long lastUserId;
+        private int done;
+
+        private Progress(ZipOutputStream zip, FileOutputStream file, Checkpoint checkpoint, int total) {
+            this.zip = zip;
+            this.file = file;
+            this.checkpoint = checkpoint;
+            this.total = total;
+        }
+
+        private void append(Statement statement) {
+            try {
+                zip.putNextEntry(new ZipEntry(statement.entryName()));
+                zip.write(statement.pdf());
+                zip.closeEntry();
+                lastUserId = statement.userId();
+                done++;
+                if (done % checkpointEvery == 0) {
+                    // Everything up to the last closed entry is on disk before the job row says so
+                    zip.flush();
+                    file.getFD().sync();
+                    checkpoint.save(lastUserId, done, Math.max(total, done));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
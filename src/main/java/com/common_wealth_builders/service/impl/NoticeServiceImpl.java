@@ -8,7 +8,9 @@ import com.common_wealth_builders.entity.User;
 import com.common_wealth_builders.exception.ResourceNotFoundException;
 import com.common_wealth_builders.repository.NoticeRepository;
 import com.common_wealth_builders.repository.UserRepository;
+import com.common_wealth_builders.security.ActorContext;
 import com.common_wealth_builders.service.NoticeService;
+import com.common_wealth_builders.utils.LikePatterns;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -17,7 +19,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Optional;
 
 @Service
 @Slf4j
@@ -51,8 +52,7 @@ public class NoticeServiceImpl implements NoticeService {
     @Override
     @Transactional
     public GenericResponse createNotice(NoticeRequest request, String userEmail) {
-        User author = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        User author = currentUser(userEmail);
 
         Notice notice = Notice.builder()
                 .title(request.getTitle())
@@ -129,11 +129,7 @@ public class NoticeServiceImpl implements NoticeService {
 
     @Override
     public GenericResponse getUnreadCount(String name) {
-        Optional<User> user1 = userRepository.findByEmail(name);
-        if (user1.isEmpty()){
-            throw new ResourceNotFoundException("User not found");
-        }
-        User user = user1.get();
+        User user = currentUser(name);
         int count = noticeRepository.countByIsPublishedTrueAndReadByUsersNotContaining(user);
         return GenericResponse.builder()
                 .isSuccess(true)
@@ -145,11 +141,7 @@ public class NoticeServiceImpl implements NoticeService {
     @Override
     @Transactional
     public GenericResponse markAsRead(Long id, String name) {
-        Optional<User> user1 = userRepository.findByEmail(name);
-        if (user1.isEmpty()){
-            throw new ResourceNotFoundException("User not found");
-        }
-        User user = user1.get();
+        User user = currentUser(name);
         Notice notice = noticeRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Notice not found"));
         notice.markAsRead(user);
@@ -266,7 +258,7 @@ public class NoticeServiceImpl implements NoticeService {
     @Transactional
     public GenericResponse searchNotices(String query) {
 
-        List<NoticeResponse> notices = noticeRepository.search(query)
+        List<NoticeResponse> notices = noticeRepository.search(LikePatterns.contains(query))
                 .stream()
                 .map(this::mapToResponse)
                 .toList();
@@ -278,4 +270,12 @@ public class NoticeServiceImpl implements NoticeService {
                 .httpStatus(HttpStatus.OK)
                 .build();
     }
+
+    private User currentUser(String email) {
+        return ActorContext.current()
+                .filter(actor -> actor.email().equalsIgnoreCase(email))
+                .map(actor -> userRepository.getReferenceById(actor.userId()))
+                .orElseGet(() -> userRepository.findByEmail(email)
+                        .orElseThrow(() -> new ResourceNotFoundException("User not found")));
+    }
 }
@@ -0,0 +1,11 @@
+package com.common_wealth_builders.service.impl;
+
+import com.common_wealth_builders.enums.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/** One line of the payment details table. */
+public record PaymentReportRow(Long id, String userName, BigDecimal amount, LocalDateTime paymentDate,
+                               PaymentStatus status, boolean verified) {
+}
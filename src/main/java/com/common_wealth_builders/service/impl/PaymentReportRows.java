@@ -0,0 +1,151 @@
+package com.common_wealth_builders.service.impl;
+
+import com.common_wealth_builders.enums.PaymentStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Payment rows for report detail tables and member statements. Detail
+ * rows are read through a server-side cursor. The PostgreSQL driver only
+ * fetches in batches inside a transaction, so each pass opens a read-only
+ * one; the connection is held until the consumer has taken the last row.
+ * Member statements are read in pages of members instead, each in its own
+ * short transaction, and handed over after it ends, so a consumer may
+ * write to the database between members.
+ */
+@Component
+public class PaymentReportRows {
+
+    private static final String PAYMENTS_BETWEEN_SQL = """
+            SELECT p.id, u.firstname, u.lastname, u.email, p.amount, p.payment_date, p.status, p.is_verified
+            FROM payments p JOIN users u ON u.id = p.user_id
+            WHERE p.payment_date BETWEEN ? AND ?
+            ORDER BY p.payment_date, p.id
+            """;
+
+    // Every member gets a statement, payers who are not plain members too; one page of members,
+    // rows grouped by member
+    private static final String MEMBER_PAYMENTS_SQL = """
+            WITH m AS (
+                SELECT u.id, u.firstname, u.lastname, u.email FROM users u
+                WHERE u.is_deleted = false AND u.id > ? AND (u.user_type = 'USER' OR EXISTS (
+                    SELECT 1 FROM payments p WHERE p.user_id = u.id AND p.payment_date BETWEEN ? AND ?))
+                ORDER BY u.id
+                LIMIT ?)
+            SELECT m.id, m.firstname, m.lastname, m.email, p.id, p.amount, p.payment_date, p.status, p.is_verified
+            FROM m
+            LEFT JOIN payments p ON p.user_id = m.id AND p.payment_date BETWEEN ? AND ?
+            ORDER BY m.id, p.payment_date, p.id
+            """;
+
+    private static final String MEMBER_COUNT_SQL = """
+            SELECT COUNT(*) FROM users u
+            WHERE u.is_deleted = false AND (u.user_type = 'USER' OR EXISTS (
+                SELECT 1 FROM payments p WHERE p.user_id = u.id AND p.payment_date BETWEEN ? AND ?))
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int memberPageSize;
+
+    public PaymentReportRows(DataSource dataSource,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${reports.streaming.fetch-size:500}") int fetchSize,
+                             @Value("${reports.statements.member-page-size:100}") int memberPageSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.memberPageSize = Math.max(1, memberPageSize);
+    }
+
+    /** Payments dated in {@code [start, end]}; the query runs each time the source is iterated. */
+    public RowSource<PaymentReportRow> between(LocalDateTime start, LocalDateTime end) {
+        return action -> transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.query(PAYMENTS_BETWEEN_SQL, (RowCallbackHandler) rs -> action.accept(toRow(rs)),
+                        Timestamp.valueOf(start), Timestamp.valueOf(end)));
+    }
+
+    /**
+     * Members with their payments dated in {@code [start, end]}, in member id
+     * order, starting after {@code afterUserId}. Each page of members is read
+     * in its own transaction, which has ended before the consumer sees them.
+     */
+    public RowSource<MemberPayments> byMember(LocalDateTime start, LocalDateTime end, long afterUserId) {
+        return action -> {
+            long after = afterUserId;
+            while (true) {
+                List<MemberPayments> page = memberPage(start, end, after);
+                page.forEach(action);
+                if (page.size() < memberPageSize) {
+                    return;
+                }
+                after = page.get(page.size() - 1).userId();
+            }
+        };
+    }
+
+    private List<MemberPayments> memberPage(LocalDateTime start, LocalDateTime end, long afterUserId) {
+        List<MemberPayments> page = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.query(MEMBER_PAYMENTS_SQL, (RowCallbackHandler) rs -> {
+                    long userId = rs.getLong(1);
+                    MemberPayments current = page.isEmpty() ? null : page.get(page.size() - 1);
+                    if (current == null || current.userId() != userId) {
+                        current = new MemberPayments(userId, displayName(rs), rs.getString(4), new ArrayList<>());
+                        page.add(current);
+                    }
+                    if (rs.getObject(5) != null) {
+                        current.payments().add(new PaymentReportRow(
+                                rs.getLong(5),
+                                current.name(),
+                                rs.getBigDecimal(6),
+                                rs.getTimestamp(7).toLocalDateTime(),
+                                PaymentStatus.valueOf(rs.getString(8)),
+                                rs.getBoolean(9)));
+                    }
+                }, afterUserId, Timestamp.valueOf(start), Timestamp.valueOf(end), memberPageSize,
+                        Timestamp.valueOf(start), Timestamp.valueOf(end)));
+        return page;
+    }
+
+    public int countMembers(LocalDateTime start, LocalDateTime end) {
+        Integer count = jdbcTemplate.queryForObject(MEMBER_COUNT_SQL, Integer.class,
+                Timestamp.valueOf(start), Timestamp.valueOf(end));
+        return count != null ? count : 0;
+    }
+
+    private static PaymentReportRow toRow(ResultSet rs) throws SQLException {
+        return new PaymentReportRow(
+                rs.getLong(1),
+                displayName(rs),
+                rs.getBigDecimal(5),
+                rs.getTimestamp(6).toLocalDateTime(),
+                PaymentStatus.valueOf(rs.getString(7)),
+                rs.getBoolean(8));
+    }
+
+    // Columns 2 to 4 are firstname, lastname and email in both queries
+    private static String displayName(ResultSet rs) throws SQLException {
+        String name = ((rs.getString(2) != null ? rs.getString(2) : "") + " "
+                + (rs.getString(3) != null ? rs.getString(3) : "")).trim();
+        return StringUtils.hasText(name) ? name : rs.getString(4);
+    }
+
+    /** A member and their payments in date order. */
+    public record MemberPayments(long userId, String name, String email, List<PaymentReportRow> payments) {
+    }
+}
@@ -14,45 +14,70 @@ import com.common_wealth_builders.enums.NotificationType;
 import com.common_wealth_builders.enums.PaymentStatus;
 import com.common_wealth_builders.exception.PaymentAlreadyVerifiedException;
 import com.common_wealth_builders.exception.ResourceNotFoundException;
+import com.common_wealth_builders.repository.CountStrategy;
+import com.common_wealth_builders.repository.CountedPage;
 import com.common_wealth_builders.repository.PaymentRepository;
 import com.common_wealth_builders.repository.UserRepository;
+import com.common_wealth_builders.security.ActorContext;
 import com.common_wealth_builders.service.AuditService;
 import com.common_wealth_builders.service.NoticeService;
 import com.common_wealth_builders.service.PaymentService;
 import com.common_wealth_builders.service.UserNotificationService;
+import com.common_wealth_builders.utils.CursorCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class PaymentServiceImpl implements PaymentService {
+    private static final String CURSOR_SCOPE = "payments";
+    private static final Sort CURSOR_SORT = Sort.by(Sort.Direction.DESC, "paymentDate", "id");
+
     private final PaymentRepository paymentRepository;
     private final UserRepository userRepository;
     private final AuditService auditService;
     private final UserNotificationService userNotificationService;
+    private final CountStrategy countStrategy;
+    private final DailyRollupStore dailyRollupStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PeriodSnapshotStore periodSnapshotStore;
 
-    public PaymentServiceImpl(PaymentRepository paymentRepository, UserRepository userRepository, AuditService auditService, UserNotificationService userNotificationService) {
+    public PaymentServiceImpl(PaymentRepository paymentRepository, UserRepository userRepository, AuditService auditService, UserNotificationService userNotificationService, CountStrategy countStrategy, DailyRollupStore dailyRollupStore, ApplicationEventPublisher eventPublisher, PeriodSnapshotStore periodSnapshotStore) {
         this.paymentRepository = paymentRepository;
         this.userRepository = userRepository;
         this.auditService = auditService;
         this.userNotificationService = userNotificationService;
+        this.countStrategy = countStrategy;
+        this.dailyRollupStore = dailyRollupStore;
+        this.eventPublisher = eventPublisher;
+        this.periodSnapshotStore = periodSnapshotStore;
     }
 
     @Override
     @Transactional
     public GenericResponse createPayment(PaymentRequest request, String name) {
         log.info("Creating payment for user: {}, amount: {}", request.getUserEmail(), request.getAmount());
-        User user = userRepository.findByEmail(request.getUserEmail()).orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        periodSnapshotStore.assertOpen(request.getPaymentDate());
+        Optional<ActorContext> selfPayer = selfPayerOf(request);
+        User user = selfPayer.map(actor -> userRepository.getReferenceById(actor.userId()))
+                .orElseGet(() -> userRepository.findByEmail(request.getUserEmail()).orElseThrow(() -> new ResourceNotFoundException("User not found")));
         Payment payment = Payment.builder().user(user).amount(request.getAmount()).paymentDate(request.getPaymentDate()).createdBy(name).paymentReference(request.getPaymentReference()).bankName(request.getBankName()).accountNumber(request.getAccountNumber()).status(PaymentStatus.PENDING).description(request.getDescription()).proofOfPaymentUrl(request.getProofOfPaymentUrl()).isVerified(false).build();
         Payment savedPayment = paymentRepository.save(payment);
+        dailyRollupStore.paymentAdded(savedPayment.getPaymentDate(), savedPayment.getStatus(), savedPayment.getAmount());
+        publishChange(savedPayment);
         auditService.logAction(user.getId(), "PAYMENT_CREATED", "PAYMENTS", "Payment created with reference: " + savedPayment.getPaymentReference());
         userNotificationService.createNotification(UserNotificationRequest.builder()
                 .userId(payment.getUser().getId())
@@ -61,19 +86,38 @@ public class PaymentServiceImpl implements PaymentService {
                 .type(NotificationType.PAYMENT_CREATED)
                 .build());
         log.info("Payment created successfully: id={}, reference={}", savedPayment.getId(), savedPayment.getPaymentReference());
-        return GenericResponse.builder().isSuccess(true).message("Payment created successfully. Awaiting verification.").data(mapToPaymentResponse(savedPayment)).httpStatus(HttpStatus.CREATED).build();
+        // The payer is an unloaded reference when members record their own payment; answer from the caller's identity
+        PaymentResponse response = selfPayer
+                .map(actor -> mapToPaymentResponse(savedPayment, actor.userId(), actor.email(), actor.displayName()))
+                .orElseGet(() -> mapToPaymentResponse(savedPayment));
+        return GenericResponse.builder().isSuccess(true).message("Payment created successfully. Awaiting verification.").data(response).httpStatus(HttpStatus.CREATED).build();
     }
 
     @Override
     public GenericResponse getAllPayments(Pageable pageable) {
         log.info("Fetching all payments with pagination");
-        Page<Payment> paymentsPage = paymentRepository.findAll(pageable);
+        CountedPage<Payment> counted = countStrategy.page("payments", null, pageable, paymentRepository::findSliceBy, paymentRepository::count);
+        Page<Payment> paymentsPage = counted.page();
         List<PaymentResponse> paymentResponses = paymentsPage.getContent().stream().map(this::mapToPaymentResponse).collect(Collectors.toList());
-        PageResponse<PaymentResponse> pageResponse = PageResponse.<PaymentResponse>builder().content(paymentResponses).pageNumber(paymentsPage.getNumber()).pageSize(paymentsPage.getSize()).totalElements(paymentsPage.getTotalElements()).totalPages(paymentsPage.getTotalPages()).last(paymentsPage.isLast()).first(paymentsPage.isFirst()).build();
+        PageResponse<PaymentResponse> pageResponse = PageResponse.<PaymentResponse>builder().content(paymentResponses).pageNumber(paymentsPage.getNumber()).pageSize(paymentsPage.getSize()).totalElements(paymentsPage.getTotalElements()).totalPages(paymentsPage.getTotalPages()).totalExact(counted.exact()).last(paymentsPage.isLast()).first(paymentsPage.isFirst()).build();
         log.info("Successfully fetched {} payments", paymentResponses.size());
         return GenericResponse.builder().isSuccess(true).message("Payments retrieved successfully").data(pageResponse).httpStatus(HttpStatus.OK).build();
     }
 
+    @Override
+    public GenericResponse getAllPayments(String cursor, int size) {
+        log.info("Fetching payments after cursor, size={}", size);
+        Pageable pageable = PageRequest.of(0, size, CURSOR_SORT);
+        Slice<Payment> slice;
+        if (cursor.isEmpty()) {
+            slice = paymentRepository.findSliceBy(pageable);
+        } else {
+            CursorCodec.Position after = CursorCodec.decode(CURSOR_SCOPE, cursor);
+            slice = paymentRepository.findSliceAfter(after.sortKey(), after.id(), pageable);
+        }
+        return GenericResponse.builder().isSuccess(true).message("Payments retrieved successfully").data(toCursorPage(slice, cursor)).httpStatus(HttpStatus.OK).build();
+    }
+
     @Override
     public GenericResponse getPaymentById(Long id) {
         log.info("Fetching payment by ID: {}", id);
@@ -96,23 +140,43 @@ public class PaymentServiceImpl implements PaymentService {
     @Override
     public GenericResponse getPendingPayments(Pageable pageable) {
         log.info("Fetching pending payments");
-        Page<Payment> paymentsPage = paymentRepository.findByStatus(PaymentStatus.PENDING, pageable);
+        CountedPage<Payment> counted = countStrategy.page("payments", "status=PENDING", pageable,
+                page -> paymentRepository.findSliceByStatus(PaymentStatus.PENDING, page), () -> paymentRepository.countByStatus(PaymentStatus.PENDING));
+        Page<Payment> paymentsPage = counted.page();
         var paymentResponses = paymentsPage.getContent().stream().map(this::mapToPaymentResponse).collect(Collectors.toList());
-        PageResponse<PaymentResponse> pageResponse = PageResponse.<PaymentResponse>builder().content(paymentResponses).pageNumber(paymentsPage.getNumber()).pageSize(paymentsPage.getSize()).totalElements(paymentsPage.getTotalElements()).totalPages(paymentsPage.getTotalPages()).last(paymentsPage.isLast()).first(paymentsPage.isFirst()).build();
+        PageResponse<PaymentResponse> pageResponse = PageResponse.<PaymentResponse>builder().content(paymentResponses).pageNumber(paymentsPage.getNumber()).pageSize(paymentsPage.getSize()).totalElements(paymentsPage.getTotalElements()).totalPages(paymentsPage.getTotalPages()).totalExact(counted.exact()).last(paymentsPage.isLast()).first(paymentsPage.isFirst()).build();
         log.info("Found {} pending payments", paymentResponses.size());
         return GenericResponse.builder().isSuccess(true).message("Pending payments retrieved successfully").data(pageResponse).httpStatus(HttpStatus.OK).build();
     }
 
+    @Override
+    public GenericResponse getPendingPayments(String cursor, int size) {
+        log.info("Fetching pending payments after cursor, size={}", size);
+        Pageable pageable = PageRequest.of(0, size, CURSOR_SORT);
+        Slice<Payment> slice;
+        if (cursor.isEmpty()) {
+            slice = paymentRepository.findSliceByStatus(PaymentStatus.PENDING, pageable);
+        } else {
+            CursorCodec.Position after = CursorCodec.decode(CURSOR_SCOPE, cursor);
+            slice = paymentRepository.findSliceByStatusAfter(PaymentStatus.PENDING, after.sortKey(), after.id(), pageable);
+        }
+        return GenericResponse.builder().isSuccess(true).message("Pending payments retrieved successfully").data(toCursorPage(slice, cursor)).httpStatus(HttpStatus.OK).build();
+    }
+
     @Override
     @Transactional
     public GenericResponse verifyPayment(Long id, VerifyPaymentRequest request, String verifiedBy) {
         log.info("Verifying payment: id={}, verifiedBy={}", id, verifiedBy);
         Payment payment = paymentRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Payment not found with ID: " + id));
+        periodSnapshotStore.assertOpen(payment.getPaymentDate());
         if (payment.isVerified()) {
             throw new PaymentAlreadyVerifiedException("Payment is already verified");
         }
+        PaymentStatus previousStatus = payment.getStatus();
         payment.verify(verifiedBy, request.getRemarks());
         Payment verifiedPayment = paymentRepository.save(payment);
+        dailyRollupStore.paymentMoved(payment.getPaymentDate(), previousStatus, payment.getStatus(), payment.getAmount());
+        publishChange(payment);
         auditService.logAction(payment.getUser().getId(), "PAYMENT_VERIFIED", "PAYMENTS", "Payment verified: " + payment.getPaymentReference() + " by " + verifiedBy);
         log.info("Payment verified successfully: id={}", id);
         userNotificationService.createNotification(UserNotificationRequest.builder()
@@ -129,8 +193,12 @@ public class PaymentServiceImpl implements PaymentService {
     public GenericResponse rejectPayment(Long id, VerifyPaymentRequest request, String rejectedBy) {
         log.info("Rejecting payment: id={}, rejectedBy={}", id, rejectedBy);
         Payment payment = paymentRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Payment not found with ID: " + id));
+        periodSnapshotStore.assertOpen(payment.getPaymentDate());
+        PaymentStatus previousStatus = payment.getStatus();
         payment.reject(rejectedBy, request.getRemarks());
         Payment rejectedPayment = paymentRepository.save(payment);
+        dailyRollupStore.paymentMoved(payment.getPaymentDate(), previousStatus, payment.getStatus(), payment.getAmount());
+        publishChange(payment);
         auditService.logAction(payment.getUser().getId(), "PAYMENT_REJECTED", "PAYMENTS", "Payment rejected: " + payment.getPaymentReference() + " by " + rejectedBy);
         log.info("Payment rejected: id={}", id);
         userNotificationService.createNotification(UserNotificationRequest.builder()
@@ -147,8 +215,12 @@ public class PaymentServiceImpl implements PaymentService {
     public GenericResponse cancelPayment(Long id, String remarks, String userEmail) {
         log.info("Cancelling payment: id={}, cancelledBy={}", id, userEmail);
         Payment payment = paymentRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Payment not found with ID: " + id));
+        periodSnapshotStore.assertOpen(payment.getPaymentDate());
+        PaymentStatus previousStatus = payment.getStatus();
         payment.cancel(userEmail, remarks);
         Payment cancelledPayment = paymentRepository.save(payment);
+        dailyRollupStore.paymentMoved(payment.getPaymentDate(), previousStatus, payment.getStatus(), payment.getAmount());
+        publishChange(payment);
         auditService.logAction(payment.getUser().getId(), "PAYMENT_CANCELLED", "PAYMENTS", "Payment cancelled: " + payment.getPaymentReference());
         log.info("Payment cancelled: id={}", id);
         userNotificationService.createNotification(UserNotificationRequest.builder()
@@ -164,14 +236,60 @@ public class PaymentServiceImpl implements PaymentService {
     public GenericResponse searchPayments(Long userId, String status, Boolean isVerified, Pageable pageable) {
         log.info("Searching payments: userId={}, status={}, isVerified={}", userId, status, isVerified);
         PaymentStatus paymentStatus = status != null ? PaymentStatus.valueOf(status.toUpperCase()) : null;
-        Page<Payment> paymentsPage = paymentRepository.searchPayments(userId, paymentStatus, isVerified, pageable);
+        String filter = userId == null && paymentStatus == null && isVerified == null
+                ? null : "user=" + userId + "&status=" + paymentStatus + "&verified=" + isVerified;
+        CountedPage<Payment> counted = countStrategy.page("payments", filter, pageable,
+                page -> paymentRepository.searchPaymentsSlice(userId, paymentStatus, isVerified, page),
+                () -> paymentRepository.countSearchPayments(userId, paymentStatus, isVerified));
+        Page<Payment> paymentsPage = counted.page();
         List<PaymentResponse> paymentResponses = paymentsPage.getContent().stream().map(this::mapToPaymentResponse).collect(Collectors.toList());
-        PageResponse<PaymentResponse> pageResponse = PageResponse.<PaymentResponse>builder().content(paymentResponses).pageNumber(paymentsPage.getNumber()).pageSize(paymentsPage.getSize()).totalElements(paymentsPage.getTotalElements()).totalPages(paymentsPage.getTotalPages()).last(paymentsPage.isLast()).first(paymentsPage.isFirst()).build();
+        PageResponse<PaymentResponse> pageResponse = PageResponse.<PaymentResponse>builder().content(paymentResponses).pageNumber(paymentsPage.getNumber()).pageSize(paymentsPage.getSize()).totalElements(paymentsPage.getTotalElements()).totalPages(paymentsPage.getTotalPages()).totalExact(counted.exact()).last(paymentsPage.isLast()).first(paymentsPage.isFirst()).build();
         log.info("Search completed: found {} payments", paymentResponses.size());
         return GenericResponse.builder().isSuccess(true).message("Search completed successfully").data(pageResponse).httpStatus(HttpStatus.OK).build();
     }
 
+    @Override
+    public GenericResponse searchPayments(Long userId, String status, Boolean isVerified, String cursor, int size) {
+        log.info("Searching payments after cursor: userId={}, status={}, isVerified={}", userId, status, isVerified);
+        PaymentStatus paymentStatus = status != null ? PaymentStatus.valueOf(status.toUpperCase()) : null;
+        Pageable pageable = PageRequest.of(0, size, CURSOR_SORT);
+        Slice<Payment> slice;
+        if (cursor.isEmpty()) {
+            slice = paymentRepository.searchPaymentsSlice(userId, paymentStatus, isVerified, pageable);
+        } else {
+            CursorCodec.Position after = CursorCodec.decode(CURSOR_SCOPE, cursor);
+            slice = paymentRepository.searchPaymentsSliceAfter(userId, paymentStatus, isVerified, after.sortKey(), after.id(), pageable);
+        }
+        return GenericResponse.builder().isSuccess(true).message("Search completed successfully").data(toCursorPage(slice, cursor)).httpStatus(HttpStatus.OK).build();
+    }
+
+    private PageResponse<PaymentResponse> toCursorPage(Slice<Payment> slice, String cursor) {
+        List<Payment> payments = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            Payment lastPayment = payments.get(payments.size() - 1);
+            nextCursor = CursorCodec.encode(CURSOR_SCOPE, lastPayment.getPaymentDate(), lastPayment.getId());
+        }
+        List<PaymentResponse> paymentResponses = payments.stream().map(this::mapToPaymentResponse).collect(Collectors.toList());
+        return PageResponse.<PaymentResponse>builder().content(paymentResponses).pageSize(slice.getSize()).first(cursor.isEmpty()).last(!slice.hasNext()).nextCursor(nextCursor).build();
+    }
+
+    // Members usually record their own payments; the caller's identity then stands in for the user row
+    private Optional<ActorContext> selfPayerOf(PaymentRequest request) {
+        return ActorContext.current()
+                .filter(actor -> actor.email().equalsIgnoreCase(request.getUserEmail()));
+    }
+
     private PaymentResponse mapToPaymentResponse(Payment payment) {
-        return PaymentResponse.builder().id(payment.getId()).userId(payment.getUser().getId()).userEmail(payment.getUser().getEmail()).userFullName(payment.getUser().getFirstname() + " " + payment.getUser().getLastname()).amount(payment.getAmount()).paymentDate(payment.getPaymentDate()).paymentReference(payment.getPaymentReference()).bankName(payment.getBankName()).accountNumber(payment.getAccountNumber()).status(payment.getStatus()).isVerified(payment.isVerified()).verificationDate(payment.getVerificationDate()).verifiedBy(payment.getVerifiedBy()).verificationRemarks(payment.getVerificationRemarks()).description(payment.getDescription()).proofOfPaymentUrl(payment.getProofOfPaymentUrl()).createdDate(payment.getCreatedDate()).updatedDate(payment.getUpdatedDate()).createdBy(payment.getCreatedBy()).updatedBy(payment.getUpdatedBy()).build();
+        User payer = payment.getUser();
+        return mapToPaymentResponse(payment, payer.getId(), payer.getEmail(), payer.getFirstname() + " " + payer.getLastname());
+    }
+
+    private PaymentResponse mapToPaymentResponse(Payment payment, Long payerId, String payerEmail, String payerFullName) {
+        return PaymentResponse.builder().id(payment.getId()).userId(payerId).userEmail(payerEmail).userFullName(payerFullName).amount(payment.getAmount()).paymentDate(payment.getPaymentDate()).paymentReference(payment.getPaymentReference()).bankName(payment.getBankName()).accountNumber(payment.getAccountNumber()).status(payment.getStatus()).isVerified(payment.isVerified()).verificationDate(payment.getVerificationDate()).verifiedBy(payment.getVerifiedBy()).verificationRemarks(payment.getVerificationRemarks()).description(payment.getDescription()).proofOfPaymentUrl(payment.getProofOfPaymentUrl()).createdDate(payment.getCreatedDate()).updatedDate(payment.getUpdatedDate()).createdBy(payment.getCreatedBy()).updatedBy(payment.getUpdatedBy()).build();
+    }
+
+    private void publishChange(Payment payment) {
+        eventPublisher.publishEvent(FinancialDataChangedEvent.payment(payment.getPaymentDate().toLocalDate(), payment.getUser().getId()));
     }
-}
\ No newline at end of file
+}
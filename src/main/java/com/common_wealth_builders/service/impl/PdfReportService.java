@@ -14,6 +14,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.text.NumberFormat;
 import java.time.LocalDateTime;
@@ -21,6 +22,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Service for generating PDF reports
@@ -31,19 +33,22 @@ public class PdfReportService {
 
     private static final DeviceRgb PRIMARY_COLOR = new DeviceRgb(41, 128, 185);
     private static final DeviceRgb HEADER_BG = new DeviceRgb(236, 240, 241);
-    private static final NumberFormat CURRENCY_FORMAT = NumberFormat.getCurrencyInstance(new Locale("en", "NG"));
+    private static final int FLUSH_EVERY_ROWS = 200;
+
+    // NumberFormat is not thread-safe and reports render concurrently
+    private static final ThreadLocal<NumberFormat> CURRENCY_FORMAT =
+            ThreadLocal.withInitial(() -> NumberFormat.getCurrencyInstance(new Locale("en", "NG")));
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm");
 
     /**
      * Generate Financial Summary Report PDF
      */
     public byte[] generateFinancialSummaryPdf(Map<String, Object> reportData) {
-        try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            PdfWriter writer = new PdfWriter(baos);
-            PdfDocument pdf = new PdfDocument(writer);
-            Document document = new Document(pdf);
+        return toBytes(out -> writeFinancialSummaryPdf(reportData, out));
+    }
 
+    public void writeFinancialSummaryPdf(Map<String, Object> reportData, OutputStream out) {
+        write(out, "financial summary", document -> {
             // Add Header
             addReportHeader(document, "Common Wealth Financial Summary Report");
             
@@ -67,26 +72,27 @@ public class PdfReportService {
 
             // Add Footer
             addReportFooter(document);
-
-            document.close();
-            return baos.toByteArray();
-            
-        } catch (Exception e) {
-            log.error("Error generating financial summary PDF", e);
-            throw new RuntimeException("Failed to generate PDF report", e);
-        }
+        });
     }
 
     /**
      * Generate User Contribution Report PDF
      */
     public byte[] generateUserContributionPdf(Map<String, Object> reportData) {
-        try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            PdfWriter writer = new PdfWriter(baos);
-            PdfDocument pdf = new PdfDocument(writer);
-            Document document = new Document(pdf);
+        return toBytes(out -> writeUserContributionPdf(reportData, null, out));
+    }
+
+    public void writeUserContributionPdf(Map<String, Object> reportData, OutputStream out) {
+        writeUserContributionPdf(reportData, null, out);
+    }
 
+    /**
+     * User contribution report with the member's payments listed, as used
+     * for member statements. {@code reportData} may carry a {@code period}.
+     */
+    public void writeUserContributionPdf(Map<String, Object> reportData, RowSource<PaymentReportRow> paymentHistory,
+                                         OutputStream out) {
+        write(out, "user contribution", document -> {
             // Add Header
             addReportHeader(document, "User Contribution Report");
             
@@ -98,36 +104,35 @@ public class PdfReportService {
             
             document.add(new Paragraph("Email: " + reportData.get("userEmail"))
                     .setFontSize(10)
-                    .setMarginBottom(20));
+                    .setMarginBottom(reportData.containsKey("period") ? 5 : 20));
+
+            if (reportData.containsKey("period")) {
+                document.add(new Paragraph("Statement Period: " + reportData.get("period"))
+                        .setFontSize(10)
+                        .setMarginBottom(20));
+            }
 
             // Add Contribution Statistics
             addContributionStats(document, reportData);
 
             // Add Payment History Table
-            if (reportData.containsKey("paymentHistory")) {
-                addPaymentHistoryTable(document, (List<Map<String, Object>>) reportData.get("paymentHistory"));
+            if (paymentHistory != null) {
+                addPaymentHistoryTable(document, paymentHistory);
             }
 
             addReportFooter(document);
-            document.close();
-            return baos.toByteArray();
-            
-        } catch (Exception e) {
-            log.error("Error generating user contribution PDF", e);
-            throw new RuntimeException("Failed to generate PDF report", e);
-        }
+        });
     }
 
     /**
      * Generate Expense Report PDF
      */
     public byte[] generateExpenseReportPdf(Map<String, Object> reportData) {
-        try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            PdfWriter writer = new PdfWriter(baos);
-            PdfDocument pdf = new PdfDocument(writer);
-            Document document = new Document(pdf);
+        return toBytes(out -> writeExpenseReportPdf(reportData, out));
+    }
 
+    public void writeExpenseReportPdf(Map<String, Object> reportData, OutputStream out) {
+        write(out, "expense", document -> {
             addReportHeader(document, "Expense Report");
             
             document.add(new Paragraph("Report Period: " + reportData.get("period"))
@@ -143,25 +148,25 @@ public class PdfReportService {
             }
 
             addReportFooter(document);
-            document.close();
-            return baos.toByteArray();
-            
-        } catch (Exception e) {
-            log.error("Error generating expense PDF", e);
-            throw new RuntimeException("Failed to generate PDF report", e);
-        }
+        });
     }
 
     /**
-     * Generate Payment Report PDF
+     * Generate Payment Report PDF, without the payment details
      */
     public byte[] generatePaymentReportPdf(Map<String, Object> reportData) {
-        try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            PdfWriter writer = new PdfWriter(baos);
-            PdfDocument pdf = new PdfDocument(writer);
-            Document document = new Document(pdf);
+        return toBytes(out -> writePaymentReportPdf(reportData, null, out));
+    }
 
+    /**
+     * Writes the payment report to {@code out} as it is rendered. Payment
+     * rows are pulled from {@code payments} one at a time and flushed to the
+     * stream every {@value #FLUSH_EVERY_ROWS} rows, so memory use does not
+     * grow with the number of payments. The stream is left open.
+     */
+    public void writePaymentReportPdf(Map<String, Object> reportData, RowSource<PaymentReportRow> payments,
+                                      OutputStream out) {
+        write(out, "payment", document -> {
             addReportHeader(document, "Payment Report");
             
             document.add(new Paragraph("Report Period: " + reportData.get("period"))
@@ -172,20 +177,37 @@ public class PdfReportService {
             addPaymentStats(document, reportData);
 
             // Add Payment Details
-            if (reportData.containsKey("payments")) {
-                addDetailedPaymentTable(document, (List<Map<String, Object>>) reportData.get("payments"));
+            if (payments != null) {
+                addDetailedPaymentTable(document, payments);
             }
 
             addReportFooter(document);
+        });
+    }
+
+    private void write(OutputStream out, String reportName, Consumer<Document> content) {
+        try {
+            PdfWriter writer = new PdfWriter(out);
+            writer.setCloseStream(false);
+            PdfDocument pdf = new PdfDocument(writer);
+            Document document = new Document(pdf);
+
+            content.accept(document);
+
             document.close();
-            return baos.toByteArray();
             
         } catch (Exception e) {
-            log.error("Error generating payment PDF", e);
+            log.error("Error generating {} PDF", reportName, e);
             throw new RuntimeException("Failed to generate PDF report", e);
         }
     }
 
+    private static byte[] toBytes(Consumer<OutputStream> writer) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writer.accept(baos);
+        return baos.toByteArray();
+    }
+
     // Helper Methods
 
     private void addReportHeader(Document document, String title) {
@@ -289,26 +311,31 @@ public class PdfReportService {
         document.add(new Paragraph("\n"));
     }
 
-    private void addPaymentHistoryTable(Document document, List<Map<String, Object>> payments) {
+    private void addPaymentHistoryTable(Document document, RowSource<PaymentReportRow> payments) {
         document.add(new Paragraph("Payment History")
                 .setFontSize(14)
                 .setBold()
                 .setMarginTop(20)
                 .setMarginBottom(10));
 
-        Table table = new Table(UnitValue.createPercentArray(new float[]{1, 2, 1.5f, 1.5f}))
+        Table table = new Table(UnitValue.createPercentArray(new float[]{1, 2, 1.5f, 1.5f}), true)
                 .useAllAvailableWidth();
 
         addTableHeader(table, new String[]{"ID", "Amount", "Date", "Status"});
+        document.add(table);
 
-        for (Map<String, Object> payment : payments) {
-            table.addCell(new Cell().add(new Paragraph(payment.get("id").toString())));
-            table.addCell(new Cell().add(new Paragraph(formatCurrency(payment.get("amount")))));
-            table.addCell(new Cell().add(new Paragraph(payment.get("date").toString())));
-            table.addCell(new Cell().add(new Paragraph(payment.get("status").toString())));
-        }
+        int[] rows = {0};
+        payments.forEachRow(payment -> {
+            table.addCell(new Cell().add(new Paragraph(String.valueOf(payment.id()))));
+            table.addCell(new Cell().add(new Paragraph(formatCurrency(payment.amount()))));
+            table.addCell(new Cell().add(new Paragraph(payment.paymentDate().format(DATE_FORMATTER))));
+            table.addCell(new Cell().add(new Paragraph(payment.status().name())));
+            if (++rows[0] % FLUSH_EVERY_ROWS == 0) {
+                table.flush();
+            }
+        });
 
-        document.add(table);
+        table.complete();
     }
 
     private void addExpenseSummary(Document document, Map<String, Object> data) {
@@ -361,28 +388,34 @@ public class PdfReportService {
         document.add(new Paragraph("\n"));
     }
 
-    private void addDetailedPaymentTable(Document document, List<Map<String, Object>> payments) {
+    private void addDetailedPaymentTable(Document document, RowSource<PaymentReportRow> payments) {
         document.add(new Paragraph("Payment Details")
                 .setFontSize(14)
                 .setBold()
                 .setMarginTop(20)
                 .setMarginBottom(10));
 
-        Table table = new Table(UnitValue.createPercentArray(new float[]{1, 2, 1.5f, 1.5f, 1, 1}))
+        // Large table: added to the document first, then filled and flushed in slices
+        Table table = new Table(UnitValue.createPercentArray(new float[]{1, 2, 1.5f, 1.5f, 1, 1}), true)
                 .useAllAvailableWidth();
 
         addTableHeader(table, new String[]{"ID", "User", "Amount", "Date", "Status", "Verified"});
+        document.add(table);
 
-        for (Map<String, Object> payment : payments) {
-            table.addCell(new Cell().add(new Paragraph(payment.get("id").toString())));
-            table.addCell(new Cell().add(new Paragraph(payment.get("userName").toString())));
-            table.addCell(new Cell().add(new Paragraph(formatCurrency(payment.get("amount")))));
-            table.addCell(new Cell().add(new Paragraph(payment.get("date").toString())));
-            table.addCell(new Cell().add(new Paragraph(payment.get("status").toString())));
-            table.addCell(new Cell().add(new Paragraph(payment.get("verified").toString())));
-        }
+        int[] rows = {0};
+        payments.forEachRow(payment -> {
+            table.addCell(new Cell().add(new Paragraph(String.valueOf(payment.id()))));
+            table.addCell(new Cell().add(new Paragraph(payment.userName())));
+            table.addCell(new Cell().add(new Paragraph(formatCurrency(payment.amount()))));
+            table.addCell(new Cell().add(new Paragraph(payment.paymentDate().format(DATE_FORMATTER))));
+            table.addCell(new Cell().add(new Paragraph(payment.status().name())));
+            table.addCell(new Cell().add(new Paragraph(payment.verified() ? "Yes" : "No")));
+            if (++rows[0] % FLUSH_EVERY_ROWS == 0) {
+                table.flush();
+            }
+        });
 
-        document.add(table);
+        table.complete();
     }
 
     private void addTableHeader(Table table, String[] headers) {
@@ -410,9 +443,9 @@ public class PdfReportService {
 
     private String formatCurrency(Object amount) {
         if (amount instanceof BigDecimal) {
-            return CURRENCY_FORMAT.format((BigDecimal) amount);
+            return CURRENCY_FORMAT.get().format((BigDecimal) amount);
         } else if (amount instanceof Number) {
-            return CURRENCY_FORMAT.format(((Number) amount).doubleValue());
+            return CURRENCY_FORMAT.get().format(((Number) amount).doubleValue());
         }
         return amount != null ? amount.toString() : "₦0.00";
     }
@@ -0,0 +1,120 @@
+package com.common_wealth_builders.service.impl;
+
+import com.common_wealth_builders.dto.response.FinancialSummaryResponse;
+import com.common_wealth_builders.dto.response.MemberContributionTotal;
+import com.common_wealth_builders.entity.FinancialPeriodSnapshot;
+import com.common_wealth_builders.exception.PeriodClosedException;
+import com.common_wealth_builders.repository.FinancialPeriodSnapshotRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Reads and guards closed-month snapshots. Writes that land in a month
+ * take a shared transaction-scoped advisory lock on it and then check it
+ * is open; closing a month takes the same lock exclusively, so a snapshot
+ * never misses a write that committed concurrently with the close.
+ */
+@Component
+@Slf4j
+public class PeriodSnapshotStore {
+
+    // First key of the two-key advisory lock; the second is year * 100 + month
+    private static final int LOCK_NAMESPACE = 0x50455244;
+
+    private static final TypeReference<List<MemberContributionTotal>> MEMBER_TOTALS = new TypeReference<>() {};
+
+    private final FinancialPeriodSnapshotRepository snapshotRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public PeriodSnapshotStore(FinancialPeriodSnapshotRepository snapshotRepository,
+                               JdbcTemplate jdbcTemplate,
+                               ObjectMapper objectMapper) {
+        this.snapshotRepository = snapshotRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Rejects a write dated in a closed month. Must run in the writing
+     * transaction; the shared lock is held until it ends.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void assertOpen(LocalDateTime date) {
+        YearMonth month = YearMonth.from(date);
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock_shared(?, ?)", LOCK_NAMESPACE, key(month));
+        if (snapshotRepository.existsByPeriodYearAndPeriodMonthAndReopenedAtIsNull(month.getYear(), month.getMonthValue())) {
+            throw new PeriodClosedException("Financial period " + month + " is closed; reopen it before changing its payments or expenses");
+        }
+    }
+
+    /** Blocks writes into the month until the calling transaction ends. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lockForClose(YearMonth month) {
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?, ?)", LOCK_NAMESPACE, key(month));
+    }
+
+    public Optional<FinancialPeriodSnapshot> closedSnapshot(YearMonth month) {
+        return snapshotRepository.findByPeriodYearAndPeriodMonthAndReopenedAtIsNull(month.getYear(), month.getMonthValue());
+    }
+
+    public Optional<FinancialSummaryResponse> closedSummary(YearMonth month) {
+        return closedSnapshot(month).map(this::summaryOf);
+    }
+
+    /** Summaries of the closed months in {@code [from, to]}, in one query. */
+    public Map<YearMonth, FinancialSummaryResponse> closedSummaries(YearMonth from, YearMonth to) {
+        Map<YearMonth, FinancialSummaryResponse> summaries = new TreeMap<>();
+        for (FinancialPeriodSnapshot snapshot : snapshotRepository.findClosedBetween(key(from), key(to))) {
+            summaries.put(YearMonth.of(snapshot.getPeriodYear(), snapshot.getPeriodMonth()), summaryOf(snapshot));
+        }
+        return summaries;
+    }
+
+    public FinancialSummaryResponse summaryOf(FinancialPeriodSnapshot snapshot) {
+        FinancialSummaryResponse summary = read(snapshot.getSummaryJson(), FinancialSummaryResponse.class);
+        summary.setPeriodClosed(snapshot.isClosed());
+        return summary;
+    }
+
+    public List<MemberContributionTotal> memberTotalsOf(FinancialPeriodSnapshot snapshot) {
+        try {
+            return objectMapper.readValue(snapshot.getMemberTotalsJson(), MEMBER_TOTALS);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable snapshot member totals: " + snapshot.getId(), e);
+        }
+    }
+
+    String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize period snapshot", e);
+        }
+    }
+
+    private <T> T read(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable period snapshot", e);
+        }
+    }
+
+    private static int key(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+}
@@ -0,0 +1,68 @@
+package com.common_wealth_builders.service.impl;
+
+import com.common_wealth_builders.enums.ExpenseCategory;
+import com.common_wealth_builders.enums.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Payment totals per status and live-expense totals per category and
+ * approval state for one reporting period.
+ */
+public record PeriodTotals(Map<PaymentStatus, Total> payments,
+                           Map<ExpenseCategory, Total> approvedExpenses,
+                           Map<ExpenseCategory, Total> unapprovedExpenses) {
+
+    public static PeriodTotals empty() {
+        return new PeriodTotals(new EnumMap<>(PaymentStatus.class),
+                new EnumMap<>(ExpenseCategory.class), new EnumMap<>(ExpenseCategory.class));
+    }
+
+    void addPayments(PaymentStatus status, BigDecimal amount, long count) {
+        payments.merge(status, new Total(amount, count), Total::plus);
+    }
+
+    void addExpenses(ExpenseCategory category, boolean approved, BigDecimal amount, long count) {
+        (approved ? approvedExpenses : unapprovedExpenses).merge(category, new Total(amount, count), Total::plus);
+    }
+
+    public Total payments(PaymentStatus status) {
+        return payments.getOrDefault(status, Total.ZERO);
+    }
+
+    public Total allPayments() {
+        return payments.values().stream().reduce(Total.ZERO, Total::plus);
+    }
+
+    /** Everything not verified, matching {@code !payment.isVerified()}. */
+    public Total unverifiedPayments() {
+        return allPayments().minus(payments(PaymentStatus.VERIFIED));
+    }
+
+    public Total approvedExpenseTotal() {
+        return approvedExpenses.values().stream().reduce(Total.ZERO, Total::plus);
+    }
+
+    public Total unapprovedExpenseTotal() {
+        return unapprovedExpenses.values().stream().reduce(Total.ZERO, Total::plus);
+    }
+
+    public record Total(BigDecimal amount, long count) {
+
+        public static final Total ZERO = new Total(BigDecimal.ZERO, 0);
+
+        public Total {
+            amount = amount != null ? amount : BigDecimal.ZERO;
+        }
+
+        public Total plus(Total other) {
+            return new Total(amount.add(other.amount), count + other.count);
+        }
+
+        public Total minus(Total other) {
+            return new Total(amount.subtract(other.amount), count - other.count);
+        }
+    }
+}
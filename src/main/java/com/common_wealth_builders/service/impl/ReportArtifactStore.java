@@ -0,0 +1,174 @@
+package com.common_wealth_builders.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Generated report files on local disk. A file is streamed to a temporary
+ * name and moved into place, so a name recorded on a job always refers to
+ * a complete file. Finished files are then moved under {@code blobs/},
+ * named by the SHA-256 of their content and the job id: a blob never
+ * changes, so its name doubles as ETag, and it belongs to exactly one job.
+ * Files are not shared between jobs, since every rendered report carries
+ * its own generation time and would never match another anyway.
+ */
+@Component
+@Slf4j
+public class ReportArtifactStore {
+
+    private static final Pattern BLOB_KEY = Pattern.compile("[0-9a-f]{64}-[0-9]{1,19}\\.[a-z0-9]{1,8}");
+    private static final String BLOBS = "blobs";
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final Path directory;
+
+    public ReportArtifactStore(@Value("${reports.jobs.dir:data/report-jobs}") String directory) {
+        this.directory = Paths.get(directory);
+    }
+
+    /** Writes the artifact of a job and returns its name relative to the job directory. */
+    public String write(long jobId, String extension, ContentWriter writer) throws IOException {
+        String name = nameFor(jobId, extension);
+        Path temp = partPath(name);
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                writer.writeTo(out);
+            }
+            publish(name);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return name;
+    }
+
+    public String nameFor(long jobId, String extension) {
+        return "report-" + jobId + "." + extension;
+    }
+
+    /**
+     * Where an artifact is built before {@link #publish}. Writers that can
+     * resume keep it across restarts; {@link #deletePartial} removes it.
+     */
+    public Path partPath(String name) throws IOException {
+        Files.createDirectories(directory);
+        return resolve(name + ".part");
+    }
+
+    public void publish(String name) throws IOException {
+        Files.move(resolve(name + ".part"), resolve(name),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Moves the finished artifact of a job to its blob name and returns
+     * that name. Running again for the same job replaces its earlier blob.
+     */
+    public String intern(long jobId, String name) throws IOException {
+        Path source = resolve(name);
+        String extension = name.substring(name.lastIndexOf('.') + 1);
+        String key = sha256(source) + "-" + jobId + "." + extension;
+        String blobName = blobName(key);
+        Path target = resolve(blobName);
+        Files.createDirectories(target.getParent());
+        Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return blobName;
+    }
+
+    /** The key of an interned artifact ({@code <sha256>-<jobId>.<ext>}), or null for one stored by job id. */
+    public String blobKey(String name) {
+        if (name == null || !name.startsWith(BLOBS + "/")) {
+            return null;
+        }
+        return name.substring(name.lastIndexOf('/') + 1);
+    }
+
+    /** Resolves a blob key from a request; null unless it is well formed and the blob exists. */
+    public Path resolveBlob(String key) {
+        if (key == null || !BLOB_KEY.matcher(key).matches()) {
+            return null;
+        }
+        Path path = resolve(blobName(key));
+        return Files.isRegularFile(path) ? path : null;
+    }
+
+    // Two-character fan-out keeps directories small
+    private static String blobName(String key) {
+        return BLOBS + "/" + key.substring(0, 2) + "/" + key;
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HEX.formatHex(digest.digest());
+    }
+
+    public void deletePartial(String name) {
+        delete(name + ".part");
+        delete(name + ".resume");
+    }
+
+    public long size(String name) throws IOException {
+        return Files.size(resolve(name));
+    }
+
+    public Path resolve(String name) {
+        Path path = directory.resolve(name).normalize();
+        if (!path.startsWith(directory.normalize())) {
+            throw new IllegalArgumentException("Artifact outside the report directory: " + name);
+        }
+        return path;
+    }
+
+    public byte[] read(String name) throws IOException {
+        return Files.readAllBytes(resolve(name));
+    }
+
+    public boolean exists(String name) {
+        return name != null && Files.isRegularFile(resolve(name));
+    }
+
+    public void delete(String name) {
+        if (name == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(resolve(name));
+        } catch (IOException e) {
+            log.warn("Could not delete report artifact {}: {}", name, e.getMessage());
+        }
+    }
+
+    /** Produces the content of an artifact; the stream is closed by the store. */
+    @FunctionalInterface
+    public interface ContentWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,297 @@
+package com.common_wealth_builders.service.impl;
+
+import com.common_wealth_builders.dto.response.GenericResponse;
+import com.common_wealth_builders.utils.MetricsSource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Generated report responses, bounded by their approximate serialized
+ * size. A period that ended on or before the close date cannot change
+ * any more and is kept until evicted for space; a period reaching past it
+ * expires after a short TTL. Either kind is dropped when a payment or
+ * expense on a day it covers changes.
+ */
+@Component
+@Slf4j
+public class ReportCache implements MetricsSource {
+
+    /** Weight charged when a response cannot be serialized to measure it. */
+    private static final long DEFAULT_WEIGHT = 4096;
+
+    private final ObjectMapper objectMapper;
+    private final long openTtlMillis;
+    private final long maxWeight;
+    private final LocalDate closedThrough;
+    private final int closeLagDays;
+
+    // Access order, so iteration starts at the least recently used entry
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long weight;
+    // Bumped by every invalidation, guarded by this
+    private long generation;
+    private final ConcurrentHashMap<Key, CompletableFuture<GenericResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder savedNanos = new LongAdder();
+    private final LongAdder staleLoads = new LongAdder();
+
+    public ReportCache(ObjectMapper objectMapper,
+                       @Value("${reports.cache.open-ttl-ms:60000}") long openTtlMillis,
+                       @Value("${reports.cache.max-weight-bytes:8388608}") long maxWeight,
+                       @Value("${reports.cache.closed-through:}") String closedThrough,
+                       @Value("${reports.cache.close-lag-days:7}") int closeLagDays) {
+        this.objectMapper = objectMapper;
+        this.openTtlMillis = openTtlMillis;
+        this.maxWeight = maxWeight;
+        this.closedThrough = StringUtils.hasText(closedThrough) ? LocalDate.parse(closedThrough) : null;
+        this.closeLagDays = closeLagDays;
+    }
+
+    /**
+     * Returns the cached response for {@code key}, or runs {@code loader}
+     * and caches its result when it succeeded. Concurrent misses on the
+     * same key share one load, and a result is only cached when no
+     * invalidation ran while it was loading.
+     */
+    public GenericResponse get(Key key, Supplier<GenericResponse> loader) {
+        long now = System.currentTimeMillis();
+        long loadGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt > now) {
+                hits.increment();
+                savedNanos.add(entry.loadNanos);
+                return entry.response;
+            }
+            if (entry != null) {
+                remove(key);
+                evictions.increment();
+            }
+            loadGeneration = generation;
+        }
+
+        misses.increment();
+        CompletableFuture<GenericResponse> flight = new CompletableFuture<>();
+        CompletableFuture<GenericResponse> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            return join(running);
+        }
+        try {
+            GenericResponse response = load(key, loader, now, loadGeneration);
+            flight.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private GenericResponse load(Key key, Supplier<GenericResponse> loader, long now, long loadGeneration) {
+        long started = System.nanoTime();
+        GenericResponse response = loader.get();
+        long loadNanos = System.nanoTime() - started;
+        if (!response.isSuccess()) {
+            return response;
+        }
+
+        long expiresAt = isClosed(key.lastDay()) ? Long.MAX_VALUE : now + openTtlMillis;
+        Entry entry = new Entry(response, weigh(response), expiresAt, loadNanos);
+        if (entry.weight > maxWeight) {
+            return response;
+        }
+        synchronized (this) {
+            // An invalidation during the load may have raced a commit the
+            // loader did not see; serve the result but do not keep it
+            if (generation != loadGeneration) {
+                staleLoads.increment();
+                return response;
+            }
+            Entry previous = entries.put(key, entry);
+            weight += entry.weight - (previous != null ? previous.weight : 0);
+            evictToFit(now);
+        }
+        return response;
+    }
+
+    private static GenericResponse join(CompletableFuture<GenericResponse> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * A period ending on or before the close date: the configured
+     * {@code reports.cache.closed-through}, or today minus the close lag.
+     */
+    public boolean isClosed(LocalDate periodEnd) {
+        LocalDate closeDate = closedThrough != null ? closedThrough : LocalDate.now().minusDays(closeLagDays);
+        return periodEnd != null && !periodEnd.isAfter(closeDate);
+    }
+
+    /**
+     * Drops entries covering the changed day now and, inside a
+     * transaction, again after it completes so a concurrent load cannot
+     * re-cache the pre-commit totals.
+     */
+    @EventListener
+    public void onFinancialDataChanged(FinancialDataChangedEvent event) {
+        Predicate<Key> affected = key -> key.covers(event.day())
+                || (event.payerId() != null && event.payerId().equals(key.userId()));
+        invalidate(affected);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(affected);
+                }
+            });
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        inFlight.clear();
+        invalidations.add(entries.size());
+        entries.clear();
+        weight = 0;
+    }
+
+    private synchronized void invalidate(Predicate<Key> affected) {
+        generation++;
+        // Later requests start a fresh load instead of joining one that
+        // may have read the pre-change data
+        inFlight.keySet().removeIf(affected);
+        Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Key, Entry> entry = it.next();
+            if (affected.test(entry.getKey())) {
+                weight -= entry.getValue().weight;
+                it.remove();
+                invalidations.increment();
+            }
+        }
+    }
+
+    // Expired entries go first, then the least recently used
+    private void evictToFit(long now) {
+        if (weight <= maxWeight) {
+            return;
+        }
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (entry.expiresAt <= now) {
+                weight -= entry.weight;
+                it.remove();
+                evictions.increment();
+            }
+        }
+        it = entries.values().iterator();
+        while (weight > maxWeight && it.hasNext()) {
+            weight -= it.next().weight;
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    private void remove(Key key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            weight -= removed.weight;
+        }
+    }
+
+    private long weigh(GenericResponse response) {
+        try {
+            return objectMapper.writeValueAsBytes(response.getData()).length;
+        } catch (Exception e) {
+            log.debug("Could not measure cached report: {}", e.getMessage());
+            return DEFAULT_WEIGHT;
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "reportCache";
+    }
+
+    @Override
+    public Map<String, Object> metricsSnapshot() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        synchronized (this) {
+            snapshot.put("entries", entries.size());
+            snapshot.put("weightBytes", weight);
+        }
+        snapshot.put("maxWeightBytes", maxWeight);
+        snapshot.put("hits", hitCount);
+        snapshot.put("misses", missCount);
+        snapshot.put("hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        snapshot.put("savedMillis", savedNanos.sum() / 1_000_000);
+        snapshot.put("evictions", evictions.sum());
+        snapshot.put("invalidations", invalidations.sum());
+        snapshot.put("staleLoads", staleLoads.sum());
+        snapshot.put("inFlight", inFlight.size());
+        return snapshot;
+    }
+
+    /**
+     * A normalized report request: the report type and its period, or the
+     * member for per-user reports, which have no period.
+     */
+    public record Key(String type, LocalDateTime start, LocalDateTime end, Long userId) {
+
+        public static Key period(String type, LocalDateTime start, LocalDateTime end) {
+            return new Key(type, start, end, null);
+        }
+
+        public static Key member(String type, Long userId) {
+            return new Key(type, null, null, userId);
+        }
+
+        boolean covers(LocalDate day) {
+            return start != null && end != null
+                    && !day.isBefore(start.toLocalDate()) && !day.isAfter(end.toLocalDate());
+        }
+
+        LocalDate lastDay() {
+            return end != null ? end.toLocalDate() : null;
+        }
+    }
+
+    private record Entry(GenericResponse response, long weight, long expiresAt, long loadNanos) {
+    }
+}
@@ -0,0 +1,85 @@
+package com.common_wealth_builders.service.impl;
+
+import com.common_wealth_builders.dto.response.FinancialSummaryResponse;
+import com.common_wealth_builders.dto.response.UserContributionResponse;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Turns the data of a report response into the map {@link PdfReportService}
+ * renders. Every key a PDF section reads is filled in, so a missing figure
+ * prints as zero rather than failing the render.
+ */
+@Component
+public class ReportDataMapper {
+
+    private static final DateTimeFormatter PERIOD_FORMATTER = DateTimeFormatter.ofPattern("MMM dd, yyyy");
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm");
+
+    public Map<String, Object> financialSummary(Object data) {
+        FinancialSummaryResponse summary = (FinancialSummaryResponse) data;
+        Map<String, Object> pdfData = new HashMap<>();
+        pdfData.put("period", period(summary.getPeriodStart(), summary.getPeriodEnd()));
+        pdfData.put("totalIncome", orZero(summary.getTotalIncome()));
+        pdfData.put("totalExpenses", orZero(summary.getTotalExpenses()));
+        pdfData.put("netBalance", orZero(summary.getNetBalance()));
+        pdfData.put("totalPayments", summary.getTotalPaymentCount() != null ? summary.getTotalPaymentCount() : 0);
+        return pdfData;
+    }
+
+    public Map<String, Object> userContribution(Object data) {
+        UserContributionResponse contribution = (UserContributionResponse) data;
+        BigDecimal total = orZero(contribution.getTotalContributions());
+        int count = contribution.getPaymentCount() != null ? contribution.getPaymentCount() : 0;
+        
+        Map<String, Object> pdfData = new HashMap<>();
+        pdfData.put("userName", contribution.getUserFullName());
+        pdfData.put("userEmail", contribution.getUserEmail());
+        pdfData.put("totalContributions", total);
+        pdfData.put("paymentCount", count);
+        pdfData.put("averageContribution", count > 0
+                ? total.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP) : BigDecimal.ZERO);
+        pdfData.put("lastPaymentDate", contribution.getLastPaymentDate() != null
+                ? contribution.getLastPaymentDate().format(DATE_FORMATTER) : "N/A");
+        return pdfData;
+    }
+
+    public Map<String, Object> expenseReport(Object data) {
+        Map<?, ?> report = (Map<?, ?>) data;
+        Map<String, Object> pdfData = new HashMap<>();
+        pdfData.put("period", period((LocalDateTime) report.get("periodStart"), (LocalDateTime) report.get("periodEnd")));
+        pdfData.put("totalExpenses", orZero((BigDecimal) report.get("totalExpenses")));
+        pdfData.put("expenseCount", report.get("expenseCount") != null ? report.get("expenseCount") : 0);
+        pdfData.put("approvedExpenses", orZero((BigDecimal) report.get("approvedExpenses")));
+        pdfData.put("pendingExpenses", orZero((BigDecimal) report.get("pendingExpenses")));
+        return pdfData;
+    }
+
+    public Map<String, Object> paymentReport(Object data) {
+        Map<?, ?> report = (Map<?, ?>) data;
+        Map<String, Object> pdfData = new HashMap<>();
+        pdfData.put("period", period((LocalDateTime) report.get("periodStart"), (LocalDateTime) report.get("periodEnd")));
+        pdfData.put("totalPayments", orZero((BigDecimal) report.get("totalPayments")));
+        pdfData.put("paymentCount", report.get("totalCount") != null ? report.get("totalCount") : 0);
+        pdfData.put("verifiedPayments", orZero((BigDecimal) report.get("verifiedPayments")));
+        pdfData.put("pendingPayments", orZero((BigDecimal) report.get("pendingPayments")));
+        return pdfData;
+    }
+
+    private static String period(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null) {
+            return "N/A";
+        }
+        return start.format(PERIOD_FORMATTER) + " - " + end.format(PERIOD_FORMATTER);
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,411 @@
+package com.common_wealth_builders.service.impl;
+
+import com.common_wealth_builders.dto.request.ReportFilterRequest;
+import com.common_wealth_builders.dto.response.GenericResponse;
+import com.common_wealth_builders.entity.ReportJob;
+import com.common_wealth_builders.enums.FollowUpStatus;
+import com.common_wealth_builders.enums.ReportJobStatus;
+import com.common_wealth_builders.enums.ReportJobType;
+import com.common_wealth_builders.exception.ServiceUnavailableException;
+import com.common_wealth_builders.repository.ReportJobRepository;
+import com.common_wealth_builders.service.ReportService;
+import com.common_wealth_builders.utils.MetricsSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs report jobs on a fixed worker pool. Each report type may only
+ * occupy its own number of workers, so a burst of annual reports cannot
+ * starve quick summaries; jobs beyond a type's limit wait in memory until
+ * a job of that type finishes. The database row is the source of truth:
+ * a worker checks it at every step and stops once the job was cancelled,
+ * and jobs left queued or running by a restart are picked up again
+ * (member statements from their last checkpoint).
+ */
+@Component
+@Slf4j
+public class ReportJobExecutor implements MetricsSource {
+
+    private static final int PROGRESS_STARTED = 5;
+    private static final int PROGRESS_GENERATED = 40;
+    private static final int PROGRESS_RENDERED = 80;
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final ReportJobRepository reportJobRepository;
+    private final ReportService reportService;
+    private final ReportRenderer reportRenderer;
+    private final ReportArtifactStore artifactStore;
+    private final MemberStatementWriter memberStatementWriter;
+    private final EmailService emailService;
+    private final WhatsAppService whatsAppService;
+    private final ReportLinkSigner linkSigner;
+    private final int maxWaiting;
+    private final long retentionHours;
+
+    // Never holds more tasks than the sum of the type limits
+    private final ThreadPoolExecutor workers;
+    private final ExecutorService followUps;
+
+    private final Map<ReportJobType, Integer> typeLimits = new EnumMap<>(ReportJobType.class);
+
+    // Guarded by this
+    private final Map<ReportJobType, Integer> running = new EnumMap<>(ReportJobType.class);
+    private final Map<ReportJobType, Deque<Long>> waiting = new EnumMap<>(ReportJobType.class);
+    private int waitingCount;
+
+    private volatile boolean shuttingDown;
+
+    private final LongAdder dispatched = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder followUpsSent = new LongAdder();
+    private final LongAdder followUpsFailed = new LongAdder();
+    private final LongAdder runNanos = new LongAdder();
+
+    public ReportJobExecutor(ReportJobRepository reportJobRepository,
+                             ReportService reportService,
+                             ReportRenderer reportRenderer,
+                             ReportArtifactStore artifactStore,
+                             MemberStatementWriter memberStatementWriter,
+                             EmailService emailService,
+                             WhatsAppService whatsAppService,
+                             ReportLinkSigner linkSigner,
+                             @Value("${reports.jobs.threads:4}") int threads,
+                             @Value("${reports.jobs.default-type-limit:2}") int defaultTypeLimit,
+                             @Value("${reports.jobs.type-limits:}") String typeLimits,
+                             @Value("${reports.jobs.max-waiting:100}") int maxWaiting,
+                             @Value("${reports.jobs.follow-up-threads:2}") int followUpThreads,
+                             @Value("${reports.jobs.retention-hours:72}") long retentionHours) {
+        this.reportJobRepository = reportJobRepository;
+        this.reportService = reportService;
+        this.reportRenderer = reportRenderer;
+        this.artifactStore = artifactStore;
+        this.memberStatementWriter = memberStatementWriter;
+        this.emailService = emailService;
+        this.whatsAppService = whatsAppService;
+        this.linkSigner = linkSigner;
+        this.maxWaiting = Math.max(0, maxWaiting);
+        this.retentionHours = retentionHours;
+
+        for (ReportJobType type : ReportJobType.values()) {
+            this.typeLimits.put(type, Math.max(1, defaultTypeLimit));
+            this.running.put(type, 0);
+            this.waiting.put(type, new ArrayDeque<>());
+        }
+        if (StringUtils.hasText(typeLimits)) {
+            for (String entry : typeLimits.split(",")) {
+                String[] parts = entry.trim().split("=");
+                this.typeLimits.put(ReportJobType.valueOf(parts[0].trim()), Math.max(1, Integer.parseInt(parts[1].trim())));
+            }
+        }
+
+        int poolSize = Math.max(1, threads);
+        AtomicInteger threadIds = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "report-job-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger followUpIds = new AtomicInteger();
+        this.followUps = Executors.newFixedThreadPool(Math.max(1, followUpThreads), runnable -> {
+            Thread thread = new Thread(runnable, "report-follow-up-" + followUpIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeJobs() {
+        int requeued = reportJobRepository.requeueRunning(LocalDateTime.now());
+        int resumed = 0;
+        for (ReportJob job : reportJobRepository.findByStatusOrderByIdAsc(ReportJobStatus.QUEUED)) {
+            dispatch(job.getId(), job.getType());
+            resumed++;
+        }
+        if (resumed > 0) {
+            log.info("Resumed {} report jobs ({} were interrupted while running)", resumed, requeued);
+        }
+    }
+
+    /** Refuses new jobs while the backlog is full; called before a job is stored. */
+    public synchronized void checkCapacity() {
+        if (waitingCount >= maxWaiting) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Too many reports are being generated. Please retry shortly.", 30);
+        }
+    }
+
+    /** Starts the job now if its type has a free worker, otherwise queues it behind that type's jobs. */
+    public synchronized void dispatch(Long jobId, ReportJobType type) {
+        dispatched.increment();
+        if (running.get(type) < typeLimits.get(type)) {
+            running.merge(type, 1, Integer::sum);
+            submit(jobId, type);
+        } else {
+            waiting.get(type).addLast(jobId);
+            waitingCount++;
+        }
+    }
+
+    /** Forgets a waiting job; a running one stops at its next step once its row is cancelled. */
+    public synchronized void cancel(Long jobId, ReportJobType type) {
+        cancelled.increment();
+        if (waiting.get(type).remove(jobId)) {
+            waitingCount--;
+        }
+    }
+
+    private void submit(Long jobId, ReportJobType type) {
+        try {
+            workers.execute(() -> run(jobId, type));
+        } catch (RejectedExecutionException e) {
+            // Only during shutdown; the job stays queued and resumes on the next start
+            running.merge(type, -1, Integer::sum);
+        }
+    }
+
+    private void run(Long jobId, ReportJobType type) {
+        try {
+            execute(jobId, type);
+        } finally {
+            release(type);
+        }
+    }
+
+    // The next waiting job of the type inherits the finished job's slot
+    private synchronized void release(ReportJobType type) {
+        Long next = waiting.get(type).pollFirst();
+        if (next != null) {
+            waitingCount--;
+            submit(next, type);
+        } else {
+            running.merge(type, -1, Integer::sum);
+        }
+    }
+
+    private void execute(Long jobId, ReportJobType type) {
+        if (reportJobRepository.markRunning(jobId, PROGRESS_STARTED, LocalDateTime.now()) == 0) {
+            log.info("Report job {} is no longer queued; skipping", jobId);
+            return;
+        }
+
+        long started = System.nanoTime();
+        String artifactName = null;
+        try {
+            ReportJob job = reportJobRepository.findById(jobId)
+                    .orElseThrow(() -> new IllegalStateException("Report job " + jobId + " no longer exists"));
+
+            if (type == ReportJobType.MEMBER_STATEMENTS) {
+                artifactName = memberStatementWriter.write(job, (resumeAfterId, done, total) ->
+                        saveCheckpoint(jobId, resumeAfterId, done, total));
+            } else {
+                GenericResponse report = generate(job);
+                checkpoint(jobId, PROGRESS_GENERATED);
+
+                // Rendered straight into the artifact file
+                artifactName = artifactStore.write(jobId, type.getExtension(),
+                        out -> reportRenderer.render(type, report, out));
+            }
+            checkpoint(jobId, PROGRESS_RENDERED);
+
+            artifactName = artifactStore.intern(jobId, artifactName);
+            long size = artifactStore.size(artifactName);
+            if (reportJobRepository.markSucceeded(jobId, artifactName, size, LocalDateTime.now()) == 0) {
+                throw new CancellationException();
+            }
+            succeeded.increment();
+            log.info("Report job completed: jobId={}, type={}, bytes={}, millis={}",
+                    jobId, type, size, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+            scheduleFollowUps(jobId);
+        } catch (CancellationException e) {
+            discard(artifactName);
+            artifactStore.deletePartial(artifactStore.nameFor(jobId, type.getExtension()));
+            log.info("Report job {} was cancelled while running", jobId);
+        } catch (Exception e) {
+            discard(artifactName);
+            if (shuttingDown) {
+                // Partial output stays, so a resumable job continues from its last checkpoint
+                log.info("Report job {} interrupted by shutdown; it resumes on the next start", jobId);
+                return;
+            }
+            artifactStore.deletePartial(artifactStore.nameFor(jobId, type.getExtension()));
+            failed.increment();
+            log.error("Report job failed: jobId={}, type={}", jobId, type, e);
+            reportJobRepository.markFailed(jobId, errorMessage(e), LocalDateTime.now());
+        } finally {
+            runNanos.add(System.nanoTime() - started);
+        }
+    }
+
+    private GenericResponse generate(ReportJob job) {
+        ReportFilterRequest filter = ReportFilterRequest.builder()
+                .startDate(job.getPeriodStart())
+                .endDate(job.getPeriodEnd())
+                .build();
+        return switch (job.getType()) {
+            case FINANCIAL_SUMMARY -> reportService.generateFinancialSummary(filter);
+            case USER_CONTRIBUTION -> reportService.generateUserContributionReport(job.getSubjectUserId());
+            case EXPENSE -> reportService.generateExpenseReport(filter);
+            case PAYMENT -> reportService.generatePaymentReport(filter);
+            case MONTHLY -> reportService.generateMonthlyReport(job.getPeriodYear(), job.getPeriodMonth());
+            case ANNUAL -> reportService.generateAnnualReport(job.getPeriodYear());
+            case MEMBER_STATEMENTS -> throw new IllegalStateException("Member statements are not a single report");
+        };
+    }
+
+    private void saveCheckpoint(Long jobId, long resumeAfterId, int done, int total) {
+        int progress = PROGRESS_STARTED + (total > 0 ? (PROGRESS_RENDERED - PROGRESS_STARTED) * done / total : 0);
+        if (reportJobRepository.saveCheckpoint(jobId, resumeAfterId, done, total, progress, LocalDateTime.now()) == 0) {
+            throw new CancellationException();
+        }
+    }
+
+    private void checkpoint(Long jobId, int progress) {
+        if (reportJobRepository.updateProgress(jobId, progress, LocalDateTime.now()) == 0) {
+            throw new CancellationException();
+        }
+    }
+
+    /** Sends whatever follow-ups are pending, provided the job has its artifact. */
+    public void scheduleFollowUps(Long jobId) {
+        try {
+            followUps.execute(() -> sendFollowUps(jobId));
+        } catch (RejectedExecutionException e) {
+            log.warn("Follow-ups of report job {} not sent: shutting down", jobId);
+        }
+    }
+
+    private void sendFollowUps(Long jobId) {
+        if (reportJobRepository.claimEmail(jobId, LocalDateTime.now()) == 1) {
+            reportJobRepository.findById(jobId).ifPresent(this::sendEmail);
+        }
+        if (reportJobRepository.claimWhatsApp(jobId, LocalDateTime.now()) == 1) {
+            reportJobRepository.findById(jobId).ifPresent(this::sendWhatsApp);
+        }
+    }
+
+    private void sendEmail(ReportJob job) {
+        FollowUpStatus outcome = FollowUpStatus.FAILED;
+        try {
+            String label = job.getType().getLabel();
+            emailService.sendReportEmail(
+                    job.getEmailTo(),
+                    StringUtils.hasText(job.getEmailSubject()) ? job.getEmailSubject() : label,
+                    label,
+                    artifactStore.read(job.getArtifactName()),
+                    job.getRecipientName());
+            outcome = FollowUpStatus.SENT;
+            followUpsSent.increment();
+        } catch (Exception e) {
+            followUpsFailed.increment();
+            log.error("Report email failed: jobId={}, to={}", job.getId(), job.getEmailTo(), e);
+        } finally {
+            reportJobRepository.finishEmail(job.getId(), outcome, LocalDateTime.now());
+        }
+    }
+
+    private void sendWhatsApp(ReportJob job) {
+        FollowUpStatus outcome = FollowUpStatus.FAILED;
+        try {
+            ReportLinkSigner.SignedLink link = linkSigner.link(job);
+            whatsAppService.sendReportNotification(job.getWhatsappTo(), job.getType().getLabel(),
+                    link.url(), link.expiresAt());
+            outcome = FollowUpStatus.SENT;
+            followUpsSent.increment();
+        } catch (Exception e) {
+            followUpsFailed.increment();
+            log.error("Report WhatsApp notification failed: jobId={}, to={}", job.getId(), job.getWhatsappTo(), e);
+        } finally {
+            reportJobRepository.finishWhatsApp(job.getId(), outcome, LocalDateTime.now());
+        }
+    }
+
+    public static String downloadPath(Long jobId) {
+        return "/v1/report-jobs/" + jobId + "/download";
+    }
+
+    // Every blob belongs to exactly one job
+    private void discard(String artifactName) {
+        artifactStore.delete(artifactName);
+    }
+
+    @Scheduled(cron = "${reports.jobs.cleanup-cron:0 45 * * * *}")
+    public void expireArtifacts() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        int count = 0;
+        for (ReportJob job : reportJobRepository.findByStatusAndFinishedAtBefore(ReportJobStatus.SUCCEEDED, cutoff)) {
+            // Expire the row first so no new download starts on a file about to go
+            if (reportJobRepository.markExpired(job.getId(), LocalDateTime.now()) == 1) {
+                discard(job.getArtifactName());
+                count++;
+            }
+        }
+        if (count > 0) {
+            expired.add(count);
+            log.info("Expired {} report artifacts finished before {}", count, cutoff);
+        }
+    }
+
+    private static String errorMessage(Exception e) {
+        String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        shuttingDown = true;
+        workers.shutdownNow();
+        followUps.shutdownNow();
+    }
+
+    @Override
+    public String metricsName() {
+        return "reportJobs";
+    }
+
+    @Override
+    public synchronized Map<String, Object> metricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("running", new EnumMap<>(running));
+        snapshot.put("waiting", waitingCount);
+        snapshot.put("typeLimits", new EnumMap<>(typeLimits));
+        snapshot.put("poolThreads", workers.getPoolSize());
+        snapshot.put("dispatched", dispatched.sum());
+        snapshot.put("succeeded", succeeded.sum());
+        snapshot.put("failed", failed.sum());
+        snapshot.put("cancelled", cancelled.sum());
+        snapshot.put("rejected", rejected.sum());
+        snapshot.put("expired", expired.sum());
+        snapshot.put("followUpsSent", followUpsSent.sum());
+        snapshot.put("followUpsFailed", followUpsFailed.sum());
+        snapshot.put("runMillis", TimeUnit.NANOSECONDS.toMillis(runNanos.sum()));
+        return snapshot;
+    }
+}
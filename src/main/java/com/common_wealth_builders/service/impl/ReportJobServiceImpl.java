@@ -0,0 +1,298 @@
+package com.common_wealth_builders.service.impl;
+
+import com.common_wealth_builders.dto.request.ReportJobRequest;
+import com.common_wealth_builders.dto.request.SendReportRequest;
+import com.common_wealth_builders.dto.response.GenericResponse;
+import com.common_wealth_builders.dto.response.ReportJobResponse;
+import com.common_wealth_builders.dto.response.ReportLinkResponse;
+import com.common_wealth_builders.entity.ReportJob;
+import com.common_wealth_builders.enums.ReportJobStatus;
+import com.common_wealth_builders.exception.InvalidPeriodException;
+import com.common_wealth_builders.exception.InvalidReportRequestException;
+import com.common_wealth_builders.exception.ReportJobStateException;
+import com.common_wealth_builders.exception.ResourceNotFoundException;
+import com.common_wealth_builders.repository.ReportJobRepository;
+import com.common_wealth_builders.repository.UserRepository;
+import com.common_wealth_builders.security.ActorContext;
+import com.common_wealth_builders.service.AuditService;
+import com.common_wealth_builders.service.ReportJobService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportJobServiceImpl implements ReportJobService {
+
+    private final ReportJobRepository reportJobRepository;
+    private final UserRepository userRepository;
+    private final ReportJobExecutor reportJobExecutor;
+    private final ReportArtifactStore artifactStore;
+    private final ReportLinkSigner linkSigner;
+    private final AuditService auditService;
+
+    @Override
+    @Transactional
+    public GenericResponse submitJob(ReportJobRequest request) {
+        ActorContext actor = ActorContext.require();
+        log.info("Submitting report job: type={}, requestedBy={}", request.getType(), actor.email());
+
+        reportJobExecutor.checkCapacity();
+
+        ReportJob.ReportJobBuilder<?, ?> builder = ReportJob.builder()
+                .type(request.getType())
+                .status(ReportJobStatus.QUEUED)
+                .progress(0)
+                .requestedById(actor.userId())
+                .requestedByEmail(actor.email());
+
+        // Parameters are resolved now, so the job reports the period the caller saw when submitting
+        switch (request.getType()) {
+            case FINANCIAL_SUMMARY, EXPENSE, PAYMENT -> {
+                LocalDateTime endDate = request.getEndDate() != null
+                        ? request.getEndDate() : LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+                LocalDateTime startDate = request.getStartDate() != null
+                        ? request.getStartDate() : endDate.minusMonths(1);
+                if (startDate.isAfter(endDate)) {
+                    throw new InvalidPeriodException("Start date must not be after end date");
+                }
+                builder.periodStart(startDate).periodEnd(endDate);
+            }
+            case USER_CONTRIBUTION -> {
+                if (request.getUserId() == null) {
+                    throw new InvalidReportRequestException("userId is required for a user contribution report");
+                }
+                if (!userRepository.existsById(request.getUserId())) {
+                    throw new ResourceNotFoundException("User not found with id: " + request.getUserId());
+                }
+                builder.subjectUserId(request.getUserId());
+            }
+            case MONTHLY -> {
+                if (request.getYear() == null || request.getMonth() == null) {
+                    throw new InvalidReportRequestException("year and month are required for a monthly report");
+                }
+                ReportServiceImpl.monthOf(request.getYear(), request.getMonth());
+                builder.periodYear(request.getYear()).periodMonth(request.getMonth());
+            }
+            case ANNUAL -> {
+                if (request.getYear() == null) {
+                    throw new InvalidReportRequestException("year is required for an annual report");
+                }
+                ReportServiceImpl.monthOf(request.getYear(), 1);
+                builder.periodYear(request.getYear());
+            }
+            case MEMBER_STATEMENTS -> {
+                if (request.getYear() == null) {
+                    throw new InvalidReportRequestException("year is required for member statements");
+                }
+                ReportServiceImpl.monthOf(request.getYear(), 1);
+                LocalDateTime yearStart = LocalDateTime.of(request.getYear(), 1, 1, 0, 0);
+                builder.periodYear(request.getYear())
+                        .periodStart(yearStart)
+                        .periodEnd(yearStart.plusYears(1).minusSeconds(1));
+            }
+        }
+
+        ReportJob job = reportJobRepository.save(builder.build());
+        afterCommit(() -> reportJobExecutor.dispatch(job.getId(), job.getType()));
+
+        auditService.logAction(actor.userId(), "REPORT_JOB_SUBMITTED", "REPORTS",
+                "Report job submitted: id=" + job.getId() + ", type=" + job.getType());
+
+        log.info("Report job queued: jobId={}, type={}", job.getId(), job.getType());
+
+        return GenericResponse.builder()
+                .isSuccess(true)
+                .message("Report job submitted successfully")
+                .data(toResponse(job))
+                .httpStatus(HttpStatus.ACCEPTED)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public GenericResponse getJob(Long jobId) {
+        log.info("Fetching report job: jobId={}", jobId);
+
+        ReportJob job = findOwnJob(jobId);
+
+        return GenericResponse.builder()
+                .isSuccess(true)
+                .message("Report job retrieved successfully")
+                .data(toResponse(job))
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    @Override
+    public GenericResponse cancelJob(Long jobId) {
+        ActorContext actor = ActorContext.require();
+        log.info("Cancelling report job: jobId={}, cancelledBy={}", jobId, actor.email());
+
+        ReportJob job = findOwnJob(jobId);
+        if (reportJobRepository.markCancelled(jobId, LocalDateTime.now()) == 0) {
+            throw new ReportJobStateException("Report job " + jobId + " has already finished");
+        }
+        reportJobExecutor.cancel(jobId, job.getType());
+
+        auditService.logAction(actor.userId(), "REPORT_JOB_CANCELLED", "REPORTS",
+                "Report job cancelled: id=" + jobId + ", type=" + job.getType());
+
+        return GenericResponse.builder()
+                .isSuccess(true)
+                .message("Report job cancelled successfully")
+                .data(toResponse(findOwnJob(jobId)))
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    @Override
+    public GenericResponse sendByEmail(Long jobId, SendReportRequest request) {
+        log.info("Requesting report email: jobId={}, to={}", jobId, request.getEmail());
+
+        if (!StringUtils.hasText(request.getEmail())) {
+            throw new InvalidReportRequestException("email is required to send a report by email");
+        }
+        ReportJob job = findOwnJob(jobId);
+        if (!"pdf".equals(job.getType().getExtension())) {
+            // Statement archives run to many megabytes; they are downloaded or linked instead
+            throw new InvalidReportRequestException(job.getType().getLabel() + " cannot be sent by email");
+        }
+        if (reportJobRepository.requestEmail(jobId, request.getEmail(), request.getSubject(),
+                request.getRecipientName(), LocalDateTime.now()) == 0) {
+            throw new ReportJobStateException(followUpConflict(job));
+        }
+        reportJobExecutor.scheduleFollowUps(jobId);
+
+        return GenericResponse.builder()
+                .isSuccess(true)
+                .message("Report will be emailed once it is ready")
+                .data(toResponse(findOwnJob(jobId)))
+                .httpStatus(HttpStatus.ACCEPTED)
+                .build();
+    }
+
+    @Override
+    public GenericResponse sendByWhatsApp(Long jobId, SendReportRequest request) {
+        log.info("Requesting report WhatsApp notification: jobId={}, to={}", jobId, request.getPhoneNumber());
+
+        if (!StringUtils.hasText(request.getPhoneNumber())) {
+            throw new InvalidReportRequestException("phoneNumber is required to send a report by WhatsApp");
+        }
+        ReportJob job = findOwnJob(jobId);
+        if (reportJobRepository.requestWhatsApp(jobId, request.getPhoneNumber(), LocalDateTime.now()) == 0) {
+            throw new ReportJobStateException(followUpConflict(job));
+        }
+        reportJobExecutor.scheduleFollowUps(jobId);
+
+        return GenericResponse.builder()
+                .isSuccess(true)
+                .message("Report link will be sent via WhatsApp once it is ready")
+                .data(toResponse(findOwnJob(jobId)))
+                .httpStatus(HttpStatus.ACCEPTED)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Artifact getArtifact(Long jobId) {
+        ReportJob job = findDownloadableJob(jobId);
+        return new Artifact(artifactStore.resolve(job.getArtifactName()), job.downloadFileName(),
+                job.getType().getContentType(), job.getArtifactSize() != null ? job.getArtifactSize() : 0L);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public GenericResponse createLink(Long jobId) {
+        log.info("Creating report link: jobId={}", jobId);
+
+        ReportJob job = findDownloadableJob(jobId);
+        ReportLinkSigner.SignedLink link = linkSigner.link(job);
+
+        return GenericResponse.builder()
+                .isSuccess(true)
+                .message("Report link created successfully")
+                .data(ReportLinkResponse.builder()
+                        .jobId(jobId)
+                        .url(link.url())
+                        .fileName(link.fileName())
+                        .expiresAt(link.expiresAt())
+                        .build())
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    private ReportJob findDownloadableJob(Long jobId) {
+        ReportJob job = findOwnJob(jobId);
+        if (job.getStatus() != ReportJobStatus.SUCCEEDED || !artifactStore.exists(job.getArtifactName())) {
+            throw new ReportJobStateException("Report job " + jobId + " has no file to download (status "
+                    + job.getStatus() + ")");
+        }
+        return job;
+    }
+
+    // Another member's job reads as missing rather than forbidden
+    private ReportJob findOwnJob(Long jobId) {
+        ActorContext actor = ActorContext.require();
+        return reportJobRepository.findById(jobId)
+                .filter(job -> job.getRequestedById().equals(actor.userId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Report job not found with id: " + jobId));
+    }
+
+    private static String followUpConflict(ReportJob job) {
+        return job.getStatus().isFinished() && job.getStatus() != ReportJobStatus.SUCCEEDED
+                ? "Report job " + job.getId() + " is " + job.getStatus() + " and has no report to send"
+                : "Report job " + job.getId() + " is already sending this report";
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private ReportJobResponse toResponse(ReportJob job) {
+        boolean downloadable = job.getStatus() == ReportJobStatus.SUCCEEDED;
+        return ReportJobResponse.builder()
+                .jobId(job.getId())
+                .type(job.getType())
+                .status(job.getStatus())
+                .progress(job.getProgress())
+                .itemsDone(job.getItemsDone())
+                .itemsTotal(job.getItemsTotal())
+                .periodStart(job.getPeriodStart())
+                .periodEnd(job.getPeriodEnd())
+                .year(job.getPeriodYear())
+                .month(job.getPeriodMonth())
+                .userId(job.getSubjectUserId())
+                .requestedBy(job.getRequestedByEmail())
+                .fileName(downloadable ? job.downloadFileName() : null)
+                .fileSize(downloadable ? job.getArtifactSize() : null)
+                .downloadPath(downloadable ? ReportJobExecutor.downloadPath(job.getId()) : null)
+                .errorMessage(job.getErrorMessage())
+                .emailTo(job.getEmailTo())
+                .emailStatus(job.getEmailStatus())
+                .whatsappTo(job.getWhatsappTo())
+                .whatsappStatus(job.getWhatsappStatus())
+                .submittedAt(job.getCreatedDate())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
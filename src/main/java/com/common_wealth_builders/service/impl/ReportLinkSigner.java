@@ -0,0 +1,152 @@
+package com.common_wealth_builders.service.impl;
+
+import com.common_wealth_builders.entity.ReportJob;
+import com.common_wealth_builders.exception.ReportJobStateException;
+import com.common_wealth_builders.utils.MetricsSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Expiring download links for report files that work without a login, e.g.
+ * from a WhatsApp message. A link names the blob, the file name offered
+ * and the expiry, signed with HMAC-SHA256; checking it needs no database
+ * access. A link never outlives the file: the expiry is capped at the
+ * artifact's retention. Without a dedicated
+ * {@code reports.links.secret} the key is derived from the JWT secret
+ * under its own label, so a link signature can never pass as a token
+ * signature or the other way round.
+ */
+@Component
+@Slf4j
+public class ReportLinkSigner implements MetricsSource {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String FILES_PATH = "/v1/report-files/";
+    private static final String KEY_LABEL = "common-wealth-builders/report-links/v1";
+
+    private final ReportArtifactStore artifactStore;
+    private final SecretKeySpec key;
+    private final long ttlHours;
+    private final long retentionHours;
+    private final String publicBaseUrl;
+
+    private final LongAdder signed = new LongAdder();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+
+    public ReportLinkSigner(ReportArtifactStore artifactStore,
+                            @Value("${reports.links.secret:}") String secret,
+                            @Value("${jwt.secret}") String jwtSecret,
+                            @Value("${reports.links.ttl-hours:72}") long ttlHours,
+                            @Value("${reports.jobs.retention-hours:72}") long retentionHours,
+                            @Value("${reports.jobs.public-base-url:http://localhost:8089/api}") String publicBaseUrl) {
+        this.artifactStore = artifactStore;
+        this.key = StringUtils.hasText(secret)
+                ? new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM)
+                : deriveKey(jwtSecret);
+        this.ttlHours = ttlHours;
+        this.retentionHours = retentionHours;
+        this.publicBaseUrl = publicBaseUrl.endsWith("/")
+                ? publicBaseUrl.substring(0, publicBaseUrl.length() - 1) : publicBaseUrl;
+    }
+
+    // HMAC of a fixed label under the JWT secret, as in the HKDF expand step
+    private static SecretKeySpec deriveKey(String jwtSecret) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(jwtSecret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            return new SecretKeySpec(mac.doFinal(KEY_LABEL.getBytes(StandardCharsets.UTF_8)), ALGORITHM);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not derive report link key", e);
+        }
+    }
+
+    /** A signed link to the file of a succeeded job. */
+    public SignedLink link(ReportJob job) {
+        String blobKey = artifactStore.blobKey(job.getArtifactName());
+        if (blobKey == null) {
+            throw new ReportJobStateException("Report job " + job.getId()
+                    + " has no shareable file; generate the report again");
+        }
+        LocalDateTime expiresAt = LocalDateTime.now().plusHours(ttlHours);
+        if (job.getFinishedAt() != null && job.getFinishedAt().plusHours(retentionHours).isBefore(expiresAt)) {
+            expiresAt = job.getFinishedAt().plusHours(retentionHours);
+        }
+        long expires = expiresAt.atZone(ZoneId.systemDefault()).toEpochSecond();
+        String fileName = job.downloadFileName();
+
+        String url = UriComponentsBuilder.fromHttpUrl(publicBaseUrl + FILES_PATH + blobKey)
+                .queryParam("name", fileName)
+                .queryParam("expires", expires)
+                .queryParam("sig", signature(blobKey, fileName, expires))
+                .encode()
+                .toUriString();
+        signed.increment();
+        return new SignedLink(url, fileName, expiresAt);
+    }
+
+    /** Whether a link's parameters carry a valid, unexpired signature. */
+    public boolean verify(String blobKey, String fileName, long expires, String signature) {
+        if (blobKey == null || fileName == null || signature == null) {
+            rejected.increment();
+            return false;
+        }
+        byte[] expected = signature(blobKey, fileName, expires).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII))) {
+            rejected.increment();
+            return false;
+        }
+        if (Instant.now().getEpochSecond() > expires) {
+            expired.increment();
+            return false;
+        }
+        accepted.increment();
+        return true;
+    }
+
+    private String signature(String blobKey, String fileName, long expires) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            byte[] digest = mac.doFinal((blobKey + "\n" + fileName + "\n" + expires).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not sign report link", e);
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "reportLinks";
+    }
+
+    @Override
+    public Map<String, Object> metricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("signed", signed.sum());
+        snapshot.put("accepted", accepted.sum());
+        snapshot.put("rejected", rejected.sum());
+        snapshot.put("expired", expired.sum());
+        return snapshot;
+    }
+
+    public record SignedLink(String url, String fileName, LocalDateTime expiresAt) {
+    }
+}
@@ -0,0 +1,78 @@
+package com.common_wealth_builders.service.impl;
+
+import com.common_wealth_builders.dto.response.GenericResponse;
+import com.common_wealth_builders.enums.ReportJobType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Renders a generated report as PDF. Monthly and annual reports are
+ * financial summaries and use that layout. Payment reports list every
+ * payment of the period, streamed from the database while the PDF is
+ * written. Downloads use {@link #renderSpooled} so that cursor is closed
+ * before the client starts reading.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReportRenderer {
+
+    private final ReportDataMapper reportDataMapper;
+    private final PdfReportService pdfReportService;
+    private final PaymentReportRows paymentReportRows;
+
+    public byte[] render(ReportJobType type, GenericResponse report) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        render(type, report, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Renders into a temporary file, then copies it to {@code out}. The
+     * payment cursor and its pooled connection are released once the file
+     * is written, not when a slow client has read the last byte. The file
+     * is deleted afterwards; {@code out} is left open.
+     */
+    public void renderSpooled(ReportJobType type, GenericResponse report, OutputStream out) throws IOException {
+        Path spool = Files.createTempFile("report-", ".pdf");
+        try {
+            try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(spool))) {
+                render(type, report, file);
+            }
+            Files.copy(spool, out);
+        } finally {
+            Files.deleteIfExists(spool);
+        }
+    }
+
+    /** Writes the PDF to {@code out} as it is rendered; the stream is left open. */
+    public void render(ReportJobType type, GenericResponse report, OutputStream out) {
+        if (!report.isSuccess() || report.getData() == null) {
+            throw new IllegalStateException("Report generation failed: " + report.getMessage());
+        }
+        Object data = report.getData();
+        switch (type) {
+            case FINANCIAL_SUMMARY, MONTHLY, ANNUAL ->
+                    pdfReportService.writeFinancialSummaryPdf(reportDataMapper.financialSummary(data), out);
+            case USER_CONTRIBUTION ->
+                    pdfReportService.writeUserContributionPdf(reportDataMapper.userContribution(data), out);
+            case EXPENSE -> pdfReportService.writeExpenseReportPdf(reportDataMapper.expenseReport(data), out);
+            case PAYMENT -> {
+                Map<?, ?> period = (Map<?, ?>) data;
+                pdfReportService.writePaymentReportPdf(reportDataMapper.paymentReport(data),
+                        paymentReportRows.between((LocalDateTime) period.get("periodStart"),
+                                (LocalDateTime) period.get("periodEnd")),
+                        out);
+            }
+            case MEMBER_STATEMENTS -> throw new IllegalArgumentException("Member statements are written by MemberStatementWriter");
+        }
+    }
+}
@@ -3,13 +3,17 @@ package com.common_wealth_builders.service.impl;
 import com.common_wealth_builders.dto.request.ReportFilterRequest;
 import com.common_wealth_builders.dto.response.FinancialSummaryResponse;
 import com.common_wealth_builders.dto.response.GenericResponse;
+import com.common_wealth_builders.dto.response.TrendSeriesResponse;
 import com.common_wealth_builders.dto.response.UserContributionResponse;
-import com.common_wealth_builders.entity.Payment;
 import com.common_wealth_builders.entity.User;
+import com.common_wealth_builders.enums.ExpenseCategory;
 import com.common_wealth_builders.enums.PaymentStatus;
+import com.common_wealth_builders.enums.TrendGranularity;
+import com.common_wealth_builders.exception.InvalidPeriodException;
+import com.common_wealth_builders.exception.InvalidReportRequestException;
 import com.common_wealth_builders.exception.ResourceNotFoundException;
-import com.common_wealth_builders.repository.ExpenseRepository;
 import com.common_wealth_builders.repository.PaymentRepository;
+import com.common_wealth_builders.repository.PaymentStatusSummary;
 import com.common_wealth_builders.repository.UserRepository;
 import com.common_wealth_builders.service.AuditService;
 import com.common_wealth_builders.service.ReportService;
@@ -20,21 +24,32 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.SortedMap;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ReportServiceImpl implements ReportService {
     
+    /** Months a trend covers when no start date is given. */
+    private static final int DEFAULT_TREND_MONTHS = 24;
+    /** Bounds the response; four years of daily buckets still fit. */
+    private static final int MAX_TREND_BUCKETS = 1500;
+    private static final PeriodTotals EMPTY_TOTALS = PeriodTotals.empty();
+    
     private final PaymentRepository paymentRepository;
-    private final ExpenseRepository expenseRepository;
     private final UserRepository userRepository;
     private final AuditService auditService;
+    private final DailyRollupStore dailyRollupStore;
+    private final PeriodSnapshotStore periodSnapshotStore;
     
     @Override
     @Transactional(readOnly = true)
@@ -47,42 +62,10 @@ public class ReportServiceImpl implements ReportService {
         LocalDateTime endDate = request.getEndDate() != null ? 
                 request.getEndDate() : LocalDateTime.now();
         
-        BigDecimal totalIncome = paymentRepository.sumVerifiedPaymentsBetween(startDate, endDate);
-        BigDecimal totalExpenses = expenseRepository.sumApprovedExpensesBetween(startDate, endDate);
-        
-        totalIncome = totalIncome != null ? totalIncome : BigDecimal.ZERO;
-        totalExpenses = totalExpenses != null ? totalExpenses : BigDecimal.ZERO;
-        
-        BigDecimal netBalance = totalIncome.subtract(totalExpenses);
-        
-        List<Payment> allPayments = paymentRepository.findByPaymentDateBetween(startDate, endDate);
-        BigDecimal pendingPayments = allPayments.stream()
-                .filter(p -> !p.isVerified())
-                .map(Payment::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        List<Object[]> expensesByCategory = expenseRepository.sumExpensesByCategory(startDate, endDate);
-        Map<String, BigDecimal> categoryMap = new HashMap<>();
-        for (Object[] result : expensesByCategory) {
-            categoryMap.put(result[0].toString(), (BigDecimal) result[1]);
-        }
-        
-        FinancialSummaryResponse summary = FinancialSummaryResponse.builder()
-                .totalIncome(totalIncome)
-                .totalExpenses(totalExpenses)
-                .netBalance(netBalance)
-                .pendingPayments(pendingPayments)
-                .verifiedPayments(totalIncome)
-                .approvedExpenses(totalExpenses)
-                .totalPaymentCount(allPayments.size())
-                .expensesByCategory(categoryMap)
-                .reportGeneratedAt(LocalDateTime.now())
-                .periodStart(startDate)
-                .periodEnd(endDate)
-                .build();
+        FinancialSummaryResponse summary = summaryOf(dailyRollupStore.totals(startDate, endDate), startDate, endDate);
         
         log.info("Financial summary generated: totalIncome={}, totalExpenses={}, netBalance={}", 
-                totalIncome, totalExpenses, netBalance);
+                summary.getTotalIncome(), summary.getTotalExpenses(), summary.getNetBalance());
         
         return GenericResponse.builder()
                 .isSuccess(true)
@@ -100,26 +83,28 @@ public class ReportServiceImpl implements ReportService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         
-        BigDecimal verifiedContributions = paymentRepository.sumVerifiedPaymentsByUserId(userId);
-        verifiedContributions = verifiedContributions != null ? verifiedContributions : BigDecimal.ZERO;
-
-        BigDecimal pendingContributions = paymentRepository.sumPendingPaymentsByUserId(userId, PaymentStatus.PENDING);;
-        pendingContributions = pendingContributions != null ? pendingContributions : BigDecimal.ZERO;
-        
-        List<Payment> userPayments = paymentRepository.findByUserId(userId);
-        BigDecimal totalContributions = userPayments.stream()
-                .map(Payment::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        LocalDateTime lastPaymentDate = userPayments.stream()
-                .map(Payment::getPaymentDate)
-                .max(LocalDateTime::compareTo)
-                .orElse(null);
-        
-        LocalDateTime firstPaymentDate = userPayments.stream()
-                .map(Payment::getPaymentDate)
-                .min(LocalDateTime::compareTo)
-                .orElse(null);
+        BigDecimal totalContributions = BigDecimal.ZERO;
+        BigDecimal verifiedContributions = BigDecimal.ZERO;
+        BigDecimal pendingContributions = BigDecimal.ZERO;
+        long paymentCount = 0;
+        LocalDateTime firstPaymentDate = null;
+        LocalDateTime lastPaymentDate = null;
+        
+        for (PaymentStatusSummary group : paymentRepository.summarizeByStatusForUser(userId)) {
+            totalContributions = totalContributions.add(group.amount());
+            paymentCount += group.count();
+            if (group.status() == PaymentStatus.VERIFIED) {
+                verifiedContributions = group.amount();
+            } else if (group.status() == PaymentStatus.PENDING) {
+                pendingContributions = group.amount();
+            }
+            if (firstPaymentDate == null || group.firstPaymentDate().isBefore(firstPaymentDate)) {
+                firstPaymentDate = group.firstPaymentDate();
+            }
+            if (lastPaymentDate == null || group.lastPaymentDate().isAfter(lastPaymentDate)) {
+                lastPaymentDate = group.lastPaymentDate();
+            }
+        }
         
         UserContributionResponse report = UserContributionResponse.builder()
                 .userId(user.getId())
@@ -128,7 +113,7 @@ public class ReportServiceImpl implements ReportService {
                 .totalContributions(totalContributions)
                 .verifiedContributions(verifiedContributions)
                 .pendingContributions(pendingContributions)
-                .paymentCount(userPayments.size())
+                .paymentCount((int) paymentCount)
                 .lastPaymentDate(lastPaymentDate)
                 .firstPaymentDate(firstPaymentDate)
                 .build();
@@ -155,18 +140,17 @@ public class ReportServiceImpl implements ReportService {
         LocalDateTime endDate = request.getEndDate() != null ? 
                 request.getEndDate() : LocalDateTime.now();
         
-        BigDecimal totalExpenses = expenseRepository.sumApprovedExpensesBetween(startDate, endDate);
-        totalExpenses = totalExpenses != null ? totalExpenses : BigDecimal.ZERO;
-        
-        List<Object[]> expensesByCategory = expenseRepository.sumExpensesByCategory(startDate, endDate);
-        Map<String, BigDecimal> categoryMap = new HashMap<>();
-        for (Object[] result : expensesByCategory) {
-            categoryMap.put(result[0].toString(), (BigDecimal) result[1]);
-        }
+        PeriodTotals totals = dailyRollupStore.expenseTotals(startDate, endDate);
+        PeriodTotals.Total approved = totals.approvedExpenseTotal();
+        PeriodTotals.Total unapproved = totals.unapprovedExpenseTotal();
+        BigDecimal totalExpenses = approved.amount();
         
         Map<String, Object> expenseReport = new HashMap<>();
         expenseReport.put("totalExpenses", totalExpenses);
-        expenseReport.put("expensesByCategory", categoryMap);
+        expenseReport.put("approvedExpenses", totalExpenses);
+        expenseReport.put("pendingExpenses", unapproved.amount());
+        expenseReport.put("expenseCount", (int) (approved.count() + unapproved.count()));
+        expenseReport.put("expensesByCategory", approvedByCategory(totals));
         expenseReport.put("periodStart", startDate);
         expenseReport.put("periodEnd", endDate);
         expenseReport.put("reportGeneratedAt", LocalDateTime.now());
@@ -192,29 +176,21 @@ public class ReportServiceImpl implements ReportService {
         LocalDateTime endDate = request.getEndDate() != null ? 
                 request.getEndDate() : LocalDateTime.now();
         
-        List<Payment> payments = paymentRepository.findByPaymentDateBetween(startDate, endDate);
-        
-        BigDecimal totalPayments = payments.stream()
-                .map(Payment::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        PeriodTotals totals = dailyRollupStore.paymentTotals(startDate, endDate);
+        PeriodTotals.Total all = totals.allPayments();
+        PeriodTotals.Total verified = totals.payments(PaymentStatus.VERIFIED);
+        PeriodTotals.Total pending = totals.unverifiedPayments();
         
-        BigDecimal verifiedPayments = payments.stream()
-                .filter(Payment::isVerified)
-                .map(Payment::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        BigDecimal pendingPayments = payments.stream()
-                .filter(p -> !p.isVerified())
-                .map(Payment::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal totalPayments = all.amount();
+        BigDecimal verifiedPayments = verified.amount();
         
         Map<String, Object> paymentReport = new HashMap<>();
         paymentReport.put("totalPayments", totalPayments);
         paymentReport.put("verifiedPayments", verifiedPayments);
-        paymentReport.put("pendingPayments", pendingPayments);
-        paymentReport.put("totalCount", payments.size());
-        paymentReport.put("verifiedCount", payments.stream().filter(Payment::isVerified).count());
-        paymentReport.put("pendingCount", payments.stream().filter(p -> !p.isVerified()).count());
+        paymentReport.put("pendingPayments", pending.amount());
+        paymentReport.put("totalCount", (int) all.count());
+        paymentReport.put("verifiedCount", verified.count());
+        paymentReport.put("pendingCount", pending.count());
         paymentReport.put("periodStart", startDate);
         paymentReport.put("periodEnd", endDate);
         paymentReport.put("reportGeneratedAt", LocalDateTime.now());
@@ -235,24 +211,237 @@ public class ReportServiceImpl implements ReportService {
     public GenericResponse generateMonthlyReport(int year, int month) {
         log.info("Generating monthly report: year={}, month={}", year, month);
         
-        YearMonth yearMonth = YearMonth.of(year, month);
-        LocalDateTime startDate = yearMonth.atDay(1).atStartOfDay();
-        LocalDateTime endDate = yearMonth.atEndOfMonth().atTime(23, 59, 59);
+        YearMonth yearMonth = monthOf(year, month);
+        
+        // A closed month is served from its snapshot without touching payments or expenses
+        FinancialSummaryResponse summary = periodSnapshotStore.closedSummary(yearMonth).orElseGet(() -> {
+            LocalDateTime startDate = startOf(yearMonth);
+            LocalDateTime endDate = endOf(yearMonth);
+            FinancialSummaryResponse live = summaryOf(dailyRollupStore.totals(startDate, endDate), startDate, endDate);
+            live.setPeriodClosed(false);
+            return live;
+        });
+        
+        log.info("Monthly report generated for: {}-{}, closed={}", year, month, summary.getPeriodClosed());
         
-        ReportFilterRequest request = ReportFilterRequest.builder()
-                .startDate(startDate)
-                .endDate(endDate)
+        return GenericResponse.builder()
+                .isSuccess(true)
+                .message("Monthly report generated successfully")
+                .data(summary)
+                .httpStatus(HttpStatus.OK)
                 .build();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public GenericResponse generateAnnualReport(int year) {
+        log.info("Generating annual report: year={}", year);
         
-        GenericResponse financialSummary = generateFinancialSummary(request);
+        YearMonth first = monthOf(year, 1);
+        YearMonth last = YearMonth.of(year, 12);
+        if (last.isAfter(YearMonth.now())) {
+            last = YearMonth.now();
+        }
+        
+        // Closed months come from their snapshots; each run of open months is one totals query
+        Map<YearMonth, FinancialSummaryResponse> closed = periodSnapshotStore.closedSummaries(first, last);
+        List<FinancialSummaryResponse> parts = new ArrayList<>(closed.values());
+        YearMonth runStart = null;
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            if (!closed.containsKey(month)) {
+                if (runStart == null) {
+                    runStart = month;
+                }
+                if (!month.equals(last)) {
+                    continue;
+                }
+            }
+            if (runStart != null) {
+                YearMonth runEnd = closed.containsKey(month) ? month.minusMonths(1) : month;
+                parts.add(summaryOf(dailyRollupStore.totals(startOf(runStart), endOf(runEnd)),
+                        startOf(runStart), endOf(runEnd)));
+                runStart = null;
+            }
+        }
         
-        log.info("Monthly report generated for: {}-{}", year, month);
+        FinancialSummaryResponse annual = merge(parts, startOf(first), endOf(YearMonth.of(year, 12)));
+        annual.setPeriodClosed(closed.size() == 12);
+        
+        log.info("Annual report generated for {}: closedMonths={}, totalIncome={}", 
+                year, closed.size(), annual.getTotalIncome());
         
         return GenericResponse.builder()
                 .isSuccess(true)
-                .message("Monthly report generated successfully")
-                .data(financialSummary.getData())
+                .message("Annual report generated successfully")
+                .data(annual)
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public GenericResponse generateTrendSeries(LocalDate startDate, LocalDate endDate, String granularity) {
+        log.info("Generating trend series: startDate={}, endDate={}, granularity={}", startDate, endDate, granularity);
+        
+        TrendGranularity unit = granularityOf(granularity);
+        LocalDate lastDay = endDate != null ? endDate : LocalDate.now();
+        LocalDate firstDay = startDate != null ? startDate : lastDay.minusMonths(DEFAULT_TREND_MONTHS - 1).withDayOfMonth(1);
+        if (firstDay.isAfter(lastDay)) {
+            throw new InvalidPeriodException("Start date must not be after end date");
+        }
+        LocalDate firstBucket = unit.truncate(firstDay);
+        long bucketCount = unit.getStep().between(firstBucket, unit.truncate(lastDay)) + 1;
+        if (bucketCount > MAX_TREND_BUCKETS) {
+            throw new InvalidPeriodException("Trend range has " + bucketCount + " " + unit.name().toLowerCase()
+                    + " buckets; at most " + MAX_TREND_BUCKETS + " are allowed");
+        }
+        
+        SortedMap<LocalDate, PeriodTotals> series = dailyRollupStore.series(firstDay, lastDay, unit);
+        
+        int size = (int) bucketCount;
+        List<LocalDate> buckets = new ArrayList<>(size);
+        List<BigDecimal> verifiedIncome = new ArrayList<>(size);
+        List<BigDecimal> pendingIncome = new ArrayList<>(size);
+        List<BigDecimal> approvedExpenses = new ArrayList<>(size);
+        List<BigDecimal> pendingExpenses = new ArrayList<>(size);
+        Map<String, List<BigDecimal>> byCategory = new LinkedHashMap<>();
+        for (ExpenseCategory category : ExpenseCategory.values()) {
+            byCategory.put(category.toString(), new ArrayList<>(size));
+        }
+        
+        LocalDate bucket = firstBucket;
+        for (int i = 0; i < size; i++, bucket = bucket.plus(1, unit.getStep())) {
+            PeriodTotals totals = series.getOrDefault(bucket, EMPTY_TOTALS);
+            buckets.add(bucket);
+            verifiedIncome.add(totals.payments(PaymentStatus.VERIFIED).amount());
+            pendingIncome.add(totals.unverifiedPayments().amount());
+            approvedExpenses.add(totals.approvedExpenseTotal().amount());
+            pendingExpenses.add(totals.unapprovedExpenseTotal().amount());
+            for (ExpenseCategory category : ExpenseCategory.values()) {
+                byCategory.get(category.toString()).add(
+                        totals.approvedExpenses().getOrDefault(category, PeriodTotals.Total.ZERO).amount());
+            }
+        }
+        
+        TrendSeriesResponse trend = TrendSeriesResponse.builder()
+                .granularity(unit.name())
+                .periodStart(firstDay)
+                .periodEnd(lastDay)
+                .buckets(buckets)
+                .verifiedIncome(verifiedIncome)
+                .pendingIncome(pendingIncome)
+                .approvedExpenses(approvedExpenses)
+                .pendingExpenses(pendingExpenses)
+                .expensesByCategory(byCategory)
+                .reportGeneratedAt(LocalDateTime.now())
+                .build();
+        
+        log.info("Trend series generated: granularity={}, buckets={}, activeBuckets={}", unit, size, series.size());
+        
+        return GenericResponse.builder()
+                .isSuccess(true)
+                .message("Trend series generated successfully")
+                .data(trend)
                 .httpStatus(HttpStatus.OK)
                 .build();
     }
+    
+    static TrendGranularity granularityOf(String granularity) {
+        if (granularity == null) {
+            return TrendGranularity.MONTH;
+        }
+        try {
+            return TrendGranularity.valueOf(granularity.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidReportRequestException("Unknown granularity: " + granularity
+                    + "; expected DAY, WEEK or MONTH");
+        }
+    }
+    
+    static FinancialSummaryResponse summaryOf(PeriodTotals totals, LocalDateTime startDate, LocalDateTime endDate) {
+        BigDecimal totalIncome = totals.payments(PaymentStatus.VERIFIED).amount();
+        BigDecimal totalExpenses = totals.approvedExpenseTotal().amount();
+        
+        PeriodTotals.Total unapprovedExpenses = totals.unapprovedExpenseTotal();
+        
+        return FinancialSummaryResponse.builder()
+                .totalIncome(totalIncome)
+                .totalExpenses(totalExpenses)
+                .netBalance(totalIncome.subtract(totalExpenses))
+                .pendingPayments(totals.unverifiedPayments().amount())
+                .verifiedPayments(totalIncome)
+                .pendingExpenses(unapprovedExpenses.amount())
+                .approvedExpenses(totalExpenses)
+                .totalPaymentCount((int) totals.allPayments().count())
+                .totalExpenseCount((int) (totals.approvedExpenseTotal().count() + unapprovedExpenses.count()))
+                .expensesByCategory(approvedByCategory(totals))
+                .reportGeneratedAt(LocalDateTime.now())
+                .periodStart(startDate)
+                .periodEnd(endDate)
+                .build();
+    }
+    
+    private static FinancialSummaryResponse merge(List<FinancialSummaryResponse> parts,
+                                                  LocalDateTime startDate, LocalDateTime endDate) {
+        FinancialSummaryResponse merged = FinancialSummaryResponse.builder()
+                .totalIncome(BigDecimal.ZERO)
+                .totalExpenses(BigDecimal.ZERO)
+                .netBalance(BigDecimal.ZERO)
+                .pendingPayments(BigDecimal.ZERO)
+                .verifiedPayments(BigDecimal.ZERO)
+                .pendingExpenses(BigDecimal.ZERO)
+                .approvedExpenses(BigDecimal.ZERO)
+                .totalPaymentCount(0)
+                .totalExpenseCount(0)
+                .expensesByCategory(new HashMap<>())
+                .reportGeneratedAt(LocalDateTime.now())
+                .periodStart(startDate)
+                .periodEnd(endDate)
+                .build();
+        for (FinancialSummaryResponse part : parts) {
+            merged.setTotalIncome(merged.getTotalIncome().add(orZero(part.getTotalIncome())));
+            merged.setTotalExpenses(merged.getTotalExpenses().add(orZero(part.getTotalExpenses())));
+            merged.setNetBalance(merged.getNetBalance().add(orZero(part.getNetBalance())));
+            merged.setPendingPayments(merged.getPendingPayments().add(orZero(part.getPendingPayments())));
+            merged.setVerifiedPayments(merged.getVerifiedPayments().add(orZero(part.getVerifiedPayments())));
+            merged.setPendingExpenses(merged.getPendingExpenses().add(orZero(part.getPendingExpenses())));
+            merged.setApprovedExpenses(merged.getApprovedExpenses().add(orZero(part.getApprovedExpenses())));
+            merged.setTotalPaymentCount(merged.getTotalPaymentCount() + orZero(part.getTotalPaymentCount()));
+            merged.setTotalExpenseCount(merged.getTotalExpenseCount() + orZero(part.getTotalExpenseCount()));
+            if (part.getExpensesByCategory() != null) {
+                part.getExpensesByCategory().forEach((category, amount) ->
+                        merged.getExpensesByCategory().merge(category, amount, BigDecimal::add));
+            }
+        }
+        return merged;
+    }
+    
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+    
+    private static int orZero(Integer value) {
+        return value != null ? value : 0;
+    }
+    
+    static YearMonth monthOf(int year, int month) {
+        if (month < 1 || month > 12 || year < 1900 || year > 9999) {
+            throw new InvalidPeriodException("Invalid period: " + year + "-" + month);
+        }
+        return YearMonth.of(year, month);
+    }
+    
+    static LocalDateTime startOf(YearMonth month) {
+        return month.atDay(1).atStartOfDay();
+    }
+    
+    static LocalDateTime endOf(YearMonth month) {
+        return month.atEndOfMonth().atTime(23, 59, 59);
+    }
+    
+    private static Map<String, BigDecimal> approvedByCategory(PeriodTotals totals) {
+        Map<String, BigDecimal> categoryMap = new HashMap<>();
+        totals.approvedExpenses().forEach((category, total) -> categoryMap.put(category.toString(), total.amount()));
+        return categoryMap;
+    }
 }
\ No newline at end of file
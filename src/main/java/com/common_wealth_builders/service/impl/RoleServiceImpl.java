@@ -16,9 +16,13 @@ import com.common_wealth_builders.exception.ResourceNotFoundException;
 import com.common_wealth_builders.repository.RoleRepository;
 import com.common_wealth_builders.repository.UserRepository;
 import com.common_wealth_builders.repository.UserRoleRepository;
+import com.common_wealth_builders.security.ActorContext;
+import com.common_wealth_builders.security.AuthorizationVersionRegistry;
+import com.common_wealth_builders.security.PrincipalCache;
 import com.common_wealth_builders.service.AuditService;
 import com.common_wealth_builders.service.RoleService;
 import com.common_wealth_builders.service.UserNotificationService;
+import com.common_wealth_builders.utils.LikePatterns;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -26,7 +30,6 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -44,13 +47,17 @@ public class RoleServiceImpl implements RoleService {
     private final UserRoleRepository userRoleRepository;
     private final AuditService auditService;
     private final UserNotificationService userNotificationService;
+    private final PrincipalCache principalCache;
+    private final AuthorizationVersionRegistry authorizationVersions;
 
-    public RoleServiceImpl(RoleRepository roleRepository, UserRepository userRepository, UserRoleRepository userRoleRepository, AuditService auditService, UserNotificationService userNotificationService) {
+    public RoleServiceImpl(RoleRepository roleRepository, UserRepository userRepository, UserRoleRepository userRoleRepository, AuditService auditService, UserNotificationService userNotificationService, PrincipalCache principalCache, AuthorizationVersionRegistry authorizationVersions) {
         this.roleRepository = roleRepository;
         this.userRepository = userRepository;
         this.userRoleRepository = userRoleRepository;
         this.auditService = auditService;
         this.userNotificationService = userNotificationService;
+        this.principalCache = principalCache;
+        this.authorizationVersions = authorizationVersions;
     }
 
     @Override
@@ -316,7 +323,7 @@ public class RoleServiceImpl implements RoleService {
 public GenericResponse searchRoles(String search, Pageable pageable) {
         log.info("Searching roles with term: {}", search);
         
-        Page<Role> rolesPage = roleRepository.searchRoles(search, pageable);
+        Page<Role> rolesPage = roleRepository.searchRoles(LikePatterns.contains(search), pageable);
         
         List<RoleResponse> roleResponses = rolesPage.getContent().stream()
                 .map(this::mapToRoleResponse)
@@ -367,6 +374,7 @@ public GenericResponse searchRoles(String search, Pageable pageable) {
             userRole.setRemarks(request.getRemarks());
             userRole.setRevokedDate(null);
             userRole.setRevokedBy(null);
+            user.refreshGrants();
             // No need to save explicitly, will be updated at flush
             log.info("Reactivated role {} for user {}", role.getName(), user.getEmail());
         } else {
@@ -380,10 +388,12 @@ public GenericResponse searchRoles(String search, Pageable pageable) {
                     .isActive(true)
                     .build();
             userRoleRepository.save(newUserRole);
-            // Also add to user's set to keep in-memory consistent (optional)
-            user.getUserRoles().add(newUserRole);
+            // Also add to user's set so its authorities and permission mask follow
+            user.addUserRole(newUserRole);
             log.info("Assigned new role {} to user {}", role.getName(), user.getEmail());
         }
+        authorizationVersions.bump(user);
+        principalCache.invalidate(user.getEmail());
 
         auditService.logAction(
                 user.getId(),
@@ -417,7 +427,9 @@ public GenericResponse searchRoles(String search, Pageable pageable) {
         
         String currentUser = getCurrentUserEmail();
         user.revokeRole(role, currentUser);
+        authorizationVersions.bump(user);
         userRepository.save(user);
+        principalCache.invalidate(user.getEmail());
         
         auditService.logAction(
                 userId,
@@ -521,23 +533,14 @@ public GenericResponse searchRoles(String search, Pageable pageable) {
     }
     
     private String getCurrentUserEmail() {
-        try {
-            return SecurityContextHolder.getContext().getAuthentication().getName();
-        } catch (Exception e) {
-            log.warn("Could not get current user email, using SYSTEM", e);
-            return "SYSTEM";
-        }
+        return ActorContext.current()
+                .map(ActorContext::email)
+                .orElse("SYSTEM");
     }
     
     private Long getCurrentUserId() {
-        try {
-            String email = getCurrentUserEmail();
-            return userRepository.findByEmail(email)
-                    .map(User::getId)
-                    .orElse(1L);
-        } catch (Exception e) {
-            log.warn("Could not get current user ID, using 1", e);
-            return 1L;
-        }
+        return ActorContext.current()
+                .map(ActorContext::userId)
+                .orElse(1L);
     }
 }
\ No newline at end of file
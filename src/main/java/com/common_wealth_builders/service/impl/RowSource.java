@@ -0,0 +1,13 @@
+package com.common_wealth_builders.service.impl;
+
+import java.util.function.Consumer;
+
+/**
+ * Rows handed to a consumer one at a time, typically straight off a
+ * database cursor, so a caller never holds the whole result.
+ */
+@FunctionalInterface
+public interface RowSource<T> {
+
+    void forEachRow(Consumer<? super T> action);
+}
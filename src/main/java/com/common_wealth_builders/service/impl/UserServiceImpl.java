@@ -11,17 +11,27 @@ import com.common_wealth_builders.enums.NotificationType;
 import com.common_wealth_builders.enums.RoleType;
 import com.common_wealth_builders.exception.ResourceNotFoundException;
 import com.common_wealth_builders.exception.UserAlreadyExistsException;
+import com.common_wealth_builders.repository.CountStrategy;
+import com.common_wealth_builders.repository.CountedPage;
 import com.common_wealth_builders.repository.RoleRepository;
 import com.common_wealth_builders.repository.UserRepository;
+import com.common_wealth_builders.security.ActorContext;
+import com.common_wealth_builders.security.AuthorizationVersionRegistry;
+import com.common_wealth_builders.security.PasswordHashingService;
+import com.common_wealth_builders.security.PrincipalCache;
 import com.common_wealth_builders.service.AuditService;
 import com.common_wealth_builders.service.UserNotificationService;
 import com.common_wealth_builders.service.UserService;
+import com.common_wealth_builders.utils.CursorCodec;
+import com.common_wealth_builders.utils.LikePatterns;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,23 +43,32 @@ import java.util.stream.Collectors;
 @Slf4j
 public class UserServiceImpl implements UserService {
     
+    private static final String CURSOR_SCOPE = "users";
+    private static final Sort CURSOR_SORT = Sort.by(Sort.Direction.DESC, "createdDate", "id");
+    
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final AuditService auditService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashing;
     private final UserNotificationService userNotificationService;
+    private final PrincipalCache principalCache;
+    private final AuthorizationVersionRegistry authorizationVersions;
+    private final CountStrategy countStrategy;
 
-    public UserServiceImpl(UserRepository userRepository, RoleRepository roleRepository, AuditService auditService, PasswordEncoder passwordEncoder, UserNotificationService userNotificationService) {
+    public UserServiceImpl(UserRepository userRepository, RoleRepository roleRepository, AuditService auditService, PasswordHashingService passwordHashing, UserNotificationService userNotificationService, PrincipalCache principalCache, AuthorizationVersionRegistry authorizationVersions, CountStrategy countStrategy) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.auditService = auditService;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashing = passwordHashing;
         this.userNotificationService = userNotificationService;
+        this.principalCache = principalCache;
+        this.authorizationVersions = authorizationVersions;
+        this.countStrategy = countStrategy;
     }
 
     @Override
     public GenericResponse createUser(CreateUserRequest request, String creatorEmail) {
-        // 1. Check if user already exists
+        // 1. Check if user already exists, before spending a BCrypt hash on a duplicate
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new UserAlreadyExistsException("Email already registered");
         }
@@ -57,6 +76,9 @@ public class UserServiceImpl implements UserService {
             throw new UserAlreadyExistsException("Username already taken");
         }
 
+        // Not transactional: each query above released its connection, so none is held while BCrypt runs
+        String passwordHash = passwordHashing.encode(request.getPassword());
+
         // 2. Build user entity
         User user = User.builder()
                 .firstname(request.getFirstname())
@@ -67,7 +89,7 @@ public class UserServiceImpl implements UserService {
                 .remittanceBankName(request.getRemitanceBankName())
                 .remittanceAccNumber(request.getRemitanceAccNumber())
                 .userName(request.getUserName())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHash)
                 .isEnabled(true)
                 .build();
 
@@ -92,12 +114,15 @@ public class UserServiceImpl implements UserService {
         User savedUser = userRepository.save(user);
 
         // 5. Get actor's ID for audit log
-        User actor = userRepository.findByEmail(creatorEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Actor not found with email: " + creatorEmail));
+        Long actorId = ActorContext.current()
+                .map(ActorContext::userId)
+                .orElseGet(() -> userRepository.findByEmail(creatorEmail)
+                        .orElseThrow(() -> new ResourceNotFoundException("Actor not found with email: " + creatorEmail))
+                        .getId());
 
         // 6. Audit log – include the new user's ID in the description
         auditService.logAction(
-                actor.getId(),
+                actorId,
                 "CREATE_USER",
                 "USER",
                 "User created with ID: " + savedUser.getId()
@@ -115,7 +140,9 @@ public class UserServiceImpl implements UserService {
     public GenericResponse getAllUsers(Pageable pageable) {
         log.info("Fetching all users with pagination");
         
-        Page<User> usersPage = userRepository.findAll(pageable);
+        CountedPage<User> counted = countStrategy.page("users", null, pageable,
+                userRepository::findSliceBy, userRepository::count);
+        Page<User> usersPage = counted.page();
         
         List<Map<String, Object>> userResponses = usersPage.getContent().stream()
                 .map(this::mapToUserResponse)
@@ -127,6 +154,7 @@ public class UserServiceImpl implements UserService {
                 .pageSize(usersPage.getSize())
                 .totalElements(usersPage.getTotalElements())
                 .totalPages(usersPage.getTotalPages())
+                .totalExact(counted.exact())
                 .last(usersPage.isLast())
                 .first(usersPage.isFirst())
                 .build();
@@ -141,6 +169,42 @@ public class UserServiceImpl implements UserService {
                 .build();
     }
     
+    @Override
+    public GenericResponse getAllUsers(String cursor, int size) {
+        log.info("Fetching users after cursor, size={}", size);
+        
+        Pageable pageable = PageRequest.of(0, size, CURSOR_SORT);
+        Slice<User> slice;
+        if (cursor.isEmpty()) {
+            slice = userRepository.findSliceBy(pageable);
+        } else {
+            CursorCodec.Position after = CursorCodec.decode(CURSOR_SCOPE, cursor);
+            slice = userRepository.findSliceAfter(after.sortKey(), after.id(), pageable);
+        }
+        
+        List<User> rows = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            User lastRow = rows.get(rows.size() - 1);
+            nextCursor = CursorCodec.encode(CURSOR_SCOPE, lastRow.getCreatedDate(), lastRow.getId());
+        }
+        
+        PageResponse<Map<String, Object>> pageResponse = PageResponse.<Map<String, Object>>builder()
+                .content(rows.stream().map(this::mapToUserResponse).collect(Collectors.toList()))
+                .pageSize(slice.getSize())
+                .first(cursor.isEmpty())
+                .last(!slice.hasNext())
+                .nextCursor(nextCursor)
+                .build();
+        
+        return GenericResponse.builder()
+                .isSuccess(true)
+                .message("Users retrieved successfully")
+                .data(pageResponse)
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+    
     @Override
     public GenericResponse getUserById(Long id) {
         log.info("Fetching user by ID: {}", id);
@@ -162,7 +226,7 @@ public class UserServiceImpl implements UserService {
     public GenericResponse searchUsers(String search, Pageable pageable) {
         log.info("Searching users with term: {}", search);
         
-        Page<User> usersPage = userRepository.searchUsers(search, pageable);
+        Page<User> usersPage = userRepository.searchUsers(LikePatterns.contains(search), pageable);
         
         List<Map<String, Object>> userResponses = usersPage.getContent().stream()
                 .map(this::mapToUserResponse)
@@ -198,6 +262,7 @@ public class UserServiceImpl implements UserService {
         
         user.setEnabled(true);
         userRepository.save(user);
+        principalCache.invalidate(user.getEmail());
         
         auditService.logAction(
                 user.getId(),
@@ -230,7 +295,9 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + id));
         
         user.setEnabled(false);
+        authorizationVersions.bump(user);
         userRepository.save(user);
+        principalCache.invalidate(user.getEmail());
         
         auditService.logAction(
                 user.getId(),
@@ -70,6 +70,14 @@ public class WhatsAppService {
      * Send report notification via WhatsApp
      */
     public void sendReportNotification(String toPhoneNumber, String reportType, String downloadUrl) {
+        sendReportNotification(toPhoneNumber, reportType, downloadUrl, LocalDateTime.now().plusHours(24));
+    }
+
+    /**
+     * Send report notification via WhatsApp with the link's actual expiry
+     */
+    public void sendReportNotification(String toPhoneNumber, String reportType, String downloadUrl,
+                                       LocalDateTime expiresAt) {
         String message = String.format("""
                 *Commonwealth Builders - Report Generated*
                 
@@ -80,13 +88,14 @@ public class WhatsAppService {
                 
                 Download Link: %s
                 
-                This link will expire in 24 hours.
+                This link expires on %s.
                 
                 For support, contact: support@commonwealthbuilders.com
                 """,
                 reportType,
                 LocalDateTime.now().format(DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm")),
-                downloadUrl
+                downloadUrl,
+                expiresAt.format(DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm"))
         );
 
         sendWhatsAppMessage(toPhoneNumber, message);
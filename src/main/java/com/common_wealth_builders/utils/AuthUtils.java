@@ -5,6 +5,8 @@ import com.common_wealth_builders.entity.User;
 import com.common_wealth_builders.entity.UserRole;
 import com.common_wealth_builders.enums.RoleType;
 import com.common_wealth_builders.repository.RoleRepository;
+import com.common_wealth_builders.security.TokenPrincipal;
+import com.common_wealth_builders.security.UserPrincipal;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
@@ -62,6 +64,10 @@ public final class AuthUtils {
                                     .filter(s -> !s.isEmpty())
                                     .collect(Collectors.joining(" "));
                             return fullName.isEmpty() ? "SYSTEM" : fullName;
+                        } else if (p instanceof UserPrincipal snapshot) {
+                            return snapshot.fullName() != null ? snapshot.fullName() : "SYSTEM";
+                        } else if (p instanceof TokenPrincipal token && token.fullName() != null) {
+                            return token.fullName();
                         } else {
                             return p.toString();
                         }
@@ -76,12 +82,9 @@ public final class AuthUtils {
     // 3️⃣ Check if the currently logged-in user has a role
     // ============================
     public static boolean hasRole(User user, RoleType roleType) {
-        if (user == null || user.getUserRoles() == null) return false;
+        if (user == null || roleType == null) return false;
 
-        return user.getUserRoles().stream()
-                .filter(UserRole::isActive)
-                .map(ur -> ur.getRole().getName())
-                .anyMatch(rt -> rt == roleType);
+        return user.hasRole(roleType);
     }
 
     // ============================
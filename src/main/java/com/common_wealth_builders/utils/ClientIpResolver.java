@@ -0,0 +1,19 @@
+package com.common_wealth_builders.utils;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+public final class ClientIpResolver {
+
+    private ClientIpResolver() {}
+
+    /**
+     * The request's remote address. Client-supplied headers such as
+     * X-Forwarded-For are not read here: behind a proxy, Tomcat's
+     * RemoteIpValve ({@code server.forward-headers-strategy=native}) rewrites
+     * the remote address, and only for proxies listed in
+     * {@code server.tomcat.remoteip.internal-proxies}.
+     */
+    public static String resolve(HttpServletRequest request) {
+        return request.getRemoteAddr();
+    }
+}
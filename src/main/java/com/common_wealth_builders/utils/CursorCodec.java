@@ -0,0 +1,44 @@
+package com.common_wealth_builders.utils;
+
+import com.common_wealth_builders.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset-pagination cursors. A cursor is the {@code (sortKey, id)}
+ * of the last row on a page, tagged with the list it came from so a
+ * payments cursor cannot be replayed against another endpoint.
+ */
+public final class CursorCodec {
+
+    private static final char SEPARATOR = '|';
+
+    private CursorCodec() {}
+
+    public static String encode(String scope, LocalDateTime sortKey, long id) {
+        String raw = scope + SEPARATOR + sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws InvalidCursorException when the cursor is malformed or belongs to another list
+     */
+    public static Position decode(String scope, String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, 3);
+            if (parts.length != 3 || !parts[0].equals(scope)) {
+                throw new InvalidCursorException("Cursor does not belong to this list");
+            }
+            return new Position(LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Malformed pagination cursor");
+        }
+    }
+
+    public record Position(LocalDateTime sortKey, long id) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.common_wealth_builders.utils;
+
+import java.util.Locale;
+
+/**
+ * Builds {@code LIKE} patterns from user input. Queries using these must
+ * declare {@code ESCAPE '\'}, so a {@code %} or {@code _} typed into a
+ * search box matches itself instead of acting as a wildcard.
+ */
+public final class LikePatterns {
+
+    private LikePatterns() {}
+
+    /**
+     * Escapes the wildcard and escape characters in {@code value}.
+     */
+    public static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * A lower-cased pattern matching any text containing {@code value},
+     * for comparison against a {@code LOWER(...)} column.
+     */
+    public static String contains(String value) {
+        return "%" + escape(value == null ? "" : value.toLowerCase(Locale.ROOT)) + "%";
+    }
+}
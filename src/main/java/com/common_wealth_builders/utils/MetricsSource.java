@@ -0,0 +1,14 @@
+package com.common_wealth_builders.utils;
+
+import java.util.Map;
+
+/**
+ * Implemented by in-process components (caches, queues, limiters) that
+ * publish counters on the system metrics endpoint.
+ */
+public interface MetricsSource {
+
+    String metricsName();
+
+    Map<String, Object> metricsSnapshot();
+}
@@ -0,0 +1,35 @@
+package com.common_wealth_builders.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free count / mean / max timer for one phase of a request.
+ */
+public class PhaseTimer {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+    public void record(long nanos) {
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public Map<String, Object> snapshot() {
+        long n = count.sum();
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("count", n);
+        snapshot.put("meanMs", n == 0 ? 0.0 : totalNanos.sum() / (double) n / 1_000_000.0);
+        snapshot.put("maxMs", maxNanos.get() / 1_000_000.0);
+        return snapshot;
+    }
+}
@@ -0,0 +1,58 @@
+package com.common_wealth_builders.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Turns free text from a search box into a PostgreSQL {@code tsquery}
+ * string. Quoted text becomes a phrase ({@code a <-> b}), every other word
+ * becomes a prefix match ({@code word:*}), and all parts are ANDed.
+ * Characters with meaning in tsquery syntax are stripped, so the result
+ * is always safe to pass to {@code to_tsquery}.
+ */
+public final class TsQueryBuilder {
+
+    private static final Pattern PART = Pattern.compile("\"([^\"]*)\"|(\\S+)");
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}_@.\\-]+");
+
+    private TsQueryBuilder() {}
+
+    /**
+     * @return the tsquery text, or {@code null} when the input has no searchable words
+     */
+    public static String build(String input) {
+        if (input == null || input.isBlank()) {
+            return null;
+        }
+        List<String> clauses = new ArrayList<>();
+        Matcher matcher = PART.matcher(input);
+        while (matcher.find()) {
+            if (matcher.group(1) != null) {
+                List<String> words = words(matcher.group(1));
+                if (!words.isEmpty()) {
+                    clauses.add(words.size() == 1 ? words.get(0) : "(" + String.join(" <-> ", words) + ")");
+                }
+            } else {
+                for (String word : words(matcher.group(2))) {
+                    clauses.add(word + ":*");
+                }
+            }
+        }
+        return clauses.isEmpty() ? null : String.join(" & ", clauses);
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        for (String word : WORD_SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            // Leading/trailing dots and dashes are not part of any token
+            String trimmed = word.replaceAll("^[.\\-]+|[.\\-]+$", "");
+            if (!trimmed.isEmpty()) {
+                words.add(trimmed);
+            }
+        }
+        return words;
+    }
+}
@@ -0,0 +1,51 @@
+-- Full-text search structures for audit logs: a stored generated
+-- search_vector column on audit_trails with a GIN index, and a trigram
+-- index on users.email. PostgreSQL keeps both up to date on every insert.
+-- Run with psql (it relies on \gexec), outside an explicit transaction.
+-- Every statement is idempotent.
+--
+-- Order: may run before or after audit_trails_partitioning.sql. That script
+-- recreates audit_trails with search_vector and its index already in place,
+-- so running this one afterwards only adds the users.email trigram index.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Adding a stored generated column rewrites audit_trails under an ACCESS
+-- EXCLUSIVE lock. Run this step during a maintenance window, with the
+-- application stopped, on a single node.
+ALTER TABLE audit_trails ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(action, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(module, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(description, '')), 'B') ||
+    setweight(to_tsvector('simple', coalesce(created_by, '')), 'C')) STORED;
+
+-- The indexes below are built without blocking writes and can run while
+-- the application serves traffic.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_email_trgm ON users USING GIN (email gin_trgm_ops);
+
+-- A plain table is indexed concurrently in one step. A table partitioned with
+-- audit_trails_partitioning.sql cannot be: the parent gets an index ON ONLY
+-- itself, each partition's index is built concurrently and then attached.
+-- Partitions created later inherit the index automatically.
+SELECT CASE c.relkind
+           WHEN 'p' THEN 'CREATE INDEX IF NOT EXISTS idx_audit_search_vector ON ONLY audit_trails USING GIN (search_vector)'
+           ELSE 'CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_audit_search_vector ON audit_trails USING GIN (search_vector)'
+       END
+FROM pg_class c
+WHERE c.oid = 'audit_trails'::regclass
+\gexec
+
+SELECT format('CREATE INDEX CONCURRENTLY IF NOT EXISTS %I ON %I USING GIN (search_vector)',
+              c.relname || '_search_vector', c.relname)
+FROM pg_inherits i
+JOIN pg_class c ON c.oid = i.inhrelid
+WHERE i.inhparent = 'audit_trails'::regclass
+\gexec
+
+SELECT format('ALTER INDEX idx_audit_search_vector ATTACH PARTITION %I', c.relname || '_search_vector')
+FROM pg_inherits i
+JOIN pg_class c ON c.oid = i.inhrelid
+WHERE i.inhparent = 'audit_trails'::regclass
+  AND NOT EXISTS (SELECT 1 FROM pg_inherits x
+                  WHERE x.inhrelid = (c.relname || '_search_vector')::regclass)
+\gexec
@@ -0,0 +1,77 @@
+-- Converts audit_trails into a table range-partitioned by month on created_date.
+-- Run once, during a maintenance window, with the application stopped.
+-- Afterwards AuditPartitionManager keeps future partitions created and
+-- AuditArchiver drops partitions once their rows are archived.
+--
+-- Order: this script may run before or after audit_search_indexes.sql.
+-- The new table always gets the search_vector column and its GIN index, so
+-- full-text search survives the conversion; running audit_search_indexes.sql
+-- afterwards only adds what is still missing (the users.email trigram index).
+--
+-- There is no DEFAULT partition: a row in a DEFAULT partition would make
+-- creating that month's partition fail later. Months are created three
+-- ahead here and kept ahead by AuditPartitionManager.
+
+BEGIN;
+
+ALTER TABLE audit_trails RENAME TO audit_trails_legacy;
+
+-- Index and constraint names are unique per schema and a rename keeps them;
+-- free them for the new table (the legacy table is dropped at the end)
+DROP INDEX IF EXISTS idx_audit_user_created, idx_audit_module, idx_audit_action,
+    idx_audit_created_date, idx_audit_search_vector;
+ALTER TABLE audit_trails_legacy RENAME CONSTRAINT audit_trails_pkey TO audit_trails_legacy_pkey;
+
+CREATE TABLE audit_trails (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id      BIGINT       NOT NULL REFERENCES users (id),
+    action       VARCHAR(255) NOT NULL,
+    module       VARCHAR(255) NOT NULL,
+    description  TEXT         NOT NULL,
+    ip_address   VARCHAR(255),
+    user_agent   VARCHAR(255),
+    created_date TIMESTAMP(6) NOT NULL,
+    updated_date TIMESTAMP(6) NOT NULL,
+    created_by   VARCHAR(255),
+    updated_by   VARCHAR(255),
+    search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(action, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(module, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B') ||
+        setweight(to_tsvector('simple', coalesce(created_by, '')), 'C')) STORED,
+    PRIMARY KEY (id, created_date)
+) PARTITION BY RANGE (created_date);
+
+-- Defined on the parent, so every partition gets its own copy
+CREATE INDEX idx_audit_user_created ON audit_trails (user_id, created_date);
+CREATE INDEX idx_audit_module ON audit_trails (module);
+CREATE INDEX idx_audit_action ON audit_trails (action);
+CREATE INDEX idx_audit_created_date ON audit_trails (created_date);
+CREATE INDEX idx_audit_search_vector ON audit_trails USING GIN (search_vector);
+
+-- One partition per month from the oldest existing row to three months ahead
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month', COALESCE((SELECT MIN(created_date) FROM audit_trails_legacy), now()))::date;
+    last_month  DATE := (date_trunc('month', now()) + INTERVAL '3 months')::date;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF audit_trails FOR VALUES FROM (%L) TO (%L)',
+                       'audit_trails_' || to_char(month_start, 'YYYY_MM'),
+                       month_start,
+                       (month_start + INTERVAL '1 month')::date);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO audit_trails (id, user_id, action, module, description, ip_address, user_agent,
+                          created_date, updated_date, created_by, updated_by)
+SELECT id, user_id, action, module, description, ip_address, user_agent,
+       created_date, updated_date, created_by, updated_by
+FROM audit_trails_legacy;
+
+SELECT setval(pg_get_serial_sequence('audit_trails', 'id'), COALESCE((SELECT MAX(id) FROM audit_trails), 0) + 1, false);
+
+DROP TABLE audit_trails_legacy;
+
+COMMIT;
@@ -0,0 +1,114 @@
+package com.common_wealth_builders.security;
+
+import com.common_wealth_builders.entity.Role;
+import com.common_wealth_builders.entity.User;
+import com.common_wealth_builders.entity.UserRole;
+import com.common_wealth_builders.enums.Permission;
+import com.common_wealth_builders.enums.RoleType;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.security.access.expression.SecurityExpressionRoot;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cost of one endpoint authorization check, before and after the switch to
+ * permission masks. "Before" evaluates the pre-parsed
+ * {@code hasAnyRole(...)} expression the controllers used to carry against
+ * the authentication, as method security did per call; "after" is the
+ * {@link PermissionInterceptor} check, one AND against the principal's
+ * mask. Handler lookup and the filter chain are the same for both and are
+ * left out.
+ * <p>
+ * Timing-sensitive, so only runs on request:
+ * {@code mvn test -Dtest=PermissionCheckBenchmarkTest -Dbenchmark=true}
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PermissionCheckBenchmarkTest {
+
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 2_000_000;
+
+    @Test
+    void maskCheckIsCheaperThanRoleExpression() {
+        User user = finAdmin();
+        Authentication authentication =
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+
+        Expression expression = new SpelExpressionParser()
+                .parseExpression("hasAnyRole('SUPER_ADMIN', 'FIN_ADMIN')");
+        StandardEvaluationContext context =
+                new StandardEvaluationContext(new SecurityExpressionRoot(authentication) {});
+        PermissionHolder holder = (PermissionHolder) authentication.getPrincipal();
+
+        assertThat(expression.getValue(context, Boolean.class)).isTrue();
+        assertThat(holder.hasPermission(Permission.PAYMENT_MANAGE)).isTrue();
+
+        runExpression(expression, context, WARMUP);
+        runMask(holder, WARMUP);
+
+        long started = System.nanoTime();
+        int expressionGranted = runExpression(expression, context, ITERATIONS);
+        double expressionNanos = (System.nanoTime() - started) / (double) ITERATIONS;
+
+        started = System.nanoTime();
+        int maskGranted = runMask(holder, ITERATIONS);
+        double maskNanos = (System.nanoTime() - started) / (double) ITERATIONS;
+
+        log.info("hasAnyRole expression: {} ns/check", String.format("%.1f", expressionNanos));
+        log.info("Permission mask: {} ns/check", String.format("%.1f", maskNanos));
+
+        assertThat(expressionGranted).isEqualTo(ITERATIONS);
+        assertThat(maskGranted).isEqualTo(ITERATIONS);
+        assertThat(maskNanos).isLessThan(expressionNanos);
+    }
+
+    private static int runExpression(Expression expression, StandardEvaluationContext context, int iterations) {
+        int granted = 0;
+        for (int i = 0; i < iterations; i++) {
+            if (Boolean.TRUE.equals(expression.getValue(context, Boolean.class))) {
+                granted++;
+            }
+        }
+        return granted;
+    }
+
+    private static int runMask(PermissionHolder holder, int iterations) {
+        int granted = 0;
+        for (int i = 0; i < iterations; i++) {
+            if (holder.hasPermission(Permission.PAYMENT_MANAGE)) {
+                granted++;
+            }
+        }
+        return granted;
+    }
+
+    private static User finAdmin() {
+        User user = User.builder()
+                .email("fin.admin@example.com")
+                .firstname("Fin")
+                .lastname("Admin")
+                .build();
+        Set<UserRole> userRoles = new HashSet<>();
+        for (RoleType roleType : new RoleType[]{RoleType.USER, RoleType.FIN_ADMIN}) {
+            Role role = Role.builder()
+                    .name(roleType)
+                    .code("ROLE_" + roleType.name())
+                    .isActive(true)
+                    .build();
+            userRoles.add(UserRole.builder().user(user).role(role).isActive(true).build());
+        }
+        user.setUserRoles(userRoles);
+        return user;
+    }
+}
@@ -0,0 +1,117 @@
+package com.common_wealth_builders.service.impl;
+
+import com.common_wealth_builders.entity.ReportJob;
+import com.common_wealth_builders.entity.User;
+import com.common_wealth_builders.enums.ReportJobStatus;
+import com.common_wealth_builders.enums.ReportJobType;
+import com.common_wealth_builders.enums.UserType;
+import com.common_wealth_builders.repository.ReportJobRepository;
+import com.common_wealth_builders.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Writes a member statements archive over more members than one
+ * checkpoint interval against PostgreSQL and the real transaction
+ * manager, and checks each checkpoint commits on its own while the
+ * archive is still being written. PDF rendering is mocked out.
+ * <p>
+ * Needs Docker; skipped when it is not available.
+ */
+@DataJpaTest(properties = {
+        "reports.statements.threads=2",
+        "reports.statements.checkpoint-every=5",
+        "reports.statements.member-page-size=4"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({MemberStatementWriter.class, PaymentReportRows.class, ReportArtifactStore.class})
+class MemberStatementCheckpointTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final int MEMBERS = 13;
+
+    @DynamicPropertySource
+    static void jobDirectory(DynamicPropertyRegistry registry) throws IOException {
+        String directory = Files.createTempDirectory("report-jobs").toString();
+        registry.add("reports.jobs.dir", () -> directory);
+    }
+
+    @MockBean
+    private PdfReportService pdfReportService;
+
+    @MockBean
+    private ReportDataMapper reportDataMapper;
+
+    @Autowired
+    private MemberStatementWriter memberStatementWriter;
+
+    @Autowired
+    private ReportJobRepository reportJobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void checkpointsCommitWhileTheArchiveIsWritten() throws IOException {
+        when(reportDataMapper.userContribution(any())).thenAnswer(invocation -> new HashMap<>());
+        for (int i = 1; i <= MEMBERS; i++) {
+            userRepository.save(User.builder()
+                    .firstname("Member")
+                    .lastname(String.valueOf(i))
+                    .email("member" + i + "@example.com")
+                    .phoneNumber("+23480100000" + String.format("%02d", i))
+                    .userName("member" + i)
+                    .password("not-a-real-hash")
+                    .userType(UserType.USER)
+                    .build());
+        }
+        ReportJob job = reportJobRepository.save(ReportJob.builder()
+                .type(ReportJobType.MEMBER_STATEMENTS)
+                .status(ReportJobStatus.RUNNING)
+                .periodStart(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .periodEnd(LocalDateTime.of(2024, 12, 31, 23, 59, 59))
+                .requestedById(1L)
+                .requestedByEmail("admin@example.com")
+                .build());
+
+        List<Integer> committed = new ArrayList<>();
+        memberStatementWriter.write(job, (resumeAfterId, done, total) -> {
+            assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+            assertThat(reportJobRepository.saveCheckpoint(job.getId(), resumeAfterId, done, total, 50,
+                    LocalDateTime.now())).isEqualTo(1);
+            // Read back in a new transaction: the checkpoint is visible before the archive ends
+            committed.add(reportJobRepository.findById(job.getId()).orElseThrow().getItemsDone());
+        });
+
+        assertThat(committed).containsExactly(0, 5, 10, MEMBERS);
+    }
+}
@@ -0,0 +1,104 @@
+package com.common_wealth_builders.service.impl;
+
+import com.common_wealth_builders.enums.PaymentStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Heap use while streaming a 100k-row payment report. Rows are generated
+ * on the fly and the PDF goes to a counting sink, so anything retained is
+ * the renderer's own. Used heap is sampled after a GC every 10k rows and
+ * must stay within 16 MiB of the first sample once the first pages are
+ * out; measured runs stay flat at about that level.
+ * <p>
+ * Slow, so only runs on request:
+ * {@code mvn test -Dtest=PdfReportStreamingBenchmarkTest -Dbenchmark=true}
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PdfReportStreamingBenchmarkTest {
+
+    private static final int ROWS = 100_000;
+    private static final int SAMPLE_EVERY = 10_000;
+    private static final long MAX_GROWTH_BYTES = 16L * 1024 * 1024;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    @Test
+    void paymentReportHeapStaysFlat() {
+        PdfReportService pdfReportService = new PdfReportService();
+        long[] usedHeap = new long[ROWS / SAMPLE_EVERY + 1];
+        LocalDateTime firstDate = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+        RowSource<PaymentReportRow> payments = action -> {
+            for (int i = 1; i <= ROWS; i++) {
+                action.accept(new PaymentReportRow((long) i, "Member " + (i % 500),
+                        BigDecimal.valueOf(1000 + i % 9000, 2), firstDate.plusMinutes(i),
+                        i % 10 == 0 ? PaymentStatus.PENDING : PaymentStatus.VERIFIED, i % 10 != 0));
+                if (i % SAMPLE_EVERY == 0) {
+                    usedHeap[i / SAMPLE_EVERY] = usedHeapAfterGc();
+                }
+            }
+        };
+
+        CountingSink sink = new CountingSink();
+        usedHeap[0] = usedHeapAfterGc();
+        long started = System.nanoTime();
+        pdfReportService.writePaymentReportPdf(summary(), payments, sink);
+        long millis = (System.nanoTime() - started) / 1_000_000;
+
+        log.info("Streamed {} payment rows: {} PDF bytes in {} ms", ROWS, sink.count, millis);
+        for (int i = 0; i < usedHeap.length; i++) {
+            log.info("After {} rows: {} KiB used", i * SAMPLE_EVERY, usedHeap[i] / 1024);
+        }
+
+        assertThat(sink.count).isGreaterThan(ROWS * 10L);
+        // Compare with the first sample taken once rendering is under way
+        for (int i = 2; i < usedHeap.length; i++) {
+            assertThat(usedHeap[i] - usedHeap[1])
+                    .as("heap growth after %d rows", i * SAMPLE_EVERY)
+                    .isLessThan(MAX_GROWTH_BYTES);
+        }
+    }
+
+    private long usedHeapAfterGc() {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static Map<String, Object> summary() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("period", "Jan 01, 2025 - Mar 31, 2025");
+        data.put("totalPayments", new BigDecimal("55000000.00"));
+        data.put("paymentCount", ROWS);
+        data.put("verifiedPayments", new BigDecimal("49500000.00"));
+        data.put("pendingPayments", new BigDecimal("5500000.00"));
+        return data;
+    }
+
+    private static final class CountingSink extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.common_wealth_builders.service.impl;
+
+import com.common_wealth_builders.dto.request.ReportFilterRequest;
+import com.common_wealth_builders.entity.Payment;
+import com.common_wealth_builders.entity.User;
+import com.common_wealth_builders.enums.PaymentStatus;
+import com.common_wealth_builders.enums.UserType;
+import com.common_wealth_builders.repository.PaymentRepository;
+import com.common_wealth_builders.repository.UserRepository;
+import com.common_wealth_builders.service.AuditService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the report queries against PostgreSQL and checks with Hibernate
+ * statistics that no {@link Payment} entity is materialised, for both the
+ * raw-table and the rollup read paths. {@link ReportServiceImplTest} only
+ * checks which repository methods are called.
+ * <p>
+ * Needs Docker; skipped when it is not available.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({ReportServiceImpl.class, DailyRollupStore.class})
+class ReportEntityLoadTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2024, 3, 31, 23, 59, 59);
+
+    @MockBean
+    private AuditService auditService;
+
+    @MockBean
+    private PeriodSnapshotStore periodSnapshotStore;
+
+    @Autowired
+    private ReportServiceImpl reportService;
+
+    @Autowired
+    private DailyRollupStore dailyRollupStore;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private Long userId;
+
+    @BeforeEach
+    void seed() {
+        User user = userRepository.save(User.builder()
+                .firstname("Ada")
+                .lastname("Obi")
+                .email("ada@example.com")
+                .phoneNumber("+2348012345678")
+                .userName("ada")
+                .password("not-a-real-hash")
+                .userType(UserType.USER)
+                .build());
+        userId = user.getId();
+        for (int day = 1; day <= 5; day++) {
+            paymentRepository.save(Payment.builder()
+                    .user(user)
+                    .amount(new BigDecimal("100.00"))
+                    .paymentDate(START.plusDays(day).withHour(10))
+                    .paymentReference("REF-" + day)
+                    .status(day % 2 == 0 ? PaymentStatus.PENDING : PaymentStatus.VERIFIED)
+                    .isVerified(day % 2 != 0)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void reportsFromRawTablesLoadNoPayments() {
+        ReportFilterRequest period = ReportFilterRequest.builder().startDate(START).endDate(END).build();
+
+        reportService.generateFinancialSummary(period);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> payments = (Map<String, Object>) reportService.generatePaymentReport(period).getData();
+        reportService.generateUserContributionReport(userId);
+
+        assertThat((BigDecimal) payments.get("totalPayments")).isEqualByComparingTo("500.00");
+        assertThat(paymentLoads()).isZero();
+    }
+
+    // markReady() switches the shared store for good, so the context is not reused afterwards
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void reportsFromRollupsLoadNoPayments() {
+        dailyRollupStore.markReady();
+
+        reportService.generateFinancialSummary(ReportFilterRequest.builder().startDate(START).endDate(END).build());
+        reportService.generateTrendSeries(START.toLocalDate(), END.toLocalDate(), "week");
+
+        assertThat(paymentLoads()).isZero();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    private long paymentLoads() {
+        return statistics.getEntityStatistics(Payment.class.getName()).getLoadCount();
+    }
+}
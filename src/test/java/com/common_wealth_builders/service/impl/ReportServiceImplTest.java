@@ -0,0 +1,230 @@
+package com.common_wealth_builders.service.impl;
+
+import com.common_wealth_builders.dto.request.ReportFilterRequest;
+import com.common_wealth_builders.dto.response.FinancialSummaryResponse;
+import com.common_wealth_builders.dto.response.GenericResponse;
+import com.common_wealth_builders.dto.response.TrendSeriesResponse;
+import com.common_wealth_builders.dto.response.UserContributionResponse;
+import com.common_wealth_builders.entity.User;
+import com.common_wealth_builders.enums.ExpenseCategory;
+import com.common_wealth_builders.enums.PaymentStatus;
+import com.common_wealth_builders.enums.TrendGranularity;
+import com.common_wealth_builders.exception.InvalidPeriodException;
+import com.common_wealth_builders.exception.InvalidReportRequestException;
+import com.common_wealth_builders.repository.PaymentRepository;
+import com.common_wealth_builders.repository.PaymentStatusSummary;
+import com.common_wealth_builders.repository.UserRepository;
+import com.common_wealth_builders.service.AuditService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reports must be computed from aggregate queries only. These tests check
+ * which repository and store methods a report calls; that the queries
+ * behind them materialise no {@code Payment} entities is checked against
+ * PostgreSQL in {@link ReportEntityLoadTest}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReportServiceImplTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2024, 3, 31, 23, 59, 59);
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private DailyRollupStore dailyRollupStore;
+
+    @Mock
+    private PeriodSnapshotStore periodSnapshotStore;
+
+    @InjectMocks
+    private ReportServiceImpl reportService;
+
+    @Test
+    void userContributionReportUsesOneAggregateQuery() {
+        User user = User.builder().id(7L).email("ada@example.com").firstname("Ada").lastname("Obi").build();
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+        when(paymentRepository.summarizeByStatusForUser(7L)).thenReturn(List.of(
+                new PaymentStatusSummary(PaymentStatus.VERIFIED, new BigDecimal("300.00"), 3L,
+                        LocalDateTime.of(2024, 1, 5, 10, 0), LocalDateTime.of(2024, 3, 2, 9, 0)),
+                new PaymentStatusSummary(PaymentStatus.PENDING, new BigDecimal("50.00"), 1L,
+                        LocalDateTime.of(2024, 3, 20, 8, 0), LocalDateTime.of(2024, 3, 20, 8, 0)),
+                new PaymentStatusSummary(PaymentStatus.REJECTED, new BigDecimal("20.00"), 1L,
+                        LocalDateTime.of(2023, 12, 30, 8, 0), LocalDateTime.of(2023, 12, 30, 8, 0))));
+
+        GenericResponse response = reportService.generateUserContributionReport(7L);
+
+        UserContributionResponse report = (UserContributionResponse) response.getData();
+        assertThat(report.getTotalContributions()).isEqualByComparingTo("370.00");
+        assertThat(report.getVerifiedContributions()).isEqualByComparingTo("300.00");
+        assertThat(report.getPendingContributions()).isEqualByComparingTo("50.00");
+        assertThat(report.getPaymentCount()).isEqualTo(5);
+        assertThat(report.getFirstPaymentDate()).isEqualTo(LocalDateTime.of(2023, 12, 30, 8, 0));
+        assertThat(report.getLastPaymentDate()).isEqualTo(LocalDateTime.of(2024, 3, 20, 8, 0));
+
+        verify(paymentRepository).summarizeByStatusForUser(7L);
+        verifyNoMoreInteractions(paymentRepository);
+    }
+
+    @Test
+    void userWithoutPaymentsGetsZeroTotals() {
+        User user = User.builder().id(8L).email("new@example.com").firstname("New").lastname("Member").build();
+        when(userRepository.findById(8L)).thenReturn(Optional.of(user));
+        when(paymentRepository.summarizeByStatusForUser(8L)).thenReturn(List.of());
+
+        UserContributionResponse report =
+                (UserContributionResponse) reportService.generateUserContributionReport(8L).getData();
+
+        assertThat(report.getTotalContributions()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(report.getPaymentCount()).isZero();
+        assertThat(report.getFirstPaymentDate()).isNull();
+        assertThat(report.getLastPaymentDate()).isNull();
+    }
+
+    @Test
+    void financialSummaryComesFromPeriodTotals() {
+        PeriodTotals totals = PeriodTotals.empty();
+        totals.addPayments(PaymentStatus.VERIFIED, new BigDecimal("1000.00"), 10);
+        totals.addPayments(PaymentStatus.PENDING, new BigDecimal("150.00"), 2);
+        totals.addPayments(PaymentStatus.REJECTED, new BigDecimal("25.00"), 1);
+        totals.addExpenses(ExpenseCategory.values()[0], true, new BigDecimal("400.00"), 4);
+        totals.addExpenses(ExpenseCategory.values()[0], false, new BigDecimal("60.00"), 1);
+        when(dailyRollupStore.totals(any(), any())).thenReturn(totals);
+
+        GenericResponse response = reportService.generateFinancialSummary(
+                ReportFilterRequest.builder().startDate(START).endDate(END).build());
+
+        FinancialSummaryResponse summary = (FinancialSummaryResponse) response.getData();
+        assertThat(summary.getTotalIncome()).isEqualByComparingTo("1000.00");
+        assertThat(summary.getTotalExpenses()).isEqualByComparingTo("400.00");
+        assertThat(summary.getNetBalance()).isEqualByComparingTo("600.00");
+        assertThat(summary.getPendingPayments()).isEqualByComparingTo("175.00");
+        assertThat(summary.getPendingExpenses()).isEqualByComparingTo("60.00");
+        assertThat(summary.getTotalPaymentCount()).isEqualTo(13);
+        assertThat(summary.getTotalExpenseCount()).isEqualTo(5);
+        assertThat(summary.getExpensesByCategory())
+                .containsEntry(ExpenseCategory.values()[0].toString(), new BigDecimal("400.00"));
+
+        verify(dailyRollupStore).totals(START, END);
+        verifyNoInteractions(paymentRepository);
+    }
+
+    @Test
+    void paymentReportComesFromPeriodTotals() {
+        PeriodTotals totals = PeriodTotals.empty();
+        totals.addPayments(PaymentStatus.VERIFIED, new BigDecimal("80.00"), 4);
+        totals.addPayments(PaymentStatus.PENDING, new BigDecimal("20.00"), 1);
+        when(dailyRollupStore.paymentTotals(any(), any())).thenReturn(totals);
+
+        GenericResponse response = reportService.generatePaymentReport(
+                ReportFilterRequest.builder().startDate(START).endDate(END).build());
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> report = (Map<String, Object>) response.getData();
+        assertThat((BigDecimal) report.get("totalPayments")).isEqualByComparingTo("100.00");
+        assertThat((BigDecimal) report.get("verifiedPayments")).isEqualByComparingTo("80.00");
+        assertThat((BigDecimal) report.get("pendingPayments")).isEqualByComparingTo("20.00");
+        assertThat(report).containsEntry("totalCount", 5)
+                .containsEntry("verifiedCount", 4L)
+                .containsEntry("pendingCount", 1L);
+
+        verify(dailyRollupStore).paymentTotals(START, END);
+        verifyNoInteractions(paymentRepository);
+    }
+
+    @Test
+    void closedMonthIsServedFromItsSnapshot() {
+        FinancialSummaryResponse frozen = FinancialSummaryResponse.builder()
+                .totalIncome(new BigDecimal("900.00"))
+                .periodClosed(true)
+                .build();
+        when(periodSnapshotStore.closedSummary(YearMonth.of(2024, 3))).thenReturn(Optional.of(frozen));
+
+        GenericResponse response = reportService.generateMonthlyReport(2024, 3);
+
+        assertThat(response.getData()).isSameAs(frozen);
+        verifyNoInteractions(dailyRollupStore, paymentRepository);
+    }
+
+    @Test
+    void openMonthIsComputedFromPeriodTotals() {
+        when(periodSnapshotStore.closedSummary(YearMonth.of(2024, 3))).thenReturn(Optional.empty());
+        when(dailyRollupStore.totals(START, END)).thenReturn(PeriodTotals.empty());
+
+        FinancialSummaryResponse summary =
+                (FinancialSummaryResponse) reportService.generateMonthlyReport(2024, 3).getData();
+
+        assertThat(summary.getPeriodClosed()).isFalse();
+        assertThat(summary.getPeriodStart()).isEqualTo(START);
+        assertThat(summary.getPeriodEnd()).isEqualTo(END);
+    }
+
+    @Test
+    void trendSeriesIsOneQueryWithEmptyBucketsZeroFilled() {
+        PeriodTotals february = PeriodTotals.empty();
+        february.addPayments(PaymentStatus.VERIFIED, new BigDecimal("500.00"), 5);
+        february.addPayments(PaymentStatus.PENDING, new BigDecimal("40.00"), 1);
+        february.addExpenses(ExpenseCategory.values()[0], true, new BigDecimal("120.00"), 2);
+        february.addExpenses(ExpenseCategory.values()[0], false, new BigDecimal("30.00"), 1);
+        SortedMap<LocalDate, PeriodTotals> series = new TreeMap<>(Map.of(LocalDate.of(2024, 2, 1), february));
+        when(dailyRollupStore.series(LocalDate.of(2024, 1, 15), LocalDate.of(2024, 3, 31), TrendGranularity.MONTH))
+                .thenReturn(series);
+
+        TrendSeriesResponse trend = (TrendSeriesResponse) reportService.generateTrendSeries(
+                LocalDate.of(2024, 1, 15), LocalDate.of(2024, 3, 31), "month").getData();
+
+        assertThat(trend.getBuckets())
+                .containsExactly(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1), LocalDate.of(2024, 3, 1));
+        assertThat(trend.getVerifiedIncome()).usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(BigDecimal.ZERO, new BigDecimal("500.00"), BigDecimal.ZERO);
+        assertThat(trend.getPendingIncome().get(1)).isEqualByComparingTo("40.00");
+        assertThat(trend.getApprovedExpenses().get(1)).isEqualByComparingTo("120.00");
+        assertThat(trend.getPendingExpenses().get(1)).isEqualByComparingTo("30.00");
+        assertThat(trend.getExpensesByCategory()).hasSize(ExpenseCategory.values().length);
+        assertThat(trend.getExpensesByCategory().get(ExpenseCategory.values()[0].toString()))
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(BigDecimal.ZERO, new BigDecimal("120.00"), BigDecimal.ZERO);
+
+        verifyNoInteractions(paymentRepository);
+    }
+
+    @Test
+    void trendSeriesRejectsTooManyBuckets() {
+        assertThatThrownBy(() -> reportService.generateTrendSeries(
+                LocalDate.of(2000, 1, 1), LocalDate.of(2024, 12, 31), "DAY"))
+                .isInstanceOf(InvalidPeriodException.class);
+        assertThatThrownBy(() -> reportService.generateTrendSeries(null, null, "QUARTER"))
+                .isInstanceOf(InvalidReportRequestException.class);
+
+        verifyNoInteractions(dailyRollupStore);
+    }
+}
@@ -0,0 +1,77 @@
+-- Audit log search benchmark: LIKE scan vs. tsvector/trigram indexes.
+-- Builds a 10M-row scratch copy of audit_trails (does not touch real data).
+-- Run with: psql -d <db> -f audit_search_benchmark.sql
+-- No before/after timings have been recorded from it yet.
+
+\timing on
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+DROP TABLE IF EXISTS bench_audit_trails;
+DROP TABLE IF EXISTS bench_users;
+
+CREATE TABLE bench_users AS
+SELECT g AS id, 'member' || g || '@example.com' AS email
+FROM generate_series(1, 5000) g;
+ALTER TABLE bench_users ADD PRIMARY KEY (id);
+
+CREATE TABLE bench_audit_trails AS
+SELECT g AS id,
+       1 + (g % 5000) AS user_id,
+       (ARRAY['LOGIN','LOGOUT','CREATE_PAYMENT','VERIFY_PAYMENT','CREATE_EXPENSE',
+              'APPROVE_EXPENSE','UPDATE_USER','ASSIGN_ROLE'])[1 + g % 8] AS action,
+       (ARRAY['AUTH','PAYMENT','EXPENSE','USER','ROLE','NOTICE'])[1 + g % 6] AS module,
+       'Record ' || g || ' updated by member' || (1 + g % 5000)
+           || CASE WHEN g % 997 = 0 THEN ' monthly contribution reversal' ELSE ' routine change' END AS description,
+       'member' || (1 + g % 5000) || '@example.com' AS created_by,
+       now() - (g % 525600) * interval '1 minute' AS created_date
+FROM generate_series(1, 10000000) g;
+
+ALTER TABLE bench_audit_trails ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(action, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(module, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(description, '')), 'B') ||
+    setweight(to_tsvector('simple', coalesce(created_by, '')), 'C')) STORED;
+
+CREATE INDEX bench_audit_search_vector ON bench_audit_trails USING GIN (search_vector);
+CREATE INDEX bench_user_email_trgm ON bench_users USING GIN (email gin_trgm_ops);
+ANALYZE bench_audit_trails;
+ANALYZE bench_users;
+
+-- Before: the previous LIKE query (one page of 20 plus the count)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT a.* FROM bench_audit_trails a LEFT JOIN bench_users u ON u.id = a.user_id
+WHERE lower(a.action) LIKE '%reversal%' OR lower(a.module) LIKE '%reversal%'
+   OR lower(a.description) LIKE '%reversal%' OR lower(u.email) LIKE '%reversal%'
+ORDER BY a.created_date DESC LIMIT 20;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM bench_audit_trails a LEFT JOIN bench_users u ON u.id = a.user_id
+WHERE lower(a.action) LIKE '%reversal%' OR lower(a.module) LIKE '%reversal%'
+   OR lower(a.description) LIKE '%reversal%' OR lower(u.email) LIKE '%reversal%';
+
+-- After: ranked tsquery (prefix + phrase) as built by TsQueryBuilder for: revers "monthly contribution"
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT a.* FROM bench_audit_trails a
+WHERE a.search_vector @@ to_tsquery('simple', 'revers:* & (monthly <-> contribution)')
+   OR a.user_id IN (SELECT u.id FROM bench_users u WHERE u.email ILIKE '%revers "monthly contribution"%')
+ORDER BY ts_rank_cd(a.search_vector, to_tsquery('simple', 'revers:* & (monthly <-> contribution)')) DESC,
+         a.created_date DESC, a.id DESC
+LIMIT 20;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM bench_audit_trails a
+WHERE a.search_vector @@ to_tsquery('simple', 'revers:* & (monthly <-> contribution)')
+   OR a.user_id IN (SELECT u.id FROM bench_users u WHERE u.email ILIKE '%revers "monthly contribution"%');
+
+-- Email lookup through the trigram index
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT a.* FROM bench_audit_trails a
+WHERE a.search_vector @@ to_tsquery('simple', 'member42@example.com:*')
+   OR a.user_id IN (SELECT u.id FROM bench_users u WHERE u.email ILIKE '%member42@example.com%')
+ORDER BY ts_rank_cd(a.search_vector, to_tsquery('simple', 'member42@example.com:*')) DESC,
+         a.created_date DESC, a.id DESC
+LIMIT 20;
+
+DROP TABLE bench_audit_trails;
+DROP TABLE bench_users;